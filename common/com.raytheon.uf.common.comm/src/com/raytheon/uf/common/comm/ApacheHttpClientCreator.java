@@ -69,6 +69,7 @@ import com.raytheon.uf.common.util.app.AppInfo;
  * Jan 27, 2016  5170      tjensen      Removed log interceptors. Logging moved to methods where 
  *                                       message type is known.
  * Jan 31, 2017  6083      bsteffen     Remove local trust strategy
+ * Oct 19, 2026            agent        Raise max total connections to match config
  * 
  * </pre>
  * 
@@ -210,6 +211,12 @@ public class ApacheHttpClientCreator {
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
                 registry);
         connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+        /*
+         * the default total is far lower than the per route limit, which would
+         * otherwise cap concurrent requests regardless of the configuration
+         */
+        connectionManager.setMaxTotal(Math.max(config.getMaxConnections(),
+                connectionManager.getMaxTotal()));
         clientBuilder.setConnectionManager(connectionManager);
         setUserAgent(clientBuilder);
 
@@ -262,6 +269,12 @@ public class ApacheHttpClientCreator {
 
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+        /*
+         * the default total is far lower than the per route limit, which would
+         * otherwise cap concurrent requests regardless of the configuration
+         */
+        connectionManager.setMaxTotal(Math.max(config.getMaxConnections(),
+                connectionManager.getMaxTotal()));
         clientBuilder.setConnectionManager(connectionManager);
         setUserAgent(clientBuilder);
 
@@ -28,7 +28,14 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPOutputStream;
 
@@ -110,6 +117,7 @@ import com.raytheon.uf.common.util.rate.TokenBucket;
  * Feb 22, 2016  5306        njensen     Get new HttpClientContext if host or port change
  * Nov 29, 2016  5937        tgurney     Add optional rate limiting to postDynamicSerialize
  * Mar 24, 2017  DR 19830    D. Friedman Retry with delay on connection or 503 errors.
+ * Oct 19, 2026              agent       Added asynchronous requests
  *
  * </pre>
  *
@@ -163,6 +171,13 @@ public class HttpClient {
     private static final IUFStatusHandler statusHandler = UFStatus
             .getHandler(HttpClient.class, "DEFAULT");
 
+    /**
+     * Maximum number of asynchronous requests executed at once, further
+     * requests are queued. Also limited by the max connections per host.
+     */
+    private static final int ASYNC_THREADS = Integer
+            .getInteger("http.async.threads", 32);
+
     /**
      * Stores networks statistics to be accessible by other plugins where stats
      * logging is performed. No logging of stats is done by HttpClient directly.
@@ -178,6 +193,8 @@ public class HttpClient {
 
     private volatile CloseableHttpClient client;
 
+    private volatile ExecutorService asyncExecutor;
+
     private final HttpClientConfig config;
 
     /**
@@ -262,6 +279,27 @@ public class HttpClient {
         return client;
     }
 
+    /**
+     * @return executor for asynchronous requests
+     */
+    private ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            synchronized (this) {
+                if (asyncExecutor == null) {
+                    int threads = Math.max(1, Math.min(ASYNC_THREADS,
+                            getMaxConnectionsPerHost()));
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                            threads, threads, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(),
+                            new AsyncThreadFactory());
+                    executor.allowCoreThreadTimeOut(true);
+                    asyncExecutor = executor;
+                }
+            }
+        }
+        return asyncExecutor;
+    }
+
     /**
      * Sets whether or not to compress the outgoing requests to reduce bandwidth
      * sent by the client.
@@ -720,6 +758,81 @@ public class HttpClient {
         return postDynamicSerialize(address, obj, stream, null);
     }
 
+    /**
+     * Run a task that sends one or more requests through this client on the
+     * threads used for asynchronous requests.
+     * 
+     * @param task
+     * @return a future for the result of the task
+     */
+    public <T> Future<T> executeAsync(Callable<T> task) {
+        return getAsyncExecutor().submit(task);
+    }
+
+    /**
+     * Asynchronous version of
+     * {@link #postDynamicSerialize(String, Object, boolean)}. The request is
+     * sent on a shared pool of threads so many requests can be in progress at
+     * once over the pooled connections without blocking the caller.
+     * 
+     * @param address
+     *            the address to post to
+     * @param obj
+     *            the object to transform and send
+     * @param stream
+     *            if the request should be streamed if possible
+     * @return a future for the deserialized object response
+     */
+    public Future<Object> postDynamicSerializeAsync(final String address,
+            final Object obj, final boolean stream) {
+        return executeAsync(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return postDynamicSerialize(address, obj, stream);
+            }
+        });
+    }
+
+    /**
+     * Asynchronous version of {@link #postBinary(String, OStreamHandler)}.
+     * 
+     * @param address
+     * @param handler
+     *            the handler responsible for generating the message to be
+     *            posted
+     * @return a future for the response bytes
+     */
+    public Future<byte[]> postBinaryAsync(final String address,
+            final OStreamHandler handler) {
+        return executeAsync(new Callable<byte[]>() {
+            @Override
+            public byte[] call() throws Exception {
+                return postBinary(address, handler);
+            }
+        });
+    }
+
+    /**
+     * Asynchronous version of
+     * {@link #executeRequest(HttpUriRequest, IStreamHandler)}. The handler is
+     * called on one of the request threads.
+     * 
+     * @param request
+     *            the request to execute
+     * @param handlerCallback
+     *            the handler that processes the response stream
+     * @return a future for the response
+     */
+    public Future<HttpClientResponse> executeRequestAsync(
+            final HttpUriRequest request, final IStreamHandler handlerCallback) {
+        return executeAsync(new Callable<HttpClientResponse>() {
+            @Override
+            public HttpClientResponse call() throws Exception {
+                return executeRequest(request, handlerCallback);
+            }
+        });
+    }
+
     /**
      * Post a message to an http address, and return the result as a byte array.
      * <p>
@@ -943,6 +1056,23 @@ public class HttpClient {
                 throws CommunicationException;
     }
 
+    /**
+     * Creates daemon threads for asynchronous requests so they never prevent
+     * the application from exiting.
+     */
+    private static class AsyncThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r,
+                    "HttpClientAsync-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     /**
      * Automatically reads a stream into a byte array and stores the byte array
      * in byteResult. Should only be used internally in HttpClient with
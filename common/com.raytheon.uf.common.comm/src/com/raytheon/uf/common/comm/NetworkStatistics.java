@@ -35,6 +35,7 @@ import java.util.Map;
  * Nov 1, 2011             mschenke    Initial creation
  * Jan 27, 2016 5170       tjensen     Improve network statistic to track messages,
  *                                      byte tracking only performed when configured
+ * Oct 19, 2026            agent       Track time and concurrency of requests
  * 
  * </pre>
  * 
@@ -54,6 +55,12 @@ public class NetworkStatistics {
 
         private long requestCount;
 
+        private long requestTime;
+
+        private int concurrentRequests;
+
+        private int peakConcurrentRequests;
+
         /**
          * Stores the value of the System Property used to configure if
          * statistics for the number of bytes sent and received should be
@@ -82,6 +89,20 @@ public class NetworkStatistics {
             requestCount += 1;
         }
 
+        private void requestStarted() {
+            concurrentRequests += 1;
+            if (concurrentRequests > peakConcurrentRequests) {
+                peakConcurrentRequests = concurrentRequests;
+            }
+        }
+
+        private void requestFinished(long timeMs) {
+            if (concurrentRequests > 0) {
+                concurrentRequests -= 1;
+            }
+            requestTime += timeMs;
+        }
+
         public boolean isDoByteStats() {
             return doByteStats;
         }
@@ -102,6 +123,29 @@ public class NetworkStatistics {
             return identifier;
         }
 
+        /**
+         * @return the total time in milliseconds spent on requests that were
+         *         tracked from start to finish
+         */
+        public long getRequestTime() {
+            return requestTime;
+        }
+
+        /**
+         * @return the number of requests currently in progress
+         */
+        public int getConcurrentRequests() {
+            return concurrentRequests;
+        }
+
+        /**
+         * @return the largest number of requests that were in progress at the
+         *         same time
+         */
+        public int getPeakConcurrentRequests() {
+            return peakConcurrentRequests;
+        }
+
         @Override
         public NetworkTraffic clone() {
             NetworkTraffic newTraffic = new NetworkTraffic(identifier);
@@ -109,6 +153,9 @@ public class NetworkStatistics {
             newTraffic.bytesReceived = bytesReceived;
             newTraffic.bytesSent = bytesSent;
             newTraffic.requestCount = requestCount;
+            newTraffic.requestTime = requestTime;
+            newTraffic.concurrentRequests = concurrentRequests;
+            newTraffic.peakConcurrentRequests = peakConcurrentRequests;
 
             return newTraffic;
         }
@@ -122,8 +169,14 @@ public class NetworkStatistics {
                         + receivedString;
             }
 
+            String timeMsg = "";
+            if (requestTime > 0) {
+                timeMsg = ", " + requestTime + "ms total, peak of "
+                        + peakConcurrentRequests + " concurrent";
+            }
+
             return "Network Traffic Stats for '" + identifier + "' : "
-                    + requestCount + " messages" + bytesStatsMsg;
+                    + requestCount + " messages" + bytesStatsMsg + timeMsg;
         }
     }
 
@@ -178,11 +231,7 @@ public class NetworkStatistics {
      */
     public synchronized void log(String typeIdentifier, long bytesSent,
             long bytesReceived) {
-        NetworkTraffic traffic = mappedTraffic.get(typeIdentifier);
-        if (traffic == null) {
-            traffic = new NetworkTraffic(typeIdentifier);
-            mappedTraffic.put(typeIdentifier, traffic);
-        }
+        NetworkTraffic traffic = getTraffic(typeIdentifier);
 
         /**
          * Only log bytes if byte stats are enabled and if the number
@@ -206,6 +255,50 @@ public class NetworkStatistics {
         this.log(bytesSent, bytesReceived);
     }
 
+    /**
+     * Mark the start of a request for the traffic tracked by the type
+     * identifier passed in. Every call must be followed by a call to
+     * {@link #requestFinished(String, long, long, long)} once the response has
+     * been received, successfully or not, so concurrent requests can be
+     * tracked.
+     * 
+     * @param typeIdentifier
+     */
+    public synchronized void requestStarted(String typeIdentifier) {
+        getTraffic(typeIdentifier).requestStarted();
+        synchronized (totalTraffic) {
+            totalTraffic.requestStarted();
+        }
+    }
+
+    /**
+     * Mark the end of a request started with {@link #requestStarted(String)}
+     * and add to the log of bytes sent/received
+     * 
+     * @param typeIdentifier
+     * @param bytesSent
+     * @param bytesReceived
+     * @param timeMs
+     *            time in milliseconds from start to finish of the request
+     */
+    public synchronized void requestFinished(String typeIdentifier,
+            long bytesSent, long bytesReceived, long timeMs) {
+        getTraffic(typeIdentifier).requestFinished(timeMs);
+        synchronized (totalTraffic) {
+            totalTraffic.requestFinished(timeMs);
+        }
+        log(typeIdentifier, bytesSent, bytesReceived);
+    }
+
+    private NetworkTraffic getTraffic(String typeIdentifier) {
+        NetworkTraffic traffic = mappedTraffic.get(typeIdentifier);
+        if (traffic == null) {
+            traffic = new NetworkTraffic(typeIdentifier);
+            mappedTraffic.put(typeIdentifier, traffic);
+        }
+        return traffic;
+    }
+
     /**
      * Get a copy of the total traffic stats at point of calling
      * 
@@ -223,7 +316,7 @@ public class NetworkStatistics {
      * 
      * @return copy of network traffic stats
      */
-    public NetworkTraffic[] getMappedTrafficStats() {
+    public synchronized NetworkTraffic[] getMappedTrafficStats() {
         Collection<NetworkTraffic> trafficStats = mappedTraffic.values();
         NetworkTraffic[] traffic = trafficStats.toArray(
                 new NetworkTraffic[trafficStats.size()]).clone();
@@ -0,0 +1,245 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataplugin.annotations;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A dotted bean property path, for example "location.longitude", resolved
+ * once against a root class into a chain of {@link MethodHandle}s. Properties
+ * are found with the same {@link Introspector} rules used by commons-beanutils
+ * so a path reads and writes the same properties as
+ * {@link org.apache.commons.beanutils.PropertyUtils} without introspecting on
+ * every access.
+ * 
+ * Only public getters and setters declared on public classes are compiled. If
+ * any part of the path cannot be resolved then
+ * {@link #compile(Class, String[])} returns null and callers should fall back
+ * to beanutils, which will also produce the appropriate error for a property
+ * that does not exist.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+final class DataURIPropertyPath {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(
+            Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(
+            void.class, Object.class, Object.class);
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType
+            .methodType(Object.class);
+
+    /** Getter for each element of the path, null if there is no getter. */
+    private final MethodHandle[] getters;
+
+    /** Setter for each element of the path, null if there is no setter. */
+    private final MethodHandle[] setters;
+
+    /**
+     * No argument constructor for the type of each element except the last,
+     * used to create missing intermediate objects. Null if the type cannot be
+     * constructed.
+     */
+    private final MethodHandle[] constructors;
+
+    private final Class<?>[] types;
+
+    private DataURIPropertyPath(int length) {
+        this.getters = new MethodHandle[length];
+        this.setters = new MethodHandle[length];
+        this.constructors = new MethodHandle[length];
+        this.types = new Class<?>[length];
+    }
+
+    /**
+     * Resolve a property path against a class.
+     * 
+     * @param rootClass
+     *            the class of the object the path starts from.
+     * @param propertyNames
+     *            the names of the properties in the path.
+     * @return the compiled path or null if any property in the path cannot be
+     *         resolved to public methods.
+     */
+    public static DataURIPropertyPath compile(Class<?> rootClass,
+            String[] propertyNames) {
+        DataURIPropertyPath path = new DataURIPropertyPath(
+                propertyNames.length);
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> type = rootClass;
+        try {
+            for (int i = 0; i < propertyNames.length; i += 1) {
+                PropertyDescriptor descriptor = getDescriptor(type,
+                        propertyNames[i]);
+                if (descriptor == null
+                        || descriptor.getPropertyType() == null) {
+                    return null;
+                }
+                path.getters[i] = unreflect(lookup,
+                        descriptor.getReadMethod(), GETTER_TYPE);
+                path.setters[i] = unreflect(lookup,
+                        descriptor.getWriteMethod(), SETTER_TYPE);
+                type = descriptor.getPropertyType();
+                path.types[i] = type;
+                if (i < propertyNames.length - 1) {
+                    if (path.getters[i] == null) {
+                        return null;
+                    }
+                    path.constructors[i] = findConstructor(lookup, type);
+                }
+            }
+        } catch (IntrospectionException | IllegalAccessException e) {
+            return null;
+        }
+        return path;
+    }
+
+    /**
+     * @return true if the last property in the path can be read with
+     *         {@link #get(Object)}
+     */
+    public boolean isReadable() {
+        return getters[getters.length - 1] != null;
+    }
+
+    /**
+     * @return true if every property in the path can be written with
+     *         {@link #set(Object, Object)}
+     */
+    public boolean isWritable() {
+        for (MethodHandle setter : setters) {
+            if (setter == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the value at the end of the path. If any intermediate value is null
+     * then null is returned.
+     * 
+     * @param root
+     *            the object the path starts from
+     * @return the value of the last property in the path
+     * @throws Throwable
+     *             any exception thrown by a getter, or a
+     *             {@link ClassCastException} if root is not an instance of
+     *             the class the path was compiled for.
+     */
+    public Object get(Object root) throws Throwable {
+        Object object = root;
+        for (MethodHandle getter : getters) {
+            object = getter.invokeExact(object);
+            if (object == null) {
+                break;
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Set the value at the end of the path, any null intermediate objects are
+     * created with the no argument constructor of the property type.
+     * 
+     * @param root
+     *            the object the path starts from
+     * @param value
+     *            the new value of the last property in the path
+     * @throws Throwable
+     *             any exception thrown by a setter or constructor, an
+     *             {@link InstantiationException} if an intermediate object is
+     *             null and cannot be created, or a {@link ClassCastException}
+     *             if value is the wrong type.
+     */
+    public void set(Object root, Object value) throws Throwable {
+        Object source = root;
+        int last = setters.length - 1;
+        for (int i = 0; i < last; i += 1) {
+            Object object = getters[i].invokeExact(source);
+            if (object == null) {
+                if (constructors[i] == null) {
+                    throw new InstantiationException(types[i].getName());
+                }
+                object = constructors[i].invokeExact();
+                setters[i].invokeExact(source, object);
+            }
+            source = object;
+        }
+        setters[last].invokeExact(source, value);
+    }
+
+    private static PropertyDescriptor getDescriptor(Class<?> type,
+            String propertyName) throws IntrospectionException {
+        BeanInfo info = Introspector.getBeanInfo(type);
+        for (PropertyDescriptor descriptor : info.getPropertyDescriptors()) {
+            if (propertyName.equals(descriptor.getName())) {
+                return descriptor;
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup,
+            Method method, MethodType type) throws IllegalAccessException {
+        if (method == null || !Modifier.isPublic(method.getModifiers())
+                || !Modifier.isPublic(method.getDeclaringClass()
+                        .getModifiers())) {
+            return null;
+        }
+        return lookup.unreflect(method).asType(type);
+    }
+
+    private static MethodHandle findConstructor(MethodHandles.Lookup lookup,
+            Class<?> type) {
+        if (type.isInterface() || type.isPrimitive() || type.isArray()
+                || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            return lookup.findConstructor(type,
+                    MethodType.methodType(void.class)).asType(
+                    CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+}
@@ -60,6 +60,8 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  * Oct  4, 2013 2081       mschenke    Refactored for custom uri field conversion
  * Mar 11, 2016 5454       tgurney     Handle dataURI with trailing slash
  * Jul 27, 2016 2416       tgurney     Add getDataURIFields(Class<?>)
+ * Oct 19, 2026            agent       Access fields through compiled
+ *                                     DataURIPropertyPaths
  * 
  * </pre>
  * 
@@ -413,11 +415,14 @@ public class DataURIUtil {
 
         };
 
+        private final Class<?> type;
+
         private final DataURIFieldAccess[] dataURIFields;
 
         private Map<String, DataURIFieldAccess> fieldMap;
 
         public DataURIFieldAccessCache(Class<?> type) throws PluginException {
+            this.type = type;
             this.fieldMap = new HashMap<>();
             this.dataURIFields = getDataURIAccessFields(type);
             for (DataURIFieldAccess access : dataURIFields) {
@@ -436,7 +441,7 @@ public class DataURIUtil {
                     Map<String, DataURIFieldAccess> newFieldMap = new HashMap<>(
                             fieldMap);
 
-                    access = new DataURIFieldAccess(
+                    access = new DataURIFieldAccess(type,
                             Arrays.asList(FIELD_SEPARATOR_PATTERN
                                     .split(fieldName)), object.getClass(), null);
                     newFieldMap.put(fieldName, access);
@@ -453,12 +458,12 @@ public class DataURIUtil {
          */
         private static DataURIFieldAccess[] getDataURIAccessFields(
                 Class<?> clazz) throws PluginException {
-            return getAccess(clazz, Collections.<String> emptyList()).toArray(
-                    new DataURIFieldAccess[0]);
+            return getAccess(clazz, clazz, Collections.<String> emptyList())
+                    .toArray(new DataURIFieldAccess[0]);
         }
 
-        private static List<DataURIFieldAccess> getAccess(Class<?> clazz,
-                List<String> parents) throws PluginException {
+        private static List<DataURIFieldAccess> getAccess(Class<?> rootClass,
+                Class<?> clazz, List<String> parents) throws PluginException {
             List<Field> fields = getOrderedDataURIFields(clazz);
             List<DataURIFieldAccess> accessors = new ArrayList<>();
             for (Field field : fields) {
@@ -467,7 +472,7 @@ public class DataURIUtil {
                 Class<?> type = field.getType();
                 DataURI dataURI = field.getAnnotation(DataURI.class);
                 if (dataURI.embedded()) {
-                    accessors.addAll(getAccess(type, names));
+                    accessors.addAll(getAccess(rootClass, type, names));
                 } else {
                     DataURIFieldConverter converter = null;
                     if (dataURI.converter() != DataURI.NO_CONVERTER) {
@@ -479,8 +484,8 @@ public class DataURIUtil {
                                             + dataURI.converter(), e);
                         }
                     }
-                    accessors
-                            .add(new DataURIFieldAccess(names, type, converter));
+                    accessors.add(new DataURIFieldAccess(rootClass, names,
+                            type, converter));
                 }
             }
             return accessors;
@@ -526,7 +531,20 @@ public class DataURIUtil {
         /** URI field converter */
         private final DataURIFieldConverter fieldConverter;
 
-        public DataURIFieldAccess(List<String> fieldNames, Class<?> fieldClass,
+        /**
+         * Compiled path for reading the field, null if the field must be read
+         * with beanutils.
+         */
+        private final DataURIPropertyPath readPath;
+
+        /**
+         * Compiled path for writing the field, null if the field must be
+         * written with beanutils.
+         */
+        private final DataURIPropertyPath writePath;
+
+        public DataURIFieldAccess(Class<?> containerClass,
+                List<String> fieldNames, Class<?> fieldClass,
                 DataURIFieldConverter fieldConverter) {
             this.fieldNames = fieldNames.toArray(new String[0]);
             StringBuilder fieldName = new StringBuilder(this.fieldNames[0]);
@@ -536,6 +554,10 @@ public class DataURIUtil {
             this.fieldName = fieldName.toString();
             this.fieldClass = fieldClass;
             this.fieldConverter = fieldConverter;
+            DataURIPropertyPath path = DataURIPropertyPath.compile(
+                    containerClass, this.fieldNames);
+            this.readPath = path != null && path.isReadable() ? path : null;
+            this.writePath = path != null && path.isWritable() ? path : null;
         }
 
         /**
@@ -586,6 +608,15 @@ public class DataURIUtil {
          */
         public Object getFieldValue(Object fieldContainer)
                 throws PluginException {
+            if (readPath != null) {
+                try {
+                    return readPath.get(fieldContainer);
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new PluginException(e);
+                }
+            }
             try {
                 Object object = fieldContainer;
                 for (String fieldName : fieldNames) {
@@ -623,6 +654,16 @@ public class DataURIUtil {
          */
         public void setFieldValue(Object fieldContainer, Object fieldValue)
                 throws PluginException {
+            if (writePath != null) {
+                try {
+                    writePath.set(fieldContainer, fieldValue);
+                    return;
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new PluginException(e);
+                }
+            }
             Object source = fieldContainer;
             try {
                 for (int i = 0; i < fieldNames.length - 1; i += 1) {
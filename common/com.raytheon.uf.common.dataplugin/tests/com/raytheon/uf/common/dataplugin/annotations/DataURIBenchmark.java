@@ -0,0 +1,122 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataplugin.annotations;
+
+import java.util.List;
+
+import org.apache.commons.beanutils.PropertyUtils;
+
+import com.raytheon.uf.common.dataplugin.PluginDataObject;
+
+/**
+ * Measures building and parsing dataURIs for a large number of synthetic
+ * records, and compares reading every dataURI field through
+ * {@link DataURIPropertyPath} with reading it through beanutils.
+ * 
+ * Usage: DataURIBenchmark [records] [iterations]
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class DataURIBenchmark {
+
+    public static void main(String[] args) throws Throwable {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        TestDataURIPropertyPath.setClassMapper();
+
+        DataURITestRecord[] records = new DataURITestRecord[count];
+        for (int i = 0; i < count; i += 1) {
+            records[i] = TestDataURIPropertyPath.createRecord(i);
+        }
+        List<String> fieldNames = DataURIUtil
+                .getDataURIFieldNamesInOrder(DataURITestRecord.class);
+        String[][] names = new String[fieldNames.size()][];
+        DataURIPropertyPath[] paths = new DataURIPropertyPath[names.length];
+        for (int i = 0; i < names.length; i += 1) {
+            names[i] = fieldNames.get(i).split("[.]");
+            paths[i] = DataURIPropertyPath.compile(DataURITestRecord.class,
+                    names[i]);
+        }
+        String[] uris = new String[count];
+
+        for (int i = 0; i <= iterations; i += 1) {
+            System.out.println(i == 0 ? "warmup" : "iteration " + i);
+            long sink = 0;
+
+            long t0 = System.nanoTime();
+            for (DataURITestRecord record : records) {
+                for (DataURIPropertyPath path : paths) {
+                    sink += path.get(record) == null ? 0 : 1;
+                }
+            }
+            long t1 = System.nanoTime();
+            for (DataURITestRecord record : records) {
+                for (String[] path : names) {
+                    Object object = record;
+                    for (String name : path) {
+                        object = PropertyUtils.getProperty(object, name);
+                        if (object == null) {
+                            break;
+                        }
+                    }
+                    sink += object == null ? 0 : 1;
+                }
+            }
+            long t2 = System.nanoTime();
+            report("field reads, compiled", count, t1 - t0);
+            report("field reads, beanutils", count, t2 - t1);
+
+            t0 = System.nanoTime();
+            for (int j = 0; j < count; j += 1) {
+                uris[j] = DataURIUtil.createDataURI(records[j]);
+            }
+            t1 = System.nanoTime();
+            report("createDataURI", count, t1 - t0);
+
+            t0 = System.nanoTime();
+            for (String uri : uris) {
+                PluginDataObject pdo = DataURIUtil.createPluginDataObject(uri);
+                sink += pdo.getDataTime().getFcstTime();
+            }
+            t1 = System.nanoTime();
+            report("createPluginDataObject", count, t1 - t0);
+
+            if (sink == 42) {
+                System.out.println();
+            }
+        }
+    }
+
+    private static void report(String operation, int count, long nanos) {
+        System.out.printf("  %-24s %8.1f ns/record  %10.0f records/s%n",
+                operation, (double) nanos / count, count * 1e9 / nanos);
+    }
+
+}
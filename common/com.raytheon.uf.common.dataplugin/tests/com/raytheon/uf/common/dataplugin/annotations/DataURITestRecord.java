@@ -0,0 +1,145 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataplugin.annotations;
+
+import java.util.Calendar;
+
+import com.raytheon.uf.common.dataplugin.PluginDataObject;
+
+/**
+ * A {@link PluginDataObject} with the kinds of dataURI fields used by real
+ * plugins: the inherited data time with a converter, strings, primitives, a
+ * Calendar and an embedded location object.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class DataURITestRecord extends PluginDataObject {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PLUGIN_NAME = "uritest";
+
+    public static class Location {
+
+        @DataURI(position = 0)
+        private String stationId;
+
+        @DataURI(position = 1)
+        private Double latitude;
+
+        @DataURI(position = 2)
+        private Double longitude;
+
+        public String getStationId() {
+            return stationId;
+        }
+
+        public void setStationId(String stationId) {
+            this.stationId = stationId;
+        }
+
+        public Double getLatitude() {
+            return latitude;
+        }
+
+        public void setLatitude(Double latitude) {
+            this.latitude = latitude;
+        }
+
+        public Double getLongitude() {
+            return longitude;
+        }
+
+        public void setLongitude(Double longitude) {
+            this.longitude = longitude;
+        }
+    }
+
+    @DataURI(position = 1)
+    private String reportType;
+
+    @DataURI(position = 2, embedded = true)
+    private Location location;
+
+    @DataURI(position = 3)
+    private int sequence;
+
+    @DataURI(position = 4)
+    private boolean corrected;
+
+    @DataURI(position = 5)
+    private Calendar issueTime;
+
+    @Override
+    public String getPluginName() {
+        return PLUGIN_NAME;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(String reportType) {
+        this.reportType = reportType;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public void setLocation(Location location) {
+        this.location = location;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public boolean isCorrected() {
+        return corrected;
+    }
+
+    public void setCorrected(boolean corrected) {
+        this.corrected = corrected;
+    }
+
+    public Calendar getIssueTime() {
+        return issueTime;
+    }
+
+    public void setIssueTime(Calendar issueTime) {
+        this.issueTime = issueTime;
+    }
+
+}
@@ -0,0 +1,303 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataplugin.annotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.beanutils.PropertyUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.raytheon.uf.common.dataplugin.IPluginClassMapper;
+import com.raytheon.uf.common.dataplugin.PluginDataObject;
+import com.raytheon.uf.common.dataplugin.PluginException;
+import com.raytheon.uf.common.time.DataTime;
+import com.raytheon.uf.common.time.util.TimeUtil;
+
+/**
+ * Test that {@link DataURIPropertyPath} reads and writes the same values as
+ * the beanutils {@link PropertyUtils} access it replaces in
+ * {@link DataURIUtil}, including over many records and from several threads.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class TestDataURIPropertyPath {
+
+    /**
+     * Plugin classes that are checked against beanutils. Plugins outside of
+     * this repository can add their record classes here or call
+     * {@link #assertMatchesBeanUtils(PluginDataObject, PluginDataObject)}
+     * from their own tests.
+     */
+    private static final Class<?>[] PLUGIN_CLASSES = { DataURITestRecord.class };
+
+    @BeforeClass
+    public static void setClassMapper() {
+        DataURIUtil.setClassMapper(new IPluginClassMapper() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Class<PluginDataObject> getPluginRecordClass(
+                    String pluginName) throws PluginException {
+                for (Class<?> clazz : PLUGIN_CLASSES) {
+                    try {
+                        PluginDataObject pdo = (PluginDataObject) clazz
+                                .newInstance();
+                        if (pdo.getPluginName().equals(pluginName)) {
+                            return (Class<PluginDataObject>) clazz;
+                        }
+                    } catch (ReflectiveOperationException e) {
+                        throw new PluginException(e);
+                    }
+                }
+                throw new PluginException("Unknown plugin: " + pluginName);
+            }
+        });
+    }
+
+    static DataURITestRecord createRecord(int index) {
+        DataURITestRecord record = new DataURITestRecord();
+        long refTime = 1471262400000L + index * 60000L;
+        record.setDataTime(new DataTime(new Date(refTime)));
+        record.setReportType(index % 2 == 0 ? "METAR" : "SPECI");
+        DataURITestRecord.Location location = new DataURITestRecord.Location();
+        location.setStationId(String.format("K%03d", index % 1000));
+        location.setLatitude(25.0 + (index % 250) / 10.0);
+        location.setLongitude(-125.0 + (index % 600) / 10.0);
+        record.setLocation(location);
+        record.setSequence(index);
+        record.setCorrected(index % 7 == 0);
+        Calendar issueTime = TimeUtil.newGmtCalendar();
+        issueTime.setTimeInMillis(refTime - 300000L);
+        record.setIssueTime(issueTime);
+        return record;
+    }
+
+    @Test
+    public void testRegisteredPluginClasses() throws Exception {
+        for (Class<?> clazz : PLUGIN_CLASSES) {
+            assertMatchesBeanUtils((PluginDataObject) clazz.newInstance(),
+                    (PluginDataObject) clazz.newInstance());
+        }
+        for (int i = 0; i < 100; i += 1) {
+            assertMatchesBeanUtils(createRecord(i), new DataURITestRecord());
+        }
+    }
+
+    @Test
+    public void testNullIntermediateObject() throws Throwable {
+        DataURITestRecord record = createRecord(0);
+        record.setLocation(null);
+        DataURIPropertyPath path = DataURIPropertyPath.compile(
+                DataURITestRecord.class, new String[] { "location",
+                        "stationId" });
+        assertNotNull(path);
+        assertNull(path.get(record));
+        path.set(record, "KOMA");
+        assertNotNull(record.getLocation());
+        assertEquals("KOMA", record.getLocation().getStationId());
+    }
+
+    @Test
+    public void testUnresolvedProperty() {
+        assertNull(DataURIPropertyPath.compile(DataURITestRecord.class,
+                new String[] { "noSuchField" }));
+        assertNull(DataURIPropertyPath.compile(DataURITestRecord.class,
+                new String[] { "reportType", "noSuchField" }));
+        DataURIPropertyPath path = DataURIPropertyPath.compile(
+                DataURITestRecord.class, new String[] { "pluginName" });
+        assertNotNull(path);
+        assertTrue(path.isReadable());
+        assertFalse(path.isWritable());
+    }
+
+    @Test
+    public void testRoundTrip() throws PluginException {
+        for (int i = 0; i < 100; i += 1) {
+            DataURITestRecord record = createRecord(i);
+            String uri = DataURIUtil.createDataURI(record);
+            PluginDataObject parsed = DataURIUtil.createPluginDataObject(uri);
+            assertEquals(uri, DataURIUtil.createDataURI(parsed));
+            Map<String, Object> map = DataURIUtil.createDataURIMap(uri);
+            assertEquals(uri, DataURIUtil.createDataURI(map));
+            assertEquals(map, DataURIUtil.createDataURIMap(DataURIUtil
+                    .createPluginDataObject(map)));
+        }
+    }
+
+    @Test
+    public void testManyRecords() throws Throwable {
+        int count = 10_000;
+        List<String> fieldNames = DataURIUtil
+                .getDataURIFieldNamesInOrder(DataURITestRecord.class);
+        String[][] names = new String[fieldNames.size()][];
+        DataURIPropertyPath[] paths = new DataURIPropertyPath[names.length];
+        for (int i = 0; i < names.length; i += 1) {
+            names[i] = fieldNames.get(i).split("[.]");
+            paths[i] = DataURIPropertyPath.compile(DataURITestRecord.class,
+                    names[i]);
+            assertNotNull(fieldNames.get(i), paths[i]);
+        }
+        Set<String> uris = new HashSet<>();
+        for (int i = 0; i < count; i += 1) {
+            DataURITestRecord record = createRecord(i);
+            for (int j = 0; j < paths.length; j += 1) {
+                assertEquals(fieldNames.get(j),
+                        getWithBeanUtils(record, names[j]),
+                        paths[j].get(record));
+            }
+            String uri = DataURIUtil.createDataURI(record);
+            assertEquals(uri, DataURIUtil.createDataURI(DataURIUtil
+                    .createPluginDataObject(uri)));
+            uris.add(uri);
+        }
+        assertEquals(count, uris.size());
+    }
+
+    @Test
+    public void testConcurrentRoundTrip() throws Exception {
+        final int threads = 4;
+        final int perThread = 2_500;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t += 1) {
+                final int offset = t * perThread;
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int i = offset; i < offset + perThread; i += 1) {
+                            DataURITestRecord record = createRecord(i);
+                            String uri = DataURIUtil.createDataURI(record);
+                            PluginDataObject parsed = DataURIUtil
+                                    .createPluginDataObject(uri);
+                            assertEquals(uri,
+                                    DataURIUtil.createDataURI(parsed));
+                            assertEquals(record.getDataTime().getRefTime(),
+                                    parsed.getDataTime().getRefTime());
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Check that every dataURI field of a record reads the same through
+     * {@link DataURIUtil} as through beanutils, and that populating an empty
+     * record through {@link DataURIUtil} sets the same values as beanutils.
+     * 
+     * @param record
+     *            a record with any combination of populated fields
+     * @param empty
+     *            a newly constructed record of the same class
+     */
+    static void assertMatchesBeanUtils(PluginDataObject record,
+            PluginDataObject empty) throws Exception {
+        Class<?> clazz = record.getClass();
+        List<String> fieldNames = DataURIUtil
+                .getDataURIFieldNamesInOrder(clazz);
+        Map<String, Object> map = DataURIUtil.createDataURIMap(record);
+        for (String fieldName : fieldNames) {
+            String[] names = fieldName.split("[.]");
+            assertNotNull(clazz.getName() + " " + fieldName,
+                    DataURIPropertyPath.compile(clazz, names));
+            assertEquals(clazz.getName() + " " + fieldName,
+                    getWithBeanUtils(record, names), map.get(fieldName));
+        }
+
+        PluginDataObject expected = (PluginDataObject) clazz.newInstance();
+        for (String fieldName : fieldNames) {
+            Object value = map.get(fieldName);
+            if (value != null) {
+                setWithBeanUtils(expected, fieldName.split("[.]"), value);
+            }
+        }
+        DataURIUtil.populatePluginDataObject(empty, map);
+        for (String fieldName : fieldNames) {
+            String[] names = fieldName.split("[.]");
+            assertEquals(clazz.getName() + " " + fieldName,
+                    getWithBeanUtils(expected, names),
+                    getWithBeanUtils(empty, names));
+        }
+    }
+
+    private static Object getWithBeanUtils(Object object, String[] names)
+            throws Exception {
+        for (String name : names) {
+            object = PropertyUtils.getProperty(object, name);
+            if (object == null) {
+                break;
+            }
+        }
+        return object;
+    }
+
+    private static void setWithBeanUtils(Object source, String[] names,
+            Object value) throws Exception {
+        for (int i = 0; i < names.length - 1; i += 1) {
+            Object obj = PropertyUtils.getProperty(source, names[i]);
+            if (obj == null) {
+                obj = PropertyUtils.getPropertyType(source, names[i])
+                        .newInstance();
+                PropertyUtils.setProperty(source, names[i], obj);
+            }
+            source = obj;
+        }
+        PropertyUtils.setProperty(source, names[names.length - 1], value);
+    }
+
+}
@@ -0,0 +1,1033 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage.local;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.raytheon.uf.common.datastorage.StorageProperties.Compression;
+import com.raytheon.uf.common.datastorage.local.LocalDataset.Chunk;
+
+/**
+ * The container file format used by {@link LocalDataStore}. A file holds any
+ * number of datasets organized into groups in the same way as an hdf5 file.
+ * 
+ * The file is a short header followed by a log of entries that is only ever
+ * appended to. An entry either writes a complete dataset, appends rows to a
+ * dataset, deletes a dataset or group, or links a path to an existing dataset
+ * or group. A link shares the chunks of its target as they were when the link
+ * was created, later changes to the target are not visible through the link.
+ * The data of each dataset is split
+ * into chunks of whole rows which are optionally compressed, so a request for
+ * part of a dataset only needs to read and decompress the chunks containing
+ * that part. Chunks are read through a memory mapping of the file.
+ * 
+ * Because entries are only appended, readers never need to lock a file. An
+ * entry that is incomplete because it is still being written or because a
+ * writer failed is ignored by readers and overwritten by the next writer.
+ * Space used by replaced and deleted datasets is reclaimed by
+ * {@link #rewrite(File, File, Compression)}, which writes a new file and
+ * atomically moves it into place.
+ * 
+ * The index of each recently used file is cached and is validated against
+ * the length and generation of the file so when a file grows only the new
+ * entries are read.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+final class LocalDataFile {
+
+    /** "AWIPSDS1" */
+    private static final long MAGIC = 0x4157495053445331L;
+
+    private static final int VERSION = 1;
+
+    /** magic, version, generation */
+    private static final int HEADER_LENGTH = 8 + 4 + 8;
+
+    private static final int ENTRY_START = 0x4C445345;
+
+    private static final int ENTRY_END = 0x4C44454E;
+
+    /** start marker, kind, header length, data length */
+    private static final int ENTRY_PREFIX_LENGTH = 4 + 1 + 4 + 8;
+
+    private static final byte DATASET = 1;
+
+    private static final byte EXTEND = 2;
+
+    private static final byte DELETE_DATASET = 3;
+
+    private static final byte DELETE_GROUP = 4;
+
+    private static final byte LINK = 5;
+
+    private static final byte VALUE_NULL = 0;
+
+    private static final byte VALUE_STRING = 1;
+
+    private static final byte VALUE_BYTE = 2;
+
+    private static final byte VALUE_SHORT = 3;
+
+    private static final byte VALUE_INT = 4;
+
+    private static final byte VALUE_LONG = 5;
+
+    private static final byte VALUE_FLOAT = 6;
+
+    private static final byte VALUE_DOUBLE = 7;
+
+    private static final byte VALUE_BOOLEAN = 8;
+
+    /** Target size of a chunk before compression. */
+    private static final int CHUNK_BYTES = Integer.getInteger(
+            "datastore.local.chunkSize", 256 * 1024);
+
+    private static final int INDEX_CACHE_SIZE = Integer.getInteger(
+            "datastore.local.indexCacheSize", 1024);
+
+    private static final Random generations = new Random();
+
+    private static final Map<File, Index> indexCache = Collections
+            .synchronizedMap(new LinkedHashMap<File, Index>(64, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<File, Index> eldest) {
+                    return size() > INDEX_CACHE_SIZE;
+                }
+            });
+
+    /** The datasets in a file at the time it was read. */
+    static final class Index {
+
+        private final long generation;
+
+        /** The end of the last complete entry. */
+        private final long end;
+
+        /** The length of the file when it was read. */
+        private final long length;
+
+        /** The modification time of the file when it was read. */
+        private final long lastModified;
+
+        private final Map<String, LocalDataset> datasets;
+
+        /**
+         * Read only mapping of the file up to end, created when data is first
+         * read. The file is never modified before end so the mapping remains
+         * valid for as long as this index is.
+         */
+        private volatile ByteBuffer mapping;
+
+        private Index(long generation, long end, long length,
+                long lastModified, Map<String, LocalDataset> datasets) {
+            this.generation = generation;
+            this.end = end;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.datasets = Collections.unmodifiableMap(datasets);
+        }
+
+        /**
+         * @return the datasets in the file, keyed by normalized path in the
+         *         order they were first written.
+         */
+        Map<String, LocalDataset> getDatasets() {
+            return datasets;
+        }
+
+        /**
+         * Get bytes from the file, from the mapping when possible.
+         */
+        private ByteBuffer read(FileChannel channel, long offset, int length)
+                throws IOException {
+            ByteBuffer mapping = this.mapping;
+            if (mapping == null && end <= Integer.MAX_VALUE) {
+                synchronized (this) {
+                    mapping = this.mapping;
+                    if (mapping == null) {
+                        mapping = channel.map(FileChannel.MapMode.READ_ONLY,
+                                0, end);
+                        this.mapping = mapping;
+                    }
+                }
+            }
+            if (mapping == null || offset + length > mapping.capacity()) {
+                return readFully(channel, offset, length);
+            }
+            ByteBuffer slice = mapping.duplicate();
+            slice.limit((int) offset + length).position((int) offset);
+            return slice.slice();
+        }
+    }
+
+    private LocalDataFile() {
+
+    }
+
+    private static File key(File file) {
+        return file.getAbsoluteFile();
+    }
+
+    /**
+     * @return true if the file starts with the header of this format.
+     */
+    static boolean isDataFile(File file) {
+        if (!file.isFile() || file.length() < HEADER_LENGTH) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, HEADER_LENGTH);
+            return header.getLong() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the index of a file, reading only entries that were written since
+     * the file was last indexed.
+     * 
+     * @param file
+     *            the file
+     * @param channel
+     *            an open channel for reading the file
+     * @return the index
+     * @throws IOException
+     *             if the file cannot be read or is not a local data file.
+     */
+    static Index getIndex(File file, FileChannel channel) throws IOException {
+        long length = channel.size();
+        if (length < HEADER_LENGTH) {
+            return new Index(0, 0, length, 0,
+                    new LinkedHashMap<String, LocalDataset>());
+        }
+        ByteBuffer header = readFully(channel, 0, HEADER_LENGTH);
+        if (header.getLong() != MAGIC) {
+            throw new IOException(file + " is not a local data file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version
+                    + " of local data file " + file);
+        }
+        long generation = header.getLong();
+        long lastModified = file.lastModified();
+
+        Index cached = indexCache.get(key(file));
+        Index index;
+        if (cached != null && cached.generation == generation
+                && cached.length == length
+                && cached.lastModified == lastModified) {
+            return cached;
+        } else if (cached != null && cached.generation == generation
+                && cached.end <= length) {
+            index = scan(channel, generation, cached.end, length,
+                    lastModified, new LinkedHashMap<>(cached.datasets));
+        } else {
+            index = scan(channel, generation, HEADER_LENGTH, length,
+                    lastModified, new LinkedHashMap<String, LocalDataset>());
+        }
+        indexCache.put(key(file), index);
+        return index;
+    }
+
+    private static Index scan(FileChannel channel, long generation,
+            long position, long length, long lastModified,
+            Map<String, LocalDataset> datasets) throws IOException {
+        while (position + ENTRY_PREFIX_LENGTH + 4 <= length) {
+            ByteBuffer prefix = readFully(channel, position,
+                    ENTRY_PREFIX_LENGTH);
+            if (prefix.getInt() != ENTRY_START) {
+                break;
+            }
+            byte kind = prefix.get();
+            int headerLength = prefix.getInt();
+            long dataLength = prefix.getLong();
+            long dataStart = position + ENTRY_PREFIX_LENGTH + headerLength;
+            long entryEnd = dataStart + dataLength + 4;
+            if (headerLength < 0 || dataLength < 0 || entryEnd > length) {
+                break;
+            }
+            if (readFully(channel, entryEnd - 4, 4).getInt() != ENTRY_END) {
+                break;
+            }
+            ByteBuffer header = readFully(channel, position
+                    + ENTRY_PREFIX_LENGTH, headerLength);
+            apply(kind, new DataInputStream(new ByteArrayInputStream(
+                    header.array())), dataStart, datasets);
+            position = entryEnd;
+        }
+        return new Index(generation, position, length, lastModified,
+                datasets);
+    }
+
+    private static void apply(byte kind, DataInputStream in, long dataStart,
+            Map<String, LocalDataset> datasets) throws IOException {
+        String path = in.readUTF();
+        switch (kind) {
+        case DATASET: {
+            LocalDataType type = LocalDataType.values()[in.readByte()];
+            Compression compression = Compression.values()[in.readByte()];
+            long[] sizes = readLongs(in);
+            long[] maxSizes = readLongs(in);
+            Number fillValue = (Number) readValue(in);
+            int attributeCount = in.readInt();
+            Map<String, Object> attributes = null;
+            if (attributeCount > 0) {
+                attributes = new LinkedHashMap<>(attributeCount * 2);
+                for (int i = 0; i < attributeCount; i += 1) {
+                    attributes.put(in.readUTF(), readValue(in));
+                }
+            }
+            Chunk[] chunks = readChunks(in, dataStart);
+            datasets.put(path, new LocalDataset(path, type, sizes, maxSizes,
+                    fillValue, attributes, compression, chunks));
+            break;
+        }
+        case EXTEND: {
+            LocalDataType type = LocalDataType.values()[in.readByte()];
+            int rowLength = in.readInt();
+            Chunk[] chunks = readChunks(in, dataStart);
+            LocalDataset dataset = datasets.get(path);
+            if (dataset != null && dataset.getType() == type
+                    && dataset.getRowLength() == rowLength) {
+                datasets.put(path, dataset.extend(chunks));
+            }
+            break;
+        }
+        case DELETE_DATASET:
+            datasets.remove(path);
+            break;
+        case DELETE_GROUP: {
+            Iterator<LocalDataset> it = datasets.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isInGroup(path)) {
+                    it.remove();
+                }
+            }
+            break;
+        }
+        case LINK:
+            link(path, in.readUTF(), datasets);
+            break;
+        default:
+            throw new IOException("Unrecognized entry type: " + kind);
+        }
+    }
+
+    /**
+     * Add datasets to path which share the chunks of the dataset or the
+     * members of the group at target. Both paths must be normalized.
+     * 
+     * @return the number of datasets that were linked.
+     */
+    private static int link(String path, String target,
+            Map<String, LocalDataset> datasets) {
+        List<LocalDataset> linked = new ArrayList<>();
+        LocalDataset dataset = datasets.get(target);
+        if (dataset != null) {
+            linked.add(dataset.withPath(path));
+        } else {
+            int prefix = target.length() == 1 ? 0 : target.length();
+            for (LocalDataset member : datasets.values()) {
+                if (member.isInGroup(target)) {
+                    linked.add(member.withPath(LocalDataset.normalizeGroup(path
+                            + member.getPath().substring(prefix))));
+                }
+            }
+        }
+        for (LocalDataset link : linked) {
+            datasets.put(link.getPath(), link);
+        }
+        return linked.size();
+    }
+
+    private static Chunk[] readChunks(DataInputStream in, long dataStart)
+            throws IOException {
+        Chunk[] chunks = new Chunk[in.readInt()];
+        long row = 0;
+        long offset = dataStart;
+        for (int i = 0; i < chunks.length; i += 1) {
+            int rows = in.readInt();
+            int storedLength = in.readInt();
+            int rawLength = in.readInt();
+            chunks[i] = new Chunk(row, rows, offset, storedLength, rawLength);
+            row += rows;
+            offset += storedLength;
+        }
+        return chunks;
+    }
+
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        long[] values = new long[length];
+        for (int i = 0; i < length; i += 1) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values)
+            throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(values.length);
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+        case VALUE_NULL:
+            return null;
+        case VALUE_STRING: {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        case VALUE_BYTE:
+            return in.readByte();
+        case VALUE_SHORT:
+            return in.readShort();
+        case VALUE_INT:
+            return in.readInt();
+        case VALUE_LONG:
+            return in.readLong();
+        case VALUE_FLOAT:
+            return in.readFloat();
+        case VALUE_DOUBLE:
+            return in.readDouble();
+        case VALUE_BOOLEAN:
+            return in.readBoolean();
+        default:
+            throw new IOException("Unrecognized value type: " + tag);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value)
+            throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(VALUE_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Byte) {
+            out.writeByte(VALUE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.writeByte(VALUE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(VALUE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(VALUE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else {
+            throw new IllegalArgumentException("Cannot store attribute of type "
+                    + value.getClass().getSimpleName());
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position,
+            int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Delete a file and forget its index.
+     */
+    static boolean delete(File file) throws IOException {
+        indexCache.remove(key(file));
+        return Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * Write all the datasets in a file to a new file that contains no space
+     * for deleted or replaced data and where each dataset is stored
+     * contiguously. The new file is written next to the destination and moved
+     * into place so readers of the destination never see a partial file.
+     * 
+     * @param source
+     *            the file to read
+     * @param destination
+     *            the file to write, may be the same as source
+     * @param compression
+     *            the compression for every dataset in the new file, or null
+     *            to keep the compression of each dataset.
+     */
+    static void rewrite(File source, File destination, Compression compression)
+            throws IOException {
+        File directory = destination.getAbsoluteFile().getParentFile();
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        File temp = File.createTempFile("." + destination.getName(), ".tmp",
+                directory);
+        boolean moved = false;
+        try (FileChannel in = FileChannel.open(source.toPath(),
+                StandardOpenOption.READ)) {
+            Index sourceIndex = getIndex(source, in);
+            Index index;
+            try (Writer writer = new Writer(temp)) {
+                for (LocalDataset dataset : sourceIndex.datasets.values()) {
+                    Object data = new Reader(in, sourceIndex, dataset)
+                            .readAll();
+                    writer.write(dataset, compression == null ? dataset
+                            .getCompression() : compression, data);
+                }
+                index = writer.close(true);
+            }
+            Files.move(temp.toPath(), destination.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+            indexCache.remove(key(temp));
+            indexCache.put(key(destination), index);
+        } finally {
+            if (!moved) {
+                delete(temp);
+            }
+        }
+    }
+
+    /**
+     * Appends entries to a file. Only one writer should exist for a file at a
+     * time, the caller is responsible for locking.
+     */
+    static final class Writer implements Closeable {
+
+        private final File file;
+
+        private final FileChannel channel;
+
+        private final long generation;
+
+        private final Map<String, LocalDataset> datasets;
+
+        private long position;
+
+        private Deflater deflater;
+
+        private boolean closed;
+
+        Writer(File file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            boolean success = false;
+            try {
+                Index index = getIndex(file, channel);
+                if (channel.size() < HEADER_LENGTH) {
+                    generation = generations.nextLong();
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                    header.putLong(MAGIC).putInt(VERSION).putLong(generation);
+                    header.flip();
+                    channel.truncate(0);
+                    writeFully(channel, 0, header);
+                    position = HEADER_LENGTH;
+                } else {
+                    generation = index.generation;
+                    position = index.end;
+                    if (channel.size() > position) {
+                        /* Remove an incomplete entry from a failed writer. */
+                        channel.truncate(position);
+                    }
+                }
+                datasets = new LinkedHashMap<>(index.datasets);
+                success = true;
+            } finally {
+                if (!success) {
+                    channel.close();
+                }
+            }
+        }
+
+        /**
+         * @return the datasets in the file, including changes made by this
+         *         writer.
+         */
+        Map<String, LocalDataset> getDatasets() {
+            return Collections.unmodifiableMap(datasets);
+        }
+
+        FileChannel getChannel() {
+            return channel;
+        }
+
+        /**
+         * Write a complete dataset, replacing any existing dataset with the
+         * same path.
+         */
+        LocalDataset write(String path, LocalDataType type, long[] sizes,
+                long[] maxSizes, Number fillValue,
+                Map<String, Object> attributes, Compression compression,
+                Object data) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(path);
+            out.writeByte(type.ordinal());
+            out.writeByte(compression.ordinal());
+            writeLongs(out, sizes);
+            writeLongs(out, maxSizes);
+            writeValue(out, fillValue);
+            if (attributes == null) {
+                out.writeInt(0);
+            } else {
+                out.writeInt(attributes.size());
+                for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            }
+            int rowLength = LocalDataset.getRowLength(sizes);
+            long rows = sizes.length == 0 ? 0 : sizes[sizes.length - 1];
+            List<byte[]> chunks = encode(type, compression, data, rowLength,
+                    rows, out);
+            append(DATASET, bytes.toByteArray(), chunks);
+
+            LocalDataset dataset = new LocalDataset(path, type,
+                    sizes.clone(), maxSizes, fillValue, attributes,
+                    compression, locate(chunks, bytes));
+            datasets.put(path, dataset);
+            return dataset;
+        }
+
+        /**
+         * Write a complete dataset with the same description as an existing
+         * dataset.
+         */
+        LocalDataset write(LocalDataset dataset, Compression compression,
+                Object data) throws IOException {
+            return write(dataset.getPath(), dataset.getType(),
+                    dataset.getSizes(), dataset.getMaxSizes(),
+                    dataset.getFillValue(), dataset.getAttributes(),
+                    compression, data);
+        }
+
+        /**
+         * Append rows to the end of an existing dataset.
+         * 
+         * @param dataset
+         *            the existing dataset
+         * @param data
+         *            the new data, the length must be a multiple of the row
+         *            length of dataset.
+         */
+        LocalDataset extend(LocalDataset dataset, Object data)
+                throws IOException {
+            int rowLength = dataset.getRowLength();
+            long rows = rowLength == 0 ? 0 : Array.getLength(data)
+                    / rowLength;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(dataset.getPath());
+            out.writeByte(dataset.getType().ordinal());
+            out.writeInt(rowLength);
+            List<byte[]> chunks = encode(dataset.getType(),
+                    dataset.getCompression(), data, rowLength, rows, out);
+            append(EXTEND, bytes.toByteArray(), chunks);
+
+            LocalDataset extended = dataset.extend(locate(chunks, bytes));
+            datasets.put(dataset.getPath(), extended);
+            return extended;
+        }
+
+        void deleteDataset(String path) throws IOException {
+            appendDelete(DELETE_DATASET, path);
+            datasets.remove(path);
+        }
+
+        void deleteGroup(String group) throws IOException {
+            appendDelete(DELETE_GROUP, group);
+            Iterator<LocalDataset> it = datasets.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isInGroup(group)) {
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * Link a path to an existing dataset or group, nothing is written if
+         * target does not exist. Both paths must be normalized.
+         * 
+         * @return the number of datasets that were linked.
+         */
+        int link(String path, String target) throws IOException {
+            Map<String, LocalDataset> linked = new LinkedHashMap<>(datasets);
+            int count = LocalDataFile.link(path, target, linked);
+            if (count > 0) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeUTF(path);
+                out.writeUTF(target);
+                append(LINK, bytes.toByteArray(),
+                        Collections.<byte[]> emptyList());
+                datasets.clear();
+                datasets.putAll(linked);
+            }
+            return count;
+        }
+
+        private void appendDelete(byte kind, String path)
+                throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            new DataOutputStream(bytes).writeUTF(path);
+            append(kind, bytes.toByteArray(), Collections.<byte[]> emptyList());
+        }
+
+        /**
+         * Split data into chunks of whole rows and compress them. The chunk
+         * descriptions are written to out.
+         */
+        private List<byte[]> encode(LocalDataType type,
+                Compression compression, Object data, int rowLength,
+                long rows, DataOutputStream out) throws IOException {
+            long rowBytes = Math.max(1L, (long) rowLength
+                    * type.getElementSize());
+            int chunkRows = (int) Math.max(1, CHUNK_BYTES / rowBytes);
+            List<byte[]> chunks = new ArrayList<>();
+            ByteArrayOutputStream descriptions = new ByteArrayOutputStream();
+            DataOutputStream dout = new DataOutputStream(descriptions);
+            for (long row = 0; row < rows; row += chunkRows) {
+                int count = (int) Math.min(chunkRows, rows - row);
+                byte[] raw = type.encode(data, (int) (row * rowLength), count
+                        * rowLength);
+                byte[] stored = compress(compression, raw);
+                chunks.add(stored);
+                dout.writeInt(count);
+                dout.writeInt(stored.length);
+                dout.writeInt(raw.length);
+            }
+            out.writeInt(chunks.size());
+            descriptions.writeTo(out);
+            return chunks;
+        }
+
+        /**
+         * @return compressed bytes, or raw if compression is not enabled or
+         *         does not make the data smaller.
+         */
+        private byte[] compress(Compression compression, byte[] raw) {
+            if (compression == Compression.NONE || raw.length == 0) {
+                return raw;
+            }
+            if (deflater == null) {
+                deflater = new Deflater();
+            } else {
+                deflater.reset();
+            }
+            if (compression == Compression.LZF) {
+                deflater.setLevel(Deflater.BEST_SPEED);
+            } else {
+                deflater.setLevel(Deflater.DEFAULT_COMPRESSION);
+            }
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] stored = new byte[raw.length];
+            int length = 0;
+            while (!deflater.finished() && length < stored.length) {
+                length += deflater.deflate(stored, length, stored.length
+                        - length);
+            }
+            if (!deflater.finished() || length >= raw.length) {
+                return raw;
+            }
+            return Arrays.copyOf(stored, length);
+        }
+
+        /**
+         * Create chunk descriptions for chunks that were just appended. Must
+         * be called immediately after {@link #append(byte, byte[], List)}.
+         */
+        private Chunk[] locate(List<byte[]> chunks,
+                ByteArrayOutputStream header) throws IOException {
+            long dataLength = 0;
+            for (byte[] chunk : chunks) {
+                dataLength += chunk.length;
+            }
+            long dataStart = position - 4 - dataLength;
+            byte[] bytes = header.toByteArray();
+            int descriptionStart = bytes.length - 4 - 12 * chunks.size();
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                    bytes, descriptionStart, bytes.length - descriptionStart));
+            return readChunks(in, dataStart);
+        }
+
+        private void append(byte kind, byte[] header, List<byte[]> chunks)
+                throws IOException {
+            long dataLength = 0;
+            for (byte[] chunk : chunks) {
+                dataLength += chunk.length;
+            }
+            ByteBuffer prefix = ByteBuffer.allocate(ENTRY_PREFIX_LENGTH);
+            prefix.putInt(ENTRY_START).put(kind).putInt(header.length)
+                    .putLong(dataLength);
+            prefix.flip();
+            long offset = position;
+            offset += writeFully(channel, offset, prefix);
+            offset += writeFully(channel, offset, ByteBuffer.wrap(header));
+            for (byte[] chunk : chunks) {
+                offset += writeFully(channel, offset, ByteBuffer.wrap(chunk));
+            }
+            ByteBuffer end = ByteBuffer.allocate(4);
+            end.putInt(ENTRY_END);
+            end.flip();
+            offset += writeFully(channel, offset, end);
+            position = offset;
+        }
+
+        private static int writeFully(FileChannel channel, long position,
+                ByteBuffer buffer) throws IOException {
+            int length = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + length - buffer.remaining());
+            }
+            return length;
+        }
+
+        /**
+         * Close the writer.
+         * 
+         * @param keep
+         *            if false and the file no longer contains any datasets it
+         *            is deleted.
+         * @return the index of the file after all the changes made by this
+         *         writer.
+         */
+        Index close(boolean keep) throws IOException {
+            if (closed) {
+                return indexCache.get(key(file));
+            }
+            closed = true;
+            if (deflater != null) {
+                deflater.end();
+            }
+            channel.close();
+            Index index = new Index(generation, position, position,
+                    file.lastModified(), new LinkedHashMap<>(datasets));
+            if (!keep && datasets.isEmpty()) {
+                delete(file);
+            } else {
+                indexCache.put(key(file), index);
+            }
+            return index;
+        }
+
+        @Override
+        public void close() throws IOException {
+            close(true);
+        }
+    }
+
+    /**
+     * Reads the data of a single dataset. The most recently used chunk is
+     * kept so requests that read many small pieces of a chunk only decompress
+     * it once.
+     */
+    static final class Reader {
+
+        private final FileChannel channel;
+
+        private final Index index;
+
+        private final LocalDataset dataset;
+
+        private final int rowLength;
+
+        private int cachedIndex = -1;
+
+        private Object cachedChunk;
+
+        /**
+         * @param channel
+         *            channel for reading the file
+         * @param index
+         *            the index containing dataset, this is used to share a
+         *            mapping of the file between readers. If null then data
+         *            is read directly from the channel.
+         * @param dataset
+         *            the dataset to read
+         */
+        Reader(FileChannel channel, Index index, LocalDataset dataset) {
+            this.channel = channel;
+            this.index = index;
+            this.dataset = dataset;
+            this.rowLength = dataset.getRowLength();
+        }
+
+        /**
+         * @return an array containing all the elements of the dataset
+         */
+        Object readAll() throws IOException {
+            long count = dataset.getElementCount();
+            if (count > Integer.MAX_VALUE) {
+                throw new IOException("Dataset " + dataset.getPath()
+                        + " is too large to read at once");
+            }
+            Object data = dataset.getType().newArray((int) count);
+            copy(0, (int) count, data, 0);
+            return data;
+        }
+
+        /**
+         * Copy elements of the dataset into an array.
+         * 
+         * @param element
+         *            the index of the first element to copy
+         * @param count
+         *            the number of elements to copy
+         * @param dest
+         *            the destination array
+         * @param destPos
+         *            the index in dest of the first copied element.
+         */
+        void copy(long element, int count, Object dest, int destPos)
+                throws IOException {
+            while (count > 0) {
+                long row = element / rowLength;
+                int index = dataset.findChunk(row);
+                Chunk chunk = dataset.getChunks()[index];
+                Object data = chunk(index);
+                int offset = (int) (element - chunk.firstRow * rowLength);
+                int length = Math.min(count, chunk.rows * rowLength - offset);
+                System.arraycopy(data, offset, dest, destPos, length);
+                element += length;
+                destPos += length;
+                count -= length;
+            }
+        }
+
+        private Object chunk(int index) throws IOException {
+            if (index == cachedIndex) {
+                return cachedChunk;
+            }
+            Chunk chunk = dataset.getChunks()[index];
+            ByteBuffer buffer;
+            if (this.index == null) {
+                buffer = readFully(channel, chunk.offset, chunk.storedLength);
+            } else {
+                buffer = this.index.read(channel, chunk.offset,
+                        chunk.storedLength);
+            }
+            if (chunk.isCompressed()) {
+                byte[] stored = new byte[chunk.storedLength];
+                buffer.get(stored);
+                byte[] raw = new byte[chunk.rawLength];
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(stored);
+                    int length = 0;
+                    while (length < raw.length && !inflater.finished()) {
+                        int inflated = inflater.inflate(raw, length,
+                                raw.length - length);
+                        if (inflated == 0 && inflater.needsInput()) {
+                            throw new EOFException("Truncated chunk in "
+                                    + dataset.getPath());
+                        }
+                        length += inflated;
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupt chunk in "
+                            + dataset.getPath(), e);
+                } finally {
+                    inflater.end();
+                }
+                buffer = ByteBuffer.wrap(raw);
+            }
+            int count = chunk.rows * rowLength;
+            Object data = dataset.getType().newArray(count);
+            dataset.getType().decode(buffer, data, 0, count);
+            cachedIndex = index;
+            cachedChunk = data;
+            return data;
+        }
+    }
+
+}
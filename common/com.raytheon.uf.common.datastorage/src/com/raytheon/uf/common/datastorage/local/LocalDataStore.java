@@ -0,0 +1,876 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage.local;
+
+import java.awt.Point;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.raytheon.uf.common.datastorage.DataStoreFactory;
+import com.raytheon.uf.common.datastorage.DuplicateRecordStorageException;
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.StorageException;
+import com.raytheon.uf.common.datastorage.StorageProperties;
+import com.raytheon.uf.common.datastorage.StorageProperties.Compression;
+import com.raytheon.uf.common.datastorage.StorageStatus;
+import com.raytheon.uf.common.datastorage.local.LocalDataFile.Index;
+import com.raytheon.uf.common.datastorage.local.LocalDataFile.Reader;
+import com.raytheon.uf.common.datastorage.local.LocalDataFile.Writer;
+import com.raytheon.uf.common.datastorage.locking.ClusteredLockManager;
+import com.raytheon.uf.common.datastorage.locking.LockException;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+
+/**
+ * {@link IDataStore} that reads and writes {@link LocalDataFile}s directly
+ * from the local file system instead of sending requests to a pypies server.
+ * It is intended for single box installations, testing and benchmarking.
+ * 
+ * Writes are locked with the {@link ClusteredLockManager} when locking is
+ * enabled, reads are never locked because files are only appended to or
+ * atomically replaced.
+ * 
+ * The file format is not hdf5, so files written by this store can only be
+ * read by this store.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class LocalDataStore implements IDataStore {
+
+    private static final long LOCK_TIMEOUT = Long.getLong(
+            "datastore.local.lockTimeout", 60 * 1000L);
+
+    private static final long LOCK_RETRY_INTERVAL = 10;
+
+    /** Matches the reference time in the name of an hdf5 file. */
+    private static final Pattern FILE_TIME_PATTERN = Pattern
+            .compile("(\\d{4})-(\\d{2})-(\\d{2})-(\\d{2})");
+
+    protected final File file;
+
+    protected final boolean useLocking;
+
+    protected List<IDataRecord> records = new ArrayList<>();
+
+    /**
+     * @param file
+     *            the file for operations on a single file, or a directory for
+     *            operations on many files such as {@link #repack(Compression)}
+     * @param useLocking
+     *            true if writes should be locked.
+     */
+    public LocalDataStore(File file, boolean useLocking) {
+        this.file = file;
+        this.useLocking = useLocking;
+    }
+
+    @Override
+    public void addDataRecord(IDataRecord dataset, StorageProperties properties)
+            throws StorageException {
+        if (dataset.validateDataSet()) {
+            dataset.setProperties(properties);
+            records.add(dataset);
+        } else {
+            throw new StorageException("Invalid dataset " + dataset.getName()
+                    + " :" + dataset, null);
+        }
+    }
+
+    @Override
+    public void addDataRecord(IDataRecord dataset) throws StorageException {
+        addDataRecord(dataset, dataset.getProperties());
+    }
+
+    @Override
+    public StorageStatus store() throws StorageException {
+        return store(StoreOp.STORE_ONLY);
+    }
+
+    @Override
+    public StorageStatus store(StoreOp storeOp) throws StorageException {
+        StorageStatus status = new StorageStatus();
+        StoreOp performed = StoreOp.STORE_ONLY;
+        List<StorageException> exceptions = new ArrayList<>();
+        if (records.isEmpty()) {
+            status.setOperationPerformed(performed);
+            status.setExceptions(new StorageException[0]);
+            return status;
+        }
+        try {
+            lock(file);
+            try (Writer writer = new Writer(file)) {
+                for (IDataRecord record : records) {
+                    try {
+                        StoreOp op = write(writer, record, storeOp, status);
+                        if (op.ordinal() > performed.ordinal()) {
+                            performed = op;
+                        }
+                    } catch (StorageException e) {
+                        exceptions.add(e);
+                    } catch (IOException | RuntimeException e) {
+                        exceptions.add(new StorageException(
+                                "Error storing dataset " + record.getName()
+                                        + " in " + file, record, e));
+                    }
+                }
+            } finally {
+                unlock(file);
+            }
+        } catch (StorageException | IOException e) {
+            exceptions.clear();
+            for (IDataRecord record : records) {
+                exceptions.add(new StorageException(e.getMessage(), record, e));
+            }
+        }
+        records.clear();
+        status.setOperationPerformed(performed);
+        status.setExceptions(exceptions.toArray(new StorageException[0]));
+        return status;
+    }
+
+    /**
+     * Write a single record.
+     * 
+     * @return the operation that was actually performed
+     */
+    private StoreOp write(Writer writer, IDataRecord record, StoreOp storeOp,
+            StorageStatus status) throws StorageException, IOException {
+        String path = LocalDataset.createPath(record.getGroup(),
+                record.getName());
+        LocalDataType type = LocalDataType.of(record);
+        long[] sizes = getSizes(record);
+        Compression compression = getCompression(record);
+        LocalDataset existing = writer.getDatasets().get(path);
+        long[] minIndex = record.getMinIndex();
+        if (minIndex != null && minIndex.length > 0) {
+            writePartial(writer, existing, path, type, sizes, record);
+            return existing == null ? StoreOp.STORE_ONLY : StoreOp.REPLACE;
+        } else if (existing == null) {
+            writer.write(path, type, sizes, record.getMaxSizes(),
+                    record.getFillValue(), record.getDataAttributes(),
+                    compression, record.getDataObject());
+            return StoreOp.STORE_ONLY;
+        }
+        switch (storeOp) {
+        case REPLACE:
+        case OVERWRITE:
+            writer.write(path, type, sizes, record.getMaxSizes(),
+                    record.getFillValue(), record.getDataAttributes(),
+                    compression, record.getDataObject());
+            return StoreOp.REPLACE;
+        case APPEND:
+            long[] existingSizes = existing.getSizes();
+            if (existing.getType() != type
+                    || existingSizes.length != sizes.length
+                    || existing.getRowLength() != LocalDataset
+                            .getRowLength(sizes)) {
+                throw new StorageException("Cannot append "
+                        + Arrays.toString(sizes) + " " + type
+                        + " to dataset " + path + " of "
+                        + Arrays.toString(existingSizes) + " "
+                        + existing.getType(), record);
+            }
+            status.setIndexOfAppend(new long[] { existing.getRows() });
+            writer.extend(existing, record.getDataObject());
+            return StoreOp.APPEND;
+        default:
+            throw new DuplicateRecordStorageException("Dataset " + path
+                    + " already exists in " + file, record);
+        }
+    }
+
+    /**
+     * Write a record into part of a dataset, as described by the min index of
+     * the record.
+     */
+    private void writePartial(Writer writer, LocalDataset existing,
+            String path, LocalDataType type, long[] sizes, IDataRecord record)
+            throws StorageException, IOException {
+        long[] fullSizes;
+        Object data;
+        if (existing != null) {
+            fullSizes = existing.getSizes();
+            data = new Reader(writer.getChannel(), null, existing).readAll();
+        } else if (record.getMaxSizes() != null) {
+            fullSizes = Arrays.copyOf(record.getMaxSizes(), sizes.length);
+            data = type.newFilledArray(
+                    (int) LocalDataset.getElementCount(fullSizes),
+                    record.getFillValue());
+        } else {
+            throw new StorageException("Cannot write part of dataset " + path
+                    + " because it does not exist", record);
+        }
+        long[] minIndex = record.getMinIndex();
+        if (fullSizes.length != sizes.length
+                || minIndex.length < sizes.length) {
+            throw new StorageException("Dimensions of " + path
+                    + " do not match the record", record);
+        }
+        for (int i = 0; i < sizes.length; i += 1) {
+            if (minIndex[i] < 0 || minIndex[i] + sizes[i] > fullSizes[i]) {
+                throw new StorageException("Record does not fit in dataset "
+                        + path + " " + Arrays.toString(fullSizes), record);
+            }
+        }
+        Object partial = record.getDataObject();
+        int width = (int) sizes[0];
+        long[] index = new long[sizes.length];
+        int source = 0;
+        int count = (int) LocalDataset.getElementCount(sizes);
+        while (source < count) {
+            long dest = minIndex[0];
+            long stride = 1;
+            for (int i = 1; i < sizes.length; i += 1) {
+                stride *= fullSizes[i - 1];
+                dest += (minIndex[i] + index[i]) * stride;
+            }
+            System.arraycopy(partial, source, data, (int) dest, width);
+            source += width;
+            increment(index, sizes);
+        }
+        if (existing == null) {
+            writer.write(path, type, fullSizes, record.getMaxSizes(),
+                    record.getFillValue(), record.getDataAttributes(),
+                    getCompression(record), data);
+        } else {
+            writer.write(existing, existing.getCompression(), data);
+        }
+    }
+
+    /**
+     * Advance a multidimensional index over all dimensions except the first.
+     */
+    private static void increment(long[] index, long[] sizes) {
+        for (int i = 1; i < index.length; i += 1) {
+            index[i] += 1;
+            if (index[i] < sizes[i]) {
+                return;
+            }
+            index[i] = 0;
+        }
+    }
+
+    private static long[] getSizes(IDataRecord record) {
+        long[] sizes = record.getSizes();
+        int dimension = record.getDimension();
+        if (dimension > 0 && dimension < sizes.length) {
+            sizes = Arrays.copyOf(sizes, dimension);
+        }
+        return sizes;
+    }
+
+    private static Compression getCompression(IDataRecord record) {
+        StorageProperties props = record.getProperties();
+        if (props == null || props.getCompression() == null) {
+            return Compression.NONE;
+        }
+        return props.getCompression();
+    }
+
+    @Override
+    public void createDataset(IDataRecord rec) throws StorageException,
+            FileNotFoundException {
+        String path = LocalDataset.createPath(rec.getGroup(), rec.getName());
+        LocalDataType type = LocalDataType.of(rec);
+        long[] sizes = getSizes(rec);
+        lock(file);
+        try (Writer writer = new Writer(file)) {
+            if (writer.getDatasets().containsKey(path)) {
+                throw new DuplicateRecordStorageException("Dataset " + path
+                        + " already exists in " + file, rec);
+            }
+            long count = LocalDataset.getElementCount(sizes);
+            writer.write(path, type, sizes, rec.getMaxSizes(),
+                    rec.getFillValue(), rec.getDataAttributes(),
+                    getCompression(rec),
+                    type.newFilledArray((int) count, rec.getFillValue()));
+        } catch (IOException e) {
+            throw new StorageException("Error creating dataset " + path
+                    + " in " + file, rec, e);
+        } finally {
+            unlock(file);
+        }
+    }
+
+    @Override
+    public void deleteDatasets(String... datasets) throws StorageException,
+            FileNotFoundException {
+        delete(datasets, false);
+    }
+
+    @Override
+    public void deleteGroups(String... groups) throws StorageException,
+            FileNotFoundException {
+        delete(groups, true);
+    }
+
+    private void delete(String[] paths, boolean groups)
+            throws StorageException, FileNotFoundException {
+        if (!file.exists()) {
+            throw new FileNotFoundException("File does not exist: " + file);
+        }
+        lock(file);
+        try {
+            Writer writer = new Writer(file);
+            try {
+                for (String path : paths) {
+                    path = LocalDataset.normalizeGroup(path);
+                    if (groups) {
+                        writer.deleteGroup(path);
+                    } else {
+                        writer.deleteDataset(path);
+                    }
+                }
+            } finally {
+                writer.close(false);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Error deleting from " + file, null, e);
+        } finally {
+            unlock(file);
+        }
+    }
+
+    @Override
+    public IDataRecord[] retrieve(String group) throws StorageException,
+            FileNotFoundException {
+        return retrieveGroups(new String[] { group }, Request.ALL);
+    }
+
+    @Override
+    public IDataRecord retrieve(String group, String dataset, Request request)
+            throws StorageException, FileNotFoundException {
+        return retrieveDatasets(
+                new String[] { LocalDataset.createPath(group, dataset) },
+                request)[0];
+    }
+
+    @Override
+    public IDataRecord[] retrieveDatasets(String[] datasetGroupPath,
+            Request request) throws StorageException, FileNotFoundException {
+        try (FileChannel channel = openForRead()) {
+            Index index = LocalDataFile.getIndex(file, channel);
+            Map<String, LocalDataset> datasets = index.getDatasets();
+            IDataRecord[] result = new IDataRecord[datasetGroupPath.length];
+            for (int i = 0; i < datasetGroupPath.length; i += 1) {
+                String path = LocalDataset.normalizeGroup(datasetGroupPath[i]);
+                LocalDataset dataset = datasets.get(path);
+                if (dataset == null) {
+                    throw new StorageException("Dataset " + path
+                            + " does not exist in " + file, null);
+                }
+                result[i] = retrieve(channel, index, dataset, request);
+            }
+            return result;
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new StorageException("Error reading " + file, null, e);
+        }
+    }
+
+    @Override
+    public IDataRecord[] retrieveGroups(String[] groups, Request request)
+            throws StorageException, FileNotFoundException {
+        try (FileChannel channel = openForRead()) {
+            Index index = LocalDataFile.getIndex(file, channel);
+            Map<String, LocalDataset> datasets = index.getDatasets();
+            List<IDataRecord> result = new ArrayList<>();
+            for (String group : groups) {
+                for (LocalDataset dataset : getGroupDatasets(datasets, group)) {
+                    result.add(retrieve(channel, index, dataset, request));
+                }
+            }
+            return result.toArray(new IDataRecord[0]);
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new StorageException("Error reading " + file, null, e);
+        }
+    }
+
+    @Override
+    public String[] getDatasets(String group) throws StorageException,
+            FileNotFoundException {
+        try (FileChannel channel = openForRead()) {
+            Map<String, LocalDataset> datasets = LocalDataFile.getIndex(file,
+                    channel).getDatasets();
+            String normalized = LocalDataset.normalizeGroup(group);
+            TreeSet<String> names = new TreeSet<>();
+            for (LocalDataset dataset : datasets.values()) {
+                if (dataset.isInGroup(normalized)) {
+                    String child = dataset.getPath().substring(
+                            normalized.length() == 1 ? 1
+                                    : normalized.length() + 1);
+                    int index = child.indexOf(DataStoreFactory.DEF_SEPARATOR);
+                    names.add(index < 0 ? child : child.substring(0, index));
+                }
+            }
+            if (names.isEmpty()) {
+                throw new StorageException("Group " + normalized
+                        + " does not exist in " + file, null);
+            }
+            return names.toArray(new String[0]);
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new StorageException("Error reading " + file, null, e);
+        }
+    }
+
+    /**
+     * @return the datasets directly within a group, sorted by name.
+     */
+    private List<LocalDataset> getGroupDatasets(
+            Map<String, LocalDataset> datasets, String group)
+            throws StorageException {
+        String normalized = LocalDataset.normalizeGroup(group);
+        TreeMap<String, LocalDataset> result = new TreeMap<>();
+        boolean exists = false;
+        for (LocalDataset dataset : datasets.values()) {
+            if (dataset.isInGroup(normalized)) {
+                exists = true;
+                if (dataset.getGroup().equals(normalized)) {
+                    result.put(dataset.getName(), dataset);
+                }
+            }
+        }
+        if (!exists) {
+            throw new StorageException("Group " + normalized
+                    + " does not exist in " + file, null);
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    private FileChannel openForRead() throws IOException {
+        if (!file.isFile()) {
+            throw new FileNotFoundException("File does not exist: " + file);
+        }
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * Read the part of a dataset described by a request.
+     */
+    private IDataRecord retrieve(FileChannel channel, Index fileIndex,
+            LocalDataset dataset, Request request) throws StorageException,
+            IOException {
+        Reader reader = new Reader(channel, fileIndex, dataset);
+        LocalDataType type = dataset.getType();
+        long[] sizes = dataset.getSizes();
+        long nx = sizes.length == 0 ? 0 : sizes[0];
+        long ny = nx == 0 ? 0 : dataset.getElementCount() / nx;
+        Request.Type requestType = request == null ? Request.Type.ALL
+                : request.getType();
+        Object data;
+        long[] resultSizes;
+        switch (requestType) {
+        case POINT: {
+            Point[] points = request.getPoints();
+            data = type.newArray(points.length);
+            for (int i = 0; i < points.length; i += 1) {
+                Point p = points[i];
+                long y = sizes.length == 1 ? 0 : p.y;
+                if (p.x < 0 || p.x >= nx || y < 0 || y >= ny) {
+                    throw new StorageException("Point " + p
+                            + " is outside of dataset " + dataset.getPath(),
+                            null);
+                }
+                reader.copy(y * nx + p.x, 1, data, i);
+            }
+            resultSizes = new long[] { points.length };
+            break;
+        }
+        case YLINE: {
+            /*
+             * Whole rows of the slowest varying dimension, the same as
+             * ds[indices] in pypies, which are single elements of a one
+             * dimensional dataset.
+             */
+            int[] indices = request.getIndices();
+            int rowLength = dataset.getRowLength();
+            data = type.newArray(rowLength * indices.length);
+            for (int i = 0; i < indices.length; i += 1) {
+                checkIndex(dataset, indices[i], dataset.getRows());
+                reader.copy((long) indices[i] * rowLength, rowLength, data,
+                        i * rowLength);
+            }
+            resultSizes = sizes.clone();
+            resultSizes[resultSizes.length - 1] = indices.length;
+            break;
+        }
+        case XLINE: {
+            /* Whole columns, the same as ds[:, indices] in pypies. */
+            int[] indices = request.getIndices();
+            for (int index : indices) {
+                checkIndex(dataset, index, nx);
+            }
+            data = type.newArray((int) (ny * indices.length));
+            int pos = 0;
+            for (long y = 0; y < ny; y += 1) {
+                for (int index : indices) {
+                    reader.copy(y * nx + index, 1, data, pos++);
+                }
+            }
+            resultSizes = new long[] { indices.length, ny };
+            break;
+        }
+        case SLAB: {
+            resultSizes = new long[sizes.length];
+            data = readSlab(reader, dataset, request.getMinIndexForSlab(),
+                    request.getMaxIndexForSlab(), resultSizes);
+            break;
+        }
+        default:
+            data = reader.readAll();
+            resultSizes = sizes;
+            break;
+        }
+        IDataRecord record = DataStoreFactory.createStorageRecord(
+                dataset.getName(), dataset.getGroup(), data,
+                resultSizes.length, resultSizes);
+        record.setFillValue(dataset.getFillValue());
+        record.setMaxSizes(dataset.getMaxSizes());
+        if (!dataset.getAttributes().isEmpty()) {
+            record.setDataAttributes(new HashMap<>(dataset.getAttributes()));
+        }
+        if (dataset.getCompression() != Compression.NONE) {
+            StorageProperties props = new StorageProperties();
+            props.setCompression(dataset.getCompression());
+            record.setProperties(props);
+        }
+        return record;
+    }
+
+    private static void checkIndex(LocalDataset dataset, int index, long size)
+            throws StorageException {
+        if (index < 0 || index >= size) {
+            throw new StorageException("Index " + index
+                    + " is outside of dataset " + dataset.getPath(), null);
+        }
+    }
+
+    /**
+     * Read a hyperslab. The minimum index is inclusive and the maximum is
+     * exclusive, both are clipped to the bounds of the dataset.
+     */
+    private static Object readSlab(Reader reader, LocalDataset dataset,
+            int[] minIndex, int[] maxIndex, long[] resultSizes)
+            throws IOException, StorageException {
+        long[] sizes = dataset.getSizes();
+        if (minIndex == null || maxIndex == null
+                || minIndex.length < sizes.length
+                || maxIndex.length < sizes.length) {
+            throw new StorageException("Slab request for dataset "
+                    + dataset.getPath() + " must have " + sizes.length
+                    + " dimensions", null);
+        }
+        long[] min = new long[sizes.length];
+        long count = 1;
+        for (int i = 0; i < sizes.length; i += 1) {
+            min[i] = Math.max(0, Math.min(minIndex[i], sizes[i]));
+            long max = Math.max(min[i], Math.min(maxIndex[i], sizes[i]));
+            resultSizes[i] = max - min[i];
+            count *= resultSizes[i];
+        }
+        Object data = dataset.getType().newArray((int) count);
+        if (count == 0) {
+            return data;
+        }
+        int width = (int) resultSizes[0];
+        long[] index = new long[sizes.length];
+        for (int pos = 0; pos < count; pos += width) {
+            long element = min[0];
+            long stride = 1;
+            for (int i = 1; i < sizes.length; i += 1) {
+                stride *= sizes[i - 1];
+                element += (min[i] + index[i]) * stride;
+            }
+            reader.copy(element, width, data, pos);
+            increment(index, resultSizes);
+        }
+        return data;
+    }
+
+    /**
+     * Links are only supported within the same file. A link refers to the
+     * target dataset or group as it is when the link is created.
+     */
+    @Override
+    public void createLinks(Map<String, LinkLocation> links)
+            throws StorageException, FileNotFoundException {
+        if (!file.exists()) {
+            throw new FileNotFoundException("File does not exist: " + file);
+        }
+        for (LinkLocation location : links.values()) {
+            if (location.fileName != null && !isSameFile(location.fileName)) {
+                throw new StorageException("Cannot link to "
+                        + location.fileName + " from " + file
+                        + ", links to other files are not supported", null);
+            }
+        }
+        lock(file);
+        try (Writer writer = new Writer(file)) {
+            for (Map.Entry<String, LinkLocation> entry : links.entrySet()) {
+                String path = LocalDataset.normalizeGroup(entry.getKey());
+                String target = LocalDataset
+                        .normalizeGroup(entry.getValue().linkTarget);
+                if (writer.link(path, target) == 0) {
+                    throw new StorageException("Link target " + target
+                            + " does not exist in " + file, null);
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException("Error creating links in " + file,
+                    null, e);
+        } finally {
+            unlock(file);
+        }
+    }
+
+    private boolean isSameFile(String fileName) {
+        File other = new File(fileName);
+        if (!other.isAbsolute()) {
+            other = new File(file.getParentFile(), fileName);
+        }
+        return other.getAbsoluteFile().equals(file.getAbsoluteFile());
+    }
+
+    @Override
+    public void deleteFiles(String[] datesToDelete) throws StorageException,
+            FileNotFoundException {
+        List<String> failed = new ArrayList<>();
+        for (File f : listFiles(file)) {
+            for (String date : datesToDelete) {
+                if (f.getName().contains(date)) {
+                    deleteFile(f, failed);
+                    break;
+                }
+            }
+        }
+        checkFailures("Error deleting the following files: ", failed);
+    }
+
+    @Override
+    public void deleteOrphanData(Map<String, Date> dateMap)
+            throws StorageException {
+        if (dateMap == null || dateMap.isEmpty()) {
+            return;
+        }
+        List<String> failed = new ArrayList<>();
+        for (Map.Entry<String, Date> entry : dateMap.entrySet()) {
+            File root = new File(file, entry.getKey());
+            if (!root.exists() && entry.getKey().equals(file.getName())) {
+                root = file;
+            }
+            long oldest = entry.getValue().getTime();
+            for (File f : listFiles(root)) {
+                Matcher matcher = FILE_TIME_PATTERN.matcher(f.getName());
+                if (matcher.find()) {
+                    long time = LocalDateTime
+                            .of(Integer.parseInt(matcher.group(1)),
+                                    Integer.parseInt(matcher.group(2)),
+                                    Integer.parseInt(matcher.group(3)),
+                                    Integer.parseInt(matcher.group(4)), 0)
+                            .toInstant(ZoneOffset.UTC).toEpochMilli();
+                    if (time < oldest) {
+                        deleteFile(f, failed);
+                    }
+                }
+            }
+        }
+        checkFailures("Error deleting the following orphaned files: ",
+                failed);
+    }
+
+    private void deleteFile(File f, List<String> failed) {
+        try {
+            lock(f);
+            try {
+                LocalDataFile.delete(f);
+            } finally {
+                unlock(f);
+            }
+        } catch (StorageException | IOException e) {
+            failed.add(f.getPath());
+        }
+    }
+
+    @Override
+    public void repack(Compression compression) throws StorageException {
+        List<String> failed = new ArrayList<>();
+        for (File f : listFiles(file)) {
+            if (LocalDataFile.isDataFile(f)) {
+                try {
+                    lock(f);
+                    try {
+                        LocalDataFile.rewrite(f, f, compression);
+                    } finally {
+                        unlock(f);
+                    }
+                } catch (StorageException | IOException e) {
+                    failed.add(f.getPath());
+                }
+            }
+        }
+        checkFailures("Error repacking the following files: ", failed);
+    }
+
+    @Override
+    public void copy(String outputDir, Compression compression,
+            int minMillisSinceLastChange, int maxMillisSinceLastChange)
+            throws StorageException {
+        long now = System.currentTimeMillis();
+        Path base = file.isDirectory() ? file.toPath() : file.toPath()
+                .getParent();
+        List<String> failed = new ArrayList<>();
+        for (File f : listFiles(file)) {
+            long age = now - f.lastModified();
+            if (minMillisSinceLastChange > 0
+                    && age < minMillisSinceLastChange) {
+                continue;
+            } else if (maxMillisSinceLastChange > 0
+                    && age > maxMillisSinceLastChange) {
+                continue;
+            }
+            File dest = new File(outputDir, base.relativize(f.toPath())
+                    .toString());
+            try {
+                lock(f);
+                try {
+                    if (compression != null && LocalDataFile.isDataFile(f)) {
+                        LocalDataFile.rewrite(f, dest, compression);
+                    } else {
+                        dest.getParentFile().mkdirs();
+                        Files.copy(f.toPath(), dest.toPath(),
+                                StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    unlock(f);
+                }
+            } catch (StorageException | IOException e) {
+                failed.add(f.getPath());
+            }
+        }
+        checkFailures("Error copying the following files: ", failed);
+    }
+
+    private static void checkFailures(String message, List<String> failed)
+            throws StorageException {
+        if (!failed.isEmpty()) {
+            StringBuilder sb = new StringBuilder(message);
+            for (int i = 0; i < failed.size(); i++) {
+                sb.append(failed.get(i));
+                if (i < failed.size() - 1) {
+                    sb.append(", ");
+                }
+            }
+            throw new StorageException(sb.toString(), null);
+        }
+    }
+
+    /**
+     * @return all regular files in or below a directory, or the file itself
+     *         if it is not a directory. Hidden files, which include files
+     *         that are being rewritten, are skipped.
+     */
+    private static List<File> listFiles(File root) throws StorageException {
+        List<File> result = new ArrayList<>();
+        if (root.isFile()) {
+            result.add(root);
+        } else if (root.isDirectory()) {
+            File[] children = root.listFiles();
+            if (children == null) {
+                throw new StorageException("Unable to list " + root, null);
+            }
+            Arrays.sort(children);
+            for (File child : children) {
+                if (!child.getName().startsWith(".")) {
+                    result.addAll(listFiles(child));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void lock(File f) throws StorageException {
+        if (!useLocking) {
+            return;
+        }
+        try {
+            ClusteredLockManager lockManager = ClusteredLockManager
+                    .getInstance();
+            long timeout = System.currentTimeMillis() + LOCK_TIMEOUT;
+            while (!lockManager.getLock(f, true)) {
+                if (System.currentTimeMillis() > timeout) {
+                    throw new StorageException("Timed out waiting for lock on "
+                            + f, null);
+                }
+                Thread.sleep(LOCK_RETRY_INTERVAL);
+            }
+        } catch (LockException | FileNotFoundException e) {
+            throw new StorageException("Unable to lock " + f, null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted waiting for lock on " + f,
+                    null, e);
+        }
+    }
+
+    private void unlock(File f) throws StorageException {
+        if (!useLocking) {
+            return;
+        }
+        try {
+            ClusteredLockManager.getInstance().releaseLock(f);
+        } catch (LockException e) {
+            throw new StorageException("Unable to unlock " + f, null, e);
+        }
+    }
+
+}
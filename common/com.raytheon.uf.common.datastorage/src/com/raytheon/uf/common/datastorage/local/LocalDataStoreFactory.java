@@ -0,0 +1,73 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage.local;
+
+import java.io.File;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.IDataStoreFactory;
+
+/**
+ * Factory for {@link LocalDataStore}s. Relative file names are resolved
+ * against a root directory, in the same way pypies resolves them against its
+ * hdf5 directory.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class LocalDataStoreFactory implements IDataStoreFactory {
+
+    private final File root;
+
+    /**
+     * Create a factory with the root directory from the
+     * "datastore.local.root" system property, or the working directory if it
+     * is not set.
+     */
+    public LocalDataStoreFactory() {
+        this(System.getProperty("datastore.local.root", ""));
+    }
+
+    /**
+     * @param root
+     *            directory that relative file names are resolved against
+     */
+    public LocalDataStoreFactory(String root) {
+        this.root = new File(root).getAbsoluteFile();
+    }
+
+    @Override
+    public IDataStore getDataStore(File file, boolean useLocking) {
+        if (!file.isAbsolute()) {
+            file = new File(root, file.getPath());
+        }
+        return new LocalDataStore(file, useLocking);
+    }
+
+}
@@ -0,0 +1,280 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage.local;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.raytheon.uf.common.datastorage.records.ByteDataRecord;
+import com.raytheon.uf.common.datastorage.records.DoubleDataRecord;
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.datastorage.records.IntegerDataRecord;
+import com.raytheon.uf.common.datastorage.records.LongDataRecord;
+import com.raytheon.uf.common.datastorage.records.ShortDataRecord;
+import com.raytheon.uf.common.datastorage.records.StringDataRecord;
+
+/**
+ * The element types that can be stored by a {@link LocalDataStore}, one for
+ * each type of data record, and the conversion of array slices to and from
+ * the little endian bytes stored in a {@link LocalDataFile}.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+enum LocalDataType {
+
+    BYTE(1), SHORT(2), INT(4), LONG(8), FLOAT(4), DOUBLE(8),
+
+    /** Variable length, each element is a length followed by UTF-8 bytes. */
+    STRING(0);
+
+    /** Size of a single element in bytes, 0 for variable sized types. */
+    private final int size;
+
+    private LocalDataType(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return the size of one element in bytes, or an estimate for variable
+     *         sized types.
+     */
+    public int getElementSize() {
+        return size == 0 ? 16 : size;
+    }
+
+    public static LocalDataType of(Object array) {
+        Class<?> c = array.getClass();
+        if (c == byte[].class) {
+            return BYTE;
+        } else if (c == short[].class) {
+            return SHORT;
+        } else if (c == int[].class) {
+            return INT;
+        } else if (c == long[].class) {
+            return LONG;
+        } else if (c == float[].class) {
+            return FLOAT;
+        } else if (c == double[].class) {
+            return DOUBLE;
+        } else if (c == String[].class) {
+            return STRING;
+        }
+        throw new IllegalArgumentException("Cannot store data of type "
+                + c.getSimpleName());
+    }
+
+    /**
+     * Get the type for a record, this works even if the record does not
+     * contain any data.
+     */
+    public static LocalDataType of(IDataRecord record) {
+        if (record instanceof ByteDataRecord) {
+            return BYTE;
+        } else if (record instanceof ShortDataRecord) {
+            return SHORT;
+        } else if (record instanceof IntegerDataRecord) {
+            return INT;
+        } else if (record instanceof LongDataRecord) {
+            return LONG;
+        } else if (record instanceof FloatDataRecord) {
+            return FLOAT;
+        } else if (record instanceof DoubleDataRecord) {
+            return DOUBLE;
+        } else if (record instanceof StringDataRecord) {
+            return STRING;
+        }
+        return of(record.getDataObject());
+    }
+
+    public Object newArray(int length) {
+        switch (this) {
+        case BYTE:
+            return new byte[length];
+        case SHORT:
+            return new short[length];
+        case INT:
+            return new int[length];
+        case LONG:
+            return new long[length];
+        case FLOAT:
+            return new float[length];
+        case DOUBLE:
+            return new double[length];
+        default:
+            return new String[length];
+        }
+    }
+
+    /**
+     * Create an array where every element is the fill value, or the default
+     * value of the type if fillValue is null.
+     */
+    public Object newFilledArray(int length, Number fillValue) {
+        Object array = newArray(length);
+        if (this == STRING) {
+            Arrays.fill((String[]) array, "");
+        } else if (fillValue != null) {
+            switch (this) {
+            case BYTE:
+                Arrays.fill((byte[]) array, fillValue.byteValue());
+                break;
+            case SHORT:
+                Arrays.fill((short[]) array, fillValue.shortValue());
+                break;
+            case INT:
+                Arrays.fill((int[]) array, fillValue.intValue());
+                break;
+            case LONG:
+                Arrays.fill((long[]) array, fillValue.longValue());
+                break;
+            case FLOAT:
+                Arrays.fill((float[]) array, fillValue.floatValue());
+                break;
+            default:
+                Arrays.fill((double[]) array, fillValue.doubleValue());
+                break;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Convert a slice of an array to bytes.
+     */
+    public byte[] encode(Object array, int offset, int count) {
+        if (this == STRING) {
+            return encodeStrings((String[]) array, offset, count);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(count * size).order(
+                ByteOrder.LITTLE_ENDIAN);
+        switch (this) {
+        case BYTE:
+            buffer.put((byte[]) array, offset, count);
+            break;
+        case SHORT:
+            buffer.asShortBuffer().put((short[]) array, offset, count);
+            break;
+        case INT:
+            buffer.asIntBuffer().put((int[]) array, offset, count);
+            break;
+        case LONG:
+            buffer.asLongBuffer().put((long[]) array, offset, count);
+            break;
+        case FLOAT:
+            buffer.asFloatBuffer().put((float[]) array, offset, count);
+            break;
+        default:
+            buffer.asDoubleBuffer().put((double[]) array, offset, count);
+            break;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Convert bytes created by {@link #encode(Object, int, int)} back into
+     * elements of an array.
+     * 
+     * @param buffer
+     *            the bytes, from the current position to the limit.
+     * @param array
+     *            the destination array
+     * @param offset
+     *            the index of the first element to fill in array
+     * @param count
+     *            the number of elements in buffer.
+     */
+    public void decode(ByteBuffer buffer, Object array, int offset, int count) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        switch (this) {
+        case BYTE:
+            buffer.get((byte[]) array, offset, count);
+            break;
+        case SHORT:
+            buffer.asShortBuffer().get((short[]) array, offset, count);
+            break;
+        case INT:
+            buffer.asIntBuffer().get((int[]) array, offset, count);
+            break;
+        case LONG:
+            buffer.asLongBuffer().get((long[]) array, offset, count);
+            break;
+        case FLOAT:
+            buffer.asFloatBuffer().get((float[]) array, offset, count);
+            break;
+        case DOUBLE:
+            buffer.asDoubleBuffer().get((double[]) array, offset, count);
+            break;
+        default:
+            decodeStrings(buffer, (String[]) array, offset, count);
+            break;
+        }
+    }
+
+    private static byte[] encodeStrings(String[] array, int offset, int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(count * 16);
+        ByteBuffer length = ByteBuffer.allocate(4).order(
+                ByteOrder.LITTLE_ENDIAN);
+        for (int i = offset; i < offset + count; i += 1) {
+            length.clear();
+            if (array[i] == null) {
+                length.putInt(-1);
+                out.write(length.array(), 0, 4);
+            } else {
+                byte[] bytes = array[i].getBytes(StandardCharsets.UTF_8);
+                length.putInt(bytes.length);
+                out.write(length.array(), 0, 4);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void decodeStrings(ByteBuffer buffer, String[] array,
+            int offset, int count) {
+        byte[] bytes = new byte[64];
+        for (int i = offset; i < offset + count; i += 1) {
+            int length = buffer.getInt();
+            if (length < 0) {
+                array[i] = null;
+            } else {
+                if (bytes.length < length) {
+                    bytes = new byte[length];
+                }
+                buffer.get(bytes, 0, length);
+                array[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,289 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage.local;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import com.raytheon.uf.common.datastorage.DataStoreFactory;
+import com.raytheon.uf.common.datastorage.StorageProperties.Compression;
+
+/**
+ * Description of one dataset in a {@link LocalDataFile}, including the
+ * location of every chunk of data in the file. Instances are immutable,
+ * appending to a dataset creates a new instance with additional chunks.
+ * 
+ * Data is chunked along the slowest varying dimension, the last entry in
+ * sizes, so each chunk holds a whole number of rows.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+final class LocalDataset {
+
+    /** The location of a contiguous set of rows within the file. */
+    static final class Chunk {
+
+        final long firstRow;
+
+        final int rows;
+
+        /** Absolute offset of the chunk within the file. */
+        final long offset;
+
+        /** Number of bytes in the file. */
+        final int storedLength;
+
+        /**
+         * Number of bytes before compression, if this is equal to
+         * storedLength then the chunk is not compressed.
+         */
+        final int rawLength;
+
+        Chunk(long firstRow, int rows, long offset, int storedLength,
+                int rawLength) {
+            this.firstRow = firstRow;
+            this.rows = rows;
+            this.offset = offset;
+            this.storedLength = storedLength;
+            this.rawLength = rawLength;
+        }
+
+        boolean isCompressed() {
+            return storedLength != rawLength;
+        }
+    }
+
+    private final String path;
+
+    private final LocalDataType type;
+
+    private final long[] sizes;
+
+    private final long[] maxSizes;
+
+    private final Number fillValue;
+
+    private final Map<String, Object> attributes;
+
+    private final Compression compression;
+
+    private final Chunk[] chunks;
+
+    LocalDataset(String path, LocalDataType type, long[] sizes,
+            long[] maxSizes, Number fillValue, Map<String, Object> attributes,
+            Compression compression, Chunk[] chunks) {
+        this.path = path;
+        this.type = type;
+        this.sizes = sizes;
+        this.maxSizes = maxSizes;
+        this.fillValue = fillValue;
+        this.attributes = attributes == null ? Collections
+                .<String, Object> emptyMap() : attributes;
+        this.compression = compression;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Create a normalized dataset path from a group and dataset name, the
+     * path always begins with a single separator and never contains empty
+     * elements.
+     */
+    static String createPath(String group, String name) {
+        return normalizeGroup(group + DataStoreFactory.DEF_SEPARATOR + name);
+    }
+
+    /**
+     * Normalize a group so it always starts with a separator and does not end
+     * with one, except for the root group which is a single separator.
+     */
+    static String normalizeGroup(String group) {
+        StringBuilder result = new StringBuilder(group == null ? 1
+                : group.length() + 1);
+        if (group != null) {
+            for (String part : group.split(DataStoreFactory.DEF_SEPARATOR)) {
+                if (!part.isEmpty()) {
+                    result.append(DataStoreFactory.DEF_SEPARATOR).append(
+                            part);
+                }
+            }
+        }
+        if (result.length() == 0) {
+            result.append(DataStoreFactory.DEF_SEPARATOR);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @return true if this dataset is a direct or indirect member of group,
+     *         which must be normalized.
+     */
+    boolean isInGroup(String group) {
+        if (group.length() == 1) {
+            return true;
+        }
+        return path.startsWith(group)
+                && path.length() > group.length()
+                && path.charAt(group.length()) == DataStoreFactory.DEF_SEPARATOR
+                        .charAt(0);
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    String getGroup() {
+        int index = path.lastIndexOf(DataStoreFactory.DEF_SEPARATOR);
+        return index == 0 ? DataStoreFactory.DEF_SEPARATOR : path.substring(0,
+                index);
+    }
+
+    String getName() {
+        int index = path.lastIndexOf(DataStoreFactory.DEF_SEPARATOR);
+        return path.substring(index + 1);
+    }
+
+    LocalDataType getType() {
+        return type;
+    }
+
+    /**
+     * @return the size of each dimension, fastest varying first.
+     */
+    long[] getSizes() {
+        return sizes.clone();
+    }
+
+    long[] getMaxSizes() {
+        return maxSizes == null ? null : maxSizes.clone();
+    }
+
+    Number getFillValue() {
+        return fillValue;
+    }
+
+    Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    Compression getCompression() {
+        return compression;
+    }
+
+    Chunk[] getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return the number of elements in each row, the product of all sizes
+     *         except the last.
+     */
+    int getRowLength() {
+        return getRowLength(sizes);
+    }
+
+    static int getRowLength(long[] sizes) {
+        long length = 1;
+        for (int i = 0; i < sizes.length - 1; i += 1) {
+            length *= sizes[i];
+        }
+        return (int) length;
+    }
+
+    /**
+     * @return the total number of elements in a dataset with the given sizes
+     */
+    static long getElementCount(long[] sizes) {
+        if (sizes.length == 0) {
+            return 0;
+        }
+        return getRowLength(sizes) * sizes[sizes.length - 1];
+    }
+
+    long getRows() {
+        return sizes.length == 0 ? 0 : sizes[sizes.length - 1];
+    }
+
+    long getElementCount() {
+        return getElementCount(sizes);
+    }
+
+    /**
+     * @return the index of the chunk containing a row.
+     */
+    int findChunk(long row) {
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunks[mid].firstRow <= row) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Create a new dataset with a different path which shares the
+     * description and chunks of this dataset.
+     */
+    LocalDataset withPath(String newPath) {
+        return new LocalDataset(newPath, type, sizes, maxSizes, fillValue,
+                attributes, compression, chunks);
+    }
+
+    /**
+     * Create a new dataset which also includes additional rows.
+     * 
+     * @param newChunks
+     *            the chunks containing the new rows, with the first row of
+     *            each chunk relative to the end of this dataset.
+     */
+    LocalDataset extend(Chunk[] newChunks) {
+        long rows = getRows();
+        Chunk[] allChunks = Arrays.copyOf(chunks, chunks.length
+                + newChunks.length);
+        for (int i = 0; i < newChunks.length; i += 1) {
+            Chunk chunk = newChunks[i];
+            allChunks[chunks.length + i] = new Chunk(rows + chunk.firstRow,
+                    chunk.rows, chunk.offset, chunk.storedLength,
+                    chunk.rawLength);
+        }
+        long[] newSizes = sizes.clone();
+        for (Chunk chunk : newChunks) {
+            newSizes[newSizes.length - 1] += chunk.rows;
+        }
+        return new LocalDataset(path, type, newSizes, maxSizes, fillValue,
+                attributes, compression, allChunks);
+    }
+
+}
@@ -0,0 +1,335 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage.local;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.IDataStore.LinkLocation;
+import com.raytheon.uf.common.datastorage.IDataStore.StoreOp;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.StorageException;
+import com.raytheon.uf.common.datastorage.StorageStatus;
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+
+/**
+ * Test {@link LocalDataStore}
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestLocalDataStore {
+
+    private static final int NX = 5;
+
+    private static final int NY = 4;
+
+    private File directory;
+
+    private File file;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("localDataStore").toFile();
+        file = new File(directory, "test.h5");
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File f : directory.listFiles()) {
+            f.delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     * @return NX by NY values where the value at (x, y) is y * 10 + x.
+     */
+    private static float[] grid() {
+        float[] data = new float[NX * NY];
+        for (int y = 0; y < NY; y += 1) {
+            for (int x = 0; x < NX; x += 1) {
+                data[y * NX + x] = y * 10 + x;
+            }
+        }
+        return data;
+    }
+
+    private static FloatDataRecord record(String group, String name,
+            float[] data, long... sizes) {
+        return new FloatDataRecord(name, group, data, sizes.length, sizes);
+    }
+
+    private static void store(IDataStore store, StoreOp op,
+            IDataRecord... records) throws StorageException {
+        for (IDataRecord record : records) {
+            store.addDataRecord(record);
+        }
+        StorageStatus status = store.store(op);
+        if (status.hasExceptions()) {
+            throw status.getExceptions()[0];
+        }
+    }
+
+    private static float[] read(IDataStore store, String group, String name,
+            Request request) throws Exception {
+        return ((FloatDataRecord) store.retrieve(group, name, request))
+                .getFloatData();
+    }
+
+    @Test
+    public void testRequests() throws Exception {
+        LocalDataStore store = new LocalDataStore(file, false);
+        store(store, StoreOp.STORE_ONLY, record("/grid", "t", grid(), NX, NY));
+
+        IDataRecord all = store.retrieve("/grid", "t", Request.ALL);
+        assertArrayEquals(new long[] { NX, NY }, all.getSizes());
+        assertArrayEquals(grid(), ((FloatDataRecord) all).getFloatData(), 0f);
+
+        assertArrayEquals(new float[] { 0, 34, 21 },
+                read(store, "/grid", "t", Request.buildPointRequest(new Point(
+                        0, 0), new Point(4, 3), new Point(1, 2))), 0f);
+
+        IDataRecord rows = store.retrieve("/grid", "t",
+                Request.buildYLineRequest(new int[] { 1, 3 }));
+        assertArrayEquals(new long[] { NX, 2 }, rows.getSizes());
+        assertArrayEquals(new float[] { 10, 11, 12, 13, 14, 30, 31, 32, 33,
+                34 }, ((FloatDataRecord) rows).getFloatData(), 0f);
+
+        IDataRecord columns = store.retrieve("/grid", "t",
+                Request.buildXLineRequest(new int[] { 2, 4 }));
+        assertArrayEquals(new long[] { 2, NY }, columns.getSizes());
+        assertArrayEquals(new float[] { 2, 4, 12, 14, 22, 24, 32, 34 },
+                ((FloatDataRecord) columns).getFloatData(), 0f);
+
+        IDataRecord slab = store.retrieve("/grid", "t", Request.buildSlab(
+                new int[] { 1, 2 }, new int[] { 4, 4 }));
+        assertArrayEquals(new long[] { 3, 2 }, slab.getSizes());
+        assertArrayEquals(new float[] { 21, 22, 23, 31, 32, 33 },
+                ((FloatDataRecord) slab).getFloatData(), 0f);
+    }
+
+    /**
+     * Read multiple level point data the same way as PointDataPluginDao, a
+     * y line request for the indices of stations in a dataset of levels by
+     * stations.
+     */
+    @Test
+    public void testPointDataLevels() throws Exception {
+        int levels = 3;
+        int stations = 6;
+        float[] data = new float[levels * stations];
+        for (int station = 0; station < stations; station += 1) {
+            for (int level = 0; level < levels; level += 1) {
+                data[station * levels + level] = station * 100 + level;
+            }
+        }
+        LocalDataStore store = new LocalDataStore(file, false);
+        store(store, StoreOp.STORE_ONLY,
+                record("/", "temperature", data, levels, stations),
+                record("/", "id", new float[] { 0, 1, 2, 3, 4, 5 },
+                        stations));
+
+        IDataRecord[] records = store.retrieveDatasets(new String[] {
+                "temperature", "id" },
+                Request.buildYLineRequest(new int[] { 4, 1 }));
+        assertEquals(2, records.length);
+        assertArrayEquals(new long[] { levels, 2 }, records[0].getSizes());
+        assertArrayEquals(new float[] { 100, 101, 102, 400, 401, 402 },
+                ((FloatDataRecord) records[0]).getFloatData(), 0f);
+        assertArrayEquals(new float[] { 1, 4 },
+                ((FloatDataRecord) records[1]).getFloatData(), 0f);
+
+        /* A point is a level and a station. */
+        assertArrayEquals(new float[] { 402, 100 }, read(store, "/",
+                "temperature", Request.buildPointRequest(new Point(2, 4),
+                        new Point(0, 1))), 0f);
+
+        try {
+            store.retrieve("/", "temperature",
+                    Request.buildYLineRequest(new int[] { stations }));
+            fail("Station index outside of the dataset should fail");
+        } catch (StorageException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testStoreOps() throws Exception {
+        LocalDataStore store = new LocalDataStore(file, false);
+        store(store, StoreOp.STORE_ONLY, record("/grid", "t", grid(), NX, NY));
+
+        store.addDataRecord(record("/grid", "t", grid(), NX, NY));
+        assertEquals(1, store.store(StoreOp.STORE_ONLY).getExceptions().length);
+
+        float[] replacement = new float[NX * NY];
+        Arrays.fill(replacement, 7f);
+        store(store, StoreOp.REPLACE, record("/grid", "t", replacement, NX, NY));
+        assertArrayEquals(replacement, read(store, "/grid", "t", Request.ALL),
+                0f);
+
+        store.addDataRecord(record("/grid", "t", grid(), NX, NY));
+        StorageStatus status = store.store(StoreOp.APPEND);
+        assertFalse(status.hasExceptions());
+        assertEquals(StoreOp.APPEND, status.getOperationPerformed());
+        assertArrayEquals(new long[] { NY }, status.getIndexOfAppend());
+        IDataRecord appended = store.retrieve("/grid", "t", Request.ALL);
+        assertArrayEquals(new long[] { NX, NY * 2 }, appended.getSizes());
+        float[] expected = Arrays.copyOf(replacement, NX * NY * 2);
+        System.arraycopy(grid(), 0, expected, NX * NY, NX * NY);
+        assertArrayEquals(expected,
+                ((FloatDataRecord) appended).getFloatData(), 0f);
+    }
+
+    @Test
+    public void testPartialWrites() throws Exception {
+        LocalDataStore store = new LocalDataStore(file, false);
+        FloatDataRecord first = record("/grid", "p", new float[] { 1, 2, 3,
+                4 }, 2, 2);
+        first.setMinIndex(new long[] { 1, 1 });
+        first.setMaxSizes(new long[] { NX, NY });
+        first.setFillValue(-1f);
+        store(store, StoreOp.STORE_ONLY, first);
+
+        FloatDataRecord second = record("/grid", "p",
+                new float[] { 5, 6, 7 }, 3, 1);
+        second.setMinIndex(new long[] { 2, 3 });
+        store(store, StoreOp.STORE_ONLY, second);
+
+        float[] expected = new float[NX * NY];
+        Arrays.fill(expected, -1f);
+        expected[1 * NX + 1] = 1;
+        expected[1 * NX + 2] = 2;
+        expected[2 * NX + 1] = 3;
+        expected[2 * NX + 2] = 4;
+        expected[3 * NX + 2] = 5;
+        expected[3 * NX + 3] = 6;
+        expected[3 * NX + 4] = 7;
+        IDataRecord result = store.retrieve("/grid", "p", Request.ALL);
+        assertArrayEquals(new long[] { NX, NY }, result.getSizes());
+        assertArrayEquals(expected, ((FloatDataRecord) result).getFloatData(),
+                0f);
+
+        FloatDataRecord outside = record("/grid", "p", new float[] { 8, 9 },
+                2, 1);
+        outside.setMinIndex(new long[] { 4, 0 });
+        store.addDataRecord(outside);
+        assertEquals(1, store.store().getExceptions().length);
+    }
+
+    @Test
+    public void testTruncatedFile() throws Exception {
+        LocalDataStore store = new LocalDataStore(file, false);
+        store(store, StoreOp.STORE_ONLY, record("/grid", "a", grid(), NX, NY));
+        long complete = file.length();
+        store(store, StoreOp.STORE_ONLY, record("/grid", "b", grid(), NX, NY));
+
+        /* Simulate a writer that failed part way through the second entry. */
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength((complete + file.length()) / 2);
+        }
+
+        store = new LocalDataStore(file, false);
+        assertArrayEquals(new String[] { "a" }, store.getDatasets("/grid"));
+        assertArrayEquals(grid(), read(store, "/grid", "a", Request.ALL), 0f);
+
+        store(store, StoreOp.STORE_ONLY, record("/grid", "c", grid(), NX, NY));
+        assertArrayEquals(new String[] { "a", "c" },
+                store.getDatasets("/grid"));
+        assertArrayEquals(grid(), read(store, "/grid", "a", Request.ALL), 0f);
+        assertArrayEquals(grid(), read(store, "/grid", "c", Request.ALL), 0f);
+    }
+
+    @Test
+    public void testLinks() throws Exception {
+        LocalDataStore store = new LocalDataStore(file, false);
+        float[] other = new float[NX * NY];
+        Arrays.fill(other, 3f);
+        store(store, StoreOp.STORE_ONLY, record("/grid", "a", grid(), NX, NY),
+                record("/grid", "b", other, NX, NY));
+
+        Map<String, LinkLocation> links = new HashMap<>();
+        links.put("/copy", link(null, "/grid"));
+        links.put("/alias/a", link(file.getName(), "/grid/a"));
+        store.createLinks(links);
+
+        assertArrayEquals(new String[] { "a", "b" },
+                store.getDatasets("/copy"));
+        assertArrayEquals(grid(), read(store, "/copy", "a", Request.ALL), 0f);
+        assertArrayEquals(other, read(store, "/copy", "b", Request.ALL), 0f);
+        assertArrayEquals(new float[] { 34 }, read(store, "/alias", "a",
+                Request.buildPointRequest(new Point(4, 3))), 0f);
+
+        /* Links survive rereading the file from disk. */
+        store = new LocalDataStore(file, false);
+        store(store, StoreOp.STORE_ONLY, record("/grid", "c", other, NX, NY));
+        assertArrayEquals(grid(), read(store, "/alias", "a", Request.ALL), 0f);
+
+        try {
+            store.createLinks(Collections.singletonMap("/missing",
+                    link(null, "/nothing")));
+            fail("Link to a missing target should fail");
+        } catch (StorageException e) {
+            /* expected */
+        }
+        try {
+            store.createLinks(Collections.singletonMap("/external",
+                    link("other.h5", "/grid")));
+            fail("Link to another file should fail");
+        } catch (StorageException e) {
+            /* expected */
+        }
+    }
+
+    private static LinkLocation link(String fileName, String target) {
+        LinkLocation location = new LinkLocation();
+        location.fileName = fileName;
+        location.linkTarget = target;
+        return location;
+    }
+
+}
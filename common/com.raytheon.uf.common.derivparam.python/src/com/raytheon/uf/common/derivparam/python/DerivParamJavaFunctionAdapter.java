@@ -0,0 +1,315 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.derivparam.python;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.derivparam.DerivParamFunctionType.FunctionArgument;
+import com.raytheon.uf.common.derivparam.IDerivParamFunctionAdapter;
+import com.raytheon.uf.common.derivparam.library.DerivedParameterGenerator;
+import com.raytheon.uf.common.derivparam.library.DerivedParameterRequest;
+import com.raytheon.uf.common.localization.ILocalizationFile;
+import com.raytheon.uf.common.localization.LocalizationContext.LocalizationLevel;
+import com.raytheon.uf.common.localization.PathManagerFactory;
+
+/**
+ * Derived parameter adapter which calculates functions that have a
+ * {@link JavaDerivFunction} implementation in java, splitting large grids
+ * across a fork/join pool. Any other function, or any arguments the java
+ * functions do not handle such as vectors and cubes, are passed on to another
+ * adapter, normally the python adapter. Function names and files all come
+ * from the other adapter. A function that has been overridden above the base
+ * localization level, or that imports an overridden function, is also passed
+ * on so the override is used.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ * @version 1.0
+ */
+
+public class DerivParamJavaFunctionAdapter implements
+        IDerivParamFunctionAdapter {
+
+    private static final String DATA_NAME = "Data";
+
+    private static final int MAX_THREADS = Integer.getInteger(
+            "com.raytheon.uf.common.derivparam.java.threads", Runtime
+                    .getRuntime().availableProcessors());
+
+    /** Grids with fewer points than this are calculated on a single thread */
+    private static final int PARALLEL_THRESHOLD = Integer.getInteger(
+            "com.raytheon.uf.common.derivparam.java.parallelThreshold", 65536);
+
+    private final IDerivParamFunctionAdapter fallback;
+
+    private volatile ForkJoinPool pool;
+
+    /** Modules that have a localization override of the python function */
+    private volatile Set<String> overridden = Collections.emptySet();
+
+    /**
+     * @param fallback
+     *            adapter used for any function not implemented in java
+     */
+    public DerivParamJavaFunctionAdapter(IDerivParamFunctionAdapter fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String createNewFunction(String functionName,
+            FunctionArgument[] arguments) {
+        return fallback.createNewFunction(functionName, arguments);
+    }
+
+    @Override
+    public String[] getArgumentTypes() {
+        return fallback.getArgumentTypes();
+    }
+
+    @Override
+    public synchronized void init() {
+        fallback.init();
+        overridden = findOverriddenModules();
+        if (pool == null) {
+            pool = new ForkJoinPool(MAX_THREADS);
+        }
+    }
+
+    /**
+     * Find the function modules that have been overridden at any level above
+     * base, those must be calculated by the fallback adapter so the
+     * override is used.
+     * 
+     * @return the names of the overridden modules
+     */
+    protected Set<String> findOverriddenModules() {
+        String extension = "." + fallback.getExtension();
+        ILocalizationFile[] files = PathManagerFactory.getPathManager()
+                .listStaticFiles(DerivedParameterGenerator.FUNCTIONS_DIR,
+                        new String[] { extension }, false, true);
+        Set<String> modules = new HashSet<>();
+        for (ILocalizationFile file : files) {
+            LocalizationLevel level = file.getContext().getLocalizationLevel();
+            if (!LocalizationLevel.BASE.equals(level)) {
+                String name = new File(file.getPath()).getName();
+                modules.add(name.substring(0,
+                        name.length() - extension.length()));
+            }
+        }
+        return modules;
+    }
+
+    @Override
+    public List<IDataRecord> executeFunction(String name, List<Object> arguments)
+            throws ExecutionException {
+        IDataRecord result = executeJavaFunction(name, arguments);
+        if (result != null) {
+            return Collections.singletonList(result);
+        }
+        return fallback.executeFunction(name, arguments);
+    }
+
+    /**
+     * Attempt to calculate a function in java.
+     * 
+     * @return the result or null if the function or the arguments are not
+     *         supported in java.
+     */
+    private FloatDataRecord executeJavaFunction(String name,
+            List<Object> arguments) {
+        if (!Collections.disjoint(overridden,
+                JavaDerivFunction.getModules(name))) {
+            return null;
+        }
+        JavaDerivFunction function = JavaDerivFunction.getFunction(name);
+        if (function == null || !function.acceptsArguments(arguments.size())) {
+            return null;
+        }
+        float[][] args = new float[arguments.size()][];
+        long[] sizes = null;
+        int numPoints = 1;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = unwrap(arguments.get(i));
+            FloatDataRecord record = null;
+            if (arg instanceof DerivedParameterRequest) {
+                DerivedParameterRequest request = (DerivedParameterRequest) arg;
+                record = executeJavaFunction(request.getMethod(),
+                        Arrays.asList(request.getArgumentRecords()));
+                if (record == null) {
+                    return null;
+                }
+                /* Results are passed on as they are, like in python. */
+                args[i] = record.getFloatData();
+            } else if (arg instanceof FloatDataRecord) {
+                record = (FloatDataRecord) arg;
+                args[i] = replaceMissing(record.getFloatData());
+            }
+            if (record != null) {
+                if (args[i].length > 1 && sizes == null) {
+                    sizes = record.getSizes();
+                }
+            } else if (arg instanceof Float) {
+                args[i] = new float[] { (Float) arg };
+            } else if (arg instanceof float[]) {
+                args[i] = (float[]) arg;
+                if (args[i].length > 1 && sizes == null) {
+                    sizes = new long[] { args[i].length };
+                }
+            } else {
+                return null;
+            }
+            if (args[i].length > 1) {
+                if (numPoints == 1) {
+                    numPoints = args[i].length;
+                } else if (numPoints != args[i].length) {
+                    return null;
+                }
+            } else if (args[i].length == 0) {
+                return null;
+            }
+        }
+        if (sizes == null) {
+            sizes = new long[] { 1 };
+        }
+
+        float[] result = new float[numPoints];
+        ForkJoinPool pool = this.pool;
+        if (pool == null || numPoints < PARALLEL_THRESHOLD * 2) {
+            function.execute(args, result, 0, numPoints);
+        } else {
+            pool.invoke(new FunctionTask(function, args, result, 0, numPoints));
+        }
+        return new FloatDataRecord(DATA_NAME, "", result, sizes.length,
+                Arrays.copyOf(sizes, sizes.length));
+    }
+
+    /**
+     * Replace the missing values of a record with NaN, the same as when a
+     * record is passed to python. Scalar and array arguments are passed to
+     * python unchanged so they are not replaced.
+     * 
+     * @return the data or a copy of it if any values were replaced
+     */
+    private static float[] replaceMissing(float[] data) {
+        float[] result = data;
+        for (int i = 0; i < data.length; i++) {
+            float v = data[i];
+            if (v <= -9999 || v >= 999999) {
+                if (result == data) {
+                    result = data.clone();
+                }
+                result[i] = Float.NaN;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Single element lists and arrays are treated as the element itself, the
+     * same as when they are passed to python.
+     */
+    private static Object unwrap(Object arg) {
+        if (arg instanceof List && ((List<?>) arg).size() == 1) {
+            return unwrap(((List<?>) arg).get(0));
+        } else if (arg instanceof IDataRecord[]
+                && ((IDataRecord[]) arg).length == 1) {
+            return ((IDataRecord[]) arg)[0];
+        }
+        return arg;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        fallback.shutdown();
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return fallback.getName();
+    }
+
+    @Override
+    public String getExtension() {
+        return fallback.getExtension();
+    }
+
+    /**
+     * Splits the points of a function in half until the pieces are small
+     * enough to calculate directly.
+     */
+    private static class FunctionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JavaDerivFunction function;
+
+        private final float[][] args;
+
+        private final float[] result;
+
+        private final int start;
+
+        private final int end;
+
+        public FunctionTask(JavaDerivFunction function, float[][] args,
+                float[] result, int start, int end) {
+            this.function = function;
+            this.args = args;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start < PARALLEL_THRESHOLD * 2) {
+                function.execute(args, result, start, end);
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new FunctionTask(function, args, result, start, mid),
+                        new FunctionTask(function, args, result, mid, end));
+            }
+        }
+    }
+
+}
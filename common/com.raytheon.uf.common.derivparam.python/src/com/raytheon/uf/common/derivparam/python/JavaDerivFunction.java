@@ -0,0 +1,320 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.derivparam.python;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.raytheon.uf.common.wxmath.Constants;
+
+/**
+ * A derived parameter function implemented in java. Each function operates on
+ * a range of points of float arrays so that large grids can be split up and
+ * calculated in parallel. Every function here must produce the same result as
+ * the python function of the same name in the derivedParameters/functions
+ * directory.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ * @version 1.0
+ */
+
+public abstract class JavaDerivFunction {
+
+    private static final Map<String, JavaDerivFunction> functions = new HashMap<>(
+            16);
+
+    /** Other function modules imported by the python version of a module */
+    private static final Map<String, String[]> imports = new HashMap<>(4);
+
+    static {
+        imports.put("Difference", new String[] { "Add" });
+        imports.put("Divide", new String[] { "Multiply" });
+        register("Add", new JavaDerivFunction(1, Integer.MAX_VALUE) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    float sum = value(args[0], i);
+                    for (int a = 1; a < args.length; a++) {
+                        sum += value(args[a], i);
+                    }
+                    result[i] = sum;
+                }
+            }
+        });
+        register("Difference", new JavaDerivFunction(1, Integer.MAX_VALUE) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    float diff = value(args[0], i);
+                    for (int a = 1; a < args.length; a++) {
+                        diff -= value(args[a], i);
+                    }
+                    result[i] = diff;
+                }
+            }
+        });
+        register("Multiply", new JavaDerivFunction(1, Integer.MAX_VALUE) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    float product = value(args[0], i);
+                    for (int a = 1; a < args.length; a++) {
+                        product *= value(args[a], i);
+                    }
+                    result[i] = product;
+                }
+            }
+        });
+        register("Divide", new JavaDerivFunction(1, Integer.MAX_VALUE) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    float quotient = value(args[0], i);
+                    for (int a = 1; a < args.length; a++) {
+                        float divisor = value(args[a], i);
+                        if (divisor == 0.0f) {
+                            quotient = Float.NaN;
+                        } else {
+                            quotient *= 1 / divisor;
+                        }
+                    }
+                    result[i] = quotient;
+                }
+            }
+        });
+        register("Magnitude", new JavaDerivFunction(2, 2) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    result[i] = (float) Math.hypot(value(args[0], i),
+                            value(args[1], i));
+                }
+            }
+        });
+        register("PoT", new JavaDerivFunction(2, 2) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    double p = value(args[0], i);
+                    double t = value(args[1], i);
+                    result[i] = (float) (t * Math.pow(1000.0 / p,
+                            Constants.kapa));
+                }
+            }
+        });
+        register("RH.execute1", new JavaDerivFunction(2, 2) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    double t = value(args[0], i);
+                    double td = value(args[1], i);
+                    result[i] = (float) (100.0 * Math.exp(Constants.b
+                            * (t - td) + Constants.c / t - Constants.c / td));
+                }
+            }
+        });
+        register("RH.execute2", new JavaDerivFunction(3, 3) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    double p = value(args[0], i);
+                    double t = value(args[1], i);
+                    double shx = value(args[2], i);
+                    double tDenom = 22.05565 - Constants.b * t - Constants.c
+                            / t;
+                    result[i] = (float) (p * shx / (shx * 0.378 + 622.0) / Math
+                            .exp(tDenom));
+                }
+            }
+        });
+        register("ThetaE", new JavaDerivFunction(3, 3) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    double p = value(args[0], i);
+                    double t = value(args[1], i);
+                    double rh = value(args[2], i);
+                    /*
+                     * 0 to 100 is valid for RH, but we can't take log(0), so
+                     * fudge value slightly
+                     */
+                    if (rh < 0.01) {
+                        rh = 0.01;
+                    } else if (rh > 100.0) {
+                        rh = 100.0;
+                    }
+                    double eee = rh
+                            * Math.exp(22.05565 - Constants.b * t
+                                    - Constants.c / t);
+                    double b = Constants.c0 - Math.log(eee);
+                    double tdp = (b - Math.sqrt(b * b - Constants.c_1))
+                            / Constants.c_2;
+                    double tc = tdp
+                            - (tdp * 0.0015945203 + 41.178204 / t - 0.37329638)
+                            * (t - tdp);
+                    double w = 0.622 * eee / (p - eee);
+                    result[i] = (float) (t * Math.exp(w * 2540 / tc) * Math
+                            .pow(1000.0 / p, Constants.kapa));
+                }
+            }
+        });
+        register("TV", new JavaDerivFunction(3, 3) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    double p = value(args[0], i);
+                    double t = value(args[1], i);
+                    double rh = value(args[2], i);
+                    double eee = Math.exp(21.0827887 - Constants.b * t
+                            - Constants.c / t);
+                    result[i] = (float) (t * p / (p - rh * eee));
+                }
+            }
+        });
+        register("Hgt2Pres", new JavaDerivFunction(1, 1) {
+            @Override
+            public void execute(float[][] args, float[] result, int start,
+                    int end) {
+                for (int i = start; i < end; i++) {
+                    double z = value(args[0], i);
+                    if (z < Constants.z11) {
+                        result[i] = (float) (Constants.p0 * Math.pow(
+                                (Constants.T0 - Constants.gamma * z)
+                                        / Constants.T0, Constants.HGT_PRES_c1));
+                    } else if (z >= Constants.z11) {
+                        result[i] = (float) (Constants.p11 * Math.pow(10,
+                                (Constants.z11 - z) / Constants.HGT_PRES_c2));
+                    } else {
+                        /*
+                         * numpy.piecewise sets NaN, which matches neither
+                         * condition, to 0.
+                         */
+                        result[i] = 0.0f;
+                    }
+                }
+            }
+        });
+    }
+
+    private final int minArgs;
+
+    private final int maxArgs;
+
+    protected JavaDerivFunction(int minArgs, int maxArgs) {
+        this.minArgs = minArgs;
+        this.maxArgs = maxArgs;
+    }
+
+    /**
+     * Calculate the result for a range of points. Arguments are either the
+     * full length of the result or a single value that applies to every point.
+     * 
+     * @param args
+     *            the function arguments
+     * @param result
+     *            array to hold the result
+     * @param start
+     *            the first index to calculate
+     * @param end
+     *            the index after the last index to calculate
+     */
+    public abstract void execute(float[][] args, float[] result, int start,
+            int end);
+
+    /**
+     * @param numArgs
+     *            the number of arguments being passed to the function
+     * @return true if this function can handle that many arguments
+     */
+    public boolean acceptsArguments(int numArgs) {
+        return numArgs >= minArgs && numArgs <= maxArgs;
+    }
+
+    /**
+     * Get the value of an argument at an index. Missing values in records
+     * must already be replaced with NaN, the same as when a record is passed
+     * to python.
+     */
+    protected static float value(float[] arg, int index) {
+        return arg.length == 1 ? arg[0] : arg[index];
+    }
+
+    private static void register(String name, JavaDerivFunction function) {
+        functions.put(name, function);
+    }
+
+    /**
+     * Get the java implementation of a derived parameter function.
+     * 
+     * @param name
+     *            the method name as used by the derived parameter definitions,
+     *            either the module name or module.function
+     * @return the function or null if it is only available in python
+     */
+    public static JavaDerivFunction getFunction(String name) {
+        if (name.endsWith(".execute")) {
+            name = name.substring(0, name.length() - ".execute".length());
+        }
+        return functions.get(name);
+    }
+
+    /**
+     * Get the python modules that a function depends on, if any of these are
+     * overridden then the java function cannot be used.
+     * 
+     * @param name
+     *            the method name as used by the derived parameter definitions,
+     *            either the module name or module.function
+     * @return the module of the function and any modules it imports
+     */
+    public static Set<String> getModules(String name) {
+        String module = name.split("[.]")[0];
+        Set<String> modules = new HashSet<>(4);
+        modules.add(module);
+        String[] imported = imports.get(module);
+        if (imported != null) {
+            modules.addAll(Arrays.asList(imported));
+        }
+        return modules;
+    }
+}
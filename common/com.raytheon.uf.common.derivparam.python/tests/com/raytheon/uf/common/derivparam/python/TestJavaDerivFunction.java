@@ -0,0 +1,436 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.derivparam.python;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.derivparam.DerivParamFunctionType.FunctionArgument;
+import com.raytheon.uf.common.derivparam.IDerivParamFunctionAdapter;
+import com.raytheon.uf.common.derivparam.library.DerivedParameterRequest;
+
+/**
+ * Test that the {@link JavaDerivFunction} implementations match the python
+ * functions in the derivedParameters/functions directory. Python is not
+ * available to unit tests so each python function is transcribed here one
+ * numpy operation at a time in single precision, the same as numpy calculates
+ * on float32 arrays.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class TestJavaDerivFunction {
+
+    private static final float TOLERANCE = 1e-4f;
+
+    /** Pressure in mb, including a missing value */
+    private static final float[] P = { 1050f, 1000f, 925f, 850f, 700f, 500f,
+            300f, 200f, 100f, 50f, Float.NaN };
+
+    /** Temperature in K */
+    private static final float[] T = { 305f, 300f, 295.5f, 290f, 280f, 260f,
+            235f, 220f, 210f, 215f, 250f };
+
+    /** Dewpoint in K, never above T */
+    private static final float[] TD = { 300f, 285f, 295.5f, 270f, 265f, 230f,
+            200f, 190f, 180f, 185f, Float.NaN };
+
+    /** RH including values outside of 0 to 100 */
+    private static final float[] RH = { 95f, 100f, 105f, 50f, 0f, -2f, 0.005f,
+            10f, 75f, 30f, 60f };
+
+    /** Specific humidity in g/kg */
+    private static final float[] SHX = { 20f, 15f, 12f, 8f, 4f, 1f, 0.1f,
+            0.01f, 0.001f, 0.002f, 3f };
+
+    /** Height in m on both sides of 11km, and missing */
+    private static final float[] Z = { -100f, 0f, 1500f, 5000f, 10999f,
+            11000f, 11001f, 16000f, 25000f, Float.NaN, 3000f };
+
+    private static float[] execute(String name, float[]... args) {
+        JavaDerivFunction function = JavaDerivFunction.getFunction(name);
+        assertNotNull(name, function);
+        assertTrue(name, function.acceptsArguments(args.length));
+        float[] result = new float[P.length];
+        function.execute(args, result, 0, result.length);
+        return result;
+    }
+
+    private static void assertClose(String name, float[] expected,
+            float[] actual) {
+        assertEquals(name, expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            float e = expected[i];
+            float a = actual[i];
+            String message = name + "[" + i + "] expected " + e + " but was "
+                    + a;
+            if (Float.isNaN(e)) {
+                assertTrue(message, Float.isNaN(a));
+            } else {
+                assertTrue(message,
+                        Math.abs(e - a) <= TOLERANCE * Math.max(1, Math.abs(e)));
+            }
+        }
+    }
+
+    private static float exp(float x) {
+        return (float) Math.exp(x);
+    }
+
+    private static float log(float x) {
+        return (float) Math.log(x);
+    }
+
+    private static float sqrt(float x) {
+        return (float) Math.sqrt(x);
+    }
+
+    private static float power(float x, float y) {
+        return (float) Math.pow(x, y);
+    }
+
+    private static float clip(float x, float min, float max) {
+        return x < min ? min : (x > max ? max : x);
+    }
+
+    private static float[] pythonPoT(float[] p, float[] t) {
+        float[] result = new float[p.length];
+        for (int i = 0; i < p.length; i++) {
+            float pComponent = 1000.0f / p[i];
+            pComponent = power(pComponent, 0.286f);
+            result[i] = t[i] * pComponent;
+        }
+        return result;
+    }
+
+    private static float[] pythonRH1(float[] t, float[] dpt) {
+        float[] result = new float[t.length];
+        for (int i = 0; i < t.length; i++) {
+            float rh = t[i] - dpt[i];
+            rh *= 0.0091379024f;
+            rh += 6106.396f / t[i];
+            rh -= 6106.396f / dpt[i];
+            rh = exp(rh);
+            rh *= 100;
+            result[i] = rh;
+        }
+        return result;
+    }
+
+    private static float[] pythonRH2(float[] p, float[] t, float[] shx) {
+        float[] result = new float[p.length];
+        for (int i = 0; i < p.length; i++) {
+            float shxDenom = shx[i] * 0.378f;
+            shxDenom += 622.0f;
+            float tDenom = -0.0091379024f * t[i];
+            tDenom += 22.05565f;
+            tDenom -= 6106.396f / t[i];
+            float rh = p[i] * shx[i];
+            rh /= shxDenom;
+            rh /= exp(tDenom);
+            result[i] = rh;
+        }
+        return result;
+    }
+
+    private static float[] pythonThetaE(float[] p, float[] t, float[] rh) {
+        float[] result = new float[p.length];
+        for (int i = 0; i < p.length; i++) {
+            float rhqc = clip(rh[i], 0.01f, 100.0f);
+            float powval = -0.0091379024f * t[i];
+            powval += 22.05565f;
+            powval -= 6106.396f / t[i];
+            float eee = rhqc * exp(powval);
+            float b = 26.66082f - log(eee);
+            float val = b * b;
+            val -= 223.1986f;
+            val = sqrt(val);
+            float tdp = b - val;
+            tdp /= 0.0182758048f;
+            val = tdp * 0.0015945203f;
+            val += 41.178204f / t[i];
+            val -= 0.37329638f;
+            val *= t[i] - tdp;
+            float tc = tdp - val;
+            float w = eee / (p[i] - eee);
+            w *= 0.622f;
+            powval = w * 2540;
+            powval /= tc;
+            float ept = t[i] * exp(powval);
+            ept *= power(1000 / p[i], 0.286f);
+            result[i] = ept;
+        }
+        return result;
+    }
+
+    private static float[] pythonTV(float[] p, float[] t, float[] rh) {
+        float[] result = new float[p.length];
+        for (int i = 0; i < p.length; i++) {
+            float k = t[i];
+            float eee = exp(21.0827887f - 0.0091379024f * k - 6106.396f / k);
+            result[i] = t[i] * p[i] / (p[i] - rh[i] * eee);
+        }
+        return result;
+    }
+
+    private static float[] pythonHgt2Pres(float[] z) {
+        float[] result = new float[z.length];
+        for (int i = 0; i < z.length; i++) {
+            if (z[i] < 11000) {
+                result[i] = 1013.2f * power((288.0f - 0.0065f * z[i]) / 288.0f,
+                        5.256f);
+            } else if (z[i] >= 11000) {
+                result[i] = 226.0971f * power(10, (11000 - z[i]) / 14600);
+            } else {
+                result[i] = 0.0f;
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testArithmetic() {
+        float[] a = T;
+        float[] b = TD;
+        float[] c = { 2f, 0f, -1f, 0.5f, 3f, 0f, 7f, -2f, 1f, 4f, 2f };
+        float[] add = new float[a.length];
+        float[] difference = new float[a.length];
+        float[] multiply = new float[a.length];
+        float[] divide = new float[a.length];
+        for (int i = 0; i < a.length; i++) {
+            add[i] = a[i] + b[i] + c[i];
+            difference[i] = 0 + a[i] - b[i] - c[i];
+            multiply[i] = a[i] * b[i] * c[i];
+            float divB = b[i] == 0 ? Float.NaN : 1 / b[i];
+            float divC = c[i] == 0 ? Float.NaN : 1 / c[i];
+            divide[i] = a[i] * divB * divC;
+        }
+        assertClose("Add", add, execute("Add", a, b, c));
+        assertClose("Difference", difference,
+                execute("Difference.execute", a, b, c));
+        assertClose("Multiply", multiply, execute("Multiply", a, b, c));
+        assertClose("Divide", divide, execute("Divide", a, b, c));
+    }
+
+    @Test
+    public void testScalarArguments() {
+        float[] expected = new float[T.length];
+        for (int i = 0; i < T.length; i++) {
+            expected[i] = T[i] - 273.15f;
+        }
+        assertClose("Difference", expected,
+                execute("Difference", T, new float[] { 273.15f }));
+    }
+
+    @Test
+    public void testMagnitude() {
+        float[] u = { 3f, -5f, 0f, 10f, -0.5f, 100f, 0f, 1f, 2f, 3f,
+                Float.NaN };
+        float[] v = { 4f, 12f, 0f, -10f, 0.25f, 1f, -7f, 1f, 2f, 3f, 1f };
+        float[] expected = new float[u.length];
+        for (int i = 0; i < u.length; i++) {
+            expected[i] = (float) Math.hypot(u[i], v[i]);
+        }
+        assertClose("Magnitude", expected, execute("Magnitude", u, v));
+    }
+
+    @Test
+    public void testPoT() {
+        assertClose("PoT", pythonPoT(P, T), execute("PoT", P, T));
+    }
+
+    @Test
+    public void testRH() {
+        assertClose("RH.execute1", pythonRH1(T, TD),
+                execute("RH.execute1", T, TD));
+        assertClose("RH.execute2", pythonRH2(P, T, SHX),
+                execute("RH.execute2", P, T, SHX));
+    }
+
+    @Test
+    public void testThetaE() {
+        assertClose("ThetaE", pythonThetaE(P, T, RH),
+                execute("ThetaE", P, T, RH));
+    }
+
+    @Test
+    public void testTV() {
+        assertClose("TV", pythonTV(P, T, RH), execute("TV", P, T, RH));
+    }
+
+    @Test
+    public void testHgt2Pres() {
+        float[] result = execute("Hgt2Pres", Z);
+        assertClose("Hgt2Pres", pythonHgt2Pres(Z), result);
+        assertEquals(0.0f, result[9], 0.0f);
+    }
+
+    private static FloatDataRecord record(float... values) {
+        return new FloatDataRecord("T", "", values, 1,
+                new long[] { values.length });
+    }
+
+    private static float[] values(List<IDataRecord> result) {
+        assertEquals(1, result.size());
+        return ((FloatDataRecord) result.get(0)).getFloatData();
+    }
+
+    @Test
+    public void testMissingValuesOnlyInRecords() throws Exception {
+        FallbackAdapter fallback = new FallbackAdapter();
+        DerivParamJavaFunctionAdapter adapter = new DerivParamJavaFunctionAdapter(
+                fallback);
+        List<Object> args = new ArrayList<>();
+        args.add(record(1f, -9999f, 2000000f, 3f));
+        args.add(Float.valueOf(1000000f));
+        assertClose("Add", new float[] { 1000001f, Float.NaN, Float.NaN,
+                1000003f }, values(adapter.executeFunction("Add", args)));
+
+        args.clear();
+        args.add(new float[] { -9999f, 1f });
+        args.add(record(1f, 1f));
+        assertClose("Add", new float[] { -9998f, 2f },
+                values(adapter.executeFunction("Add", args)));
+        assertTrue(fallback.executed.isEmpty());
+    }
+
+    @Test
+    public void testNestedResultNotMasked() throws Exception {
+        FallbackAdapter fallback = new FallbackAdapter();
+        DerivParamJavaFunctionAdapter adapter = new DerivParamJavaFunctionAdapter(
+                fallback);
+        DerivedParameterRequest nested = new DerivedParameterRequest();
+        nested.setMethod("Add");
+        nested.setArgumentRecords(new Object[] { record(-9998f, 5f),
+                Float.valueOf(-1f) });
+        List<Object> args = new ArrayList<>();
+        args.add(nested);
+        args.add(Float.valueOf(1f));
+        assertClose("Add", new float[] { -9998f, 5f },
+                values(adapter.executeFunction("Add", args)));
+        assertTrue(fallback.executed.isEmpty());
+    }
+
+    @Test
+    public void testOverrideUsesFallback() throws Exception {
+        FallbackAdapter fallback = new FallbackAdapter();
+        DerivParamJavaFunctionAdapter adapter = new DerivParamJavaFunctionAdapter(
+                fallback) {
+            @Override
+            protected Set<String> findOverriddenModules() {
+                return new HashSet<>(Arrays.asList("Add", "RH"));
+            }
+        };
+        adapter.init();
+        try {
+            List<Object> args = new ArrayList<>();
+            args.add(record(1f, 2f));
+            args.add(Float.valueOf(1f));
+            assertTrue(adapter.executeFunction("Add", args).isEmpty());
+            assertTrue(adapter.executeFunction("Difference", args).isEmpty());
+            assertTrue(adapter.executeFunction("RH.execute1", args).isEmpty());
+            assertClose("Multiply", new float[] { 1f, 2f },
+                    values(adapter.executeFunction("Multiply", args)));
+            assertEquals(Arrays.asList("Add", "Difference", "RH.execute1"),
+                    fallback.executed);
+        } finally {
+            adapter.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnsupportedArgumentsUseFallback() throws Exception {
+        FallbackAdapter fallback = new FallbackAdapter();
+        DerivParamJavaFunctionAdapter adapter = new DerivParamJavaFunctionAdapter(
+                fallback);
+        List<Object> args = new ArrayList<>();
+        args.add(record(1f, 2f));
+        args.add("1");
+        assertTrue(adapter.executeFunction("Add", args).isEmpty());
+        args.set(1, Float.valueOf(1f));
+        assertTrue(adapter.executeFunction("Vector", args).isEmpty());
+        assertEquals(Arrays.asList("Add", "Vector"), fallback.executed);
+    }
+
+    /**
+     * Records the functions it is asked to execute and returns no records.
+     */
+    private static class FallbackAdapter implements IDerivParamFunctionAdapter {
+
+        private final List<String> executed = new ArrayList<>();
+
+        @Override
+        public String createNewFunction(String functionName,
+                FunctionArgument[] arguments) {
+            return null;
+        }
+
+        @Override
+        public String[] getArgumentTypes() {
+            return new String[0];
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public List<IDataRecord> executeFunction(String name,
+                List<Object> arguments) {
+            executed.add(name);
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public String getName() {
+            return "Python";
+        }
+
+        @Override
+        public String getExtension() {
+            return "py";
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.derivparam.data;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.raytheon.uf.common.dataplugin.level.Level;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.geospatial.IGridGeometryProvider;
+import com.raytheon.uf.common.time.DataTime;
+
+/**
+ * Cache of derived parameter results shared by every
+ * {@link DerivedRequestableData} so the same derived field is only calculated
+ * once no matter how many displays request it. Entries are keyed by source,
+ * parameter, level, time, space and the method used to derive the data. The
+ * cache is bounded by the size of the data in bytes, least recently used
+ * entries are removed first.
+ * 
+ * Results must be invalidated with {@link #invalidate(Date)} when new data
+ * notifications arrive, which CAVE does before any alert observer can request
+ * the data again. Entries also expire after a fixed time, which bounds how
+ * stale a result can be in a process that does not receive notifications.
+ * Every invalidation also increases the cache generation, a result calculated
+ * while an invalidation happened is not stored since it may have been
+ * calculated from the old data. Callers must get the generation with
+ * {@link #getGeneration()} before calculating a result and pass it to
+ * {@link #put(DerivedRequestableData, Object, IDataRecord[], long)}.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ * @version 1.0
+ */
+public class DerivedDataCache {
+
+    private static final long MAX_BYTES = Long.getLong(
+            "com.raytheon.uf.common.derivparam.cache.maxBytes",
+            64L * 1024 * 1024);
+
+    private static final long TIME_TO_LIVE = Long.getLong(
+            "com.raytheon.uf.common.derivparam.cache.timeToLive",
+            TimeUnit.MINUTES.toMillis(10));
+
+    private static final DerivedDataCache instance = new DerivedDataCache(
+            MAX_BYTES, TIME_TO_LIVE);
+
+    private final long maxBytes;
+
+    private final long timeToLive;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16,
+            0.75f, true);
+
+    private long bytes = 0;
+
+    private long generation = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public static DerivedDataCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param maxBytes
+     *            maximum total size of the cached data, 0 disables the cache
+     * @param timeToLive
+     *            how long in milliseconds a result is kept
+     */
+    public DerivedDataCache(long maxBytes, long timeToLive) {
+        this.maxBytes = maxBytes;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Get a previously calculated result.
+     * 
+     * @param data
+     *            the data being derived
+     * @param arg
+     *            the argument passed to getDataValue
+     * @return a copy of the cached result or null if it is not cached.
+     */
+    public IDataRecord[] get(DerivedRequestableData data, Object arg) {
+        Key key = createKey(data, arg);
+        if (key == null) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(timeToLive)) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return copy(entry.records);
+    }
+
+    /**
+     * @return the current generation, which changes every time results are
+     *         invalidated
+     */
+    public long getGeneration() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Store a calculated result, the records are copied so the caller may
+     * modify them afterwards. The result is discarded if anything was
+     * invalidated since the generation was retrieved.
+     * 
+     * @param data
+     *            the data being derived
+     * @param arg
+     *            the argument passed to getDataValue
+     * @param records
+     *            the result
+     * @param generation
+     *            the value of {@link #getGeneration()} from before the result
+     *            was calculated
+     */
+    public void put(DerivedRequestableData data, Object arg,
+            IDataRecord[] records, long generation) {
+        Key key = createKey(data, arg);
+        if (key == null || records == null) {
+            return;
+        }
+        long size = 0;
+        for (IDataRecord record : records) {
+            size += record.getSizeInBytes();
+        }
+        if (size > maxBytes / 4) {
+            /* Don't let one large result push out everything else. */
+            return;
+        }
+        Entry entry = new Entry(copy(records), size);
+        synchronized (entries) {
+            if (generation != this.generation) {
+                return;
+            }
+            remove(key);
+            entries.put(key, entry);
+            bytes += size;
+            Iterator<Entry> it = entries.values().iterator();
+            while (bytes > maxBytes && it.hasNext()) {
+                bytes -= it.next().size;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove all results for data with the provided reference time. Used
+     * when new data arrives since it may change how a parameter is derived.
+     * 
+     * @param refTime
+     *            the reference time of the new data
+     */
+    public void invalidate(Date refTime) {
+        synchronized (entries) {
+            generation += 1;
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet()
+                    .iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Entry> mapEntry = it.next();
+                DataTime time = mapEntry.getKey().dataTime;
+                if (time == null || time.getRefTime() == null
+                        || time.getRefTime().equals(refTime)) {
+                    bytes -= mapEntry.getValue().size;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all results for a source.
+     * 
+     * @param source
+     *            the source of the data
+     */
+    public void invalidate(String source) {
+        synchronized (entries) {
+            generation += 1;
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet()
+                    .iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Entry> mapEntry = it.next();
+                if (Objects.equals(source, mapEntry.getKey().source)) {
+                    bytes -= mapEntry.getValue().size;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove every result, used when the derived parameter definitions change.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation += 1;
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the fraction of lookups that were found in the cache
+     */
+    public double getHitRate() {
+        long hits = this.hits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public long getSizeInBytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public int getNumEntries() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DerivedDataCache[entries=%d, bytes=%d, hits=%d, "
+                        + "misses=%d, evictions=%d, hitRate=%.2f]",
+                getNumEntries(), getSizeInBytes(), getHits(), getMisses(),
+                getEvictions(), getHitRate());
+    }
+
+    private void remove(Key key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            bytes -= old.size;
+        }
+    }
+
+    /**
+     * Only results with an argument that can be compared by value are cached,
+     * anything else would never be found again.
+     */
+    private Key createKey(DerivedRequestableData data, Object arg) {
+        if (maxBytes <= 0) {
+            return null;
+        }
+        if (arg != null && !(arg instanceof Request)) {
+            return null;
+        }
+        return new Key(data, arg);
+    }
+
+    private static IDataRecord[] copy(IDataRecord[] records) {
+        IDataRecord[] copy = new IDataRecord[records.length];
+        for (int i = 0; i < records.length; i++) {
+            copy[i] = records[i].clone();
+        }
+        return copy;
+    }
+
+    private static class Entry {
+
+        private final IDataRecord[] records;
+
+        private final long size;
+
+        private final long created = System.currentTimeMillis();
+
+        public Entry(IDataRecord[] records, long size) {
+            this.records = records;
+            this.size = size;
+        }
+
+        public boolean isExpired(long timeToLive) {
+            return System.currentTimeMillis() - created > timeToLive;
+        }
+    }
+
+    private static class Key {
+
+        private final String source;
+
+        private final String parameter;
+
+        private final Level level;
+
+        private final DataTime dataTime;
+
+        private final IGridGeometryProvider space;
+
+        private final String method;
+
+        private final Object arg;
+
+        private final int hashCode;
+
+        public Key(DerivedRequestableData data, Object arg) {
+            this.source = data.getSource();
+            this.parameter = data.getParameter();
+            this.level = data.getLevel();
+            this.dataTime = data.getDataTime();
+            this.space = data.getSpace();
+            this.method = data.getRequest().getMethod();
+            this.arg = arg;
+            this.hashCode = Objects.hash(source, parameter, level, dataTime,
+                    space, method, arg);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode
+                    && Objects.equals(source, other.source)
+                    && Objects.equals(parameter, other.parameter)
+                    && Objects.equals(level, other.level)
+                    && Objects.equals(dataTime, other.dataTime)
+                    && Objects.equals(space, other.space)
+                    && Objects.equals(method, other.method)
+                    && Objects.equals(arg, other.arg);
+        }
+    }
+}
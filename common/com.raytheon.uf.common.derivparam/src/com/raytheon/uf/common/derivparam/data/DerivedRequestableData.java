@@ -50,6 +50,7 @@ import com.raytheon.uf.common.derivparam.library.DerivedParameterRequest;
  * Jun 04, 2013  2041     bsteffen    Switch derived parameters to use
  *                                    concurrent python for threading.
  * Jan 14, 2014  2661     bsteffen    Make vectors u,v only
+ * Oct 19, 2026           agent       Share results through DerivedDataCache
  * 
  * 
  * </pre>
@@ -80,6 +81,12 @@ public class DerivedRequestableData extends AbstractRequestableData {
 
     @Override
     public Object getDataValue(Object arg) throws DataCubeException {
+        DerivedDataCache resultCache = DerivedDataCache.getInstance();
+        long generation = resultCache.getGeneration();
+        IDataRecord[] cached = resultCache.get(this, arg);
+        if (cached != null) {
+            return cached;
+        }
         DerivedParameterRequest request = createDerparRequest(arg);
         try {
             List<IDataRecord> finalResult = DerivedParameterGenerator
@@ -88,7 +95,9 @@ public class DerivedRequestableData extends AbstractRequestableData {
                 for (IDataRecord rec : finalResult) {
                     rec.setName(request.getParameterAbbreviation());
                 }
-                return finalResult.toArray(new IDataRecord[0]);
+                IDataRecord[] result = finalResult.toArray(new IDataRecord[0]);
+                resultCache.put(this, arg, result, generation);
+                return result;
             }
         } catch (ExecutionException e) {
             throw new DataCubeException("Error executing Derived Parameter.", e);
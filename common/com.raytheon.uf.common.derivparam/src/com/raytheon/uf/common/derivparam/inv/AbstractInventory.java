@@ -95,6 +95,9 @@ import com.raytheon.uf.common.time.DataTime;
  *                                    levels.
  * May 26, 2016  DR18955  dfriedman   Fix marking of recursively referenced
  *                                    derived parameters.
+ * Oct 19, 2026           agent       Keep underivable parameters between
+ *                                    walks and only retry them when their
+ *                                    dependencies change.
  * 
  * </pre>
  * 
@@ -202,6 +205,24 @@ public abstract class AbstractInventory implements DerivParamUpdateListener {
 
     protected List<Level> allLevels;
 
+    /**
+     * Source/parameter/level combinations that could not be derived. These are
+     * kept between walks of the tree so a walk only attempts to derive
+     * combinations that have never been tried or that depend on data that has
+     * changed since they were tried.
+     */
+    private final Set<StackEntry> unresolved = new HashSet<StackEntry>();
+
+    /**
+     * For each parameter, the derived parameters with a method that uses it as
+     * a field. Built from the derived parameter library in initTree.
+     */
+    private Map<String, Set<String>> dependents = Collections.emptyMap();
+
+    private static final int MAX_UNRESOLVED = Integer.getInteger(
+            "com.raytheon.uf.common.derivparam.inventory.maxUnresolved",
+            1000000);
+
     /**
      * A call to this method assigns the passed grid tree to the original grid
      * tree and populates it with available derived parameters based on what is
@@ -229,6 +250,9 @@ public abstract class AbstractInventory implements DerivParamUpdateListener {
             allParameters = null;
             allLevels = null;
             dataTree = newTree;
+            dataTree.drainAddedParameters();
+            unresolved.clear();
+            dependents = compileDependents(this.derParLibrary);
             for (SourceNode sourceNode : dataTree.getSourceNodes().values()) {
                 doSupplement(sourceNode);
                 for (ParameterNode parameterNode : sourceNode.getChildNodes()
@@ -246,6 +270,85 @@ public abstract class AbstractInventory implements DerivParamUpdateListener {
         }
     }
 
+    /**
+     * Build the map of parameters to the derived parameters that use them.
+     */
+    private static Map<String, Set<String>> compileDependents(
+            Map<String, DerivParamDesc> derParLibrary) {
+        Map<String, Set<String>> dependents = new HashMap<>();
+        for (DerivParamDesc desc : derParLibrary.values()) {
+            if (desc.getMethods() == null) {
+                continue;
+            }
+            for (DerivParamMethod method : desc.getMethods()) {
+                for (IDerivParamField ifield : method.getFields()) {
+                    if (ifield instanceof DerivParamField) {
+                        String param = ((DerivParamField) ifield).getParam();
+                        Set<String> paramDependents = dependents.get(param);
+                        if (paramDependents == null) {
+                            paramDependents = new HashSet<String>();
+                            dependents.put(param, paramDependents);
+                        }
+                        paramDependents.add(desc.getAbbreviation());
+                    }
+                }
+            }
+        }
+        return dependents;
+    }
+
+    /**
+     * Called when base data for new parameters or levels is added to the
+     * dataTree, walkTree calls this with the parameters the dataTree reports
+     * as added and subclasses that modify the tree directly should call it
+     * themselves. Any parameter that previously could not be
+     * derived because it depends, directly or indirectly, on one of the
+     * provided parameters will be attempted again the next time the tree is
+     * walked. Everything else keeps its previous result.
+     * 
+     * @param parameters
+     *            the parameters that have new data
+     */
+    protected void invalidateUnresolved(Collection<String> parameters) {
+        lock.lock();
+        try {
+            Set<String> affected = new HashSet<String>(parameters);
+            Deque<String> toVisit = new ArrayDeque<String>(parameters);
+            while (!toVisit.isEmpty()) {
+                Set<String> paramDependents = dependents.get(toVisit.pop());
+                if (paramDependents == null) {
+                    continue;
+                }
+                for (String dependent : paramDependents) {
+                    if (affected.add(dependent)) {
+                        toVisit.push(dependent);
+                    }
+                }
+            }
+            Iterator<StackEntry> it = unresolved.iterator();
+            while (it.hasNext()) {
+                if (affected.contains(it.next().parameter)) {
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidate the unresolved entries affected by parameters added to the
+     * dataTree since the last check.
+     */
+    private void invalidateAddedParameters() {
+        if (dataTree != null) {
+            Set<String> added = dataTree.drainAddedParameters();
+            if (!added.isEmpty()) {
+                invalidateUnresolved(added);
+            }
+        }
+    }
+
     @Override
     public void updateDerParLibrary(Map<String, DerivParamDesc> derParLibrary) {
         try {
@@ -621,7 +724,8 @@ public abstract class AbstractInventory implements DerivParamUpdateListener {
                 }
             }
             List<AbstractRequestableNode> results = new ArrayList<AbstractRequestableNode>();
-            Set<StackEntry> nodata = new HashSet<StackEntry>(derParLibrary.size());
+            invalidateAddedParameters();
+            Set<StackEntry> nodata = unresolved;
             Deque<StackEntry> stack = new ArrayDeque<StackEntry>();
             Iterator<String> sit = sourcesToProcess.iterator();
             boolean first = true;
@@ -635,13 +739,16 @@ public abstract class AbstractInventory implements DerivParamUpdateListener {
                     Thread.sleep(UNLOCK_TIME);
                     lock.lockInterruptibly();
                     locked = true;
+                    invalidateAddedParameters();
                 }
                 String source = sit.next();
                 SourceNode node = dataTree.getSourceNode(source);
                 if (node == null) {
                     continue;
                 }
-                nodata.clear();
+                if (nodata.size() > MAX_UNRESOLVED) {
+                    nodata.clear();
+                }
                 Iterator<String> pit = paramsToProcess.iterator();
                 while (pit.hasNext()) {
                     if (Thread.interrupted()) {
@@ -39,6 +39,7 @@ import javax.xml.bind.JAXBException;
 import com.raytheon.uf.common.datastorage.records.IDataRecord;
 import com.raytheon.uf.common.derivparam.DerivParamFunctionType;
 import com.raytheon.uf.common.derivparam.IDerivParamFunctionAdapter;
+import com.raytheon.uf.common.derivparam.data.DerivedDataCache;
 import com.raytheon.uf.common.derivparam.library.DerivParamMethod.MethodType;
 import com.raytheon.uf.common.localization.ILocalizationFile;
 import com.raytheon.uf.common.localization.ILocalizationPathObserver;
@@ -83,6 +84,8 @@ import com.raytheon.uf.common.status.UFStatus.Priority;
  * Mar 24, 2016  5439     bsteffen    Do not throw exceptions after logging
  *                                    error that adapter is not registered
  * Oct 05, 2016  5891     bsteffen    Allow functions in subdirectories
+ * Oct 19, 2026           agent       Clear cached results when definitions
+ *                                    change
  * 
  * </pre>
  * 
@@ -306,6 +309,7 @@ public class DerivedParameterGenerator implements ILocalizationPathObserver {
 
     @Override
     public void fileChanged(ILocalizationFile file) {
+        DerivedDataCache.getInstance().invalidateAll();
         needsLibInit = true;
         initLibrary();
     }
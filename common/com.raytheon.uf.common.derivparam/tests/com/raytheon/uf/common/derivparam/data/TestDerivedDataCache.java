@@ -0,0 +1,218 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.derivparam.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.derivparam.library.DerivedParameterRequest;
+import com.raytheon.uf.common.time.DataTime;
+
+/**
+ * Test {@link DerivedDataCache}
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class TestDerivedDataCache {
+
+    private static final long TIME_TO_LIVE = 60 * 1000;
+
+    private static final Date REF_TIME_1 = new Date(1471262400000L);
+
+    private static final Date REF_TIME_2 = new Date(1471284000000L);
+
+    private static DerivedRequestableData data(String source,
+            String parameter, Date refTime) {
+        DerivedParameterRequest request = new DerivedParameterRequest();
+        request.setMethod("Add");
+        DerivedRequestableData data = new DerivedRequestableData(request);
+        data.setSource(source);
+        data.setParameter(parameter);
+        data.setDataTime(new DataTime(refTime));
+        return data;
+    }
+
+    private static IDataRecord[] records(float... values) {
+        return new IDataRecord[] { new FloatDataRecord("T", "", values, 1,
+                new long[] { values.length }) };
+    }
+
+    private static float[] values(IDataRecord[] records) {
+        assertNotNull(records);
+        return ((FloatDataRecord) records[0]).getFloatData();
+    }
+
+    private static void put(DerivedDataCache cache,
+            DerivedRequestableData data, IDataRecord[] records) {
+        cache.put(data, Request.ALL, records, cache.getGeneration());
+    }
+
+    @Test
+    public void testHit() {
+        DerivedDataCache cache = new DerivedDataCache(1024 * 1024,
+                TIME_TO_LIVE);
+        DerivedRequestableData data = data("GFS", "T", REF_TIME_1);
+        assertNull(cache.get(data, Request.ALL));
+
+        IDataRecord[] records = records(1, 2, 3);
+        put(cache, data, records);
+        /* The cache keeps a copy. */
+        ((FloatDataRecord) records[0]).getFloatData()[0] = 99;
+
+        /* Equal data and argument are found. */
+        IDataRecord[] cached = cache.get(data("GFS", "T", REF_TIME_1),
+                Request.ALL);
+        assertArrayEquals(new float[] { 1, 2, 3 }, values(cached), 0f);
+        values(cached)[1] = 99;
+        assertArrayEquals(new float[] { 1, 2, 3 },
+                values(cache.get(data, Request.ALL)), 0f);
+
+        assertNull(cache.get(data("GFS", "Td", REF_TIME_1), Request.ALL));
+        assertNull(cache.get(data, null));
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getNumEntries());
+        assertEquals(12, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testUncachedArgument() {
+        DerivedDataCache cache = new DerivedDataCache(1024 * 1024,
+                TIME_TO_LIVE);
+        DerivedRequestableData data = data("GFS", "T", REF_TIME_1);
+        Object arg = new Object();
+        cache.put(data, arg, records(1), cache.getGeneration());
+        assertNull(cache.get(data, arg));
+        assertEquals(0, cache.getNumEntries());
+    }
+
+    @Test
+    public void testEviction() {
+        DerivedDataCache cache = new DerivedDataCache(64, TIME_TO_LIVE);
+        for (int i = 0; i < 5; i += 1) {
+            put(cache, data("GFS", "T" + i, REF_TIME_1), records(i, i, i, i));
+        }
+        assertEquals(4, cache.getNumEntries());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(data("GFS", "T0", REF_TIME_1), Request.ALL));
+        assertNotNull(cache.get(data("GFS", "T4", REF_TIME_1), Request.ALL));
+
+        /* Too large to cache at all. */
+        put(cache, data("GFS", "big", REF_TIME_1), records(new float[5]));
+        assertNull(cache.get(data("GFS", "big", REF_TIME_1), Request.ALL));
+    }
+
+    @Test
+    public void testInvalidateRefTime() {
+        DerivedDataCache cache = new DerivedDataCache(1024 * 1024,
+                TIME_TO_LIVE);
+        DerivedRequestableData data1 = data("GFS", "T", REF_TIME_1);
+        DerivedRequestableData data2 = data("GFS", "T", REF_TIME_2);
+        put(cache, data1, records(1));
+        put(cache, data2, records(2));
+
+        cache.invalidate(REF_TIME_1);
+        assertNull(cache.get(data1, Request.ALL));
+        assertArrayEquals(new float[] { 2 },
+                values(cache.get(data2, Request.ALL)), 0f);
+        assertEquals(4, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testInvalidateSource() {
+        DerivedDataCache cache = new DerivedDataCache(1024 * 1024,
+                TIME_TO_LIVE);
+        DerivedRequestableData gfs = data("GFS", "T", REF_TIME_1);
+        DerivedRequestableData nam = data("NAM12", "T", REF_TIME_1);
+        put(cache, gfs, records(1));
+        put(cache, nam, records(2));
+
+        cache.invalidate("NAM12");
+        assertNull(cache.get(nam, Request.ALL));
+        assertNotNull(cache.get(gfs, Request.ALL));
+
+        cache.invalidateAll();
+        assertNull(cache.get(gfs, Request.ALL));
+        assertEquals(0, cache.getNumEntries());
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        DerivedDataCache cache = new DerivedDataCache(1024 * 1024, 10);
+        DerivedRequestableData data = data("GFS", "T", REF_TIME_1);
+        put(cache, data, records(1));
+        Thread.sleep(50);
+        assertNull(cache.get(data, Request.ALL));
+        assertEquals(0, cache.getNumEntries());
+    }
+
+    /**
+     * A result calculated from the old data must not be stored after new data
+     * has invalidated the cache, even if the invalidation is for other data.
+     */
+    @Test
+    public void testInvalidateWhileCalculating() {
+        DerivedDataCache cache = new DerivedDataCache(1024 * 1024,
+                TIME_TO_LIVE);
+        DerivedRequestableData data = data("GFS", "T", REF_TIME_1);
+
+        long generation = cache.getGeneration();
+        assertNull(cache.get(data, Request.ALL));
+        /* New data arrives while the result is calculated. */
+        cache.invalidate(REF_TIME_1);
+        cache.put(data, Request.ALL, records(1), generation);
+        assertNull(cache.get(data, Request.ALL));
+
+        generation = cache.getGeneration();
+        cache.invalidate("NAM12");
+        cache.put(data, Request.ALL, records(1), generation);
+        assertNull(cache.get(data, Request.ALL));
+
+        generation = cache.getGeneration();
+        cache.invalidateAll();
+        cache.put(data, Request.ALL, records(1), generation);
+        assertNull(cache.get(data, Request.ALL));
+
+        /* A calculation that starts after the invalidation is kept. */
+        cache.put(data, Request.ALL, records(2), cache.getGeneration());
+        assertArrayEquals(new float[] { 2 },
+                values(cache.get(data, Request.ALL)), 0f);
+    }
+}
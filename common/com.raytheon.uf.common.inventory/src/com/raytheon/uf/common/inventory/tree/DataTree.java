@@ -19,6 +19,7 @@
  **/
 package com.raytheon.uf.common.inventory.tree;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -38,6 +39,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Mar 17, 2010            bsteffen     Initial creation
+ * Oct 19, 2026            agent        Track added parameters
  * 
  * </pre>
  * 
@@ -50,6 +52,12 @@ public class DataTree implements ISerializableObject, Cloneable {
     @DynamicSerializeElement
     private Map<String, SourceNode> sourceNodes = new HashMap<String, SourceNode>();
 
+    /**
+     * Parameters that gained a source or level since the last call to
+     * {@link #drainAddedParameters()}, not serialized.
+     */
+    private transient Set<String> addedParameters = new HashSet<String>();
+
     public Map<String, SourceNode> getSourceNodes() {
         return sourceNodes;
     }
@@ -71,6 +79,7 @@ public class DataTree implements ISerializableObject, Cloneable {
 
     public int mergeGridTree(DataTree tree) {
         for (SourceNode sourceNode : tree.getSourceNodes().values()) {
+            addedParameters(sourceNode.getChildNodeIds());
             SourceNode thisSourceNode = sourceNodes.get(sourceNode.getValue());
 
             if (thisSourceNode == null) {
@@ -126,9 +135,30 @@ public class DataTree implements ISerializableObject, Cloneable {
             levelNode = new LevelNode();
             levelNode.setValue(levelId);
             paramNode.addChildNode(levelNode);
+            addedParameters(Collections.singleton(parameterAbbreviation));
         }
     }
 
+    /**
+     * Get the parameters that have had branches added through
+     * {@link #addBranch(String, Integer, String, String, String, String)} or
+     * {@link #mergeGridTree(DataTree)} since the last call and reset the set.
+     * 
+     * @return the added parameter abbreviations
+     */
+    public synchronized Set<String> drainAddedParameters() {
+        if (addedParameters.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> added = addedParameters;
+        addedParameters = new HashSet<String>();
+        return added;
+    }
+
+    private synchronized void addedParameters(Set<String> parameters) {
+        addedParameters.addAll(parameters);
+    }
+
     /**
      * Returns a list of available model names.
      * 
@@ -20,23 +20,50 @@
 package com.raytheon.uf.common.logback.appender;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
 import javax.jms.ExceptionListener;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.AppenderBase;
 
 /**
- * An abstract appender for sending a log event to a JMS queue or topic.
+ * An abstract appender for sending log events to a JMS queue or topic.
  * Subclasses must implement the method:
  * 
- * <code>protected void append(ILoggingEvent)</code>
+ * <code>protected Message createMessage(Session, ILoggingEvent)</code>
+ * 
+ * By default events are placed in a bounded buffer and sent by a single
+ * background thread so that logging threads never wait on the broker. The
+ * background thread takes up to batchSize events, or whatever arrives within
+ * batchTimeMs milliseconds, and sends one message per event. Subclasses that
+ * can put several events in one message may also override
+ * <code>protected Message createMessage(Session, List)</code> so each batch is
+ * sent as a single message. When the buffer is full the
+ * overflowPolicy decides what happens to new events:
+ * <ul>
+ * <li>DROP_OLDEST: discard the oldest buffered event.</li>
+ * <li>DROP_BELOW_LEVEL: discard the new event if it is below overflowLevel,
+ * otherwise discard the oldest buffered event.</li>
+ * <li>BLOCK: wait for space in the buffer.</li>
+ * </ul>
+ * Setting async to false sends each event on the logging thread. Events that
+ * cannot be sent, including when creating or sending the message throws a
+ * RuntimeException, are counted as dropped.
  * 
  * <pre>
  *
@@ -45,6 +72,7 @@ import ch.qos.logback.core.AppenderBase;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * May 22, 2015  4473      njensen     Initial creation
+ * Oct 19, 2026            agent       Send batches from a background thread
  *
  * </pre>
  * 
@@ -55,6 +83,10 @@ import ch.qos.logback.core.AppenderBase;
 public abstract class AbstractJmsAppender extends AppenderBase<ILoggingEvent>
         implements ExceptionListener {
 
+    public static enum OverflowPolicy {
+        DROP_OLDEST, DROP_BELOW_LEVEL, BLOCK;
+    }
+
     protected String uri;
 
     protected String destName;
@@ -71,14 +103,44 @@ public abstract class AbstractJmsAppender extends AppenderBase<ILoggingEvent>
 
     protected MessageProducer producer;
 
+    protected boolean async = true;
+
+    protected int bufferSize = 8192;
+
+    protected int batchSize = 100;
+
+    protected long batchTimeMs = 500;
+
+    protected long maxFlushTimeMs = 1000;
+
+    protected OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    protected Level overflowLevel = Level.WARN;
+
+    /**
+     * Guards connecting and disconnecting, which happens on the sending thread
+     * and on the JMS thread that calls {@link #onException(JMSException)}.
+     */
+    private final Object connectionLock = new Object();
+
+    private final AtomicLong queuedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong sentCount = new AtomicLong();
+
+    private BlockingQueue<ILoggingEvent> buffer;
+
+    private Thread sender;
+
     @SuppressWarnings("unchecked")
     @Override
     public void start() {
-        if (connFactoryClass == null) {
-            throw new IllegalArgumentException(
-                    "Must specify a connection factory class.");
-        }
         if (connFactory == null) {
+            if (connFactoryClass == null) {
+                throw new IllegalArgumentException(
+                        "Must specify a connection factory class.");
+            }
             try {
                 Class<ConnectionFactory> clz = (Class<ConnectionFactory>) Class
                         .forName(connFactoryClass, false,
@@ -94,12 +156,150 @@ public abstract class AbstractJmsAppender extends AppenderBase<ILoggingEvent>
         }
         connect();
         super.start();
+        if (async) {
+            buffer = new ArrayBlockingQueue<>(bufferSize);
+            sender = new Thread(new Sender(), "JmsAppender-"
+                    + (name == null ? destName : name));
+            sender.setDaemon(true);
+            sender.start();
+        }
     }
 
     @Override
     public void stop() {
-        disconnect();
+        if (!isStarted()) {
+            return;
+        }
         super.stop();
+        if (sender != null) {
+            try {
+                sender.join(maxFlushTimeMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (sender.isAlive()) {
+                addWarn("Unable to send " + buffer.size()
+                        + " buffered events to " + destName
+                        + " before stopping.");
+                sender.interrupt();
+                try {
+                    sender.join(maxFlushTimeMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sender = null;
+        }
+        disconnect();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!async) {
+            queuedCount.incrementAndGet();
+            send(Collections.singletonList(event));
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                buffer.put(event);
+                queuedCount.incrementAndGet();
+            } catch (InterruptedException e) {
+                droppedCount.incrementAndGet();
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        while (!buffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP_BELOW_LEVEL
+                    && !event.getLevel().isGreaterOrEqual(overflowLevel)) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            if (buffer.poll() != null) {
+                droppedCount.incrementAndGet();
+            }
+        }
+        queuedCount.incrementAndGet();
+    }
+
+    /**
+     * Send a batch of events, connecting first if necessary. The batch is sent
+     * as a single message if {@link #createMessage(Session, List)} supports it,
+     * otherwise each event is sent in its own message. Events that cannot be
+     * sent are counted as dropped.
+     * 
+     * @param events
+     *            the events to send
+     */
+    protected void send(List<ILoggingEvent> events) {
+        Session session;
+        MessageProducer producer;
+        synchronized (connectionLock) {
+            if (!isConnected() && !connect()) {
+                droppedCount.addAndGet(events.size());
+                return;
+            }
+            session = this.session;
+            producer = this.producer;
+        }
+        int sent = 0;
+        try {
+            Message message = null;
+            if (events.size() > 1) {
+                message = createMessage(session, events);
+            }
+            if (message != null) {
+                producer.send(message);
+                sent = events.size();
+                sentCount.addAndGet(sent);
+            } else {
+                for (ILoggingEvent event : events) {
+                    producer.send(createMessage(session, event));
+                    sent += 1;
+                    sentCount.incrementAndGet();
+                }
+            }
+        } catch (JMSException e) {
+            droppedCount.addAndGet(events.size() - sent);
+            disconnect();
+        } catch (RuntimeException e) {
+            droppedCount.addAndGet(events.size() - sent);
+            addError("Unable to send " + (events.size() - sent)
+                    + " events to " + destName, e);
+        }
+    }
+
+    /**
+     * Create a message containing a single event.
+     * 
+     * @param session
+     *            the session to create the message with
+     * @param event
+     *            the event to include in the message
+     * @return the message
+     * @throws JMSException
+     */
+    protected abstract Message createMessage(Session session,
+            ILoggingEvent event) throws JMSException;
+
+    /**
+     * Create a single message containing several events. The default returns
+     * null so that each event is sent in its own message, subclasses may
+     * override this to send a batch of events in one message.
+     * 
+     * @param session
+     *            the session to create the message with
+     * @param events
+     *            the events to include in the message, in the order they were
+     *            logged
+     * @return the message or null if each event should be sent separately
+     * @throws JMSException
+     */
+    protected Message createMessage(Session session,
+            List<ILoggingEvent> events) throws JMSException {
+        return null;
     }
 
     /**
@@ -109,16 +309,19 @@ public abstract class AbstractJmsAppender extends AppenderBase<ILoggingEvent>
      * @return true if the connection was successful, otherwise false
      */
     protected boolean connect() {
-        try {
-            connection = connFactory.createConnection();
-            session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            dest = createDestination(session, destName);
-            producer = session.createProducer(dest);
-            connection.setExceptionListener(this);
-            return true;
-        } catch (JMSException e) {
-            disconnect();
-            return false;
+        synchronized (connectionLock) {
+            try {
+                connection = connFactory.createConnection();
+                session = connection.createSession(false,
+                        Session.AUTO_ACKNOWLEDGE);
+                dest = createDestination(session, destName);
+                producer = session.createProducer(dest);
+                connection.setExceptionListener(this);
+                return true;
+            } catch (JMSException e) {
+                disconnect();
+                return false;
+            }
         }
     }
 
@@ -126,48 +329,81 @@ public abstract class AbstractJmsAppender extends AppenderBase<ILoggingEvent>
             String name) throws JMSException;
 
     protected void disconnect() {
-        if (producer != null) {
-            try {
-                producer.close();
-            } catch (JMSException e) {
-                // ignore
-            } finally {
-                producer = null;
+        synchronized (connectionLock) {
+            if (producer != null) {
+                try {
+                    producer.close();
+                } catch (JMSException e) {
+                    // ignore
+                } finally {
+                    producer = null;
+                }
             }
-        }
 
-        if (session != null) {
-            try {
-                session.close();
-            } catch (JMSException e) {
-                // ignore
-            } finally {
-                session = null;
+            if (session != null) {
+                try {
+                    session.close();
+                } catch (JMSException e) {
+                    // ignore
+                } finally {
+                    session = null;
+                }
             }
-        }
 
-        if (connection != null && super.isStarted()) {
-            try {
-                connection.stop();
-            } catch (JMSException e) {
-                // ignore
+            if (connection != null && super.isStarted()) {
+                try {
+                    connection.stop();
+                } catch (JMSException e) {
+                    // ignore
+                }
             }
-        }
 
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (JMSException e) {
-                // ignore
-            } finally {
-                connection = null;
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (JMSException e) {
+                    // ignore
+                } finally {
+                    connection = null;
+                }
             }
         }
     }
 
     public boolean isConnected() {
-        return connection != null && session != null && dest != null
-                && producer != null;
+        synchronized (connectionLock) {
+            return connection != null && session != null && dest != null
+                    && producer != null;
+        }
+    }
+
+    /**
+     * @return the number of events accepted for sending
+     */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * @return the number of events discarded because the buffer was full or
+     *         the send failed
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return the number of events successfully sent
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return the number of events currently waiting to be sent
+     */
+    public int getBufferedCount() {
+        return buffer == null ? 0 : buffer.size();
     }
 
     public String getUri() {
@@ -194,6 +430,63 @@ public abstract class AbstractJmsAppender extends AppenderBase<ILoggingEvent>
         this.connFactoryClass = connFactoryClass;
     }
 
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeMs() {
+        return batchTimeMs;
+    }
+
+    public void setBatchTimeMs(long batchTimeMs) {
+        this.batchTimeMs = batchTimeMs;
+    }
+
+    public long getMaxFlushTimeMs() {
+        return maxFlushTimeMs;
+    }
+
+    public void setMaxFlushTimeMs(long maxFlushTimeMs) {
+        this.maxFlushTimeMs = maxFlushTimeMs;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy.name();
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim()
+                .toUpperCase().replace('-', '_'));
+    }
+
+    public String getOverflowLevel() {
+        return overflowLevel.toString();
+    }
+
+    public void setOverflowLevel(String overflowLevel) {
+        this.overflowLevel = Level.toLevel(overflowLevel, Level.WARN);
+    }
+
     @Override
     public void onException(JMSException e) {
         // can't log to slf4j, this is coming from slf4j
@@ -201,4 +494,48 @@ public abstract class AbstractJmsAppender extends AppenderBase<ILoggingEvent>
         disconnect();
     }
 
+    /**
+     * Drains the buffer, sending batches until the appender is stopped and
+     * the buffer is empty.
+     */
+    private class Sender implements Runnable {
+
+        @Override
+        public void run() {
+            List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+            try {
+                while (isStarted() || !buffer.isEmpty()) {
+                    ILoggingEvent first = buffer.poll(100,
+                            TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.currentTimeMillis() + batchTimeMs;
+                    while (batch.size() < batchSize) {
+                        int space = batchSize - batch.size();
+                        if (buffer.drainTo(batch, space) > 0) {
+                            continue;
+                        }
+                        long wait = deadline - System.currentTimeMillis();
+                        if (wait <= 0 || !isStarted()) {
+                            break;
+                        }
+                        ILoggingEvent next = buffer.poll(wait,
+                                TimeUnit.MILLISECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    send(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                droppedCount.addAndGet(batch.size() + buffer.size());
+                buffer.clear();
+            }
+        }
+    }
+
 }
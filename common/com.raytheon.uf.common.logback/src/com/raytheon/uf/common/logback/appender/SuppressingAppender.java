@@ -19,10 +19,24 @@
  **/
 package com.raytheon.uf.common.logback.appender;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
 import org.slf4j.Marker;
 
@@ -48,6 +62,9 @@ import ch.qos.logback.core.spi.AppenderAttachableImpl;
  * ------------ ---------- ----------- --------------------------
  * Sep 15, 2014  #3633     dgilling     Initial creation
  * Jun 09, 2015 4473       njensen     Moved from status to logback plugin
+ * Oct 19, 2026            agent       Replace the synchronized LRU cache with
+ *                                     a concurrent cache and sweeper, only
+ *                                     format messages that are logged
  * 
  * </pre>
  * 
@@ -59,6 +76,90 @@ public class SuppressingAppender extends
         UnsynchronizedAppenderBase<ILoggingEvent> implements
         AppenderAttachable<ILoggingEvent> {
 
+    /**
+     * True for classes that do not override {@link Object#equals(Object)}.
+     */
+    private static final ClassValue<Boolean> IDENTITY_EQUALS = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("equals", Object.class)
+                        .getDeclaringClass() == Object.class;
+            } catch (NoSuchMethodException e) {
+                return Boolean.FALSE;
+            }
+        }
+    };
+
+    /**
+     * Identifies duplicate messages without formatting them. Two events are
+     * duplicates if they come from the same logger at the same level with the
+     * same message pattern and the same arguments. Arguments that do not
+     * implement equals are compared by their string value, which is what they
+     * contribute to the formatted message.
+     */
+    private static final class MessageKey {
+
+        private final String loggerName;
+
+        private final Level level;
+
+        private final String message;
+
+        private final Object[] arguments;
+
+        private final int hashCode;
+
+        public MessageKey(ILoggingEvent event) {
+            this.loggerName = event.getLoggerName();
+            this.level = event.getLevel();
+            this.message = event.getMessage();
+            Object[] args = event.getArgumentArray();
+            if (args != null) {
+                args = args.clone();
+                for (int i = 0; i < args.length; i += 1) {
+                    Object arg = args[i];
+                    if (arg != null && !arg.getClass().isArray()
+                            && IDENTITY_EQUALS.get(arg.getClass())) {
+                        args[i] = String.valueOf(arg);
+                    }
+                }
+            }
+            this.arguments = args;
+            int hash = Objects.hashCode(loggerName);
+            hash = 31 * hash + Objects.hashCode(level);
+            hash = 31 * hash + Objects.hashCode(message);
+            hash = 31 * hash + Arrays.deepHashCode(arguments);
+            this.hashCode = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MessageKey)) {
+                return false;
+            }
+            MessageKey other = (MessageKey) obj;
+            return hashCode == other.hashCode
+                    && Objects.equals(level, other.level)
+                    && Objects.equals(loggerName, other.loggerName)
+                    && Objects.equals(message, other.message)
+                    && Arrays.deepEquals(arguments, other.arguments);
+        }
+    }
+
+    /**
+     * Tracks one message. Only modified while its key is locked by the
+     * cache's compute methods.
+     */
     private static class MessageCacheEntry {
 
         private int totalCount;
@@ -67,47 +168,41 @@ public class SuppressingAppender extends
 
         private boolean isLoggedBefore;
 
-        private long timeStamp;
+        private volatile long timeStamp;
+
+        private long intervalStart;
 
         private final ILoggingEvent logEvent;
 
+        /**
+         * @param logEvent
+         *            the first event, which must be prepared for deferred
+         *            processing because summaries of it may be logged from
+         *            the sweeper thread.
+         */
         public MessageCacheEntry(final ILoggingEvent logEvent) {
             this.totalCount = 0;
             this.countSinceLastLog = 0;
             this.isLoggedBefore = false;
             this.logEvent = logEvent;
             this.timeStamp = logEvent.getTimeStamp();
+            this.intervalStart = timeStamp;
         }
 
-        public MessageCacheEntry(final ILoggingEvent logEvent, int totalCount) {
-            this.totalCount = totalCount;
-            this.countSinceLastLog = 0;
-            this.isLoggedBefore = true;
-            this.logEvent = logEvent;
-            this.timeStamp = logEvent.getTimeStamp();
-        }
-
-        public int getTotalCount() {
-            return totalCount;
+        public long getIntervalStart() {
+            return intervalStart;
         }
 
         public long getTimeStamp() {
             return timeStamp;
         }
 
-        public ILoggingEvent getLogEvent() {
-            return logEvent;
-        }
-
-        public int incrementCount() {
+        public int incrementCount(ILoggingEvent event) {
+            timeStamp = event.getTimeStamp();
             ++countSinceLastLog;
             return ++totalCount;
         }
 
-        public void setTimestamp(long newTimestamp) {
-            timeStamp = newTimestamp;
-        }
-
         public int getCountSinceLastLog() {
             return countSinceLastLog;
         }
@@ -115,12 +210,43 @@ public class SuppressingAppender extends
         public boolean isLoggedBefore() {
             return isLoggedBefore;
         }
+
+        /**
+         * Create the summary event for the duplicates received since the last
+         * summary, or null if no summary is needed.
+         */
+        public ILoggingEvent createSummary(int duplicateThreshold) {
+            int msgCount = countSinceLastLog;
+            if ((isLoggedBefore && msgCount > 0)
+                    || (!isLoggedBefore && msgCount > duplicateThreshold)) {
+                long duration = timeStamp - intervalStart;
+                return new SuppressedLogEvent(logEvent, msgCount, duration);
+            }
+            return null;
+        }
+
+        /**
+         * Start a new logging interval at the most recent event. The total
+         * count is carried forward so the message is not logged unsuppressed
+         * again.
+         */
+        public void restartInterval() {
+            intervalStart = timeStamp;
+            countSinceLastLog = 0;
+            isLoggedBefore = true;
+        }
     }
 
-    private final class LRUMessageCache extends
-            LinkedHashMap<String, MessageCacheEntry> {
+    /**
+     * Concurrent cache of recent messages. Logging threads only lock the key
+     * of their own message, expiring entries, enforcing the cache size and
+     * logging periodic summaries is all done by a background sweeper.
+     */
+    private final class MessageCache implements Runnable {
 
-        private static final long serialVersionUID = -4498274196005049671L;
+        private final ConcurrentMap<MessageKey, MessageCacheEntry> entries = new ConcurrentHashMap<>();
+
+        private final AtomicBoolean sweepPending = new AtomicBoolean();
 
         private final int cacheSize;
 
@@ -130,10 +256,11 @@ public class SuppressingAppender extends
 
         private final long loggingInterval;
 
-        public LRUMessageCache(final int cacheSize,
+        private final ScheduledFuture<?> sweeper;
+
+        public MessageCache(final int cacheSize,
                 final long expirationInterval, final int duplicateThreshold,
                 final long loggingInterval) {
-            super(cacheSize, 1f, true);
             if (cacheSize < 1) {
                 throw new IllegalArgumentException(
                         "Cache size cannot be smaller than 1");
@@ -142,99 +269,145 @@ public class SuppressingAppender extends
             this.expirationInterval = expirationInterval;
             this.duplicateThreshold = duplicateThreshold;
             this.loggingInterval = loggingInterval;
+            long period = Math.max(1,
+                    Math.min(expirationInterval, loggingInterval) / 2);
+            this.sweeper = SWEEPER.scheduleWithFixedDelay(this, period,
+                    period, TimeUnit.MILLISECONDS);
         }
 
-        public int putAndGetMessageCount(ILoggingEvent event) {
+        public int putAndGetMessageCount(final ILoggingEvent event) {
             if (event == null) {
                 return 0;
             }
 
-            int count = 0;
-            synchronized (this) {
-                String cacheKey = event.getFormattedMessage();
-                MessageCacheEntry cacheEntry = get(cacheKey);
-
-                if (cacheEntry != null) {
-                    long eventTime = event.getTimeStamp();
-                    long timeSinceLast = eventTime - cacheEntry.getTimeStamp();
-
-                    if (timeSinceLast <= expirationInterval) {
-                        cacheEntry.setTimestamp(eventTime);
-
-                        long eventLength = eventTime
-                                - cacheEntry.getLogEvent().getTimeStamp();
-                        if (eventLength >= loggingInterval) {
-                            /*
-                             * We need to carry forward the total count for this
-                             * event so it doesn't log unsuppressed again, but
-                             * we use the newer version of the event so that our
-                             * message interval is updated.
-                             */
-                            logCacheItem(cacheEntry);
-                            cacheEntry = new MessageCacheEntry(event,
-                                    cacheEntry.getTotalCount());
+            final int[] count = new int[1];
+            final ILoggingEvent[] summary = new ILoggingEvent[1];
+            entries.compute(new MessageKey(event),
+                    new BiFunction<MessageKey, MessageCacheEntry, MessageCacheEntry>() {
+
+                        @Override
+                        public MessageCacheEntry apply(MessageKey key,
+                                MessageCacheEntry cacheEntry) {
+                            if (cacheEntry != null
+                                    && isExpired(cacheEntry,
+                                            event.getTimeStamp())) {
+                                /* Expired but not yet swept. */
+                                summary[0] = cacheEntry
+                                        .createSummary(duplicateThreshold);
+                                cacheEntry = null;
+                            }
+                            if (cacheEntry == null) {
+                                /*
+                                 * Only the first event is kept for summaries,
+                                 * so duplicates are never formatted.
+                                 */
+                                event.prepareForDeferredProcessing();
+                                cacheEntry = new MessageCacheEntry(event);
+                            }
+                            count[0] = cacheEntry.incrementCount(event);
+                            return cacheEntry;
                         }
-                    } else {
-                        remove(cacheKey);
-                        cacheEntry = new MessageCacheEntry(event);
-                    }
-                } else {
-                    cacheEntry = new MessageCacheEntry(event);
-                }
+                    });
 
-                count = cacheEntry.incrementCount();
-                put(cacheKey, cacheEntry);
+            if (summary[0] != null) {
+                log(summary[0]);
             }
-
-            return count;
+            if (count[0] == 1 && entries.size() > 2 * cacheSize
+                    && sweepPending.compareAndSet(false, true)) {
+                SWEEPER.execute(this);
+            }
+            return count[0];
         }
 
+        /**
+         * Sweep the cache, logging summaries for entries that have expired,
+         * have been suppressed for longer than the logging interval, or are
+         * the least recently seen entries beyond the cache size.
+         */
         @Override
-        public MessageCacheEntry remove(Object key) {
-            MessageCacheEntry retVal;
-            synchronized (this) {
-                retVal = super.remove(key);
+        public void run() {
+            sweepPending.set(false);
+            final long now = System.currentTimeMillis();
+            final List<ILoggingEvent> summaries = new ArrayList<>();
+            BiFunction<MessageKey, MessageCacheEntry, MessageCacheEntry> expire = new BiFunction<MessageKey, MessageCacheEntry, MessageCacheEntry>() {
+
+                @Override
+                public MessageCacheEntry apply(MessageKey key,
+                        MessageCacheEntry cacheEntry) {
+                    if (isExpired(cacheEntry, now)) {
+                        addSummary(summaries, cacheEntry);
+                        return null;
+                    }
+                    long duration = cacheEntry.getTimeStamp()
+                            - cacheEntry.getIntervalStart();
+                    if (duration >= loggingInterval) {
+                        addSummary(summaries, cacheEntry);
+                        cacheEntry.restartInterval();
+                    }
+                    return cacheEntry;
+                }
+            };
+            for (MessageKey key : entries.keySet()) {
+                entries.computeIfPresent(key, expire);
             }
 
-            logCacheItem(retVal);
-
-            return retVal;
-        }
-
-        private void logCacheItem(MessageCacheEntry cacheEntry) {
-            int msgCount = cacheEntry.getCountSinceLastLog();
-
-            if (((!cacheEntry.isLoggedBefore()) && (msgCount > duplicateThreshold))
-                    || (cacheEntry.isLoggedBefore())) {
-                ILoggingEvent srcEvent = cacheEntry.getLogEvent();
-                long duration = cacheEntry.getTimeStamp()
-                        - srcEvent.getTimeStamp();
+            int excess = entries.size() - cacheSize;
+            if (excess > 0) {
+                List<Entry<MessageKey, MessageCacheEntry>> eldest = new ArrayList<>(
+                        entries.entrySet());
+                Collections.sort(eldest,
+                        new Comparator<Entry<MessageKey, MessageCacheEntry>>() {
+
+                            @Override
+                            public int compare(
+                                    Entry<MessageKey, MessageCacheEntry> e1,
+                                    Entry<MessageKey, MessageCacheEntry> e2) {
+                                return Long.compare(
+                                        e1.getValue().getTimeStamp(), e2
+                                                .getValue().getTimeStamp());
+                            }
+                        });
+                for (int i = 0; i < excess && i < eldest.size(); i += 1) {
+                    Entry<MessageKey, MessageCacheEntry> entry = eldest.get(i);
+                    if (entries.remove(entry.getKey(), entry.getValue())) {
+                        addSummary(summaries, entry.getValue());
+                    }
+                }
+            }
 
-                ILoggingEvent wrappedEvent = new SuppressedLogEvent(srcEvent,
-                        msgCount, duration);
-                log(wrappedEvent);
+            for (ILoggingEvent summary : summaries) {
+                log(summary);
             }
         }
 
-        @Override
-        protected boolean removeEldestEntry(
-                Entry<String, MessageCacheEntry> eldest) {
-            long timeSinceLastLogged = System.currentTimeMillis()
-                    - eldest.getValue().getTimeStamp();
-            boolean removeEntry = (timeSinceLastLogged > expirationInterval)
-                    || (size() > cacheSize);
-
-            logCacheItem(eldest.getValue());
+        private boolean isExpired(MessageCacheEntry cacheEntry, long time) {
+            return time - cacheEntry.getTimeStamp() > expirationInterval;
+        }
 
-            return removeEntry;
+        private void addSummary(List<ILoggingEvent> summaries,
+                MessageCacheEntry cacheEntry) {
+            ILoggingEvent summary = cacheEntry
+                    .createSummary(duplicateThreshold);
+            if (summary != null) {
+                summaries.add(summary);
+            }
         }
 
-        @Override
-        public synchronized void clear() {
-            for (MessageCacheEntry cacheEntry : values()) {
-                logCacheItem(cacheEntry);
+        /**
+         * Stop sweeping and log summaries for every remaining entry.
+         */
+        public void clear() {
+            sweeper.cancel(false);
+            for (MessageKey key : entries.keySet()) {
+                MessageCacheEntry cacheEntry = entries.remove(key);
+                if (cacheEntry != null) {
+                    ILoggingEvent summary = cacheEntry
+                            .createSummary(duplicateThreshold);
+                    if (summary != null) {
+                        log(summary);
+                    }
+                }
             }
-            super.clear();
         }
     }
 
@@ -359,6 +532,21 @@ public class SuppressingAppender extends
         }
     }
 
+    /**
+     * Expires and summarizes the cache entries of every SuppressingAppender.
+     */
+    private static final ScheduledExecutorService SWEEPER = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r,
+                            "SuppressingAppender-Sweeper");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
     private static final int DEFAULT_DUPLICATES_ALLOWED = 1;
 
     private static final int DEFAULT_CACHE_SIZE = 10;
@@ -399,7 +587,7 @@ public class SuppressingAppender extends
      */
     private long suppressionLoggingInterval;
 
-    private LRUMessageCache cache;
+    private MessageCache cache;
 
     public SuppressingAppender() {
         this.attachableDelegate = new AppenderAttachableImpl<ILoggingEvent>();
@@ -437,7 +625,7 @@ public class SuppressingAppender extends
             return;
         }
 
-        cache = new LRUMessageCache(cacheSize, timeThreshold,
+        cache = new MessageCache(cacheSize, timeThreshold,
                 duplicateThreshold, suppressionLoggingInterval);
 
         super.start();
@@ -449,7 +637,9 @@ public class SuppressingAppender extends
          * Flush all remaining unlogged items from the cache, because this
          * appender is shutting down...
          */
-        cache.clear();
+        if (cache != null) {
+            cache.clear();
+        }
         super.stop();
     }
 
@@ -30,6 +30,7 @@ import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.helpers.NOPAppender;
 import ch.qos.logback.core.rolling.RollingFileAppender;
 import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
 import ch.qos.logback.core.spi.AppenderAttachable;
@@ -54,6 +55,7 @@ import com.raytheon.uf.common.logback.LogbackUtil;
  * Aug 22, 2014 3534       rjpeter     Extend UnsynchronizedAppenderBase.
  * Feb 18, 2015 4015       rferrel     Use LogfileUtil constants.
  * Jun 09, 2015 4473       njensen     Moved from status to logback plugin
+ * Oct 19, 2026            agent       Route threads with a shared table
  * 
  * </pre>
  * 
@@ -67,6 +69,18 @@ public class ThreadBasedAppender extends
     private static final Pattern NAME_REPLACE_PATTERN = Pattern
             .compile("%s\\{name\\}");
 
+    /**
+     * Routing table entry for thread names that have no appender.
+     */
+    private static final Appender<ILoggingEvent> NO_APPENDER = new NOPAppender<ILoggingEvent>();
+
+    /**
+     * Maximum number of thread names to keep in the routing table, the table
+     * is rebuilt when it grows past this so short lived uniquely named threads
+     * cannot grow it without bound.
+     */
+    private static final int MAX_ROUTES = 4096;
+
     /**
      * Current instance of the ThreadBasedAppender.
      */
@@ -96,9 +110,12 @@ public class ThreadBasedAppender extends
 
     private String defaultAppenderName;
 
-    private final ThreadLocal<Appender<ILoggingEvent>> threadAppender = new ThreadLocal<Appender<ILoggingEvent>>();
-
-    private final ThreadLocal<String> threadNameCache = new ThreadLocal<String>();
+    /**
+     * Appender for each thread name that has logged. Replaced rather than
+     * cleared whenever the patterns or appenders change so that a route
+     * computed concurrently with the change is never kept.
+     */
+    private volatile ConcurrentMap<String, Appender<ILoggingEvent>> routes = new ConcurrentHashMap<String, Appender<ILoggingEvent>>();
 
     private final ConcurrentMap<String, Appender<ILoggingEvent>> appenderMap = new ConcurrentHashMap<String, Appender<ILoggingEvent>>();
 
@@ -122,6 +139,7 @@ public class ThreadBasedAppender extends
         }
 
         appenderMap.putAll(registeredAppenderMap);
+        invalidateRoutes();
 
         super.start();
     }
@@ -130,6 +148,7 @@ public class ThreadBasedAppender extends
     public void addAppender(Appender<ILoggingEvent> newAppender) {
         if ((newAppender != null) && (newAppender.getName() != null)) {
             appenderMap.put(newAppender.getName(), newAppender);
+            invalidateRoutes();
         }
     }
 
@@ -149,8 +168,12 @@ public class ThreadBasedAppender extends
      */
     public Appender<ILoggingEvent> getAppender(String name, boolean create) {
         if (name != null) {
+            Appender<ILoggingEvent> rval = appenderMap.get(name);
+            if ((rval != null) || !create) {
+                return rval;
+            }
             synchronized (this) {
-                Appender<ILoggingEvent> rval = appenderMap.get(name);
+                rval = appenderMap.get(name);
                 if ((rval == null) && create) {
                     if (fileNameBase == null) {
                         fileNameBase = LogbackUtil.determineUFFilenamePattern(
@@ -214,6 +237,7 @@ public class ThreadBasedAppender extends
         }
 
         appenderMap.clear();
+        invalidateRoutes();
     }
 
     @Override
@@ -231,6 +255,7 @@ public class ThreadBasedAppender extends
         if (name != null) {
             Appender<ILoggingEvent> app = appenderMap.remove(name);
             if (app != null) {
+                invalidateRoutes();
                 retVal = true;
             }
         }
@@ -241,41 +266,65 @@ public class ThreadBasedAppender extends
     @Override
     protected void append(ILoggingEvent event) {
         String threadName = event.getThreadName();
-        String currentThreadName = Thread.currentThread().getName();
-        Appender<ILoggingEvent> app = null;
-        boolean sameThread = currentThreadName.equals(threadName);
-
-        if (sameThread) {
-            // Double check someone hasn't called setThreadName
-            String prevThreadName = threadNameCache.get();
-            if (currentThreadName.equals(prevThreadName)) {
-                app = threadAppender.get();
-            }
-        }
+        ConcurrentMap<String, Appender<ILoggingEvent>> routes = this.routes;
+        Appender<ILoggingEvent> app = routes.get(threadName);
 
         if (app == null) {
-            // determine which appender to use
-            for (Entry<Pattern, String> entry : threadPatterns.entrySet()) {
-                Pattern pat = entry.getKey();
-                if (pat.matcher(threadName).matches()) {
-                    String name = entry.getValue();
-                    app = getAppender(name, true);
-                    break;
-                }
+            app = route(threadName);
+            if (routes.size() >= MAX_ROUTES) {
+                invalidateRoutes();
+            } else {
+                routes.put(threadName, app);
             }
+        }
 
-            if ((app == null) && (defaultAppender != null)) {
-                app = defaultAppender;
-            }
+        if (app != NO_APPENDER) {
+            app.doAppend(event);
+        }
+    }
 
-            if ((app != null) && sameThread) {
-                threadAppender.set(app);
-                threadNameCache.set(currentThreadName);
+    /**
+     * Determine which appender to use for a thread name by checking each
+     * registered pattern.
+     * 
+     * @param threadName
+     * @return the appender, or NO_APPENDER if there is no match and no default
+     */
+    private Appender<ILoggingEvent> route(String threadName) {
+        for (Entry<Pattern, String> entry : threadPatterns.entrySet()) {
+            Pattern pat = entry.getKey();
+            if (pat.matcher(threadName).matches()) {
+                String name = entry.getValue();
+                Appender<ILoggingEvent> app = getAppender(name, true);
+                if (app != null) {
+                    return app;
+                }
+                break;
             }
         }
 
-        if (app != null) {
-            app.doAppend(event);
+        if (defaultAppender != null) {
+            return defaultAppender;
+        }
+        return NO_APPENDER;
+    }
+
+    /**
+     * Discard all computed routes, must be called whenever the thread
+     * patterns or the appenders change.
+     */
+    private void invalidateRoutes() {
+        routes = new ConcurrentHashMap<String, Appender<ILoggingEvent>>();
+    }
+
+    /**
+     * Discard the computed routes of the current instance, if any.
+     */
+    private static void invalidateInstanceRoutes() {
+        synchronized (ThreadBasedAppender.class) {
+            if (instance != null) {
+                instance.invalidateRoutes();
+            }
         }
     }
 
@@ -287,6 +336,7 @@ public class ThreadBasedAppender extends
     public static String registerThreadPattern(String appenderName,
             String pattern) {
         threadPatterns.put(Pattern.compile(pattern), appenderName);
+        invalidateInstanceRoutes();
         return appenderName;
     }
 
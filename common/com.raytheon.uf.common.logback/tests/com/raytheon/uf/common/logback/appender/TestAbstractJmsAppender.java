@@ -0,0 +1,446 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.logback.appender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * Unit tests for the buffering in AbstractJmsAppender, using an in-VM fake
+ * ConnectionFactory whose producer can be blocked.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ *
+ * </pre>
+ * 
+ * @author agent
+ */
+
+public class TestAbstractJmsAppender {
+
+    private static final long TIMEOUT_MS = 10 * 1000;
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    private FakeBroker broker;
+
+    private AbstractJmsAppender appender;
+
+    @Before
+    public void setUp() {
+        context = new LoggerContext();
+        logger = context.getLogger(TestAbstractJmsAppender.class);
+        broker = new FakeBroker();
+        setAppender(new BatchAppender());
+    }
+
+    private void setAppender(AbstractJmsAppender appender) {
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setDestName("testQueue");
+        appender.connFactory = broker.createFactory();
+        appender.setMaxFlushTimeMs(TIMEOUT_MS);
+        this.appender = appender;
+    }
+
+    @After
+    public void tearDown() {
+        broker.release();
+        appender.stop();
+    }
+
+    private ILoggingEvent event(Level level, int i) {
+        return new LoggingEvent(Logger.FQCN, logger, level, "message " + i,
+                null, null);
+    }
+
+    /**
+     * Wait for a thread to park, which is how a thread waiting for space in
+     * the buffer or for the broker appears.
+     */
+    private static void awaitWaiting(Thread thread)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (thread.getState() != Thread.State.WAITING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    @Test
+    public void testCallerDoesNotWaitForBlockedProducer()
+            throws InterruptedException {
+        broker.block();
+        appender.setBatchSize(10);
+        appender.setBatchTimeMs(10);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, 0));
+        assertTrue(broker.awaitSend());
+        int count = 50;
+        for (int i = 1; i < count; i += 1) {
+            appender.doAppend(event(Level.INFO, i));
+        }
+        /* Every event was accepted while the producer is still blocked. */
+        assertEquals(count, appender.getQueuedCount());
+        assertEquals(0, broker.messagesSent.get());
+
+        broker.release();
+        appender.stop();
+        assertEquals(count, appender.getSentCount());
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(count, broker.eventsSent.get());
+        assertTrue("Events were not batched",
+                broker.messagesSent.get() < count);
+    }
+
+    @Test
+    public void testSendsEachEventByDefault() {
+        setAppender(new EventAppender());
+        appender.setBatchSize(10);
+        appender.start();
+
+        int count = 20;
+        for (int i = 0; i < count; i += 1) {
+            appender.doAppend(event(Level.INFO, i));
+        }
+        appender.stop();
+        assertEquals(count, appender.getSentCount());
+        assertEquals(count, broker.eventsSent.get());
+        assertEquals(count, broker.messagesSent.get());
+        assertEquals("message " + (count - 1), broker.lastMessage);
+    }
+
+    @Test
+    public void testSynchronousSendWaitsForProducer()
+            throws InterruptedException {
+        broker.block();
+        appender.setAsync(false);
+        appender.start();
+
+        Thread caller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                appender.doAppend(event(Level.INFO, 0));
+                appender.doAppend(event(Level.INFO, 1));
+            }
+        });
+        caller.start();
+        assertTrue(broker.awaitSend());
+        awaitWaiting(caller);
+        assertEquals(0, appender.getSentCount());
+
+        broker.release();
+        caller.join(TIMEOUT_MS);
+        assertEquals(2, appender.getSentCount());
+        assertEquals(2, broker.messagesSent.get());
+    }
+
+    @Test
+    public void testDropOldestWhenFull() throws InterruptedException {
+        broker.block();
+        appender.setBufferSize(10);
+        appender.setBatchSize(1);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, 0));
+        assertTrue(broker.awaitSend());
+        int count = 100;
+        for (int i = 1; i <= count; i += 1) {
+            appender.doAppend(event(Level.INFO, i));
+        }
+        assertEquals(10, appender.getBufferedCount());
+        assertEquals(count - 10, appender.getDroppedCount());
+
+        broker.release();
+        appender.stop();
+        assertEquals(count + 1, appender.getQueuedCount());
+        assertEquals(11, appender.getSentCount());
+        assertEquals("message " + count, broker.lastMessage);
+    }
+
+    @Test
+    public void testDropBelowLevelWhenFull() throws InterruptedException {
+        broker.block();
+        appender.setBufferSize(10);
+        appender.setBatchSize(100);
+        appender.setBatchTimeMs(0);
+        appender.setOverflowPolicy("drop-below-level");
+        appender.setOverflowLevel("WARN");
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, 0));
+        assertTrue(broker.awaitSend());
+        for (int i = 1; i <= 10; i += 1) {
+            appender.doAppend(event(Level.ERROR, i));
+        }
+        for (int i = 11; i <= 20; i += 1) {
+            appender.doAppend(event(Level.INFO, i));
+        }
+        assertEquals(10, appender.getDroppedCount());
+        assertEquals(11, appender.getQueuedCount());
+        appender.doAppend(event(Level.WARN, 21));
+        assertEquals(11, appender.getDroppedCount());
+        assertEquals(12, appender.getQueuedCount());
+
+        broker.release();
+        appender.stop();
+        assertEquals(11, appender.getSentCount());
+        assertEquals("message 21", broker.lastMessage);
+    }
+
+    @Test
+    public void testBlockWaitsForSpace() throws InterruptedException {
+        broker.block();
+        appender.setBufferSize(1);
+        appender.setBatchSize(1);
+        appender.setOverflowPolicy("BLOCK");
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, 0));
+        assertTrue(broker.awaitSend());
+        appender.doAppend(event(Level.INFO, 1));
+        Thread caller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                appender.doAppend(event(Level.INFO, 2));
+            }
+        });
+        caller.start();
+        awaitWaiting(caller);
+        assertEquals(2, appender.getQueuedCount());
+
+        broker.release();
+        caller.join(TIMEOUT_MS);
+        appender.stop();
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(3, appender.getSentCount());
+    }
+
+    @Test
+    public void testContinuesAfterRuntimeException() {
+        setAppender(new EventAppender() {
+            @Override
+            protected Message createMessage(Session session,
+                    ILoggingEvent event) throws JMSException {
+                if (event.getFormattedMessage().equals("message 1")) {
+                    throw new IllegalStateException("Unable to create message");
+                }
+                return super.createMessage(session, event);
+            }
+        });
+        appender.setBatchSize(1);
+        appender.start();
+
+        for (int i = 0; i < 3; i += 1) {
+            appender.doAppend(event(Level.INFO, i));
+        }
+        appender.stop();
+        assertEquals(1, appender.getDroppedCount());
+        assertEquals(2, appender.getSentCount());
+        assertEquals("message 2", broker.lastMessage);
+    }
+
+    /**
+     * Only implements the per event message so each event is sent separately.
+     */
+    private static class EventAppender extends JmsQueueAppender {
+
+        @Override
+        protected Message createMessage(Session session, ILoggingEvent event)
+                throws JMSException {
+            return session.createTextMessage(event.getFormattedMessage());
+        }
+    }
+
+    /**
+     * Sends each batch as one message with a line per event.
+     */
+    private static class BatchAppender extends EventAppender {
+
+        @Override
+        protected Message createMessage(Session session,
+                List<ILoggingEvent> events) throws JMSException {
+            StringBuilder text = new StringBuilder();
+            for (ILoggingEvent event : events) {
+                if (text.length() > 0) {
+                    text.append('\n');
+                }
+                text.append(event.getFormattedMessage());
+            }
+            return session.createTextMessage(text.toString());
+        }
+    }
+
+    /**
+     * Builds proxies for the handful of JMS interfaces used by the appender.
+     * Each message produced is a TextMessage with one line per event.
+     */
+    private static class FakeBroker {
+
+        private final AtomicInteger messagesSent = new AtomicInteger();
+
+        private final AtomicInteger eventsSent = new AtomicInteger();
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private volatile CountDownLatch blocked = new CountDownLatch(0);
+
+        private volatile String lastMessage;
+
+        public void block() {
+            blocked = new CountDownLatch(1);
+        }
+
+        public void release() {
+            blocked.countDown();
+        }
+
+        public boolean awaitSend() throws InterruptedException {
+            return sending.await(10, TimeUnit.SECONDS);
+        }
+
+        public ConnectionFactory createFactory() {
+            return proxy(ConnectionFactory.class, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method,
+                        Object[] args) {
+                    return connection();
+                }
+            });
+        }
+
+        private Connection connection() {
+            return proxy(Connection.class, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method,
+                        Object[] args) {
+                    if ("createSession".equals(method.getName())) {
+                        return session();
+                    }
+                    return null;
+                }
+            });
+        }
+
+        private Session session() {
+            return proxy(Session.class, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method,
+                        Object[] args) {
+                    switch (method.getName()) {
+                    case "createQueue":
+                        return proxy(Queue.class, null);
+                    case "createProducer":
+                        return producer();
+                    case "createTextMessage":
+                        return proxy(TextMessage.class,
+                                new MessageHandler((String) args[0]));
+                    default:
+                        return null;
+                    }
+                }
+            });
+        }
+
+        private MessageProducer producer() {
+            return proxy(MessageProducer.class, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method,
+                        Object[] args) throws InterruptedException {
+                    if ("send".equals(method.getName())) {
+                        sending.countDown();
+                        blocked.await();
+                        MessageHandler message = (MessageHandler) Proxy
+                                .getInvocationHandler(args[0]);
+                        String[] lines = message.text.split("\n");
+                        lastMessage = lines[lines.length - 1];
+                        eventsSent.addAndGet(lines.length);
+                        messagesSent.incrementAndGet();
+                    }
+                    return null;
+                }
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            if (handler == null) {
+                handler = new MessageHandler(null);
+            }
+            return type.cast(Proxy.newProxyInstance(
+                    TestAbstractJmsAppender.class.getClassLoader(),
+                    new Class<?>[] { type }, handler));
+        }
+    }
+
+    private static class MessageHandler implements InvocationHandler {
+
+        private final String text;
+
+        public MessageHandler(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if ("getText".equals(method.getName())) {
+                return text;
+            }
+            return null;
+        }
+    }
+
+}
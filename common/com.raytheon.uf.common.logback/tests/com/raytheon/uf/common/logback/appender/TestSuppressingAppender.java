@@ -0,0 +1,287 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.logback.appender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+import ch.qos.logback.core.AppenderBase;
+
+/**
+ * Unit tests for duplicate detection in SuppressingAppender.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ *
+ * </pre>
+ * 
+ * @author agent
+ */
+
+public class TestSuppressingAppender {
+
+    private static final long INTERVAL_MS = 60 * 1000;
+
+    private CapturingAppender captured;
+
+    private SuppressingAppender appender;
+
+    @Before
+    public void setUp() {
+        captured = new CapturingAppender();
+        captured.start();
+        appender = new SuppressingAppender();
+        appender.setDuplicateThreshold(2);
+        appender.setTimeThreshold(INTERVAL_MS);
+        appender.setSuppressionLoggingInterval(INTERVAL_MS);
+        appender.addAppender(captured);
+        appender.start();
+    }
+
+    @After
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Test
+    public void testDuplicatesAreNotFormatted() {
+        List<TestEvent> events = new ArrayList<>();
+        for (int i = 0; i < 100; i += 1) {
+            TestEvent event = new TestEvent("test", Level.WARN, "value {}",
+                    Integer.valueOf(5));
+            events.add(event);
+            appender.doAppend(event);
+        }
+        assertEquals(2, captured.events.size());
+        assertTrue(captured.events.get(1).getFormattedMessage().startsWith(
+                "Enabling suppression for message: "));
+        for (TestEvent event : events.subList(2, events.size())) {
+            assertEquals(0, event.formatCount);
+            assertEquals(0, event.prepareCount);
+        }
+
+        appender.stop();
+        assertEquals(3, captured.events.size());
+        assertEquals(
+                "Received 100 duplicate messages in last "
+                        + (events.get(99).timeStamp - events.get(0).timeStamp)
+                        + " ms for message: value 5",
+                captured.events.get(2).getFormattedMessage());
+    }
+
+    @Test
+    public void testKeyIncludesLoggerLevelAndArguments() {
+        appender.doAppend(new TestEvent("a", Level.WARN, "value {}", 5));
+        appender.doAppend(new TestEvent("b", Level.WARN, "value {}", 5));
+        appender.doAppend(new TestEvent("a", Level.ERROR, "value {}", 5));
+        appender.doAppend(new TestEvent("a", Level.WARN, "value {}", 6));
+        appender.doAppend(new TestEvent("a", Level.WARN, "value 5"));
+        assertEquals(5, captured.events.size());
+        for (ILoggingEvent event : captured.events) {
+            assertTrue(event instanceof TestEvent);
+        }
+    }
+
+    @Test
+    public void testArgumentsWithoutEquals() {
+        appender.doAppend(new TestEvent("a", Level.WARN, "value {}",
+                new Named("x")));
+        appender.doAppend(new TestEvent("a", Level.WARN, "value {}",
+                new Named("y")));
+        appender.doAppend(new TestEvent("a", Level.WARN, "value {}",
+                new Named("x")));
+        appender.doAppend(new TestEvent("a", Level.WARN, "value {}",
+                new Named("x")));
+        assertEquals(3, captured.events.size());
+        assertTrue(captured.events.get(2).getFormattedMessage().startsWith(
+                "Enabling suppression for message: "));
+    }
+
+    @Test
+    public void testArrayArguments() {
+        appender.doAppend(new TestEvent("a", Level.WARN, "values {}",
+                new int[] { 1, 2 }));
+        appender.doAppend(new TestEvent("a", Level.WARN, "values {}",
+                new int[] { 1, 2 }));
+        appender.doAppend(new TestEvent("a", Level.WARN, "values {}",
+                new int[] { 1, 3 }));
+        assertEquals(3, captured.events.size());
+        assertTrue(captured.events.get(1).getFormattedMessage().startsWith(
+                "Enabling suppression for message: "));
+        assertTrue(captured.events.get(2) instanceof TestEvent);
+    }
+
+    /**
+     * Argument that relies on the identity equals of Object.
+     */
+    private static class Named {
+
+        private final String name;
+
+        public Named(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class CapturingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<ILoggingEvent> events = Collections
+                .synchronizedList(new ArrayList<ILoggingEvent>());
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            events.add(event);
+        }
+    }
+
+    /**
+     * Event which counts how often it is formatted.
+     */
+    private static class TestEvent implements ILoggingEvent {
+
+        private final String loggerName;
+
+        private final Level level;
+
+        private final String message;
+
+        private final Object[] arguments;
+
+        private final long timeStamp = System.currentTimeMillis();
+
+        private int formatCount;
+
+        private int prepareCount;
+
+        public TestEvent(String loggerName, Level level, String message,
+                Object... arguments) {
+            this.loggerName = loggerName;
+            this.level = level;
+            this.message = message;
+            this.arguments = arguments.length == 0 ? null : arguments;
+        }
+
+        @Override
+        public String getThreadName() {
+            return "main";
+        }
+
+        @Override
+        public Level getLevel() {
+            return level;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public Object[] getArgumentArray() {
+            return arguments;
+        }
+
+        @Override
+        public String getFormattedMessage() {
+            formatCount += 1;
+            String result = message;
+            if (arguments != null) {
+                for (Object arg : arguments) {
+                    result = result.replaceFirst("\\{\\}", String.valueOf(arg));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public String getLoggerName() {
+            return loggerName;
+        }
+
+        @Override
+        public LoggerContextVO getLoggerContextVO() {
+            return null;
+        }
+
+        @Override
+        public IThrowableProxy getThrowableProxy() {
+            return null;
+        }
+
+        @Override
+        public StackTraceElement[] getCallerData() {
+            return null;
+        }
+
+        @Override
+        public boolean hasCallerData() {
+            return false;
+        }
+
+        @Override
+        public Marker getMarker() {
+            return null;
+        }
+
+        @Override
+        public Map<String, String> getMDCPropertyMap() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map<String, String> getMdc() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public long getTimeStamp() {
+            return timeStamp;
+        }
+
+        @Override
+        public void prepareForDeferredProcessing() {
+            prepareCount += 1;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.logback.appender;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * Unit tests for the routing of events by thread name in
+ * {@link ThreadBasedAppender}, including many threads logging concurrently
+ * and routes changing when appenders are registered.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ *
+ * </pre>
+ * 
+ * @author agent
+ */
+
+public class TestThreadBasedAppender {
+
+    private static final String[] ROUTED_POOLS = { "Test.Grib", "Test.Radar",
+            "Test.Obs" };
+
+    private static final Map<String, CountingAppender> poolAppenders = new HashMap<>();
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    private CountingAppender defaultAppender;
+
+    private ThreadBasedAppender router;
+
+    @Before
+    public void setUp() {
+        context = new LoggerContext();
+        logger = context.getLogger(TestThreadBasedAppender.class);
+        synchronized (poolAppenders) {
+            for (String pool : ROUTED_POOLS) {
+                CountingAppender appender = poolAppenders.get(pool);
+                if (appender == null) {
+                    appender = new CountingAppender(pool);
+                    ThreadBasedAppender.registerAppenderPattern(appender,
+                            pool + "-\\d+");
+                    poolAppenders.put(pool, appender);
+                }
+                appender.count.set(0);
+            }
+        }
+        defaultAppender = new CountingAppender("default");
+        router = new ThreadBasedAppender();
+        router.setContext(context);
+        router.addAppender(defaultAppender);
+        router.setDefaultAppenderName("default");
+        router.start();
+    }
+
+    @After
+    public void tearDown() {
+        router.stop();
+    }
+
+    private ILoggingEvent event() {
+        return new LoggingEvent(Logger.FQCN, logger, Level.INFO, "test",
+                null, null);
+    }
+
+    /**
+     * Log events on a new thread with the given name.
+     */
+    private void logOnThread(String threadName, final int events)
+            throws InterruptedException {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < events; i += 1) {
+                    router.doAppend(event());
+                }
+            }
+        }, threadName);
+        thread.start();
+        thread.join();
+    }
+
+    @Test
+    public void testConcurrentThreadsAreRoutedByName()
+            throws InterruptedException {
+        final int threadsPerPool = 4;
+        final int eventsPerThread = 10_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<String> pools = new ArrayList<>();
+        for (String pool : ROUTED_POOLS) {
+            pools.add(pool);
+        }
+        pools.add("DefaultPool");
+        List<Thread> threads = new ArrayList<>();
+        for (String pool : pools) {
+            for (int n = 1; n <= threadsPerPool; n += 1) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        for (int i = 0; i < eventsPerThread; i += 1) {
+                            router.doAppend(event());
+                        }
+                    }
+                }, pool + "-" + n);
+                thread.start();
+                threads.add(thread);
+            }
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int perPool = threadsPerPool * eventsPerThread;
+        for (String pool : ROUTED_POOLS) {
+            assertEquals(pool, perPool, poolAppenders.get(pool).count.get());
+        }
+        assertEquals(perPool, defaultAppender.count.get());
+    }
+
+    @Test
+    public void testRouteChangesWhenAppenderRegistered()
+            throws InterruptedException {
+        logOnThread("Test.Late-1", 5);
+        assertEquals(5, defaultAppender.count.get());
+
+        CountingAppender late = new CountingAppender("Test.Late");
+        ThreadBasedAppender.registerAppenderPattern(late, "Test\\.Late-\\d+");
+        logOnThread("Test.Late-1", 3);
+        assertEquals(5, defaultAppender.count.get());
+        assertEquals(3, late.count.get());
+    }
+
+    @Test
+    public void testManyUniqueThreadNames() throws InterruptedException {
+        final int threadNames = 5000;
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Thread current = Thread.currentThread();
+                for (int i = 0; i < threadNames; i += 1) {
+                    current.setName("Test.Grib-" + i);
+                    router.doAppend(event());
+                    current.setName("Unique-" + i);
+                    router.doAppend(event());
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals(threadNames, poolAppenders.get("Test.Grib").count.get());
+        assertEquals(threadNames, defaultAppender.count.get());
+    }
+
+    private static class CountingAppender extends
+            UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public CountingAppender(String name) {
+            setName(name);
+            start();
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            count.incrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.logback.appender;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.management.ThreadMXBean;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * Throughput harness for {@link ThreadBasedAppender}. Pools of named threads,
+ * similar to the camel ingest threads, each push a fixed number of events
+ * through a single appender which routes them to counting appenders. Reports
+ * events per second and bytes allocated per event for each iteration.
+ * 
+ * Usage: ThreadBasedAppenderBenchmark [threadsPerPool] [eventsPerThread]
+ * [iterations]
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ *
+ * </pre>
+ * 
+ * @author agent
+ */
+
+public class ThreadBasedAppenderBenchmark {
+
+    private static final String[] POOLS = { "Ingest.Grib", "Ingest.Radar",
+            "Ingest.Obs", "Ingest.Text", "DefaultPool" };
+
+    private static final String[] ROUTED_POOLS = { "Ingest.Grib",
+            "Ingest.Radar", "Ingest.Obs", "Ingest.Text" };
+
+    private static final ThreadMXBean THREAD_BEAN = (ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int threadsPerPool = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int eventsPerThread = args.length > 1 ? Integer.parseInt(args[1])
+                : 250_000;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        LoggerContext context = new LoggerContext();
+        CountingAppender total = new CountingAppender();
+        for (String pool : ROUTED_POOLS) {
+            CountingAppender appender = new CountingAppender(total);
+            appender.setContext(context);
+            appender.setName(pool);
+            appender.start();
+            ThreadBasedAppender.registerAppenderPattern(appender, pool
+                    + "-\\d+");
+        }
+        CountingAppender defaultAppender = new CountingAppender(total);
+        defaultAppender.setContext(context);
+        defaultAppender.setName("default");
+        defaultAppender.start();
+
+        ThreadBasedAppender router = new ThreadBasedAppender();
+        router.setContext(context);
+        router.addAppender(defaultAppender);
+        router.setDefaultAppenderName("default");
+        router.start();
+
+        Logger logger = context.getLogger(ThreadBasedAppenderBenchmark.class);
+        System.out.println("threads=" + (threadsPerPool * POOLS.length)
+                + " eventsPerThread=" + eventsPerThread);
+        for (int i = 0; i <= iterations; i += 1) {
+            String label = i == 0 ? "warmup" : "iteration " + i;
+            run(label, router, logger, threadsPerPool, eventsPerThread);
+        }
+        router.stop();
+        System.out.println("total events routed: " + total.count.sum());
+    }
+
+    private static void run(String label, final ThreadBasedAppender router,
+            final Logger logger, int threadsPerPool,
+            final int eventsPerThread) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final LongAdder allocated = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (String pool : POOLS) {
+            for (int n = 1; n <= threadsPerPool; n += 1) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        ILoggingEvent event = new LoggingEvent(Logger.FQCN,
+                                logger, Level.INFO, "benchmark", null, null);
+                        // thread name is captured on first access
+                        event.getThreadName();
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        long id = Thread.currentThread().getId();
+                        long bytes = THREAD_BEAN.getThreadAllocatedBytes(id);
+                        for (int i = 0; i < eventsPerThread; i += 1) {
+                            router.doAppend(event);
+                        }
+                        allocated.add(THREAD_BEAN.getThreadAllocatedBytes(id)
+                                - bytes);
+                    }
+                }, pool + "-" + n);
+                thread.start();
+                threads.add(thread);
+            }
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - t0;
+
+        long events = (long) eventsPerThread * threads.size();
+        System.out.printf("%-12s %,15.0f events/s %8.2f bytes/event%n", label,
+                events * 1.0e9 / elapsed, allocated.doubleValue() / events);
+    }
+
+    private static class CountingAppender extends
+            UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final LongAdder count = new LongAdder();
+
+        private final CountingAppender total;
+
+        public CountingAppender() {
+            this(null);
+        }
+
+        public CountingAppender(CountingAppender total) {
+            this.total = total;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            count.increment();
+            if (total != null) {
+                total.count.increment();
+            }
+        }
+    }
+
+}
@@ -34,6 +34,7 @@ import com.raytheon.uf.common.numeric.source.OffsetDataSource;
  * Date          Ticket#  Engineer    Description
  * ------------- -------- ----------- --------------------------
  * Feb 27, 2014  2791     bsteffen    Initial creation
+ * Oct 19, 2026           agent       Copy and find extrema a row at a time
  * 
  * </pre>
  * 
@@ -61,10 +62,10 @@ public class DataUtilities {
      */
     public static final <D extends DataDestination> D copy(DataSource source,
             D destination, int nx, int ny) {
-        for (int i = 0; i < nx; i += 1) {
-            for (int j = 0; j < ny; j += 1) {
-                destination.setDataValue(source.getDataValue(i, j), i, j);
-            }
+        double[] row = new double[nx];
+        for (int j = 0; j < ny; j += 1) {
+            source.getRow(j, row);
+            destination.setRow(j, row);
         }
         return destination;
     }
@@ -83,9 +84,11 @@ public class DataUtilities {
     public static final MinMax getMinMax(DataSource source, int nx, int ny) {
         double minValue = Double.POSITIVE_INFINITY;
         double maxValue = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < nx; i += 1) {
-            for (int j = 0; j < ny; j += 1) {
-                double val = source.getDataValue(i, j);
+        double[] row = new double[nx];
+        for (int j = 0; j < ny; j += 1) {
+            source.getRow(j, row);
+            for (int i = 0; i < nx; i += 1) {
+                double val = row[i];
                 if (Double.isNaN(val)) {
                     continue;
                 }
@@ -26,6 +26,7 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
+import java.util.Arrays;
 
 import com.raytheon.uf.common.numeric.dest.DataDestination;
 import com.raytheon.uf.common.numeric.source.DataSource;
@@ -42,6 +43,7 @@ import com.raytheon.uf.common.numeric.source.DataSource;
  * Date          Ticket#  Engineer    Description
  * ------------- -------- ----------- --------------------------
  * Mar 07, 2014  2791     bsteffen     Initial creation
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -98,6 +100,58 @@ public abstract class BufferWrapper implements DataSource,
         }
     }
 
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        int startX = Math.max(x0, 0);
+        int endX = Math.min(x0 + width, nx);
+        for (int j = 0; j < height; j += 1) {
+            int y = y0 + j;
+            int offset = j * width;
+            if (y < 0 || y >= ny || startX >= endX) {
+                Arrays.fill(out, offset, offset + width, Double.NaN);
+                continue;
+            }
+            Arrays.fill(out, offset, offset + startX - x0, Double.NaN);
+            getDataValuesInternal(startX + y * nx, out,
+                    offset + startX - x0, endX - startX);
+            Arrays.fill(out, offset + endX - x0, offset + width, Double.NaN);
+        }
+    }
+
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        int startX = Math.max(x0, 0);
+        int endX = Math.min(x0 + width, nx);
+        for (int j = 0; j < height; j += 1) {
+            int y = y0 + j;
+            int offset = j * width;
+            if (y < 0 || y >= ny || startX >= endX) {
+                Arrays.fill(out, offset, offset + width, Float.NaN);
+                continue;
+            }
+            Arrays.fill(out, offset, offset + startX - x0, Float.NaN);
+            getDataValuesInternal(startX + y * nx, out,
+                    offset + startX - x0, endX - startX);
+            Arrays.fill(out, offset + endX - x0, offset + width, Float.NaN);
+        }
+    }
+
+    @Override
+    public void setBlock(int x0, int y0, int width, int height,
+            double[] values) {
+        int startX = Math.max(x0, 0);
+        int endX = Math.min(x0 + width, nx);
+        if (startX >= endX) {
+            return;
+        }
+        for (int j = Math.max(0, -y0); j < Math.min(height, ny - y0); j += 1) {
+            setDataValuesInternal(values, j * width + startX - x0,
+                    startX + (y0 + j) * nx, endX - startX);
+        }
+    }
+
     /**
      * @return the buffer that providing data for this wrapper.
      */
@@ -115,6 +169,56 @@ public abstract class BufferWrapper implements DataSource,
 
     protected abstract void setDataValueInternal(double dataValue, int index);
 
+    /**
+     * Copy consecutive values out of the buffer. Subclasses should override
+     * this to access the buffer in bulk.
+     * 
+     * @param index
+     *            buffer index of the first value
+     * @param out
+     *            destination array
+     * @param offset
+     *            index in out of the first value
+     * @param length
+     *            the number of values to copy
+     */
+    protected void getDataValuesInternal(int index, double[] out, int offset,
+            int length) {
+        for (int i = 0; i < length; i += 1) {
+            out[offset + i] = getDataValueInternal(index + i);
+        }
+    }
+
+    /**
+     * Float version of {@link #getDataValuesInternal(int, double[], int, int)}
+     */
+    protected void getDataValuesInternal(int index, float[] out, int offset,
+            int length) {
+        for (int i = 0; i < length; i += 1) {
+            out[offset + i] = (float) getDataValueInternal(index + i);
+        }
+    }
+
+    /**
+     * Copy consecutive values into the buffer. Subclasses should override
+     * this to access the buffer in bulk.
+     * 
+     * @param values
+     *            source array
+     * @param offset
+     *            index in values of the first value
+     * @param index
+     *            buffer index of the first value
+     * @param length
+     *            the number of values to copy
+     */
+    protected void setDataValuesInternal(double[] values, int offset,
+            int index, int length) {
+        for (int i = 0; i < length; i += 1) {
+            setDataValueInternal(values[offset + i], index + i);
+        }
+    }
+
     /**
      * @return The primitve class that is the type of data held in the buffer
      *         for this wrapper.
@@ -33,6 +33,7 @@ import java.nio.DoubleBuffer;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Mar 07, 2014  2791     bsteffen     Reimplemnt extending BufferWrapper.
+ * Oct 19, 2026            agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -78,6 +79,38 @@ public class DoubleBufferWrapper extends BufferWrapper {
         buffer.put(index, dataValue);
     }
 
+    @Override
+    protected void getDataValuesInternal(int index, double[] out, int offset,
+            int length) {
+        DoubleBuffer source = buffer.duplicate();
+        source.position(index);
+        source.get(out, offset, length);
+    }
+
+    @Override
+    protected void getDataValuesInternal(int index, float[] out, int offset,
+            int length) {
+        if (buffer.hasArray()) {
+            double[] array = buffer.array();
+            int arrayIndex = buffer.arrayOffset() + index;
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = (float) array[arrayIndex + i];
+            }
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = (float) buffer.get(index + i);
+            }
+        }
+    }
+
+    @Override
+    protected void setDataValuesInternal(double[] values, int offset,
+            int index, int length) {
+        DoubleBuffer dest = buffer.duplicate();
+        dest.position(index);
+        dest.put(values, offset, length);
+    }
+
     @Override
     public DoubleBuffer getBuffer() {
         return buffer;
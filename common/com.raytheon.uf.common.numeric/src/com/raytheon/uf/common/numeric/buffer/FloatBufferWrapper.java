@@ -33,6 +33,7 @@ import java.nio.FloatBuffer;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Mar 07, 2014  2791     bsteffen     Reimplemnt extending BufferWrapper.
+ * Oct 19, 2026            agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -78,6 +79,46 @@ public class FloatBufferWrapper extends BufferWrapper {
         buffer.put(index, (float) dataValue);
     }
 
+    @Override
+    protected void getDataValuesInternal(int index, double[] out, int offset,
+            int length) {
+        if (buffer.hasArray()) {
+            float[] array = buffer.array();
+            int arrayIndex = buffer.arrayOffset() + index;
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = array[arrayIndex + i];
+            }
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = buffer.get(index + i);
+            }
+        }
+    }
+
+    @Override
+    protected void getDataValuesInternal(int index, float[] out, int offset,
+            int length) {
+        FloatBuffer source = buffer.duplicate();
+        source.position(index);
+        source.get(out, offset, length);
+    }
+
+    @Override
+    protected void setDataValuesInternal(double[] values, int offset,
+            int index, int length) {
+        if (buffer.hasArray()) {
+            float[] array = buffer.array();
+            int arrayIndex = buffer.arrayOffset() + index;
+            for (int i = 0; i < length; i += 1) {
+                array[arrayIndex + i] = (float) values[offset + i];
+            }
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                buffer.put(index + i, (float) values[offset + i]);
+            }
+        }
+    }
+
     @Override
     public FloatBuffer getBuffer() {
         return buffer;
@@ -33,6 +33,7 @@ import java.nio.IntBuffer;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Mar 07, 2014  2791     bsteffen     Reimplemnt extending BufferWrapper.
+ * Oct 19, 2026            agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -78,6 +79,54 @@ public class IntBufferWrapper extends BufferWrapper {
         buffer.put(index, (int) dataValue);
     }
 
+    @Override
+    protected void getDataValuesInternal(int index, double[] out, int offset,
+            int length) {
+        if (buffer.hasArray()) {
+            int[] array = buffer.array();
+            int arrayIndex = buffer.arrayOffset() + index;
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = array[arrayIndex + i];
+            }
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = buffer.get(index + i);
+            }
+        }
+    }
+
+    @Override
+    protected void getDataValuesInternal(int index, float[] out, int offset,
+            int length) {
+        if (buffer.hasArray()) {
+            int[] array = buffer.array();
+            int arrayIndex = buffer.arrayOffset() + index;
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = (float) array[arrayIndex + i];
+            }
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = (float) buffer.get(index + i);
+            }
+        }
+    }
+
+    @Override
+    protected void setDataValuesInternal(double[] values, int offset,
+            int index, int length) {
+        if (buffer.hasArray()) {
+            int[] array = buffer.array();
+            int arrayIndex = buffer.arrayOffset() + index;
+            for (int i = 0; i < length; i += 1) {
+                array[arrayIndex + i] = (int) values[offset + i];
+            }
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                buffer.put(index + i, (int) values[offset + i]);
+            }
+        }
+    }
+
     @Override
     public IntBuffer getBuffer() {
         return buffer;
@@ -30,6 +30,7 @@ package com.raytheon.uf.common.numeric.dest;
  * ------------- -------- ----------- --------------------------
  * Jun 18, 2012           bsteffen    Initial creation
  * Mar 07, 2014  2791     bsteffen    Move to numeric plugin.
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -41,4 +42,44 @@ public interface DataDestination {
 
     public void setDataValue(double dataValue, int x, int y);
 
+    /**
+     * Set a rectangular block of data values. Values are read in row major
+     * order so values[j * width + i] is set at (x0 + i, y0 + j).
+     * Implementations that can store many values at once should override this
+     * to avoid calling setDataValue for every element.
+     * 
+     * @param x0
+     *            x coordinate of the first column
+     * @param y0
+     *            y coordinate of the first row
+     * @param width
+     *            the number of columns
+     * @param height
+     *            the number of rows
+     * @param values
+     *            array of at least width * height values
+     */
+    public default void setBlock(int x0, int y0, int width, int height,
+            double[] values) {
+        int i = 0;
+        for (int y = y0; y < y0 + height; y += 1) {
+            for (int x = x0; x < x0 + width; x += 1) {
+                setDataValue(values[i++], x, y);
+            }
+        }
+    }
+
+    /**
+     * Set the values of a row starting from x = 0, the length of values
+     * determines how many values are set.
+     * 
+     * @param y
+     *            y coordinate of the row
+     * @param values
+     *            data values for the row
+     */
+    public default void setRow(int y, double[] values) {
+        setBlock(0, y, values.length, 1, values);
+    }
+
 }
@@ -22,6 +22,7 @@ package com.raytheon.uf.common.numeric.dest;
 import java.util.Arrays;
 
 import com.raytheon.uf.common.numeric.filter.DataFilter;
+import com.raytheon.uf.common.numeric.filter.FusedDataFilter;
 
 /**
  * A Destination which filters the input values before applying then to another
@@ -34,6 +35,7 @@ import com.raytheon.uf.common.numeric.filter.DataFilter;
  * Date          Ticket#  Engineer    Description
  * ------------- -------- ----------- --------------------------
  * Mar 06, 2014  2791     bsteffen    Initial creation
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -47,20 +49,34 @@ public class FilteredDataDestination implements DataDestination {
 
     protected final DataFilter[] filters;
 
+    /** The filters with as many as possible fused into one filter. */
+    private final DataFilter[] fusedFilters;
+
     protected FilteredDataDestination(DataDestination wrappedDestination,
             DataFilter... filters) {
         this.wrappedDestination = wrappedDestination;
         this.filters = filters;
+        this.fusedFilters = FusedDataFilter.fuse(filters);
     }
 
     @Override
     public void setDataValue(double dataValue, int x, int y) {
-        for (DataFilter filter : filters) {
+        for (DataFilter filter : fusedFilters) {
             dataValue = filter.filter(dataValue);
         }
         wrappedDestination.setDataValue(dataValue, x, y);
     }
 
+    @Override
+    public void setBlock(int x0, int y0, int width, int height,
+            double[] values) {
+        values = Arrays.copyOf(values, width * height);
+        for (DataFilter filter : fusedFilters) {
+            filter.filter(values, 0, values.length);
+        }
+        wrappedDestination.setBlock(x0, y0, width, height, values);
+    }
+
     public DataDestination getWrappedDestination() {
         return wrappedDestination;
     }
@@ -35,6 +35,7 @@ import com.raytheon.uf.common.numeric.source.DataSource;
  * Date          Ticket#  Engineer    Description
  * ------------- -------- ----------- --------------------------
  * Mar 06, 2014  2791     bsteffen    Initial creation
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -44,4 +45,22 @@ import com.raytheon.uf.common.numeric.source.DataSource;
 public interface DataFilter {
 
     public double filter(double value);
+
+    /**
+     * Filter a range of an array in place. Implementations should override
+     * this if they can process many values more efficiently than calling
+     * {@link #filter(double)} for each value.
+     * 
+     * @param values
+     *            the values to filter
+     * @param offset
+     *            the index of the first value to filter
+     * @param length
+     *            the number of values to filter
+     */
+    public default void filter(double[] values, int offset, int length) {
+        for (int i = offset; i < offset + length; i += 1) {
+            values[i] = filter(values[i]);
+        }
+    }
 }
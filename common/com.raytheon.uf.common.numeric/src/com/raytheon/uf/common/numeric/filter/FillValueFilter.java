@@ -36,6 +36,7 @@ import com.raytheon.uf.common.numeric.source.FilteredDataSource;
  * Date          Ticket#  Engineer    Description
  * ------------- -------- ----------- --------------------------
  * Mar 06, 2014  2791     bsteffen    Initial creation
+ * Oct 19, 2026           agent       Expose fill value for FusedDataFilter
  * 
  * </pre>
  * 
@@ -58,6 +59,10 @@ public class FillValueFilter implements DataFilter {
         return value;
     }
 
+    double getFillValue() {
+        return fillValue;
+    }
+
     public static FilteredDataSource apply(DataSource source, double fillValue) {
         return FilteredDataSource.addFilters(source, new FillValueFilter(
                 fillValue));
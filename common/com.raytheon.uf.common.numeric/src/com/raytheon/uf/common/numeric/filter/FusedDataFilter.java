@@ -0,0 +1,206 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.numeric.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A single filter that performs the work of a sequence of
+ * {@link UnsignedFilter}, {@link FillValueFilter} and {@link ValidRangeFilter}
+ * instances. Filtering an array with a chain of filters makes a separate pass
+ * over the data for each filter, the fused filter does all of the work in a
+ * single simple loop which the JIT compiler can optimize much more
+ * effectively.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public final class FusedDataFilter implements DataFilter {
+
+    private final boolean masked;
+
+    private final int mask;
+
+    private final double[] fillValues;
+
+    private final double minValid;
+
+    private final double maxValid;
+
+    private FusedDataFilter(boolean masked, int mask, double[] fillValues,
+            double minValid, double maxValid) {
+        this.masked = masked;
+        this.mask = mask;
+        this.fillValues = fillValues;
+        this.minValid = minValid;
+        this.maxValid = maxValid;
+    }
+
+    @Override
+    public double filter(double value) {
+        if (masked) {
+            value = ((int) value) & mask;
+        }
+        if (value < minValid || value > maxValid) {
+            return Double.NaN;
+        }
+        for (double fillValue : fillValues) {
+            if (value == fillValue) {
+                return Double.NaN;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void filter(double[] values, int offset, int length) {
+        if (fillValues.length > 1) {
+            DataFilter.super.filter(values, offset, length);
+            return;
+        }
+        final int mask = this.mask;
+        final double minValid = this.minValid;
+        final double maxValid = this.maxValid;
+        final double fillValue = fillValues.length == 0 ? Double.NaN
+                : fillValues[0];
+        final int end = offset + length;
+        if (masked) {
+            for (int i = offset; i < end; i += 1) {
+                double value = ((int) values[i]) & mask;
+                values[i] = value < minValid || value > maxValid
+                        || value == fillValue ? Double.NaN : value;
+            }
+        } else {
+            for (int i = offset; i < end; i += 1) {
+                double value = values[i];
+                values[i] = value < minValid || value > maxValid
+                        || value == fillValue ? Double.NaN : value;
+            }
+        }
+    }
+
+    /**
+     * Replace each run of filters that can be fused with a single
+     * {@link FusedDataFilter}. An unsigned conversion can only be fused at the
+     * start of a run because it would turn NaN values from earlier filters
+     * back into numbers. Filters of any other type, including subclasses of
+     * the fusable types, are left in place.
+     * 
+     * @param filters
+     *            a sequence of filters
+     * @return an equivalent sequence of filters
+     */
+    public static DataFilter[] fuse(DataFilter... filters) {
+        List<DataFilter> result = new ArrayList<>(filters.length);
+        Builder run = null;
+        for (DataFilter filter : filters) {
+            Class<?> type = filter.getClass();
+            if (type == UnsignedFilter.class) {
+                if (run != null && run.hasConditions()) {
+                    result.add(run.build());
+                    run = null;
+                }
+                if (run == null) {
+                    run = new Builder();
+                }
+                run.addMask(((UnsignedFilter) filter).getMask());
+            } else if (type == FillValueFilter.class) {
+                if (run == null) {
+                    run = new Builder();
+                }
+                run.addFillValue(((FillValueFilter) filter).getFillValue());
+            } else if (type == ValidRangeFilter.class) {
+                if (run == null) {
+                    run = new Builder();
+                }
+                ValidRangeFilter range = (ValidRangeFilter) filter;
+                run.addValidRange(range.minValid, range.maxValid);
+            } else {
+                if (run != null) {
+                    result.add(run.build());
+                    run = null;
+                }
+                result.add(filter);
+            }
+        }
+        if (run != null) {
+            result.add(run.build());
+        }
+        return result.toArray(new DataFilter[0]);
+    }
+
+    private static class Builder {
+
+        private boolean masked = false;
+
+        private int mask = -1;
+
+        private double[] fillValues = new double[0];
+
+        private double minValid = Double.NEGATIVE_INFINITY;
+
+        private double maxValid = Double.POSITIVE_INFINITY;
+
+        public void addMask(int mask) {
+            this.masked = true;
+            this.mask &= mask;
+        }
+
+        public void addFillValue(double fillValue) {
+            fillValues = Arrays.copyOf(fillValues, fillValues.length + 1);
+            fillValues[fillValues.length - 1] = fillValue;
+        }
+
+        /**
+         * A NaN limit never filters anything in a {@link ValidRangeFilter}
+         * so it is ignored rather than allowed to replace the other limits.
+         */
+        public void addValidRange(double minValid, double maxValid) {
+            if (!Double.isNaN(minValid)) {
+                this.minValid = Math.max(this.minValid, minValid);
+            }
+            if (!Double.isNaN(maxValid)) {
+                this.maxValid = Math.min(this.maxValid, maxValid);
+            }
+        }
+
+        public boolean hasConditions() {
+            return fillValues.length > 0
+                    || minValid != Double.NEGATIVE_INFINITY
+                    || maxValid != Double.POSITIVE_INFINITY;
+        }
+
+        public FusedDataFilter build() {
+            return new FusedDataFilter(masked, mask, fillValues, minValid,
+                    maxValid);
+        }
+    }
+}
@@ -36,6 +36,7 @@ import com.raytheon.uf.common.numeric.source.FilteredDataSource;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Mar 06, 2014  2791     bsteffen    Initial creation
+ * Oct 19, 2026            agent       Expose mask for FusedDataFilter
  * 
  * </pre>
  * 
@@ -55,6 +56,10 @@ public class UnsignedFilter implements DataFilter {
         return ((int) value) & mask;
     }
 
+    int getMask() {
+        return mask;
+    }
+
     public static DataSource apply(ByteBufferWrapper byteData) {
         return FilteredDataSource
                 .addFilters(byteData, new UnsignedFilter(0xFF));
@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.numeric.source;
 
+import java.util.Arrays;
+
 /**
  * DataSource which can retrieve tiles of data on demand.
  * 
@@ -29,6 +31,7 @@ package com.raytheon.uf.common.numeric.source;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Dec 12, 2012            bsteffen     Initial creation
+ * Oct 19, 2026            agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -71,6 +74,68 @@ public abstract class AbstractTiledDataSource implements DataSource {
         return tile.getDataValue(newX, newY);
     }
 
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        if (x0 < 0 || y0 < 0 || x0 + width > nx || y0 + height > ny) {
+            Arrays.fill(out, 0, width * height, Double.NaN);
+        }
+        getTiledBlock(x0, y0, width, height, out);
+    }
+
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        if (x0 < 0 || y0 < 0 || x0 + width > nx || y0 + height > ny) {
+            Arrays.fill(out, 0, width * height, Float.NaN);
+        }
+        getTiledBlock(x0, y0, width, height, out);
+    }
+
+    /**
+     * Copy the part of each tile that intersects a block into out, which must
+     * be a double[] or float[]. Parts of the block outside the data are not
+     * modified.
+     */
+    private void getTiledBlock(int x0, int y0, int width, int height,
+            Object out) {
+        int startX = Math.max(x0, 0);
+        int startY = Math.max(y0, 0);
+        int endX = Math.min(x0 + width, nx);
+        int endY = Math.min(y0 + height, ny);
+        if (startX >= endX || startY >= endY) {
+            return;
+        }
+        int firstTileX = startX / tileSize * tileSize;
+        int firstTileY = startY / tileSize * tileSize;
+        for (int tileY = firstTileY; tileY < endY; tileY += tileSize) {
+            int tileHeight = Math.min(tileSize, ny - tileY);
+            int partY = Math.max(startY, tileY);
+            int partHeight = Math.min(endY, tileY + tileHeight) - partY;
+            for (int tileX = firstTileX; tileX < endX; tileX += tileSize) {
+                int tileWidth = Math.min(tileSize, nx - tileX);
+                int partX = Math.max(startX, tileX);
+                int partWidth = Math.min(endX, tileX + tileWidth) - partX;
+                DataSource tile = getTile(tileX, tileY, tileWidth,
+                        tileHeight);
+                Object part;
+                if (out instanceof float[]) {
+                    part = new float[partWidth * partHeight];
+                    tile.getBlock(partX - tileX, partY - tileY,
+                            partWidth, partHeight, (float[]) part);
+                } else {
+                    part = new double[partWidth * partHeight];
+                    tile.getBlock(partX - tileX, partY - tileY,
+                            partWidth, partHeight, (double[]) part);
+                }
+                for (int j = 0; j < partHeight; j += 1) {
+                    System.arraycopy(part, j * partWidth, out,
+                            (partY - y0 + j) * width + partX - x0, partWidth);
+                }
+            }
+        }
+    }
+
     protected abstract DataSource getTile(int startX, int startY, int width,
             int height);
 
@@ -29,6 +29,7 @@ package com.raytheon.uf.common.numeric.source;
  * Date          Ticket#  Engineer    Description
  * ------------- -------- ----------- --------------------------
  * Feb 24, 2014  2791     bsteffen    Initial creation
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -49,4 +50,28 @@ public class AxisSwapDataSource implements DataSource {
         return wrappedSource.getDataValue(y, x);
     }
 
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        double[] swapped = new double[width * height];
+        wrappedSource.getBlock(y0, x0, height, width, swapped);
+        for (int i = 0; i < width; i += 1) {
+            for (int j = 0; j < height; j += 1) {
+                out[j * width + i] = swapped[i * height + j];
+            }
+        }
+    }
+
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        float[] swapped = new float[width * height];
+        wrappedSource.getBlock(y0, x0, height, width, swapped);
+        for (int i = 0; i < width; i += 1) {
+            for (int j = 0; j < height; j += 1) {
+                out[j * width + i] = swapped[i * height + j];
+            }
+        }
+    }
+
 }
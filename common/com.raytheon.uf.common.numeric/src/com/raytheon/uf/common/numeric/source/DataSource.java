@@ -30,6 +30,7 @@ package com.raytheon.uf.common.numeric.source;
  * ------------- -------- ----------- --------------------------
  * Jun 18, 2012           bsteffen    Initial creation
  * Mar 07, 2014  2791     bsteffen    Move to numeric plugin.
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -52,4 +53,59 @@ public interface DataSource {
      */
     public double getDataValue(int x, int y);
 
+    /**
+     * Get a rectangular block of data values. Values are stored in row major
+     * order so the value at (x0 + i, y0 + j) is placed in out[j * width + i].
+     * Locations outside the valid range of data are NaN, just as with
+     * {@link #getDataValue(int, int)}. Implementations that can access many
+     * values at once should override this to avoid calling getDataValue for
+     * every element.
+     * 
+     * @param x0
+     *            x coordinate of the first column
+     * @param y0
+     *            y coordinate of the first row
+     * @param width
+     *            the number of columns
+     * @param height
+     *            the number of rows
+     * @param out
+     *            array of at least width * height values to fill
+     */
+    public default void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        int i = 0;
+        for (int y = y0; y < y0 + height; y += 1) {
+            for (int x = x0; x < x0 + width; x += 1) {
+                out[i++] = getDataValue(x, y);
+            }
+        }
+    }
+
+    /**
+     * Float version of {@link #getBlock(int, int, int, int, double[])}.
+     */
+    public default void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        int i = 0;
+        for (int y = y0; y < y0 + height; y += 1) {
+            for (int x = x0; x < x0 + width; x += 1) {
+                out[i++] = (float) getDataValue(x, y);
+            }
+        }
+    }
+
+    /**
+     * Get the values of a row starting from x = 0, the length of out
+     * determines how many values are retrieved.
+     * 
+     * @param y
+     *            y coordinate of the row
+     * @param out
+     *            array to fill with data values
+     */
+    public default void getRow(int y, double[] out) {
+        getBlock(0, y, out.length, 1, out);
+    }
+
 }
@@ -22,6 +22,7 @@ package com.raytheon.uf.common.numeric.source;
 import java.util.Arrays;
 
 import com.raytheon.uf.common.numeric.filter.DataFilter;
+import com.raytheon.uf.common.numeric.filter.FusedDataFilter;
 
 /**
  * A Source which filters the values retrieved from another source source.
@@ -34,6 +35,7 @@ import com.raytheon.uf.common.numeric.filter.DataFilter;
  * ------------- -------- ----------- --------------------------
  * Mar 06, 2014  2791     bsteffen    Initial creation
  * Jun 11, 2015  4557     bsteffen    Fix addFilters
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -47,21 +49,44 @@ public class FilteredDataSource implements DataSource {
 
     protected final DataFilter[] filters;
 
+    /** The filters with as many as possible fused into one filter. */
+    private final DataFilter[] fusedFilters;
+
     protected FilteredDataSource(DataSource wrappedSource,
             DataFilter... filters) {
         this.wrappedSource = wrappedSource;
         this.filters = filters;
+        this.fusedFilters = FusedDataFilter.fuse(filters);
     }
 
     @Override
     public double getDataValue(int x, int y) {
         double dataValue = wrappedSource.getDataValue(x, y);
-        for (DataFilter filter : filters) {
+        for (DataFilter filter : fusedFilters) {
             dataValue = filter.filter(dataValue);
         }
         return dataValue;
     }
 
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        wrappedSource.getBlock(x0, y0, width, height, out);
+        for (DataFilter filter : fusedFilters) {
+            filter.filter(out, 0, width * height);
+        }
+    }
+
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        double[] values = new double[width * height];
+        getBlock(x0, y0, width, height, values);
+        for (int i = 0; i < values.length; i += 1) {
+            out[i] = (float) values[i];
+        }
+    }
+
     protected DataFilter[] getFilters() {
         return filters;
     }
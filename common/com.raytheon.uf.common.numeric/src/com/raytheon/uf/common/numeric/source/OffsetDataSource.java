@@ -31,6 +31,7 @@ package com.raytheon.uf.common.numeric.source;
  * Date          Ticket#  Engineer    Description
  * ------------- -------- ----------- --------------------------
  * Feb 04, 2014  2672     bsteffen    Initial creation
+ * Oct 19, 2026           agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -57,4 +58,16 @@ public class OffsetDataSource implements DataSource {
         return wrappedSource.getDataValue(xOffset + x, yOffset + y);
     }
 
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        wrappedSource.getBlock(xOffset + x0, yOffset + y0, width, height, out);
+    }
+
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        wrappedSource.getBlock(xOffset + x0, yOffset + y0, width, height, out);
+    }
+
 }
@@ -39,6 +39,7 @@ import com.raytheon.uf.common.numeric.source.DataSource;
  * Jul 29, 2014 3463       bclement     Initial creation
  * Jul 30, 2014 3463       bclement     changed blockMap to be hashmap
  * Aug 06, 2014 3463       bclement     removed unsafe cache
+ * Oct 19, 2026            agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -129,6 +130,64 @@ public abstract class SparseArray<T> implements DataSource, DataDestination {
         return index % blockSize;
     }
 
+    /**
+     * Copy values out of a block of data.
+     * 
+     * @param block
+     *            data block or null if the block does not exist, in which
+     *            case the fill value should be copied.
+     * @param blockIndex
+     *            index into the data block of the first value
+     * @param out
+     *            destination array
+     * @param offset
+     *            index in out of the first value
+     * @param length
+     *            the number of values to copy
+     */
+    protected abstract void getBlockValues(T block, int blockIndex,
+            double[] out, int offset, int length);
+
+    /**
+     * Copies whole runs of each block in the requested range. Locations
+     * outside of the array use {@link #getDataValue(int, int)}.
+     */
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        for (int j = 0; j < height; j += 1) {
+            int y = y0 + j;
+            int offset = j * width - x0;
+            int x = x0;
+            while (x < x0 + width) {
+                if (y < 0 || y >= ny || x < 0 || x >= nx) {
+                    out[offset + x] = getDataValue(x, y);
+                    x += 1;
+                    continue;
+                }
+                int index = getIndex(x, y);
+                int blockIndex = getBlockIndex(index);
+                int length = Math.min(blockSize - blockIndex,
+                        Math.min(x0 + width, nx) - x);
+                getBlockValues(getBlockReadOnly(index), blockIndex, out,
+                        offset + x, length);
+                x += length;
+            }
+        }
+    }
+
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        double[] row = new double[width];
+        for (int j = 0; j < height; j += 1) {
+            getBlock(x0, y0 + j, width, 1, row);
+            for (int i = 0; i < width; i += 1) {
+                out[j * width + i] = (float) row[i];
+            }
+        }
+    }
+
     /**
      * Create a new block of provided size
      * 
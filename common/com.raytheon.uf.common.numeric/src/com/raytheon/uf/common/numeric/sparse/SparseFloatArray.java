@@ -32,6 +32,7 @@ import java.util.Arrays;
  * ------------ ---------- ----------- --------------------------
  * Jul 29, 2014 3463       bclement     Initial creation
  * Aug 06, 2014 3463       bclement     fixed add method so fill values aren't written
+ * Oct 19, 2026            agent       Add bulk access methods
  * 
  * </pre>
  * 
@@ -118,6 +119,25 @@ public class SparseFloatArray extends SparseArray<float[]> {
         return rval;
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.raytheon.uf.common.numeric.sparse.SparseArray#getBlockValues(java.
+     * lang.Object, int, double[], int, int)
+     */
+    @Override
+    protected void getBlockValues(float[] block, int blockIndex, double[] out,
+            int offset, int length) {
+        if (block == null) {
+            Arrays.fill(out, offset, offset + length, fillValue);
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                out[offset + i] = block[blockIndex + i];
+            }
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
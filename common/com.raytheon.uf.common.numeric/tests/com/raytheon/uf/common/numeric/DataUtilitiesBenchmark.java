@@ -0,0 +1,194 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.numeric;
+
+import java.util.Random;
+
+import com.raytheon.uf.common.numeric.DataUtilities.MinMax;
+import com.raytheon.uf.common.numeric.buffer.FloatBufferWrapper;
+import com.raytheon.uf.common.numeric.buffer.ShortBufferWrapper;
+import com.raytheon.uf.common.numeric.filter.FillValueFilter;
+import com.raytheon.uf.common.numeric.filter.UnsignedFilter;
+import com.raytheon.uf.common.numeric.filter.ValidRangeFilter;
+import com.raytheon.uf.common.numeric.source.DataSource;
+import com.raytheon.uf.common.numeric.source.OffsetDataSource;
+
+/**
+ * Compares {@link DataUtilities#copy} and {@link DataUtilities#getMinMax},
+ * which use the bulk row methods, with the element at a time loops they
+ * replaced. Grids
+ * of CONUS and global sizes are measured for a plain float buffer and for an
+ * unsigned short buffer behind a chain of filters. Before timing, the results
+ * of both approaches are compared and any difference is reported.
+ * 
+ * Usage: DataUtilitiesBenchmark [iterations]
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class DataUtilitiesBenchmark {
+
+    private static final int[][] SIZES = { { 1799, 1059 }, { 1440, 721 },
+            { 2880, 1441 } };
+
+    private static final String[] SIZE_NAMES = { "CONUS 3km",
+            "global 0.25deg", "global 0.125deg" };
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        for (int s = 0; s < SIZES.length; s += 1) {
+            int nx = SIZES[s][0];
+            int ny = SIZES[s][1];
+            Random random = new Random(s);
+            float[] floats = new float[nx * ny];
+            short[] shorts = new short[nx * ny];
+            for (int i = 0; i < floats.length; i += 1) {
+                floats[i] = (float) (random.nextGaussian() * 10 + 273);
+                shorts[i] = (short) random.nextInt(0x10000);
+            }
+            DataSource plain = new FloatBufferWrapper(floats, nx, ny);
+            DataSource filtered = ValidRangeFilter.apply(
+                    FillValueFilter.apply(UnsignedFilter
+                            .apply(new ShortBufferWrapper(shorts, nx, ny)),
+                            65535), 0, 60000);
+            DataSource offset = new OffsetDataSource(filtered, 0, 0);
+
+            String[] names = { "float", "filtered short",
+                    "offset filtered" };
+            DataSource[] sources = { plain, filtered, offset };
+            for (int i = 0; i < sources.length; i += 1) {
+                verify(sources[i], nx, ny);
+                String label = SIZE_NAMES[s] + " " + names[i];
+                measure(label, sources[i], nx, ny, iterations);
+            }
+        }
+    }
+
+    private static void verify(DataSource source, int nx, int ny) {
+        FloatBufferWrapper legacy = legacyCopy(source,
+                new FloatBufferWrapper(nx, ny), nx, ny);
+        FloatBufferWrapper bulk = DataUtilities.copy(source,
+                new FloatBufferWrapper(nx, ny), nx, ny);
+        for (int i = 0; i < nx * ny; i += 1) {
+            float a = legacy.getArray()[i];
+            float b = bulk.getArray()[i];
+            if (Float.floatToIntBits(a) != Float.floatToIntBits(b)) {
+                System.out.println("Copy mismatch at " + i + ": " + a + " != "
+                        + b);
+                break;
+            }
+        }
+        double[] a = legacyMinMax(source, nx, ny);
+        MinMax b = DataUtilities.getMinMax(source, nx, ny);
+        if (a[0] != b.getMin() || a[1] != b.getMax()) {
+            System.out.println("MinMax mismatch: " + a[0] + "/" + a[1]
+                    + " != " + b.getMin() + "/" + b.getMax());
+        }
+    }
+
+    private static void measure(String label, DataSource source, int nx,
+            int ny, int iterations) {
+        FloatBufferWrapper dest = new FloatBufferWrapper(nx, ny);
+        /* Warm up both implementations before timing. */
+        for (int i = 0; i < 3; i += 1) {
+            legacyCopy(source, dest, nx, ny);
+            DataUtilities.copy(source, dest, nx, ny);
+            legacyMinMax(source, nx, ny);
+            DataUtilities.getMinMax(source, nx, ny);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i += 1) {
+            legacyCopy(source, dest, nx, ny);
+        }
+        long legacyCopy = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i += 1) {
+            DataUtilities.copy(source, dest, nx, ny);
+        }
+        long bulkCopy = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i += 1) {
+            legacyMinMax(source, nx, ny);
+        }
+        long legacyMinMax = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i += 1) {
+            DataUtilities.getMinMax(source, nx, ny);
+        }
+        long bulkMinMax = System.nanoTime() - start;
+
+        System.out.println(String.format(
+                "%-34s copy %7.2fms -> %6.2fms (%4.1fx)"
+                        + "  minmax %7.2fms -> %6.2fms (%4.1fx)",
+                label, legacyCopy / 1.0e6 / iterations,
+                bulkCopy / 1.0e6 / iterations,
+                (double) legacyCopy / bulkCopy,
+                legacyMinMax / 1.0e6 / iterations,
+                bulkMinMax / 1.0e6 / iterations,
+                (double) legacyMinMax / bulkMinMax));
+    }
+
+    /**
+     * The element at a time copy used before the bulk methods were added.
+     */
+    private static FloatBufferWrapper legacyCopy(DataSource source,
+            FloatBufferWrapper destination, int nx, int ny) {
+        for (int i = 0; i < nx; i += 1) {
+            for (int j = 0; j < ny; j += 1) {
+                destination.setDataValue(source.getDataValue(i, j), i, j);
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * The element at a time min/max used before the bulk methods were added.
+     */
+    private static double[] legacyMinMax(DataSource source, int nx, int ny) {
+        double minValue = Double.POSITIVE_INFINITY;
+        double maxValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < nx; i += 1) {
+            for (int j = 0; j < ny; j += 1) {
+                double val = source.getDataValue(i, j);
+                if (Double.isNaN(val)) {
+                    continue;
+                }
+                if (val < minValue) {
+                    minValue = val;
+                }
+                if (val > maxValue) {
+                    maxValue = val;
+                }
+            }
+        }
+        return new double[] { minValue, maxValue };
+    }
+
+}
@@ -0,0 +1,272 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.numeric;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.numeric.DataUtilities.MinMax;
+import com.raytheon.uf.common.numeric.buffer.BufferWrapper;
+import com.raytheon.uf.common.numeric.buffer.ByteBufferWrapper;
+import com.raytheon.uf.common.numeric.buffer.FloatBufferWrapper;
+import com.raytheon.uf.common.numeric.buffer.ShortBufferWrapper;
+import com.raytheon.uf.common.numeric.dest.DataDestination;
+import com.raytheon.uf.common.numeric.filter.FillValueFilter;
+import com.raytheon.uf.common.numeric.filter.UnsignedFilter;
+import com.raytheon.uf.common.numeric.filter.ValidRangeFilter;
+import com.raytheon.uf.common.numeric.source.AbstractTiledDataSource;
+import com.raytheon.uf.common.numeric.source.AxisSwapDataSource;
+import com.raytheon.uf.common.numeric.source.DataSource;
+import com.raytheon.uf.common.numeric.source.OffsetDataSource;
+import com.raytheon.uf.common.numeric.sparse.SparseArray;
+import com.raytheon.uf.common.numeric.sparse.SparseFloatArray;
+
+/**
+ * Test that {@link DataUtilities} and the bulk block methods of
+ * {@link DataSource} and {@link DataDestination} produce the same results as
+ * accessing one element at a time.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestDataUtilities {
+
+    private static final int NX = 37;
+
+    private static final int NY = 23;
+
+    /**
+     * Blocks as x, y, width, height. Includes blocks that extend past or lie
+     * completely outside every edge of the data.
+     */
+    private static final int[][] BLOCKS = { { 0, 0, NX, NY }, { 5, 3, 10, 7 },
+            { 0, 0, 1, 1 }, { -4, -2, 10, 6 }, { NX - 5, NY - 3, 10, 8 },
+            { -3, -3, NX + 6, NY + 6 }, { NX + 1, 0, 4, 4 },
+            { 0, -5, 4, 3 } };
+
+    private static float[] randomFloats(Random random, int length) {
+        float[] floats = new float[length];
+        for (int i = 0; i < floats.length; i += 1) {
+            floats[i] = (float) (random.nextGaussian() * 10 + 273);
+        }
+        return floats;
+    }
+
+    /**
+     * @return sources of NX by NY values, the key of each is a description.
+     */
+    private static Map<String, DataSource> createSources() {
+        Random random = new Random(0);
+        Map<String, DataSource> sources = new LinkedHashMap<>();
+        final float[] floats = randomFloats(random, NX * NY);
+        sources.put("float", new FloatBufferWrapper(floats, NX, NY));
+
+        short[] shorts = new short[NX * NY];
+        byte[] bytes = new byte[NX * NY];
+        for (int i = 0; i < shorts.length; i += 1) {
+            shorts[i] = (short) random.nextInt(0x10000);
+            bytes[i] = (byte) random.nextInt(0x100);
+        }
+        shorts[0] = -1;
+        sources.put("filtered short", ValidRangeFilter.apply(
+                FillValueFilter.apply(UnsignedFilter
+                        .apply(new ShortBufferWrapper(shorts, NX, NY)),
+                        65535), 0, 60000));
+        sources.put("unsigned byte",
+                UnsignedFilter.apply(new ByteBufferWrapper(bytes, NX, NY)));
+
+        sources.put("offset", new OffsetDataSource(new FloatBufferWrapper(
+                randomFloats(random, (NX + 3) * (NY + 2)), NX + 3, NY + 2), 3,
+                2));
+        sources.put("axis swap", new AxisSwapDataSource(
+                new FloatBufferWrapper(randomFloats(random, NX * NY), NY, NX)));
+
+        SparseFloatArray sparse = new SparseFloatArray(NX, NY, -1f, 16);
+        for (int i = 0; i < 200; i += 1) {
+            sparse.setDataValue(random.nextFloat(), random.nextInt(NX),
+                    random.nextInt(NY));
+        }
+        sources.put("sparse", sparse);
+
+        sources.put("tiled", new AbstractTiledDataSource(8, NX, NY) {
+
+            @Override
+            protected DataSource getTile(int startX, int startY, int width,
+                    int height) {
+                float[] tile = new float[width * height];
+                for (int j = 0; j < height; j += 1) {
+                    System.arraycopy(floats, (startY + j) * NX + startX,
+                            tile, j * width, width);
+                }
+                return new FloatBufferWrapper(tile, width, height);
+            }
+        });
+        return sources;
+    }
+
+    @Test
+    public void testGetBlock() {
+        for (Map.Entry<String, DataSource> entry : createSources()
+                .entrySet()) {
+            DataSource source = entry.getValue();
+            for (int[] block : BLOCKS) {
+                if (source instanceof SparseArray && (block[0] < 0
+                        || block[1] < 0 || block[0] + block[2] > NX
+                        || block[1] + block[3] > NY)) {
+                    /* Sparse arrays fail for locations outside the array. */
+                    continue;
+                }
+                String message = entry.getKey() + " " + block[0] + ","
+                        + block[1] + " " + block[2] + "x" + block[3];
+                int length = block[2] * block[3];
+                double[] expected = new double[length];
+                float[] expectedFloats = new float[length];
+                int i = 0;
+                for (int y = block[1]; y < block[1] + block[3]; y += 1) {
+                    for (int x = block[0]; x < block[0] + block[2]; x += 1) {
+                        expected[i] = source.getDataValue(x, y);
+                        expectedFloats[i] = (float) expected[i];
+                        i += 1;
+                    }
+                }
+                double[] actual = new double[length];
+                source.getBlock(block[0], block[1], block[2], block[3],
+                        actual);
+                assertArrayEquals(message, expected, actual, 0);
+                float[] actualFloats = new float[length];
+                source.getBlock(block[0], block[1], block[2], block[3],
+                        actualFloats);
+                assertArrayEquals(message, expectedFloats, actualFloats, 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCopyAndMinMax() {
+        for (Map.Entry<String, DataSource> entry : createSources()
+                .entrySet()) {
+            DataSource source = entry.getValue();
+            FloatBufferWrapper copy = DataUtilities.copy(source,
+                    new FloatBufferWrapper(NX, NY), NX, NY);
+            double minValue = Double.POSITIVE_INFINITY;
+            double maxValue = Double.NEGATIVE_INFINITY;
+            for (int x = 0; x < NX; x += 1) {
+                for (int y = 0; y < NY; y += 1) {
+                    double value = source.getDataValue(x, y);
+                    assertEquals(entry.getKey(), (float) value,
+                            copy.getDataValue(x, y), 0);
+                    if (!Double.isNaN(value)) {
+                        minValue = Math.min(minValue, value);
+                        maxValue = Math.max(maxValue, value);
+                    }
+                }
+            }
+            MinMax minMax = DataUtilities.getMinMax(source, NX, NY);
+            assertEquals(entry.getKey(), minValue, minMax.getMin(), 0);
+            assertEquals(entry.getKey(), maxValue, minMax.getMax(), 0);
+        }
+    }
+
+    /**
+     * Set every block with setBlock on one destination and with setDataValue
+     * on another.
+     * 
+     * @param outside
+     *            false to skip blocks that are not completely inside the data
+     */
+    private static void setBlocks(DataDestination bulk,
+            DataDestination single, boolean outside) {
+        Random random = new Random(0);
+        for (int[] block : BLOCKS) {
+            int x0 = block[0];
+            int y0 = block[1];
+            int width = block[2];
+            int height = block[3];
+            if (!outside && (x0 < 0 || y0 < 0 || x0 + width > NX
+                    || y0 + height > NY)) {
+                continue;
+            }
+            double[] values = new double[width * height];
+            for (int i = 0; i < values.length; i += 1) {
+                values[i] = random.nextInt(100);
+            }
+            bulk.setBlock(x0, y0, width, height, values);
+            int i = 0;
+            for (int y = y0; y < y0 + height; y += 1) {
+                for (int x = x0; x < x0 + width; x += 1) {
+                    single.setDataValue(values[i++], x, y);
+                }
+            }
+        }
+    }
+
+    private static void assertSameValues(String message, DataSource expected,
+            DataSource actual) {
+        for (int x = 0; x < NX; x += 1) {
+            for (int y = 0; y < NY; y += 1) {
+                assertEquals(message, expected.getDataValue(x, y),
+                        actual.getDataValue(x, y), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testSetBlock() {
+        BufferWrapper[][] wrappers = {
+                { new FloatBufferWrapper(NX, NY),
+                        new FloatBufferWrapper(NX, NY) },
+                { new ShortBufferWrapper(NX, NY),
+                        new ShortBufferWrapper(NX, NY) },
+                { new ByteBufferWrapper(NX, NY),
+                        new ByteBufferWrapper(NX, NY) } };
+        for (BufferWrapper[] pair : wrappers) {
+            setBlocks(pair[0], pair[1], true);
+            assertSameValues(pair[0].getClass().getSimpleName(), pair[1],
+                    pair[0]);
+        }
+
+        FloatBufferWrapper bulk = new FloatBufferWrapper(NX, NY);
+        FloatBufferWrapper single = new FloatBufferWrapper(NX, NY);
+        setBlocks(FillValueFilter.apply((DataDestination) bulk, 50),
+                FillValueFilter.apply((DataDestination) single, 50), true);
+        assertSameValues("filtered", single, bulk);
+
+        SparseFloatArray sparseBulk = new SparseFloatArray(NX, NY, 0f, 16);
+        SparseFloatArray sparseSingle = new SparseFloatArray(NX, NY, 0f, 16);
+        setBlocks(sparseBulk, sparseSingle, false);
+        assertSameValues("sparse", sparseSingle, sparseBulk);
+    }
+
+}
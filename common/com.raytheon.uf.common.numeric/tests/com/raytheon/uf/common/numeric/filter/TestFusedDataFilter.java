@@ -0,0 +1,150 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.numeric.filter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.numeric.buffer.ShortBufferWrapper;
+import com.raytheon.uf.common.numeric.source.DataSource;
+import com.raytheon.uf.common.numeric.source.FilteredDataSource;
+
+/**
+ * Test that {@link FusedDataFilter} produces the same results as applying
+ * each filter in turn.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestFusedDataFilter {
+
+    /** Values that are interesting as data, fill values and range limits. */
+    private static final double[] VALUES = { Double.NaN,
+            Double.NEGATIVE_INFINITY, -32768, -999999, -9999, -1, -0.5, 0,
+            0.5, 1, 2, 254, 255, 256, 9999, 32767, 65534, 65535, 65536,
+            999999, Double.POSITIVE_INFINITY };
+
+    private static DataFilter randomFilter(Random random) {
+        double a = VALUES[random.nextInt(VALUES.length)];
+        double b = VALUES[random.nextInt(VALUES.length)];
+        switch (random.nextInt(4)) {
+        case 0:
+            return new FillValueFilter(a);
+        case 1:
+            return new ValidRangeFilter(Math.min(a, b), Math.max(a, b));
+        case 2:
+            return new InvalidRangeFilter(Math.min(a, b), Math.max(a, b));
+        default:
+            return new InverseFillValueFilter(a);
+        }
+    }
+
+    private static double applyEach(DataFilter[] filters, double value) {
+        for (DataFilter filter : filters) {
+            value = filter.filter(value);
+        }
+        return value;
+    }
+
+    private static void assertFused(DataFilter[] filters) {
+        DataFilter[] fused = FusedDataFilter.fuse(filters);
+        double[] bulk = VALUES.clone();
+        for (DataFilter filter : fused) {
+            filter.filter(bulk, 0, bulk.length);
+        }
+        for (int i = 0; i < VALUES.length; i += 1) {
+            String message = Arrays.toString(filters) + " " + VALUES[i];
+            double expected = applyEach(filters, VALUES[i]);
+            assertEquals(message, expected, applyEach(fused, VALUES[i]), 0);
+            assertEquals(message, expected, bulk[i], 0);
+        }
+    }
+
+    @Test
+    public void testRandomChains() {
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i += 1) {
+            DataFilter[] filters = new DataFilter[1 + random.nextInt(6)];
+            for (int j = 0; j < filters.length; j += 1) {
+                filters[j] = randomFilter(random);
+            }
+            assertFused(filters);
+        }
+    }
+
+    @Test
+    public void testMultipleFillValues() {
+        assertFused(new DataFilter[] { new FillValueFilter(-9999),
+                new FillValueFilter(0), new ValidRangeFilter(-10000, 100),
+                new FillValueFilter(99) });
+    }
+
+    @Test
+    public void testNaNRangeLimit() {
+        assertFused(new DataFilter[] { new ValidRangeFilter(-1, 1000),
+                new ValidRangeFilter(Double.NaN, 500),
+                new ValidRangeFilter(0, Double.NaN) });
+    }
+
+    @Test
+    public void testUnsignedSource() {
+        short[] shorts = new short[256];
+        Random random = new Random(0);
+        for (int i = 0; i < shorts.length; i += 1) {
+            shorts[i] = (short) random.nextInt(0x10000);
+        }
+        shorts[0] = -1;
+        shorts[1] = 0;
+        shorts[2] = 1;
+        shorts[3] = 100;
+        DataFilter[] filters = { new FillValueFilter(65535),
+                new ValidRangeFilter(1, 60000), new FillValueFilter(100),
+                new InverseFillValueFilter(-1), new FillValueFilter(2) };
+        DataSource source = FilteredDataSource.addFilters(
+                UnsignedFilter.apply(new ShortBufferWrapper(shorts, 16, 16)),
+                filters);
+
+        double[] expected = new double[shorts.length];
+        for (int i = 0; i < shorts.length; i += 1) {
+            expected[i] = applyEach(filters, shorts[i] & 0xFFFF);
+        }
+        double[] block = new double[shorts.length];
+        source.getBlock(0, 0, 16, 16, block);
+        assertArrayEquals(expected, block, 0);
+        for (int i = 0; i < shorts.length; i += 1) {
+            assertEquals(expected[i], source.getDataValue(i % 16, i / 16), 0);
+        }
+    }
+
+}
@@ -60,6 +60,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * ------------- -------- ----------- --------------------------
  * Apr 08, 2009           chammack    Initial creation
  * Dec 02, 2013  2537     bsteffen    Remove ISerializableObject
+ * Oct 19, 2026           agent       Added combine of multiple containers
  * 
  * </pre>
  * 
@@ -370,6 +371,33 @@ public class PointDataContainer {
         this.allocatedSz += container2.allocatedSz;
     }
 
+    /**
+     * Append several containers to this one. Equivalent to calling
+     * {@link #combine(PointDataContainer)} for each container in order but
+     * each parameter is only reallocated once.
+     * 
+     * @param containers
+     *            the containers to append, in order
+     */
+    public void combine(List<PointDataContainer> containers) {
+        if (containers.isEmpty()) {
+            return;
+        }
+        List<AbstractPointDataObject<?>> others = new ArrayList<>(
+                containers.size());
+        for (Entry<String, AbstractPointDataObject<?>> entry : this.pointDataTypes
+                .entrySet()) {
+            others.clear();
+            for (PointDataContainer container : containers) {
+                others.add(container.pointDataTypes.get(entry.getKey()));
+            }
+            entry.getValue().combine(others);
+        }
+        for (PointDataContainer container : containers) {
+            this.allocatedSz += container.allocatedSz;
+        }
+    }
+
     /**
      * Increments the indices of views
      * 
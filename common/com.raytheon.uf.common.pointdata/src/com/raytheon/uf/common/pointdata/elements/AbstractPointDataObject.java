@@ -20,6 +20,7 @@
 package com.raytheon.uf.common.pointdata.elements;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -109,6 +110,16 @@ public abstract class AbstractPointDataObject<A> {
 
     public abstract void combine(AbstractPointDataObject<?> obj);
 
+    /**
+     * Append the data of several objects of the same type in a single
+     * allocation.
+     * 
+     * @param objs
+     *            the objects to append, in order
+     */
+    public abstract void combine(
+            List<? extends AbstractPointDataObject<?>> objs);
+
     protected void setProperties(IDataRecord rec) {
         if (description.getUnit() != null) {
             Map<String, Object> attribs = new HashMap<String, Object>();
@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026            agent        Added combine of multiple objects
  * 
  * </pre>
  * 
@@ -185,4 +188,21 @@ public class FloatPointDataObject extends AbstractPointDataObject<float[]> {
         this.floatData = d;
     }
 
+    @Override
+    public void combine(List<? extends AbstractPointDataObject<?>> objs) {
+        int length = floatData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            length += ((FloatPointDataObject) obj).floatData.length;
+        }
+        float[] d = new float[length];
+        System.arraycopy(this.floatData, 0, d, 0, this.floatData.length);
+        int offset = this.floatData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            float[] other = ((FloatPointDataObject) obj).floatData;
+            System.arraycopy(other, 0, d, offset, other.length);
+            offset += other.length;
+        }
+        this.floatData = d;
+    }
+
 }
@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026            agent        Added combine of multiple objects
  * 
  * </pre>
  * 
@@ -186,4 +189,21 @@ public class IntPointDataObject extends AbstractPointDataObject<int[]> {
         this.intData = d;
     }
 
+    @Override
+    public void combine(List<? extends AbstractPointDataObject<?>> objs) {
+        int length = intData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            length += ((IntPointDataObject) obj).intData.length;
+        }
+        int[] d = new int[length];
+        System.arraycopy(this.intData, 0, d, 0, this.intData.length);
+        int offset = this.intData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            int[] other = ((IntPointDataObject) obj).intData;
+            System.arraycopy(other, 0, d, offset, other.length);
+            offset += other.length;
+        }
+        this.intData = d;
+    }
+
 }
@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026            agent        Added combine of multiple objects
  * 
  * </pre>
  * 
@@ -182,4 +185,21 @@ public class LongPointDataObject extends AbstractPointDataObject<long[]> {
         this.longData = d;
     }
 
+    @Override
+    public void combine(List<? extends AbstractPointDataObject<?>> objs) {
+        int length = longData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            length += ((LongPointDataObject) obj).longData.length;
+        }
+        long[] d = new long[length];
+        System.arraycopy(this.longData, 0, d, 0, this.longData.length);
+        int offset = this.longData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            long[] other = ((LongPointDataObject) obj).longData;
+            System.arraycopy(other, 0, d, offset, other.length);
+            offset += other.length;
+        }
+        this.longData = d;
+    }
+
 }
@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026            agent        Added combine of multiple objects
  * 
  * </pre>
  * 
@@ -188,4 +191,21 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
                 intP.stringData.length);
         this.stringData = d;
     }
+
+    @Override
+    public void combine(List<? extends AbstractPointDataObject<?>> objs) {
+        int length = stringData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            length += ((StringPointDataObject) obj).stringData.length;
+        }
+        String[] d = new String[length];
+        System.arraycopy(this.stringData, 0, d, 0, this.stringData.length);
+        int offset = this.stringData.length;
+        for (AbstractPointDataObject<?> obj : objs) {
+            String[] other = ((StringPointDataObject) obj).stringData;
+            System.arraycopy(other, 0, d, offset, other.length);
+            offset += other.length;
+        }
+        this.stringData = d;
+    }
 }
@@ -30,15 +30,23 @@
 #    ------------    ----------    -----------    --------------------------
 #    12/02/16        5992          bsteffen       Initial Creation.
 #    06/26/17        6341          rjpeter        Optimize decompress
+#    10/19/26                      agent          Block based codecs
 #
 
 import numpy
+import struct
 import zlib
 
+try:
+    import lz4.block as lz4block
+except ImportError:
+    lz4block = None
+
 class CompressedDataRecord(object):
 
     def __init__(self):
         self.type = None
+        self.codec = None
         self.uncompressedData = None
         self.compressedData = None
         self.name = None
@@ -58,6 +66,12 @@ class CompressedDataRecord(object):
     def setType(self, type):
         self.type = type
 
+    def getCodec(self):
+        return self.codec
+
+    def setCodec(self, codec):
+        self.codec = codec
+
     def getCompressedData(self):
         return self.compressedData
 
@@ -151,11 +165,41 @@ class CompressedDataRecord(object):
         for s in self.sizes:
             uncompressedSize *= s
 
-        # zlib.MAX_WBITS | 16, add 16 to window bits to support gzip header/trailer
-        # http://www.zlib.net/manual.html#Advanced
-        decompressedBuffer = zlib.decompress(compressedBuffer, zlib.MAX_WBITS | 16, uncompressedSize)
+        if self.codec is None or self.codec == "GZIP":
+            # zlib.MAX_WBITS | 16, add 16 to window bits to support gzip header/trailer
+            # http://www.zlib.net/manual.html#Advanced
+            decompressedBuffer = zlib.decompress(compressedBuffer, zlib.MAX_WBITS | 16, uncompressedSize)
+        else:
+            decompressedBuffer = self.decompressBlocks(compressedBuffer, datatype.itemsize, uncompressedSize)
         self.uncompressedData = numpy.frombuffer(decompressedBuffer, datatype)
 
+    # Every codec other than GZIP is a sequence of blocks, each block is a big
+    # endian stored length and uncompressed length followed by the stored
+    # bytes. Blocks that did not compress are stored with equal lengths.
+    def decompressBlocks(self, compressedBuffer, itemsize, uncompressedSize):
+        shuffled = self.codec.startswith("SHUFFLE_")
+        lz4 = self.codec.endswith("LZ4")
+        result = bytearray(uncompressedSize)
+        offset = 0
+        position = 0
+        while position < len(compressedBuffer):
+            storedLength, rawLength = struct.unpack_from('>ii', compressedBuffer, position)
+            position += 8
+            block = compressedBuffer[position:position + storedLength]
+            position += storedLength
+            if storedLength != rawLength:
+                if lz4:
+                    block = _lz4Decompress(block, rawLength)
+                else:
+                    block = zlib.decompress(block, zlib.MAX_WBITS, rawLength)
+            if shuffled and itemsize > 1:
+                block = numpy.frombuffer(block, numpy.uint8).reshape(itemsize, rawLength // itemsize).T.tostring()
+            result[offset:offset + rawLength] = block
+            offset += rawLength
+        if offset != uncompressedSize:
+            raise ValueError("Decompressed " + str(offset) + " bytes, expected " + str(uncompressedSize))
+        return result
+
     def retrieveDataObject(self):
         if self.uncompressedData is None:
             self.decompress()
@@ -166,3 +210,50 @@ class CompressedDataRecord(object):
         self.uncompressedData = obj
 
     prepareStore = decompress
+
+
+# Decode a block in the LZ4 block format, using the lz4 module when it is
+# installed.
+def _lz4Decompress(block, rawLength):
+    if lz4block is not None:
+        return lz4block.decompress(bytes(block), uncompressed_size=rawLength)
+    src = bytearray(block)
+    dest = bytearray(rawLength)
+    sp = 0
+    dp = 0
+    while True:
+        token = src[sp]
+        sp += 1
+        length = token >> 4
+        if length == 15:
+            while True:
+                b = src[sp]
+                sp += 1
+                length += b
+                if b != 255:
+                    break
+        dest[dp:dp + length] = src[sp:sp + length]
+        sp += length
+        dp += length
+        if sp >= len(src):
+            break
+        offset = src[sp] | (src[sp + 1] << 8)
+        sp += 2
+        length = token & 15
+        if length == 15:
+            while True:
+                b = src[sp]
+                sp += 1
+                length += b
+                if b != 255:
+                    break
+        length += 4
+        ref = dp - offset
+        if offset >= length:
+            dest[dp:dp + length] = dest[ref:ref + length]
+            dp += length
+        else:
+            for i in range(length):
+                dest[dp] = dest[ref + i]
+                dp += 1
+    return dest
@@ -33,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import com.raytheon.uf.common.comm.CommunicationException;
 import com.raytheon.uf.common.comm.HttpClient;
+import com.raytheon.uf.common.comm.NetworkStatistics;
 import com.raytheon.uf.common.datastorage.DuplicateRecordStorageException;
 import com.raytheon.uf.common.datastorage.IDataStore;
 import com.raytheon.uf.common.datastorage.Request;
@@ -86,6 +87,7 @@ import com.raytheon.uf.common.util.format.BytesFormat;
  * Feb 29, 2016  5420      tgurney     Remove timestampCheck arg from copy()
  * Nov 15, 2016  5992      bsteffen    Compress large records
  * Oct 19, 2017  6367      tgurney     Use logger instead of stdout
+ * Oct 19, 2026            agent       Track request time and concurrency
  *
  * </pre>
  *
@@ -300,12 +302,22 @@ public class PyPiesDataStore implements IDataStore {
         initializeProperties();
 
         Object ret = null;
+        NetworkStatistics stats = HttpClient.getInstance().getStats();
+        String statsId = obj.getClass().getSimpleName();
         long t0 = System.currentTimeMillis();
+        stats.requestStarted(statsId);
         try {
             ret = doSendRequest(obj, huge);
         } catch (Exception e) {
             throw new StorageException("Error communicating with pypies server",
                     null, e);
+        } finally {
+            /**
+             * Size information in NOT logged here. Sending a '1' for sent to
+             * trigger request increment.
+             */
+            stats.requestFinished(statsId, 1, 0,
+                    System.currentTimeMillis() - t0);
         }
         long time = System.currentTimeMillis() - t0;
 
@@ -342,15 +354,8 @@ public class PyPiesDataStore implements IDataStore {
             return SerializationUtil.transformFromThrift(Object.class, resp);
         } else {
             // can't stream to pypies due to WSGI spec not handling chunked http
-            Object response = HttpClient.getInstance()
-                    .postDynamicSerialize(address, obj, false);
-            /**
-             * Log that we have a message. Size information in NOT logged here.
-             * Sending a '1' for sent to trigger request increment.
-             */
-            HttpClient.getInstance().getStats()
-                    .log(obj.getClass().getSimpleName(), 1, 0);
-            return response;
+            return HttpClient.getInstance().postDynamicSerialize(address, obj,
+                    false);
         }
     }
 
@@ -0,0 +1,363 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pypies.records;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import com.raytheon.uf.common.pypies.records.CompressedDataRecord.Codec;
+import com.raytheon.uf.common.pypies.records.CompressedDataRecord.Type;
+import com.raytheon.uf.common.util.format.BytesFormat;
+
+/**
+ * Compresses primitive arrays for the block based {@link Codec}s.
+ * 
+ * The array is split into blocks of whole elements that are compressed
+ * independently in a shared {@link ForkJoinPool}. Each block is converted to
+ * big endian bytes, optionally shuffled by {@link ByteShuffle}, and then
+ * compressed with deflate or {@link LZ4BlockCodec}. The compressed data is the
+ * concatenation of the blocks, where each block is written as a 4 byte stored
+ * length, a 4 byte uncompressed length and the stored bytes. When compression
+ * does not make a block smaller it is stored uncompressed, which is
+ * indicated by the two lengths being equal.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+final class BlockCompressor {
+
+    private static final int BLOCK_SIZE = (int) BytesFormat
+            .parseSystemProperty("pypies.compression.blockSize", "1MiB");
+
+    private static final int BLOCK_HEADER_SIZE = 8;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Integer.getInteger("pypies.compression.threads",
+                    Runtime.getRuntime().availableProcessors()));
+
+    private BlockCompressor() {
+    }
+
+    /**
+     * Compress an array.
+     * 
+     * @param codec
+     *            a block based codec
+     * @param type
+     *            the type of array
+     * @param array
+     *            a primitive array of the given type
+     * @return the compressed blocks
+     */
+    static byte[] compress(final Codec codec, final Type type,
+            final Object array) {
+        int elementSize = getElementSize(type);
+        int length = Array.getLength(array);
+        int blockElements = Math.max(1, BLOCK_SIZE / elementSize);
+
+        List<ForkJoinTask<byte[]>> tasks = new ArrayList<>();
+        int start = 0;
+        while (length - start > blockElements) {
+            final int blockStart = start;
+            final int blockEnd = start + blockElements;
+            tasks.add(POOL.submit(new Callable<byte[]>() {
+
+                @Override
+                public byte[] call() {
+                    return compressBlock(codec, type, array, blockStart,
+                            blockEnd);
+                }
+            }));
+            start = blockEnd;
+        }
+        /* The calling thread compresses the last block itself. */
+        byte[] last = compressBlock(codec, type, array, start, length);
+
+        byte[][] blocks = new byte[tasks.size() + 1][];
+        int totalSize = last.length;
+        for (int i = 0; i < tasks.size(); i += 1) {
+            blocks[i] = tasks.get(i).join();
+            totalSize += blocks[i].length;
+        }
+        blocks[tasks.size()] = last;
+        byte[] result = new byte[totalSize];
+        int position = 0;
+        for (byte[] block : blocks) {
+            System.arraycopy(block, 0, result, position, block.length);
+            position += block.length;
+        }
+        return result;
+    }
+
+    private static byte[] compressBlock(Codec codec, Type type, Object array,
+            int start, int end) {
+        int elementSize = getElementSize(type);
+        byte[] raw = new byte[(end - start) * elementSize];
+        ByteBuffer rawBuffer = ByteBuffer.wrap(raw);
+        switch (type) {
+        case BYTE:
+            rawBuffer.put((byte[]) array, start, end - start);
+            break;
+        case SHORT:
+            rawBuffer.asShortBuffer().put((short[]) array, start, end - start);
+            break;
+        case INT:
+            rawBuffer.asIntBuffer().put((int[]) array, start, end - start);
+            break;
+        case LONG:
+            rawBuffer.asLongBuffer().put((long[]) array, start, end - start);
+            break;
+        case FLOAT:
+            rawBuffer.asFloatBuffer().put((float[]) array, start, end - start);
+            break;
+        case DOUBLE:
+            rawBuffer.asDoubleBuffer().put((double[]) array, start,
+                    end - start);
+            break;
+        default:
+            throw new IllegalArgumentException("Unexpected type: " + type);
+        }
+        if (codec.isShuffled() && elementSize > 1) {
+            raw = ByteShuffle.shuffle(raw, elementSize);
+        }
+
+        byte[] block;
+        int storedLength;
+        if (codec.isLZ4()) {
+            block = new byte[BLOCK_HEADER_SIZE
+                    + LZ4BlockCodec.maxCompressedLength(raw.length)];
+            storedLength = LZ4BlockCodec.compress(raw, 0, raw.length, block,
+                    BLOCK_HEADER_SIZE);
+        } else {
+            block = new byte[BLOCK_HEADER_SIZE + raw.length];
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                storedLength = 0;
+                while (!deflater.finished() && storedLength < raw.length) {
+                    storedLength += deflater.deflate(block,
+                            BLOCK_HEADER_SIZE + storedLength,
+                            raw.length - storedLength);
+                }
+                if (!deflater.finished()) {
+                    storedLength = raw.length;
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        if (storedLength >= raw.length) {
+            block = new byte[BLOCK_HEADER_SIZE + raw.length];
+            storedLength = raw.length;
+            System.arraycopy(raw, 0, block, BLOCK_HEADER_SIZE, raw.length);
+        }
+        block = Arrays.copyOf(block, BLOCK_HEADER_SIZE + storedLength);
+        ByteBuffer.wrap(block).putInt(storedLength).putInt(raw.length);
+        return block;
+    }
+
+    /**
+     * Reverse {@link #compress(Codec, Type, Object)}.
+     * 
+     * @param codec
+     *            a block based codec
+     * @param type
+     *            the type of array
+     * @param data
+     *            the compressed blocks
+     * @param length
+     *            the number of elements in the array
+     * @return a primitive array of the given type.
+     * @throws IOException
+     *             if the data is not valid for the codec.
+     */
+    static Object decompress(Codec codec, Type type, byte[] data, int length)
+            throws IOException {
+        int elementSize = getElementSize(type);
+        Object array = newArray(type, length);
+        ByteBuffer in = ByteBuffer.wrap(data);
+        int start = 0;
+        while (in.hasRemaining()) {
+            int storedLength = in.getInt();
+            int rawLength = in.getInt();
+            if (storedLength < 0 || storedLength > in.remaining()
+                    || rawLength < storedLength
+                    || rawLength > (length - start) * elementSize) {
+                throw new IOException("Invalid block header.");
+            }
+            byte[] raw = new byte[rawLength];
+            if (storedLength == rawLength) {
+                in.get(raw);
+            } else if (codec.isLZ4()) {
+                LZ4BlockCodec.decompress(data, in.position(), storedLength,
+                        raw, 0, rawLength);
+                in.position(in.position() + storedLength);
+            } else {
+                inflate(data, in.position(), storedLength, raw);
+                in.position(in.position() + storedLength);
+            }
+            if (codec.isShuffled() && elementSize > 1) {
+                raw = ByteShuffle.unshuffle(raw, elementSize);
+            }
+            int count = rawLength / elementSize;
+            copy(type, raw, array, start, count);
+            start += count;
+        }
+        if (start != length) {
+            throw new IOException("Decompressed " + start
+                    + " elements, expected " + length);
+        }
+        return array;
+    }
+
+    /**
+     * Decompress the single gzip stream used by {@link Codec#GZIP}.
+     */
+    static Object decompressGzip(Type type, byte[] data, int length)
+            throws IOException {
+        byte[] raw = new byte[length * getElementSize(type)];
+        try (InputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(data))) {
+            int position = 0;
+            while (position < raw.length) {
+                int read = in.read(raw, position, raw.length - position);
+                if (read < 0) {
+                    throw new IOException("Decompressed " + position
+                            + " bytes, expected " + raw.length);
+                }
+                position += read;
+            }
+        }
+        Object array = newArray(type, length);
+        copy(type, raw, array, 0, length);
+        return array;
+    }
+
+    private static void inflate(byte[] data, int offset, int length,
+            byte[] raw) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+            int position = 0;
+            while (position < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, position,
+                        raw.length - position);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                position += inflated;
+            }
+            if (position != raw.length) {
+                throw new IOException("Inflated " + position
+                        + " bytes, expected " + raw.length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid deflate block.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void copy(Type type, byte[] raw, Object array, int start,
+            int count) {
+        ByteBuffer rawBuffer = ByteBuffer.wrap(raw);
+        switch (type) {
+        case BYTE:
+            rawBuffer.get((byte[]) array, start, count);
+            break;
+        case SHORT:
+            rawBuffer.asShortBuffer().get((short[]) array, start, count);
+            break;
+        case INT:
+            rawBuffer.asIntBuffer().get((int[]) array, start, count);
+            break;
+        case LONG:
+            rawBuffer.asLongBuffer().get((long[]) array, start, count);
+            break;
+        case FLOAT:
+            rawBuffer.asFloatBuffer().get((float[]) array, start, count);
+            break;
+        case DOUBLE:
+            rawBuffer.asDoubleBuffer().get((double[]) array, start, count);
+            break;
+        default:
+            throw new IllegalArgumentException("Unexpected type: " + type);
+        }
+    }
+
+    private static Object newArray(Type type, int length) {
+        switch (type) {
+        case BYTE:
+            return new byte[length];
+        case SHORT:
+            return new short[length];
+        case INT:
+            return new int[length];
+        case LONG:
+            return new long[length];
+        case FLOAT:
+            return new float[length];
+        case DOUBLE:
+            return new double[length];
+        default:
+            throw new IllegalArgumentException("Unexpected type: " + type);
+        }
+    }
+
+    static int getElementSize(Type type) {
+        switch (type) {
+        case BYTE:
+            return 1;
+        case SHORT:
+            return 2;
+        case INT:
+        case FLOAT:
+            return 4;
+        case LONG:
+        case DOUBLE:
+            return 8;
+        default:
+            throw new IllegalArgumentException("Unexpected type: " + type);
+        }
+    }
+}
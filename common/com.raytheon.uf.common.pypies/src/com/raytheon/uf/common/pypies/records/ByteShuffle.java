@@ -0,0 +1,93 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pypies.records;
+
+/**
+ * The byte shuffle filter used by HDF5. The bytes of an array of fixed size
+ * elements are regrouped so that the first byte of every element comes first,
+ * followed by the second byte of every element and so on. For smoothly
+ * varying numeric data the high order bytes of neighboring elements are
+ * nearly always the same, so after shuffling they form long runs that a
+ * general purpose compressor can encode much more efficiently.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+final class ByteShuffle {
+
+    private ByteShuffle() {
+    }
+
+    /**
+     * Shuffle bytes.
+     * 
+     * @param src
+     *            the bytes of an array of elements
+     * @param elementSize
+     *            the number of bytes in each element
+     * @return a new array containing the shuffled bytes. Any trailing bytes
+     *         that do not make a full element are copied unchanged.
+     */
+    static byte[] shuffle(byte[] src, int elementSize) {
+        byte[] dest = new byte[src.length];
+        int count = src.length / elementSize;
+        for (int b = 0; b < elementSize; b += 1) {
+            int d = b * count;
+            for (int s = b; d < (b + 1) * count; s += elementSize) {
+                dest[d++] = src[s];
+            }
+        }
+        int full = count * elementSize;
+        System.arraycopy(src, full, dest, full, src.length - full);
+        return dest;
+    }
+
+    /**
+     * Reverse {@link #shuffle(byte[], int)}.
+     * 
+     * @param src
+     *            shuffled bytes
+     * @param elementSize
+     *            the number of bytes in each element
+     * @return a new array containing the bytes in element order.
+     */
+    static byte[] unshuffle(byte[] src, int elementSize) {
+        byte[] dest = new byte[src.length];
+        int count = src.length / elementSize;
+        for (int b = 0; b < elementSize; b += 1) {
+            int s = b * count;
+            for (int d = b; s < (b + 1) * count; d += elementSize) {
+                dest[d] = src[s++];
+            }
+        }
+        int full = count * elementSize;
+        System.arraycopy(src, full, dest, full, src.length - full);
+        return dest;
+    }
+}
@@ -50,6 +50,12 @@ import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
  * Record containing gzip compressed version of data. This is intended to reduce
  * the bandwidth usage when communicating with pypies.
  * 
+ * By default the data is a single gzip stream. Other {@link Codec}s can be
+ * selected with the pypies.compression.codec system property, these compress
+ * independent blocks of the data in parallel and may byte shuffle the data
+ * first, which compresses smooth gridded fields much better. The codec is
+ * recorded in the record so pypies can decompress it.
+ * 
  * <pre>
  *
  * SOFTWARE HISTORY
@@ -57,6 +63,7 @@ import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
  * Date          Ticket#  Engineer  Description
  * ------------- -------- --------- -----------------
  * Nov 15, 2016  5992     bsteffen  Initial creation
+ * Oct 19, 2026           agent     Add block based codecs, fix DOUBLE type
  * 
  * </pre>
  *
@@ -69,16 +76,64 @@ public class CompressedDataRecord extends AbstractStorageRecord {
 
     private static final int COMPRESSION_RATIO_ASSUMPTION = 4;
 
+    private static final Codec DEFAULT_CODEC = getDefaultCodec();
+
     public static enum Type {
         BYTE, SHORT, INT, LONG, FLOAT, DOUBLE;
     }
 
+    /**
+     * The format of the compressed data. All codecs other than GZIP are block
+     * based, see {@link BlockCompressor} for a description of the format.
+     */
+    public static enum Codec {
+
+        /** A single gzip stream, understood by every version of pypies. */
+        GZIP(false, false),
+
+        /** Blocks compressed with deflate. */
+        DEFLATE(false, false),
+
+        /** Byte shuffled blocks compressed with deflate. */
+        SHUFFLE_DEFLATE(true, false),
+
+        /** Blocks compressed with LZ4, faster but larger than deflate. */
+        LZ4(false, true),
+
+        /** Byte shuffled blocks compressed with LZ4. */
+        SHUFFLE_LZ4(true, true);
+
+        private final boolean shuffled;
+
+        private final boolean lz4;
+
+        private Codec(boolean shuffled, boolean lz4) {
+            this.shuffled = shuffled;
+            this.lz4 = lz4;
+        }
+
+        public boolean isShuffled() {
+            return shuffled;
+        }
+
+        public boolean isLZ4() {
+            return lz4;
+        }
+    }
+
     @DynamicSerializeElement
     private byte[] compressedData;
 
     @DynamicSerializeElement
     private Type type;
 
+    /**
+     * Null for {@link Codec#GZIP} so that records can still be read by
+     * versions of pypies that do not know about codecs.
+     */
+    @DynamicSerializeElement
+    private Codec codec;
+
     @Override
     public boolean validateDataSet() {
         return true;
@@ -116,10 +171,45 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         this.type = type;
     }
 
+    public Codec getCodec() {
+        return codec;
+    }
+
+    public void setCodec(Codec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Decompress the data in this record. This is not needed for storing data
+     * since pypies does its own decompression but it is useful for verifying
+     * the compressed data.
+     * 
+     * @return a primitive array matching the type of this record.
+     * @throws StorageException
+     *             if the data cannot be decompressed.
+     */
+    public Object decompress() throws StorageException {
+        long length = 1;
+        for (long size : getSizes()) {
+            length *= size;
+        }
+        try {
+            if (codec == null || codec == Codec.GZIP) {
+                return BlockCompressor.decompressGzip(type, compressedData,
+                        (int) length);
+            }
+            return BlockCompressor.decompress(codec, type, compressedData,
+                    (int) length);
+        } catch (IOException e) {
+            throw new StorageException("Error decompressing Data", this, e);
+        }
+    }
+
     @Override
     protected CompressedDataRecord cloneInternal() {
         CompressedDataRecord record = new CompressedDataRecord();
         record.type = type;
+        record.codec = codec;
         if (compressedData != null) {
             record.compressedData = Arrays.copyOf(compressedData,
                     compressedData.length);
@@ -133,6 +223,29 @@ public class CompressedDataRecord extends AbstractStorageRecord {
      */
     public static IDataRecord convert(IDataRecord sourceRecord)
             throws StorageException {
+        return convert(sourceRecord, DEFAULT_CODEC);
+    }
+
+    /**
+     * Convert to a compressed record using a specific codec, only if the type
+     * of the record supports compression. Otherwise the original record is
+     * returned.
+     */
+    public static IDataRecord convert(IDataRecord sourceRecord, Codec codec)
+            throws StorageException {
+        if (codec != Codec.GZIP) {
+            Type type = getType(sourceRecord);
+            if (type == null) {
+                return sourceRecord;
+            }
+            CompressedDataRecord compressedRecord = cloneMetadata(
+                    sourceRecord);
+            compressedRecord.setType(type);
+            compressedRecord.setCodec(codec);
+            compressedRecord.setCompressedData(BlockCompressor.compress(codec,
+                    type, sourceRecord.getDataObject()));
+            return compressedRecord;
+        }
         try {
             if (sourceRecord instanceof ByteDataRecord) {
                 return convertByte((ByteDataRecord) sourceRecord);
@@ -148,11 +261,41 @@ public class CompressedDataRecord extends AbstractStorageRecord {
                 return convertDouble((DoubleDataRecord) sourceRecord);
             }
         } catch (IOException e) {
-            throw new StorageException("Error compressing Data", sourceRecord);
+            throw new StorageException("Error compressing Data", sourceRecord,
+                    e);
         }
         return sourceRecord;
     }
 
+    private static Type getType(IDataRecord sourceRecord) {
+        if (sourceRecord instanceof ByteDataRecord) {
+            return Type.BYTE;
+        } else if (sourceRecord instanceof ShortDataRecord) {
+            return Type.SHORT;
+        } else if (sourceRecord instanceof IntegerDataRecord) {
+            return Type.INT;
+        } else if (sourceRecord instanceof LongDataRecord) {
+            return Type.LONG;
+        } else if (sourceRecord instanceof FloatDataRecord) {
+            return Type.FLOAT;
+        } else if (sourceRecord instanceof DoubleDataRecord) {
+            return Type.DOUBLE;
+        }
+        return null;
+    }
+
+    private static Codec getDefaultCodec() {
+        String codec = System.getProperty("pypies.compression.codec");
+        if (codec != null) {
+            try {
+                return Codec.valueOf(codec.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                /* Fall back to the codec every server understands. */
+            }
+        }
+        return Codec.GZIP;
+    }
+
     private static CompressedDataRecord cloneMetadata(
             IDataRecord sourceRecord) {
         CompressedDataRecord compressedRecord = new CompressedDataRecord();
@@ -348,7 +491,7 @@ public class CompressedDataRecord extends AbstractStorageRecord {
             stream.finish();
             compressedRecord.setCompressedData(byteStream.toByteArray());
         }
-        compressedRecord.setType(Type.FLOAT);
+        compressedRecord.setType(Type.DOUBLE);
 
         return compressedRecord;
     }
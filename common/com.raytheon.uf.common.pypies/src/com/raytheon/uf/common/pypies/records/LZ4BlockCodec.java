@@ -0,0 +1,250 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pypies.records;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pure java implementation of the LZ4 block format. LZ4 is a byte oriented
+ * LZ77 compressor that trades some compression ratio for being several times
+ * faster than deflate in both directions. Blocks produced by this class can
+ * be decoded by any LZ4 implementation, for example lz4.block in python.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+final class LZ4BlockCodec {
+
+    private static final int MIN_MATCH = 4;
+
+    /** The format requires the last 5 bytes to be literals. */
+    private static final int LAST_LITERALS = 5;
+
+    /** The format requires the last match to start 12 bytes from the end. */
+    private static final int MF_LIMIT = 12;
+
+    private static final int MAX_DISTANCE = 0xFFFF;
+
+    private static final int HASH_LOG = 14;
+
+    /** Search faster through data which is not compressing. */
+    private static final int SKIP_STRENGTH = 6;
+
+    private static final int RUN_MASK = 0x0F;
+
+    private LZ4BlockCodec() {
+    }
+
+    /**
+     * @return the largest possible size of compressed data for an input of
+     *         the given length.
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compress bytes.
+     * 
+     * @param src
+     *            the uncompressed bytes
+     * @param srcOff
+     *            the first byte to compress
+     * @param srcLen
+     *            the number of bytes to compress
+     * @param dest
+     *            the destination for compressed bytes, must have space for at
+     *            least {@link #maxCompressedLength(int)} bytes after destOff.
+     * @param destOff
+     *            the position of the first compressed byte in dest
+     * @return the number of compressed bytes
+     */
+    static int compress(byte[] src, int srcOff, int srcLen, byte[] dest,
+            int destOff) {
+        int srcEnd = srcOff + srcLen;
+        int matchLimit = srcEnd - LAST_LITERALS;
+        int mfLimit = srcEnd - MF_LIMIT;
+        int anchor = srcOff;
+        int dp = destOff;
+        if (srcLen > MF_LIMIT) {
+            int[] table = new int[1 << HASH_LOG];
+            Arrays.fill(table, -1);
+            int sp = srcOff;
+            while (sp < mfLimit) {
+                int sequence = readInt(src, sp);
+                int hash = (sequence * -1640531535) >>> (32 - HASH_LOG);
+                int ref = table[hash];
+                table[hash] = sp;
+                if (ref < 0 || sp - ref > MAX_DISTANCE
+                        || readInt(src, ref) != sequence) {
+                    sp += 1 + ((sp - anchor) >>> SKIP_STRENGTH);
+                    continue;
+                }
+                while (sp > anchor && ref > srcOff
+                        && src[sp - 1] == src[ref - 1]) {
+                    sp -= 1;
+                    ref -= 1;
+                }
+                int matchLength = MIN_MATCH;
+                while (sp + matchLength < matchLimit
+                        && src[sp + matchLength] == src[ref + matchLength]) {
+                    matchLength += 1;
+                }
+
+                int token = dp++;
+                int literalLength = sp - anchor;
+                dp = writeLiterals(src, anchor, literalLength, dest, token,
+                        dp);
+                int offset = sp - ref;
+                dest[dp++] = (byte) offset;
+                dest[dp++] = (byte) (offset >>> 8);
+                int runLength = matchLength - MIN_MATCH;
+                if (runLength >= RUN_MASK) {
+                    dest[token] |= RUN_MASK;
+                    dp = writeLength(dest, dp, runLength - RUN_MASK);
+                } else {
+                    dest[token] |= runLength;
+                }
+
+                sp += matchLength;
+                anchor = sp;
+            }
+        }
+        int token = dp++;
+        dp = writeLiterals(src, anchor, srcEnd - anchor, dest, token, dp);
+        return dp - destOff;
+    }
+
+    /**
+     * Decompress bytes.
+     * 
+     * @param src
+     *            the compressed bytes
+     * @param srcOff
+     *            the first compressed byte
+     * @param srcLen
+     *            the number of compressed bytes
+     * @param dest
+     *            the destination of the uncompressed bytes
+     * @param destOff
+     *            the position of the first uncompressed byte in dest
+     * @param destLen
+     *            the expected number of uncompressed bytes
+     * @throws IOException
+     *             if the compressed bytes are not valid.
+     */
+    static void decompress(byte[] src, int srcOff, int srcLen, byte[] dest,
+            int destOff, int destLen) throws IOException {
+        int sp = srcOff;
+        int srcEnd = srcOff + srcLen;
+        int dp = destOff;
+        int destEnd = destOff + destLen;
+        try {
+            while (true) {
+                int token = src[sp++] & 0xFF;
+                int literalLength = token >>> 4;
+                if (literalLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[sp++] & 0xFF;
+                        literalLength += b;
+                    } while (b == 0xFF);
+                }
+                if (literalLength > srcEnd - sp
+                        || literalLength > destEnd - dp) {
+                    throw new IOException("Literals exceed block bounds.");
+                }
+                System.arraycopy(src, sp, dest, dp, literalLength);
+                sp += literalLength;
+                dp += literalLength;
+                if (sp == srcEnd) {
+                    break;
+                }
+
+                int offset = (src[sp++] & 0xFF) | ((src[sp++] & 0xFF) << 8);
+                int matchLength = token & RUN_MASK;
+                if (matchLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[sp++] & 0xFF;
+                        matchLength += b;
+                    } while (b == 0xFF);
+                }
+                matchLength += MIN_MATCH;
+                int ref = dp - offset;
+                if (offset == 0 || ref < destOff
+                        || matchLength > destEnd - dp) {
+                    throw new IOException("Invalid match in block.");
+                }
+                if (offset >= matchLength) {
+                    System.arraycopy(dest, ref, dest, dp, matchLength);
+                    dp += matchLength;
+                } else {
+                    /* Overlapping copy repeats the last offset bytes. */
+                    for (int end = dp + matchLength; dp < end; dp += 1) {
+                        dest[dp] = dest[ref++];
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Truncated block.", e);
+        }
+        if (dp != destEnd) {
+            throw new IOException("Block decompressed to " + (dp - destOff)
+                    + " bytes, expected " + destLen);
+        }
+    }
+
+    private static int writeLiterals(byte[] src, int start, int length,
+            byte[] dest, int token, int dp) {
+        if (length >= RUN_MASK) {
+            dest[token] = (byte) (RUN_MASK << 4);
+            dp = writeLength(dest, dp, length - RUN_MASK);
+        } else {
+            dest[token] = (byte) (length << 4);
+        }
+        System.arraycopy(src, start, dest, dp, length);
+        return dp + length;
+    }
+
+    private static int writeLength(byte[] dest, int dp, int length) {
+        while (length >= 0xFF) {
+            dest[dp++] = (byte) 0xFF;
+            length -= 0xFF;
+        }
+        dest[dp++] = (byte) length;
+        return dp;
+    }
+
+    private static int readInt(byte[] src, int i) {
+        return (src[i] & 0xFF) | ((src[i + 1] & 0xFF) << 8)
+                | ((src[i + 2] & 0xFF) << 16) | ((src[i + 3] & 0xFF) << 24);
+    }
+}
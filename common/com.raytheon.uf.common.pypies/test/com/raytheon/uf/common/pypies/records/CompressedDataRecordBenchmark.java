@@ -0,0 +1,189 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pypies.records;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.datastorage.records.ShortDataRecord;
+import com.raytheon.uf.common.pypies.records.CompressedDataRecord.Codec;
+
+/**
+ * Measures the compression ratio and throughput of each {@link Codec} and
+ * verifies that every codec reproduces the original data.
+ * 
+ * Synthetic fields are always measured. Captured grid fields can be included
+ * by passing files of raw big endian 32 bit floats as arguments, for example
+ * a dataset exported with "h5dump -b BE -d /path/Data -o field.bin file.h5".
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class CompressedDataRecordBenchmark {
+
+    private static final int NX = 1500;
+
+    private static final int NY = 1200;
+
+    private static final long MIN_RUN_NANOS = 1000000000L;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, IDataRecord> fields = new LinkedHashMap<>();
+        fields.put("smooth float", smoothField());
+        fields.put("quantized float", quantizedField());
+        fields.put("noisy float", noisyField());
+        fields.put("radar short", radarField());
+        for (String arg : args) {
+            fields.put(new File(arg).getName(), readField(new File(arg)));
+        }
+
+        System.out.println(String.format("%-18s %-16s %7s %10s %10s",
+                "field", "codec", "ratio", "comp MB/s", "decomp MB/s"));
+        for (Map.Entry<String, IDataRecord> field : fields.entrySet()) {
+            IDataRecord record = field.getValue();
+            double megabytes = record.getSizeInBytes() / (1024.0 * 1024.0);
+            for (Codec codec : Codec.values()) {
+                CompressedDataRecord compressed = null;
+                int runs = 0;
+                long start = System.nanoTime();
+                long elapsed;
+                do {
+                    compressed = (CompressedDataRecord) CompressedDataRecord
+                            .convert(record, codec);
+                    runs += 1;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < MIN_RUN_NANOS);
+                double compressRate = megabytes * runs / (elapsed / 1.0e9);
+
+                Object data = null;
+                runs = 0;
+                start = System.nanoTime();
+                do {
+                    data = compressed.decompress();
+                    runs += 1;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < MIN_RUN_NANOS);
+                double decompressRate = megabytes * runs / (elapsed / 1.0e9);
+
+                if (!Arrays.deepEquals(new Object[] { data },
+                        new Object[] { record.getDataObject() })) {
+                    throw new IllegalStateException(codec
+                            + " did not reproduce " + field.getKey());
+                }
+                double ratio = (double) record.getSizeInBytes()
+                        / compressed.getSizeInBytes();
+                System.out.println(String.format(
+                        "%-18s %-16s %7.2f %10.1f %10.1f", field.getKey(),
+                        codec, ratio, compressRate, decompressRate));
+            }
+        }
+    }
+
+    /**
+     * A temperature like field with large scale gradients and waves.
+     */
+    private static IDataRecord smoothField() {
+        float[] data = new float[NX * NY];
+        for (int y = 0; y < NY; y += 1) {
+            for (int x = 0; x < NX; x += 1) {
+                data[y * NX + x] = (float) (290 - 40.0 * y / NY
+                        + 5 * Math.sin(x / 90.0) * Math.cos(y / 70.0));
+            }
+        }
+        return new FloatDataRecord("smooth", "/", data, 2,
+                new long[] { NX, NY });
+    }
+
+    /**
+     * The smooth field rounded to the precision of a packed grib field.
+     */
+    private static IDataRecord quantizedField() {
+        float[] data = ((FloatDataRecord) smoothField()).getFloatData();
+        for (int i = 0; i < data.length; i += 1) {
+            data[i] = Math.round(data[i] * 10) / 10.0f;
+        }
+        return new FloatDataRecord("quantized", "/", data, 2,
+                new long[] { NX, NY });
+    }
+
+    /**
+     * The smooth field with random noise in every bit of the mantissa.
+     */
+    private static IDataRecord noisyField() {
+        float[] data = ((FloatDataRecord) smoothField()).getFloatData();
+        Random random = new Random(0);
+        for (int i = 0; i < data.length; i += 1) {
+            data[i] += (float) random.nextGaussian();
+        }
+        return new FloatDataRecord("noisy", "/", data, 2,
+                new long[] { NX, NY });
+    }
+
+    /**
+     * Mostly empty short data with scattered cells of echoes.
+     */
+    private static IDataRecord radarField() {
+        short[] data = new short[NX * NY];
+        Random random = new Random(0);
+        for (int cell = 0; cell < 200; cell += 1) {
+            int cx = random.nextInt(NX);
+            int cy = random.nextInt(NY);
+            int radius = 5 + random.nextInt(40);
+            for (int y = Math.max(0, cy - radius); y < Math.min(NY,
+                    cy + radius); y += 1) {
+                for (int x = Math.max(0, cx - radius); x < Math.min(NX,
+                        cx + radius); x += 1) {
+                    double distance = Math.hypot(x - cx, y - cy);
+                    if (distance < radius) {
+                        data[y * NX + x] = (short) Math.max(data[y * NX + x],
+                                (int) (60 * (1 - distance / radius)));
+                    }
+                }
+            }
+        }
+        return new ShortDataRecord("radar", "/", data, 2,
+                new long[] { NX, NY });
+    }
+
+    private static IDataRecord readField(File file) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        float[] data = new float[bytes.remaining() / 4];
+        bytes.asFloatBuffer().get(data);
+        return new FloatDataRecord(file.getName(), "/", data, 1,
+                new long[] { data.length });
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pypies.records;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.StorageException;
+import com.raytheon.uf.common.datastorage.records.ByteDataRecord;
+import com.raytheon.uf.common.datastorage.records.DoubleDataRecord;
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.datastorage.records.IntegerDataRecord;
+import com.raytheon.uf.common.datastorage.records.LongDataRecord;
+import com.raytheon.uf.common.datastorage.records.ShortDataRecord;
+import com.raytheon.uf.common.pypies.records.CompressedDataRecord.Codec;
+import com.raytheon.uf.common.pypies.records.CompressedDataRecord.Type;
+import com.raytheon.uf.common.util.format.BytesFormat;
+
+/**
+ * Test {@link CompressedDataRecord} and the {@link BlockCompressor} and
+ * {@link LZ4BlockCodec} it uses.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestCompressedDataRecord {
+
+    private static final int BLOCK_SIZE = (int) BytesFormat
+            .parseSystemProperty("pypies.compression.blockSize", "1MiB");
+
+    /**
+     * Create a record with a smooth run of values followed by a run of random
+     * values, so blocks are a mix of compressible and incompressible data.
+     */
+    private static IDataRecord createRecord(Type type, int length) {
+        Random random = new Random(length);
+        double[] values = new double[length];
+        for (int i = 0; i < length; i += 1) {
+            if (i % 4096 < 2048) {
+                values[i] = 100 * Math.sin(i / 500.0);
+            } else {
+                values[i] = random.nextGaussian() * 1000;
+            }
+        }
+        long[] sizes = new long[] { length };
+        switch (type) {
+        case BYTE: {
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i += 1) {
+                data[i] = (byte) values[i];
+            }
+            return new ByteDataRecord("byte", "/", data, 1, sizes);
+        }
+        case SHORT: {
+            short[] data = new short[length];
+            for (int i = 0; i < length; i += 1) {
+                data[i] = (short) values[i];
+            }
+            return new ShortDataRecord("short", "/", data, 1, sizes);
+        }
+        case INT: {
+            int[] data = new int[length];
+            for (int i = 0; i < length; i += 1) {
+                data[i] = (int) values[i];
+            }
+            return new IntegerDataRecord("int", "/", data, 1, sizes);
+        }
+        case LONG: {
+            long[] data = new long[length];
+            for (int i = 0; i < length; i += 1) {
+                data[i] = (long) values[i];
+            }
+            return new LongDataRecord("long", "/", data, 1, sizes);
+        }
+        case FLOAT: {
+            float[] data = new float[length];
+            for (int i = 0; i < length; i += 1) {
+                data[i] = (float) values[i];
+            }
+            return new FloatDataRecord("float", "/", data, 1, sizes);
+        }
+        case DOUBLE:
+            return new DoubleDataRecord("double", "/", values, 1, sizes);
+        default:
+            throw new IllegalArgumentException("Unexpected type: " + type);
+        }
+    }
+
+    private static void assertRoundTrip(Codec codec, Type type, int length)
+            throws StorageException {
+        IDataRecord record = createRecord(type, length);
+        CompressedDataRecord compressed = (CompressedDataRecord) CompressedDataRecord
+                .convert(record, codec);
+        String message = codec + " " + type + " " + length;
+        assertEquals(message, type, compressed.getType());
+        assertTrue(message, Arrays.deepEquals(
+                new Object[] { record.getDataObject() },
+                new Object[] { compressed.decompress() }));
+    }
+
+    @Test
+    public void testRoundTrip() throws StorageException {
+        for (Codec codec : Codec.values()) {
+            for (Type type : Type.values()) {
+                for (int length : new int[] { 0, 1, 7, 10000 }) {
+                    assertRoundTrip(codec, type, length);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBlockBoundaries() throws StorageException {
+        for (Codec codec : Codec.values()) {
+            if (codec == Codec.GZIP) {
+                continue;
+            }
+            for (Type type : Type.values()) {
+                int blockElements = BLOCK_SIZE
+                        / BlockCompressor.getElementSize(type);
+                for (int length : new int[] { blockElements - 1,
+                        blockElements, blockElements + 1,
+                        2 * blockElements + 3 }) {
+                    assertRoundTrip(codec, type, length);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLZ4Repetition() throws IOException {
+        byte[] raw = new byte[100000];
+        for (int i = 0; i < raw.length; i += 1) {
+            raw[i] = (byte) (i % 3);
+        }
+        byte[] compressed = new byte[LZ4BlockCodec
+                .maxCompressedLength(raw.length)];
+        int length = LZ4BlockCodec.compress(raw, 0, raw.length, compressed,
+                0);
+        assertTrue(length < raw.length / 10);
+        byte[] result = new byte[raw.length];
+        LZ4BlockCodec.decompress(compressed, 0, length, result, 0,
+                result.length);
+        assertTrue(Arrays.equals(raw, result));
+    }
+
+    @Test
+    public void testLZ4MalformedInput() {
+        byte[] raw = new byte[10000];
+        for (int i = 0; i < raw.length; i += 1) {
+            raw[i] = (byte) (i % 251 / 10);
+        }
+        byte[] compressed = new byte[LZ4BlockCodec
+                .maxCompressedLength(raw.length)];
+        int length = LZ4BlockCodec.compress(raw, 0, raw.length, compressed,
+                0);
+        byte[] result = new byte[raw.length];
+
+        /* Every truncation must be detected. */
+        for (int truncated = 0; truncated < length; truncated += 1) {
+            assertMalformed(compressed, truncated, result);
+        }
+
+        /* Corruption must be detected or decoded within bounds. */
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i += 1) {
+            byte[] corrupt = Arrays.copyOf(compressed, length);
+            corrupt[random.nextInt(length)] = (byte) random.nextInt();
+            try {
+                LZ4BlockCodec.decompress(corrupt, 0, length, result, 0,
+                        result.length);
+            } catch (IOException e) {
+                /* expected for most corruptions */
+            }
+        }
+
+        byte[] garbage = new byte[1000];
+        for (int i = 0; i < 1000; i += 1) {
+            random.nextBytes(garbage);
+            try {
+                LZ4BlockCodec.decompress(garbage, 0, garbage.length, result,
+                        0, result.length);
+            } catch (IOException e) {
+                /* expected */
+            }
+        }
+    }
+
+    private static void assertMalformed(byte[] compressed, int length,
+            byte[] result) {
+        try {
+            LZ4BlockCodec.decompress(compressed, 0, length, result, 0,
+                    result.length);
+            fail("Decompressed " + length + " truncated bytes");
+        } catch (IOException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testTruncatedRecord() throws StorageException {
+        for (Codec codec : Codec.values()) {
+            CompressedDataRecord compressed = (CompressedDataRecord) CompressedDataRecord
+                    .convert(createRecord(Type.FLOAT, 10000), codec);
+            byte[] data = compressed.getCompressedData();
+            compressed.setCompressedData(Arrays.copyOf(data, data.length / 2));
+            try {
+                compressed.decompress();
+                fail(codec + " decompressed truncated data");
+            } catch (StorageException e) {
+                /* expected */
+            }
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.comm;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link IRequestHandler} whose responses may be cached by the server
+ * and returned to any client sending an identical request. Only handlers for
+ * idempotent requests, whose results do not depend on the user making the
+ * request, should be annotated.
+ * 
+ * Cached responses expire after {@link #timeToLive()} and are evicted least
+ * recently used first once a handler has more than {@link #maxEntries()}
+ * responses cached. Responses can also be discarded early when a notification
+ * for one of the {@link #invalidatedBy()} groups is received. Null responses
+ * are never cached.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+@Documented
+public @interface CacheableResponse {
+
+    /** Invalidation group notified when a localization file changes. */
+    public static final String LOCALIZATION = "localization";
+
+    /** Invalidation group notified when a level is created. */
+    public static final String LEVEL = "level";
+
+    /**
+     * @return the time in milliseconds a cached response is valid for
+     */
+    long timeToLive() default 60_000L;
+
+    /**
+     * @return the maximum number of responses cached for the handler
+     */
+    int maxEntries() default 100;
+
+    /**
+     * @return the maximum size in bytes of a single serialized response that
+     *         will be cached, larger responses are always regenerated
+     */
+    int maxResponseBytes() default 1024 * 1024;
+
+    /**
+     * Groups whose notifications invalidate every cached response of the
+     * handler. A group is either {@link #LOCALIZATION}, {@link #LEVEL} or the
+     * name of a plugin, in which case responses are invalidated whenever new data for that
+     * plugin is ingested.
+     * 
+     * @return the invalidation groups
+     */
+    String[] invalidatedBy() default {};
+
+}
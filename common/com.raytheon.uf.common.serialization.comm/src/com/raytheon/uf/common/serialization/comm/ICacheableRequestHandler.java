@@ -0,0 +1,53 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.comm;
+
+/**
+ * Optional interface for {@link IRequestHandler}s annotated with
+ * {@link CacheableResponse} that only want a subset of the requests they
+ * handle to be cached, for example a handler that accepts both queries and
+ * updates.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+
+public interface ICacheableRequestHandler<P extends IServerRequest>
+        extends IRequestHandler<P> {
+
+    /**
+     * Determine whether the response to a request may be cached. This is
+     * called before the request is executed.
+     * 
+     * @param request
+     *            the request about to be executed
+     * @return true if the response may be cached and shared with other clients
+     */
+    public boolean isCacheable(P request);
+
+}
@@ -0,0 +1,172 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.stats.data;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+import com.raytheon.uf.common.status.metrics.LatencySnapshot;
+
+/**
+ * Serializable copy of a {@link LatencySnapshot}. All durations are in
+ * milliseconds.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+@DynamicSerialize
+public class LatencyStatsData {
+
+    @DynamicSerializeElement
+    private String prefix;
+
+    @DynamicSerializeElement
+    private String message;
+
+    @DynamicSerializeElement
+    private long startTime;
+
+    @DynamicSerializeElement
+    private long endTime;
+
+    @DynamicSerializeElement
+    private long count;
+
+    @DynamicSerializeElement
+    private double mean;
+
+    @DynamicSerializeElement
+    private long p50;
+
+    @DynamicSerializeElement
+    private long p90;
+
+    @DynamicSerializeElement
+    private long p99;
+
+    @DynamicSerializeElement
+    private long max;
+
+    public LatencyStatsData() {
+
+    }
+
+    public LatencyStatsData(LatencySnapshot snapshot) {
+        this.prefix = snapshot.getPrefix();
+        this.message = snapshot.getMessage();
+        this.startTime = snapshot.getStartTime();
+        this.endTime = snapshot.getEndTime();
+        this.count = snapshot.getCount();
+        this.mean = snapshot.getMean();
+        this.p50 = snapshot.getP50();
+        this.p90 = snapshot.getP90();
+        this.p99 = snapshot.getP99();
+        this.max = snapshot.getMax();
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(long endTime) {
+        this.endTime = endTime;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public void setP50(long p50) {
+        this.p50 = p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public void setP90(long p90) {
+        this.p90 = p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public void setP99(long p99) {
+        this.p99 = p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public void setMax(long max) {
+        this.max = max;
+    }
+
+}
@@ -3,6 +3,8 @@ package com.raytheon.uf.common.status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.raytheon.uf.common.status.metrics.LatencyRegistry;
+
 /**
  * Log4j Performance status handler.
  * 
@@ -14,6 +16,7 @@ import org.slf4j.LoggerFactory;
  * ------------ ---------- ----------- --------------------------
  * Feb 14, 2013   1584     mpduff      Initial creation
  * Jun 27, 2013   2142     njensen     Switched to SLF4J
+ * Oct 19, 2026            agent       Record durations in the LatencyRegistry
  * 
  * </pre>
  * 
@@ -51,6 +54,7 @@ public class Log4JPerformanceStatusHandler implements IPerformanceStatusHandler
      */
     @Override
     public void logDuration(String message, long timeMs) {
+        LatencyRegistry.getInstance().record(prefix, message, timeMs);
         perfLog.info(prefix + " " + message + " took " + timeMs + " ms");
     }
 }
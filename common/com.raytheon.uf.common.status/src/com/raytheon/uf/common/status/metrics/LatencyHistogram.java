@@ -0,0 +1,221 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.status.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Log-linear histogram of durations in milliseconds. Values below 16 have
+ * their own bucket; above that each power of two is split into 16 buckets, so
+ * any reported value is within about 6% of the recorded value.
+ * 
+ * Recordings are spread over a fixed number of striped buffers chosen by a
+ * hash of the recording thread, so recording never locks and threads rarely
+ * contend, while the memory used does not grow with the number of threads.
+ * Each buffer is allocated when a thread first records into it. Buffers are
+ * never cleared; {@link #snapshot(long[])} reports the difference from a
+ * baseline so that a reset cannot lose a concurrent recording.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Largest value that is tracked exactly, larger values are clamped. */
+    private static final long MAX_VALUE = Integer.MAX_VALUE;
+
+    private static final int MAX_EXPONENT = 63 - Long
+            .numberOfLeadingZeros(MAX_VALUE);
+
+    /** Number of buckets in each buffer. */
+    static final int BUCKETS = SUB_BUCKETS
+            + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /** Index of the sum of all values in each buffer. */
+    static final int SUM = BUCKETS;
+
+    /** Size of each buffer and of the baseline used for snapshots. */
+    static final int LENGTH = BUCKETS + 1;
+
+    /** Number of striped buffers, a power of two no larger than 16. */
+    private static final int STRIPES = Integer.highestOneBit(Math.max(1,
+            Math.min(Integer.getInteger("latency.metrics.stripes", Runtime
+                    .getRuntime().availableProcessors()), 16)) * 2 - 1);
+
+    private final String prefix;
+
+    private final String message;
+
+    private final AtomicReferenceArray<AtomicLongArray> buffers = new AtomicReferenceArray<>(
+            STRIPES);
+
+    public LatencyHistogram(String prefix, String message) {
+        this.prefix = prefix;
+        this.message = message;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Record a duration. Negative durations are recorded as 0.
+     * 
+     * @param timeMs
+     */
+    public void record(long timeMs) {
+        long value = Math.max(0, Math.min(timeMs, MAX_VALUE));
+        int stripe = getStripe(Thread.currentThread().getId());
+        AtomicLongArray buffer = buffers.get(stripe);
+        if (buffer == null) {
+            buffers.compareAndSet(stripe, null, new AtomicLongArray(LENGTH));
+            buffer = buffers.get(stripe);
+        }
+        buffer.incrementAndGet(getIndex(value));
+        buffer.addAndGet(SUM, value);
+    }
+
+    /**
+     * @return the stripe for a thread id, spreading sequential ids evenly.
+     */
+    static int getStripe(long threadId) {
+        long hash = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (STRIPES - 1);
+    }
+
+    /**
+     * Add the current totals of every buffer into counts.
+     * 
+     * @param counts
+     *            array of length {@link #LENGTH}
+     */
+    void sum(long[] counts) {
+        for (int stripe = 0; stripe < STRIPES; stripe += 1) {
+            AtomicLongArray buffer = buffers.get(stripe);
+            if (buffer == null) {
+                continue;
+            }
+            for (int i = 0; i < LENGTH; i += 1) {
+                counts[i] += buffer.get(i);
+            }
+        }
+    }
+
+    /**
+     * Summarize everything recorded since the baseline.
+     * 
+     * @param baseline
+     *            totals from a previous call to {@link #sum(long[])}, or
+     *            null to summarize everything ever recorded
+     * @param current
+     *            totals from {@link #sum(long[])}
+     * @param startTime
+     *            start of the interval being summarized
+     * @return the snapshot
+     */
+    LatencySnapshot snapshot(long[] baseline, long[] current, long startTime) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i += 1) {
+            count += delta(baseline, current, i);
+        }
+        long sum = delta(baseline, current, SUM);
+        long p50 = 0;
+        long p90 = 0;
+        long p99 = 0;
+        long max = 0;
+        if (count > 0) {
+            long p50Rank = rank(count, 0.50);
+            long p90Rank = rank(count, 0.90);
+            long p99Rank = rank(count, 0.99);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i += 1) {
+                long n = delta(baseline, current, i);
+                if (n == 0) {
+                    continue;
+                }
+                long before = seen;
+                seen += n;
+                long value = getHighestValue(i);
+                if (before < p50Rank && seen >= p50Rank) {
+                    p50 = value;
+                }
+                if (before < p90Rank && seen >= p90Rank) {
+                    p90 = value;
+                }
+                if (before < p99Rank && seen >= p99Rank) {
+                    p99 = value;
+                }
+                max = value;
+            }
+        }
+        return new LatencySnapshot(prefix, message, startTime,
+                System.currentTimeMillis(), count, sum, p50, p90, p99, max);
+    }
+
+    private static long delta(long[] baseline, long[] current, int index) {
+        return baseline == null ? current[index] : current[index]
+                - baseline[index];
+    }
+
+    private static long rank(long count, double percentile) {
+        return Math.max(1, (long) Math.ceil(count * percentile));
+    }
+
+    static int getIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest value that falls in the bucket.
+     */
+    static long getHighestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,303 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.status.metrics;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+
+/**
+ * Registry of {@link LatencyHistogram}s for the durations reported through
+ * {@link IPerformanceStatusHandler#logDuration(String, long)}, keyed by the
+ * handler prefix and the message.
+ * 
+ * If the system property latency.metrics.file is set, a snapshot of every
+ * histogram is appended to that file each latency.metrics.export.interval ms
+ * and the histograms are reset. The file is rolled over when it exceeds
+ * latency.metrics.file.maxBytes.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class LatencyRegistry {
+
+    private static final Logger logger = LoggerFactory
+            .getLogger(LatencyRegistry.class);
+
+    /**
+     * Limit on the number of histograms, messages which embed changing values
+     * would otherwise create histograms without bound.
+     */
+    private static final int MAX_HISTOGRAMS = Integer.getInteger(
+            "latency.metrics.maxKeys", 2000);
+
+    private static final String EXPORT_FILE = System
+            .getProperty("latency.metrics.file");
+
+    private static final long EXPORT_INTERVAL = Long.getLong(
+            "latency.metrics.export.interval", TimeUnit.MINUTES.toMillis(1));
+
+    private static final long MAX_FILE_BYTES = Long.getLong(
+            "latency.metrics.file.maxBytes", 10 * 1024 * 1024);
+
+    private static final int MAX_FILES = Integer.getInteger(
+            "latency.metrics.file.count", 5);
+
+    private static final String EXPORT_HEADER = "time\tprefix\tmessage\tcount"
+            + "\tp50\tp90\tp99\tmax";
+
+    private static final String EXPORT_FORMAT = "%1$tF %1$tT\t%2$s\t%3$s"
+            + "\t%4$d\t%5$d\t%6$d\t%7$d\t%8$d%n";
+
+    private static final LatencyRegistry instance = new LatencyRegistry();
+
+    private final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    private final AtomicInteger histogramCount = new AtomicInteger();
+
+    /** Totals at the last reset, guarded by this. */
+    private final Map<LatencyHistogram, long[]> baselines = new HashMap<>();
+
+    /** Time of the last reset, guarded by this. */
+    private long intervalStart = System.currentTimeMillis();
+
+    private final int maxHistograms;
+
+    private final long maxFileBytes;
+
+    private final int maxFiles;
+
+    public static LatencyRegistry getInstance() {
+        return instance;
+    }
+
+    private LatencyRegistry() {
+        this(MAX_HISTOGRAMS, MAX_FILE_BYTES, MAX_FILES);
+        if (EXPORT_FILE != null && EXPORT_INTERVAL > 0) {
+            final File file = new File(EXPORT_FILE);
+            ScheduledExecutorService exporter = Executors
+                    .newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r,
+                                    "LatencyRegistry-Export");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            exporter.scheduleWithFixedDelay(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        export(file);
+                    } catch (Throwable e) {
+                        logger.error("Error exporting latency metrics to "
+                                + file, e);
+                    }
+                }
+            }, EXPORT_INTERVAL, EXPORT_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Create a registry that is not exported automatically.
+     * 
+     * @param maxHistograms
+     *            limit on the number of histograms
+     * @param maxFileBytes
+     *            size at which an export file is rolled over
+     * @param maxFiles
+     *            number of rolled over files to keep
+     */
+    LatencyRegistry(int maxHistograms, long maxFileBytes, int maxFiles) {
+        this.maxHistograms = maxHistograms;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Record a duration for a prefix and message.
+     * 
+     * @param prefix
+     * @param message
+     * @param timeMs
+     */
+    public void record(String prefix, String message, long timeMs) {
+        LatencyHistogram histogram = getHistogram(prefix, message);
+        if (histogram != null) {
+            histogram.record(timeMs);
+        }
+    }
+
+    /**
+     * Get the histogram for a prefix and message, creating it if necessary.
+     * 
+     * @param prefix
+     * @param message
+     * @return the histogram, or null if the limit on histograms is reached
+     */
+    public LatencyHistogram getHistogram(String prefix, String message) {
+        if (prefix == null) {
+            prefix = "";
+        }
+        if (message == null) {
+            message = "";
+        }
+        ConcurrentMap<String, LatencyHistogram> messages = histograms
+                .get(prefix);
+        if (messages == null) {
+            messages = new ConcurrentHashMap<>();
+            ConcurrentMap<String, LatencyHistogram> existing = histograms
+                    .putIfAbsent(prefix, messages);
+            if (existing != null) {
+                messages = existing;
+            }
+        }
+        LatencyHistogram histogram = messages.get(message);
+        if (histogram == null) {
+            if (histogramCount.get() >= maxHistograms) {
+                return null;
+            }
+            histogram = new LatencyHistogram(prefix, message);
+            LatencyHistogram existing = messages.putIfAbsent(message,
+                    histogram);
+            if (existing == null) {
+                histogramCount.incrementAndGet();
+            } else {
+                histogram = existing;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Summarize every histogram with durations recorded since the last reset.
+     * 
+     * @param prefix
+     *            only include histograms with this prefix, null for all
+     * @param reset
+     *            true to start a new interval after taking the snapshot
+     * @return the snapshots
+     */
+    public synchronized List<LatencySnapshot> snapshot(String prefix,
+            boolean reset) {
+        List<LatencySnapshot> snapshots = new ArrayList<>();
+        long startTime = intervalStart;
+        for (ConcurrentMap<String, LatencyHistogram> messages : histograms
+                .values()) {
+            for (LatencyHistogram histogram : messages.values()) {
+                if (prefix != null && !prefix.equals(histogram.getPrefix())) {
+                    continue;
+                }
+                long[] current = new long[LatencyHistogram.LENGTH];
+                histogram.sum(current);
+                LatencySnapshot snapshot = histogram.snapshot(
+                        baselines.get(histogram), current, startTime);
+                if (snapshot.getCount() > 0) {
+                    snapshots.add(snapshot);
+                }
+                if (reset) {
+                    baselines.put(histogram, current);
+                }
+            }
+        }
+        if (reset) {
+            intervalStart = System.currentTimeMillis();
+        }
+        return snapshots;
+    }
+
+    /**
+     * Append a snapshot of all histograms to a file and reset them, rolling
+     * the file over first if it is too large.
+     * 
+     * @param file
+     * @throws IOException
+     */
+    public void export(File file) throws IOException {
+        List<LatencySnapshot> snapshots = snapshot(null, true);
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        if (file.length() > maxFileBytes) {
+            rollOver(file);
+        }
+        boolean newFile = !file.exists();
+        try (Writer writer = new BufferedWriter(new FileWriter(file, true))) {
+            if (newFile) {
+                writer.write(EXPORT_HEADER);
+                writer.write(System.lineSeparator());
+            }
+            for (LatencySnapshot snapshot : snapshots) {
+                writer.write(String.format(EXPORT_FORMAT,
+                        snapshot.getEndTime(), snapshot.getPrefix(),
+                        snapshot.getMessage(), snapshot.getCount(),
+                        snapshot.getP50(), snapshot.getP90(),
+                        snapshot.getP99(), snapshot.getMax()));
+            }
+        }
+    }
+
+    private void rollOver(File file) {
+        File oldest = new File(file.getPath() + "." + maxFiles);
+        if (oldest.exists() && !oldest.delete()) {
+            logger.warn("Unable to delete " + oldest);
+        }
+        for (int i = maxFiles - 1; i >= 1; i -= 1) {
+            File older = new File(file.getPath() + "." + i);
+            if (older.exists()) {
+                older.renameTo(new File(file.getPath() + "." + (i + 1)));
+            }
+        }
+        if (!file.renameTo(new File(file.getPath() + ".1"))) {
+            logger.warn("Unable to roll over " + file);
+        }
+    }
+
+}
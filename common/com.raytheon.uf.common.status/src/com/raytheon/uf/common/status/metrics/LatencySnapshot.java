@@ -0,0 +1,126 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.status.metrics;
+
+/**
+ * Summary of the durations recorded for one prefix and message over an
+ * interval. Percentiles and max are the upper bound of the histogram bucket
+ * they fall in.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class LatencySnapshot {
+
+    private final String prefix;
+
+    private final String message;
+
+    private final long startTime;
+
+    private final long endTime;
+
+    private final long count;
+
+    private final long sum;
+
+    private final long p50;
+
+    private final long p90;
+
+    private final long p99;
+
+    private final long max;
+
+    public LatencySnapshot(String prefix, String message, long startTime,
+            long endTime, long count, long sum, long p50, long p90, long p99,
+            long max) {
+        this.prefix = prefix;
+        this.message = message;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.count = count;
+        this.sum = sum;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return prefix + " " + message + " count=" + count + " p50=" + p50
+                + "ms p90=" + p90 + "ms p99=" + p99 + "ms max=" + max + "ms";
+    }
+
+}
@@ -0,0 +1,180 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.status.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * Test {@link LatencyHistogram}
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class TestLatencyHistogram {
+
+    /** Largest relative error of a reported value, 1/16. */
+    private static final double MAX_ERROR = 0.0625;
+
+    private static void assertBucket(long value, int index, long highest) {
+        assertEquals("index of " + value, index,
+                LatencyHistogram.getIndex(value));
+        assertEquals("highest value of " + index, highest,
+                LatencyHistogram.getHighestValue(index));
+    }
+
+    private static void assertWithinError(String name, long expected,
+            long actual) {
+        assertTrue(name + " expected " + expected + " but was " + actual,
+                actual >= expected && actual <= expected * (1 + MAX_ERROR));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        assertBucket(0, 0, 0);
+        assertBucket(15, 15, 15);
+        assertBucket(16, 16, 16);
+        assertBucket(31, 31, 31);
+        assertBucket(32, 32, 33);
+        assertBucket(33, 32, 33);
+        assertBucket(34, 33, 35);
+        assertBucket(Integer.MAX_VALUE, LatencyHistogram.BUCKETS - 1,
+                Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testClamping() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "clamp");
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        long[] current = new long[LatencyHistogram.LENGTH];
+        histogram.sum(current);
+        assertEquals(1, current[0]);
+        assertEquals(1, current[LatencyHistogram.BUCKETS - 1]);
+        assertEquals(Integer.MAX_VALUE, current[LatencyHistogram.SUM]);
+    }
+
+    @Test
+    public void testEveryValueWithinError() {
+        List<Long> values = new ArrayList<>();
+        for (long v = 0; v < 100000; v += 1) {
+            values.add(v);
+        }
+        for (int bit = 17; bit < 31; bit += 1) {
+            values.add((1L << bit) - 1);
+            values.add(1L << bit);
+            values.add((1L << bit) + 1);
+        }
+        values.add((long) Integer.MAX_VALUE);
+        int previous = 0;
+        for (long value : values) {
+            int index = LatencyHistogram.getIndex(value);
+            assertTrue(index >= previous && index < LatencyHistogram.BUCKETS);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.getHighestValue(index - 1) < value);
+            }
+            assertWithinError("bucket of " + value, value,
+                    LatencyHistogram.getHighestValue(index));
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("test",
+                "percentiles");
+        for (long v = 1; v <= 10000; v += 1) {
+            histogram.record(v);
+        }
+        long[] current = new long[LatencyHistogram.LENGTH];
+        histogram.sum(current);
+        LatencySnapshot snapshot = histogram.snapshot(null, current, 0);
+        assertEquals(10000, snapshot.getCount());
+        assertEquals(50005000, snapshot.getSum());
+        assertWithinError("p50", 5000, snapshot.getP50());
+        assertWithinError("p90", 9000, snapshot.getP90());
+        assertWithinError("p99", 9900, snapshot.getP99());
+        assertWithinError("max", 10000, snapshot.getMax());
+    }
+
+    @Test
+    public void testBaselineKeepsConcurrentRecordings() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram("test",
+                "concurrent");
+        final int threadCount = 4;
+        final int recordings = 200000;
+        final AtomicBoolean started = new AtomicBoolean();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t += 1) {
+            threads[t] = new Thread() {
+
+                @Override
+                public void run() {
+                    started.set(true);
+                    for (int i = 0; i < recordings; i += 1) {
+                        histogram.record(i % 100);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        while (!started.get()) {
+            Thread.yield();
+        }
+
+        long count = 0;
+        long sum = 0;
+        long[] baseline = null;
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread thread : threads) {
+                running |= thread.isAlive();
+            }
+            long[] current = new long[LatencyHistogram.LENGTH];
+            histogram.sum(current);
+            LatencySnapshot snapshot = histogram.snapshot(baseline, current,
+                    0);
+            count += snapshot.getCount();
+            sum += snapshot.getSum();
+            baseline = current;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals((long) threadCount * recordings, count);
+        assertEquals((long) threadCount * (recordings / 100) * 4950, sum);
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.status.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test {@link LatencyRegistry}
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class TestLatencyRegistry {
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("latencyRegistry").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File f : directory.listFiles()) {
+            f.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testKeyLimit() {
+        LatencyRegistry registry = new LatencyRegistry(3, Long.MAX_VALUE, 1);
+        LatencyHistogram a = registry.getHistogram("p", "a");
+        assertNotNull(a);
+        assertNotNull(registry.getHistogram("p", "b"));
+        assertNotNull(registry.getHistogram("q", "a"));
+        assertNull(registry.getHistogram("p", "c"));
+        assertSame(a, registry.getHistogram("p", "a"));
+
+        registry.record("p", "a", 5);
+        registry.record("p", "c", 5);
+        List<LatencySnapshot> snapshots = registry.snapshot(null, false);
+        assertEquals(1, snapshots.size());
+        assertEquals("a", snapshots.get(0).getMessage());
+    }
+
+    @Test
+    public void testSnapshotReset() {
+        LatencyRegistry registry = new LatencyRegistry(10, Long.MAX_VALUE, 1);
+        registry.record("p", "a", 5);
+        registry.record("p", "a", 7);
+        registry.record("q", "b", 9);
+
+        List<LatencySnapshot> snapshots = registry.snapshot("p", true);
+        assertEquals(1, snapshots.size());
+        assertEquals(2, snapshots.get(0).getCount());
+        assertEquals(12, snapshots.get(0).getSum());
+        assertTrue(registry.snapshot("p", false).isEmpty());
+
+        registry.record("p", "a", 3);
+        snapshots = registry.snapshot("p", false);
+        assertEquals(1, snapshots.get(0).getCount());
+        assertEquals(3, snapshots.get(0).getMax());
+
+        snapshots = registry.snapshot("q", false);
+        assertEquals(1, snapshots.get(0).getCount());
+    }
+
+    @Test
+    public void testExportRollOver() throws IOException {
+        LatencyRegistry registry = new LatencyRegistry(10, 1, 2);
+        File file = new File(directory, "latency.txt");
+        registry.export(file);
+        assertFalse(file.exists());
+        for (int i = 1; i <= 4; i += 1) {
+            for (int j = 0; j < i; j += 1) {
+                registry.record("p", "a", 5);
+            }
+            registry.export(file);
+        }
+        assertExport(file, 4);
+        assertExport(new File(directory, "latency.txt.1"), 3);
+        assertExport(new File(directory, "latency.txt.2"), 2);
+        assertFalse(new File(directory, "latency.txt.3").exists());
+    }
+
+    private static void assertExport(File file, long count)
+            throws IOException {
+        List<String> lines = Files.readAllLines(file.toPath(),
+                StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("time\tprefix"));
+        String[] columns = lines.get(1).split("\t");
+        assertEquals("p", columns[1]);
+        assertEquals("a", columns[2]);
+        assertEquals(Long.toString(count), columns[3]);
+    }
+}
@@ -24,7 +24,6 @@ import java.io.Serializable;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.GregorianCalendar;
@@ -46,7 +45,6 @@ import org.hibernate.annotations.Type;
 
 import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
-import com.raytheon.uf.common.time.DataTimeComparator.SortKey;
 import com.raytheon.uf.common.time.util.CalendarConverter;
 import com.raytheon.uf.common.time.util.TimeUtil;
 
@@ -72,6 +70,9 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  *                                   constructor.
  * Aug 08, 2016  5807     bsteffen   When forecast minutes are present, always
  *                                   format as 2 digits.
+ * Oct 19, 2026           agent      Parse and format without regular
+ *                                   expressions or Calendars, cache the URI
+ *                                   string and compare without allocating.
  * 
  * </pre>
  * 
@@ -127,9 +128,6 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
      */
     private static final long serialVersionUID = 1L;
 
-    private static final Comparator<DataTime> DEFAULT_COMPARATOR = new DataTimeComparator(
-            SortKey.VALID_TIME, SortKey.FORECAST_TIME, false);
-
     /** Data format flag */
     private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = new ThreadLocal<SimpleDateFormat>() {
 
@@ -180,6 +178,10 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
     @Transient
     private String legend;
 
+    /** The last URI string, reused while the fields it was built from match */
+    @Transient
+    private transient URIString uriString;
+
     @DynamicSerializeElement
     @XmlAttribute
     @Transient
@@ -208,6 +210,20 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
     }
 
     public DataTime(String value) {
+        if (!DataTimeFormat.parse(value, this)) {
+            parseWithPatterns(value);
+        }
+    }
+
+    /**
+     * Parse any string containing a date, forecast or valid period, in any
+     * order and surrounded by anything. Only needed for strings that are not
+     * in the canonical URI or display form.
+     * 
+     * @param value
+     *            the string to parse
+     */
+    void parseWithPatterns(String value) {
         boolean valid = false;
 
         Matcher m = datePattern.matcher(value);
@@ -599,7 +615,44 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
      */
     @Override
     public int compareTo(DataTime o) {
-        return DEFAULT_COMPARATOR.compare(this, o);
+        /*
+         * Same ordering as the default DataTimeComparator, valid time then
+         * forecast time then level then valid period, but without creating a
+         * Date for the valid times.
+         */
+        if (this == o) {
+            return 0;
+        } else if (o == null) {
+            return 1;
+        }
+        long valid1 = refTime.getTime() + (1000 * ((long) fcstTime));
+        long valid2 = o.refTime.getTime() + (1000 * ((long) o.fcstTime));
+        int result = Long.compare(valid1, valid2);
+        if (result != 0) {
+            return result;
+        }
+        result = Integer.compare(fcstTime, o.fcstTime);
+        if (result != 0) {
+            return result;
+        }
+        result = Double.compare(levelValue, o.levelValue);
+        if (result != 0) {
+            return result;
+        }
+        TimeRange p1 = validPeriod;
+        TimeRange p2 = o.validPeriod;
+        if (p1 == p2) {
+            return 0;
+        } else if (p1 == null) {
+            return -1;
+        } else if (p2 == null) {
+            return 1;
+        }
+        result = Long.compare(p1.getDuration(), p2.getDuration());
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(p1.getStart().getTime(), p2.getStart().getTime());
     }
 
     public void setRefTime(Date refTime) {
@@ -645,36 +698,41 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
         this.visible = visible;
     }
 
-    private String getReftimeString() {
+    private void appendReftime(StringBuilder builder, char separator) {
         if (refTime != null) {
-            Calendar cal = Calendar.getInstance(TimeUtil.GMT_TIME_ZONE);
-            cal.setTime(this.refTime);
-            return TimeUtil.formatCalendar(cal);
+            appendDate(builder, refTime, separator);
         }
-        return null;
     }
 
-    private String getForecastString() {
+    private void appendForecast(StringBuilder builder) {
         if (utilityFlags.contains(FLAG.FCST_USED)) {
             int hrs = fcstTime / 3600;
             int mins = (fcstTime - (hrs * 3600)) / 60;
-            if ((fcstTime % 3600) == 0) {
-                return "(" + hrs + ")";
-            } else if (mins < 10) {
-                return "(" + hrs + ":0" + mins + ")";
-            } else {
-                return "(" + hrs + ":" + mins + ")";
+            builder.append('(').append(hrs);
+            if ((fcstTime % 3600) != 0) {
+                builder.append(mins < 10 ? ":0" : ":").append(mins);
             }
+            builder.append(')');
         }
-        return null;
     }
 
-    private String getValidPeriodString() {
+    private void appendValidPeriod(StringBuilder builder, char separator) {
         if (utilityFlags.contains(FLAG.PERIOD_USED)) {
-            return "[" + TimeUtil.formatDate(validPeriod.getStart()) + "--"
-                    + TimeUtil.formatDate(validPeriod.getEnd()) + "]";
+            builder.append('[');
+            appendDate(builder, validPeriod.getStart(), separator);
+            builder.append("--");
+            appendDate(builder, validPeriod.getEnd(), separator);
+            builder.append(']');
+        }
+    }
+
+    private static void appendDate(StringBuilder builder, Date date,
+            char separator) {
+        if (!DataTimeFormat.appendDate(builder, date.getTime(), separator)) {
+            String formatted = TimeUtil.formatDate(date);
+            builder.append(separator == '_' ? formatted : formatted
+                    .replace('_', separator));
         }
-        return null;
     }
 
     /**
@@ -683,24 +741,21 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
      * @return
      */
     public String getURIString() {
-        StringBuilder builder = new StringBuilder();
-
-        String refTimeStr = getReftimeString();
-        if (refTimeStr != null) {
-            builder.append(refTimeStr);
-        }
-
-        String forecastString = getForecastString();
-        if (forecastString != null) {
-            builder.append("_").append(forecastString);
+        URIString uriString = this.uriString;
+        if (uriString != null && uriString.matches(this)) {
+            return uriString.value;
         }
-
-        String validPeriodString = getValidPeriodString();
-        if (validPeriodString != null) {
-            builder.append(validPeriodString);
+        StringBuilder builder = new StringBuilder(64);
+        appendReftime(builder, '_');
+        if (utilityFlags.contains(FLAG.FCST_USED)) {
+            builder.append('_');
+            appendForecast(builder);
         }
+        appendValidPeriod(builder, '_');
 
-        return builder.toString();
+        uriString = new URIString(this, builder.toString());
+        this.uriString = uriString;
+        return uriString.value;
     }
 
     /**
@@ -709,23 +764,13 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
      * @return
      */
     public String getDisplayString() {
-        StringBuilder builder = new StringBuilder();
-
-        String refTimeStr = getReftimeString();
-        if (refTimeStr != null) {
-            builder.append(refTimeStr.replaceAll("_", " "));
-        }
-
-        String forecastString = getForecastString();
-        if (forecastString != null) {
-            builder.append(" ").append(forecastString);
-        }
-
-        String validPeriodString = getValidPeriodString();
-        if (validPeriodString != null) {
-            builder.append(validPeriodString.replaceAll("_", " "));
+        StringBuilder builder = new StringBuilder(64);
+        appendReftime(builder, ' ');
+        if (utilityFlags.contains(FLAG.FCST_USED)) {
+            builder.append(' ');
+            appendForecast(builder);
         }
-
+        appendValidPeriod(builder, ' ');
         return builder.toString();
     }
 
@@ -784,4 +829,57 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
         rval.levelValue = levelValue;
         return rval;
     }
-}
\ No newline at end of file
+
+    /**
+     * A URI string and the values it was built from. The fields of a DataTime
+     * can all be modified so the values are checked before the string is
+     * reused.
+     */
+    private static final class URIString {
+
+        private final String value;
+
+        private final long refTime;
+
+        private final int fcstTime;
+
+        private final boolean fcstUsed;
+
+        private final boolean periodUsed;
+
+        private final long start;
+
+        private final long end;
+
+        public URIString(DataTime time, String value) {
+            this.value = value;
+            this.refTime = time.refTime == null ? Long.MIN_VALUE
+                    : time.refTime.getTime();
+            this.fcstTime = time.fcstTime;
+            this.fcstUsed = time.utilityFlags.contains(FLAG.FCST_USED);
+            this.periodUsed = time.utilityFlags.contains(FLAG.PERIOD_USED);
+            this.start = periodUsed ? time.validPeriod.getStart().getTime()
+                    : 0;
+            this.end = periodUsed ? time.validPeriod.getEnd().getTime() : 0;
+        }
+
+        public boolean matches(DataTime time) {
+            long refTime = time.refTime == null ? Long.MIN_VALUE
+                    : time.refTime.getTime();
+            if (refTime != this.refTime
+                    || fcstUsed != time.utilityFlags.contains(FLAG.FCST_USED)
+                    || periodUsed != time.utilityFlags
+                            .contains(FLAG.PERIOD_USED)) {
+                return false;
+            }
+            if (fcstUsed && fcstTime != time.fcstTime) {
+                return false;
+            }
+            if (periodUsed) {
+                return start == time.validPeriod.getStart().getTime()
+                        && end == time.validPeriod.getEnd().getTime();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.time;
+
+import java.util.Date;
+import java.util.EnumSet;
+
+import com.raytheon.uf.common.time.DataTime.FLAG;
+
+/**
+ * Single pass parsing and formatting of the date strings used by
+ * {@link DataTime}, in the form yyyy-MM-dd_HH:mm:ss.S in GMT, working directly
+ * on epoch millis instead of going through regular expressions, Calendars and
+ * SimpleDateFormats.
+ * 
+ * Only the canonical form produced by {@link DataTime#getURIString()} and
+ * {@link DataTime#getDisplayString()} is handled; anything else is reported as
+ * unparseable so the caller can fall back to the general regular expressions.
+ * Dates before the Gregorian cutover or after year 9999 are likewise left to
+ * the general code.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+final class DataTimeFormat {
+
+    /** Returned by parse methods when the input is not in canonical form. */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** Days from 0000-03-01 to 1970-01-01 in the proleptic calendar. */
+    private static final long EPOCH_DAYS = 719_468;
+
+    /** 1583-01-01T00:00:00Z, the first full year of the Gregorian calendar. */
+    private static final long MIN_MILLIS = -12_212_553_600_000L;
+
+    /** 9999-12-31T23:59:59.999Z */
+    private static final long MAX_MILLIS = 253_402_300_799_999L;
+
+    /** Shortest date, yyyy-MM-dd_HH:mm:ss.S */
+    private static final int MIN_DATE_LENGTH = 21;
+
+    private DataTimeFormat() {
+    }
+
+    /**
+     * Parse a complete DataTime string into the fields of a DataTime.
+     * 
+     * @param value
+     *            the string to parse
+     * @param time
+     *            the DataTime to populate
+     * @return true if the string was in canonical form and time was populated,
+     *         false if nothing was changed
+     */
+    static boolean parse(String value, DataTime time) {
+        int length = value.length();
+        long refTime = parseDate(value, 0);
+        if (refTime == INVALID) {
+            return false;
+        }
+        int pos = dateEnd(value, 0);
+
+        boolean hasFcst = false;
+        int fcstTime = 0;
+        if (pos < length && (value.charAt(pos) == '_' || value
+                .charAt(pos) == ' ')) {
+            pos += 1;
+            if (pos >= length || value.charAt(pos) != '(') {
+                return false;
+            }
+            pos += 1;
+            int hours = 0;
+            int digits = 0;
+            while (pos < length && isDigit(value.charAt(pos))) {
+                hours = hours * 10 + (value.charAt(pos) - '0');
+                digits += 1;
+                pos += 1;
+            }
+            /* Larger values may overflow, leave them to the general code. */
+            if (digits == 0 || digits > 5) {
+                return false;
+            }
+            int minutes = 0;
+            if (pos < length && value.charAt(pos) == ':') {
+                if (pos + 2 >= length || !isDigit(value.charAt(pos + 1))
+                        || !isDigit(value.charAt(pos + 2))) {
+                    return false;
+                }
+                minutes = (value.charAt(pos + 1) - '0') * 10
+                        + (value.charAt(pos + 2) - '0');
+                pos += 3;
+            }
+            if (pos >= length || value.charAt(pos) != ')') {
+                return false;
+            }
+            pos += 1;
+            hasFcst = true;
+            fcstTime = hours * 3600 + minutes * 60;
+        }
+
+        long start = refTime;
+        long end = refTime;
+        boolean hasPeriod = false;
+        if (pos < length) {
+            if (value.charAt(pos) != '[') {
+                return false;
+            }
+            pos += 1;
+            start = parseDate(value, pos);
+            if (start == INVALID) {
+                return false;
+            }
+            pos = dateEnd(value, pos);
+            if (pos + 1 >= length || value.charAt(pos) != '-'
+                    || value.charAt(pos + 1) != '-') {
+                return false;
+            }
+            pos += 2;
+            end = parseDate(value, pos);
+            if (end == INVALID) {
+                return false;
+            }
+            pos = dateEnd(value, pos);
+            if (pos != length - 1 || value.charAt(pos) != ']') {
+                return false;
+            }
+            hasPeriod = true;
+        } else if (hasFcst) {
+            start = refTime + fcstTime * 1000L;
+            end = start;
+        }
+
+        time.refTime = new Date(refTime);
+        time.validPeriod = new TimeRange(start, end);
+        if (hasFcst) {
+            time.fcstTime = fcstTime;
+            time.utilityFlags = EnumSet.of(FLAG.FCST_USED);
+        } else {
+            time.utilityFlags = EnumSet.noneOf(FLAG.class);
+        }
+        if (hasPeriod && start != end) {
+            time.utilityFlags.add(FLAG.PERIOD_USED);
+        }
+        return true;
+    }
+
+    /**
+     * Parse a date of the form yyyy-MM-dd_HH:mm:ss.S, with a space or
+     * underscore between the date and time and 1 to 3 digits of milliseconds.
+     * 
+     * @param value
+     *            the string containing the date
+     * @param start
+     *            index of the first character of the date
+     * @return epoch millis, or {@link #INVALID}
+     */
+    static long parseDate(String value, int start) {
+        if (value.length() - start < MIN_DATE_LENGTH) {
+            return INVALID;
+        }
+        int year = digits(value, start, 4);
+        int month = digits(value, start + 5, 2);
+        int day = digits(value, start + 8, 2);
+        int hour = digits(value, start + 11, 2);
+        int minute = digits(value, start + 14, 2);
+        int second = digits(value, start + 17, 2);
+        char separator = value.charAt(start + 10);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0
+                || second < 0 || value.charAt(start + 4) != '-'
+                || value.charAt(start + 7) != '-'
+                || (separator != '_' && separator != ' ')
+                || value.charAt(start + 13) != ':'
+                || value.charAt(start + 16) != ':'
+                || value.charAt(start + 19) != '.') {
+            return INVALID;
+        }
+        int end = dateEnd(value, start);
+        int millisDigits = end - start - 20;
+        if (millisDigits < 1 || millisDigits > 3
+                || (end < value.length() && isDigit(value.charAt(end)))) {
+            return INVALID;
+        }
+        int millis = digits(value, start + 20, millisDigits);
+        /*
+         * Out of range days, hours, minutes and seconds roll over the same as
+         * a lenient Calendar, months do not so they must be in range.
+         */
+        if (month < 1 || month > 12 || year < 1583) {
+            return INVALID;
+        }
+        long days = daysFromCivil(year, month, day);
+        return days * MILLIS_PER_DAY + hour * 3_600_000L + minute * 60_000L
+                + second * 1000L + millis;
+    }
+
+    /**
+     * @return the index after the milliseconds of a date starting at start.
+     */
+    private static int dateEnd(String value, int start) {
+        int pos = start + 20;
+        int limit = Math.min(value.length(), pos + 4);
+        while (pos < limit && isDigit(value.charAt(pos))) {
+            pos += 1;
+        }
+        return pos;
+    }
+
+    /**
+     * Append a date in the form yyyy-MM-dd_HH:mm:ss.S, the milliseconds are not
+     * zero padded, matching SimpleDateFormat.
+     * 
+     * @param builder
+     *            the builder to append to
+     * @param millis
+     *            epoch millis
+     * @param separator
+     *            character between the date and the time
+     * @return false if the date is out of the supported range and nothing was
+     *         appended
+     */
+    static boolean appendDate(StringBuilder builder, long millis,
+            char separator) {
+        if (millis < MIN_MILLIS || millis > MAX_MILLIS) {
+            return false;
+        }
+        long days = Math.floorDiv(millis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(millis, MILLIS_PER_DAY);
+
+        /* Inverse of daysFromCivil */
+        long z = days + EPOCH_DAYS;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524
+                - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra
+                - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        append(builder, year, 4);
+        builder.append('-');
+        append(builder, month, 2);
+        builder.append('-');
+        append(builder, day, 2);
+        builder.append(separator);
+        append(builder, millisOfDay / 3_600_000, 2);
+        builder.append(':');
+        append(builder, (millisOfDay / 60_000) % 60, 2);
+        builder.append(':');
+        append(builder, (millisOfDay / 1000) % 60, 2);
+        builder.append('.');
+        builder.append(millisOfDay % 1000);
+        return true;
+    }
+
+    /**
+     * Days since 1970-01-01 of a date in the proleptic Gregorian calendar, the
+     * day may be out of range for the month.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5
+                + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+                + dayOfYear;
+        return era * 146_097 + dayOfEra - EPOCH_DAYS;
+    }
+
+    private static void append(StringBuilder builder, int value, int width) {
+        int pad = width;
+        for (int v = value; v >= 10 && pad > 1; v /= 10) {
+            pad -= 1;
+        }
+        for (int i = 1; i < pad; i += 1) {
+            builder.append('0');
+        }
+        builder.append(value);
+    }
+
+    /**
+     * @return the value of count decimal digits, or -1 if any are not digits.
+     */
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i += 1) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
@@ -23,6 +23,7 @@ import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 
 import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.metrics.LatencyRegistry;
 import com.raytheon.uf.common.time.domain.Durations;
 import com.raytheon.uf.common.time.domain.TimePoints;
 import com.raytheon.uf.common.time.domain.api.IDuration;
@@ -40,6 +41,7 @@ import com.raytheon.uf.common.time.domain.api.ITimePoint;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jun 14, 2013 2095       djohnson     Initial creation
+ * Oct 19, 2026            agent       Record laps in the LatencyRegistry
  * 
  * </pre>
  * 
@@ -101,12 +103,17 @@ class PerformanceTimerImpl extends AbstractTimer implements IPerformanceTimer {
      */
     @Override
     public void logLaps(String prefix, IPerformanceStatusHandler statusHandler) {
+        LatencyRegistry registry = LatencyRegistry.getInstance();
         StringBuilder sb = new StringBuilder();
         sb.append(prefix);
-        sb.append(" total [").append(getElapsedTime()).append(" ms]");
+        long elapsed = getElapsedTime();
+        sb.append(" total [").append(elapsed).append(" ms]");
+        registry.record(prefix, "total", elapsed);
         for (Entry<String, IDuration> entry : laps.entrySet()) {
-            sb.append(" ").append(entry.getKey()).append(" [")
-                    .append(entry.getValue().getMillis()).append(" ms]");
+            long millis = entry.getValue().getMillis();
+            sb.append(" ").append(entry.getKey()).append(" [").append(millis)
+                    .append(" ms]");
+            registry.record(prefix, entry.getKey(), millis);
         }
         statusHandler.log(sb.toString());
     }
@@ -0,0 +1,223 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.time;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.raytheon.uf.common.time.DataTime.FLAG;
+import com.raytheon.uf.common.time.util.TimeUtil;
+
+/**
+ * Compares parsing, formatting and sorting of {@link DataTime} with the
+ * regular expression, Calendar and DataTimeComparator based implementation it
+ * replaced. Before timing, every string in the corpus is parsed and formatted
+ * both ways and any difference is reported.
+ * 
+ * Usage: DataTimeBenchmark [iterations]
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class DataTimeBenchmark {
+
+    /** Data times taken from data URIs of common plugins. */
+    private static final String[] URI_TIMES = {
+            /* obs, metar, sfcobs */
+            "2016-08-15_12:00:00.0", "2016-08-15_12:53:00.0",
+            /* radar */
+            "2016-08-15_12:04:31.0", "2016-08-15_12:09:07.123",
+            /* satellite */
+            "2016-08-15_12:15:19.0",
+            /* grid */
+            "2016-08-15_12:00:00.0_(0)", "2016-08-15_06:00:00.0_(6)",
+            "2016-08-15_00:00:00.0_(84)", "2016-08-15_12:00:00.0_(0:15)",
+            "2016-08-15_12:00:00.0_(1:30)",
+            /* grid accumulations */
+            "2016-08-15_00:00:00.0_(6)[2016-08-15_00:00:00.0--2016-08-15_06:00:00.0]",
+            "2016-08-15_00:00:00.0_(240)[2016-08-24_12:00:00.0--2016-08-25_00:00:00.0]",
+            /* ffmp, qpf */
+            "2016-08-15_12:00:00.0[2016-08-15_12:00:00.0--2016-08-15_18:00:00.0]",
+            /* display strings */
+            "2016-08-15 06:00:00.0 (6)",
+            "2016-08-15 00:00:00.0 (6)[2016-08-15 00:00:00.0--2016-08-15 06:00:00.0]" };
+
+    private static final int CORPUS_SIZE = 100_000;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        String[] corpus = createCorpus();
+        int differences = verify(corpus);
+        System.out.println("Verified " + corpus.length + " strings, "
+                + differences + " differences");
+
+        DataTime[] times = new DataTime[corpus.length];
+        for (int i = 0; i < corpus.length; i += 1) {
+            times[i] = new DataTime(corpus[i]);
+        }
+
+        for (int i = 0; i <= iterations; i += 1) {
+            String label = i == 0 ? "warmup" : "iteration " + i;
+            System.out.println(label);
+            long sink = 0;
+
+            long t0 = System.nanoTime();
+            for (String string : corpus) {
+                sink += new DataTime(string).getFcstTime();
+            }
+            long t1 = System.nanoTime();
+            for (String string : corpus) {
+                DataTime time = new DataTime();
+                time.parseWithPatterns(string);
+                sink += time.getFcstTime();
+            }
+            long t2 = System.nanoTime();
+            report("parse", corpus.length, t1 - t0, t2 - t1);
+
+            t0 = System.nanoTime();
+            for (DataTime time : times) {
+                sink += time.clone().getURIString().length();
+            }
+            t1 = System.nanoTime();
+            for (DataTime time : times) {
+                sink += legacyURIString(time.clone()).length();
+            }
+            t2 = System.nanoTime();
+            report("format", corpus.length, t1 - t0, t2 - t1);
+
+            t0 = System.nanoTime();
+            for (DataTime time : times) {
+                sink += time.getURIString().length();
+            }
+            t1 = System.nanoTime();
+            for (DataTime time : times) {
+                sink += legacyURIString(time).length();
+            }
+            t2 = System.nanoTime();
+            report("format cached", corpus.length, t1 - t0, t2 - t1);
+
+            List<DataTime> sorted = new ArrayList<>(Arrays.asList(times));
+            Collections.shuffle(sorted, new Random(i));
+            t0 = System.nanoTime();
+            Collections.sort(sorted);
+            t1 = System.nanoTime();
+            Collections.shuffle(sorted, new Random(i));
+            t2 = System.nanoTime();
+            Collections.sort(sorted, new DataTimeComparator());
+            long t3 = System.nanoTime();
+            report("sort", corpus.length, t1 - t0, t3 - t2);
+
+            if (sink == 42) {
+                System.out.println();
+            }
+        }
+    }
+
+    private static void report(String operation, int count, long newNanos,
+            long oldNanos) {
+        System.out.printf("  %-14s new %8.1f ns/op  old %8.1f ns/op  %5.1fx%n",
+                operation, (double) newNanos / count, (double) oldNanos
+                        / count, (double) oldNanos / newNanos);
+    }
+
+    /**
+     * Build a corpus by shifting the reference times of the URI times over a
+     * year, so caches in the implementations do not dominate.
+     */
+    private static String[] createCorpus() {
+        Random random = new Random(0);
+        String[] corpus = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i += 1) {
+            DataTime time = new DataTime(URI_TIMES[i % URI_TIMES.length]);
+            long shift = random.nextInt(365 * 24 * 60) * 60_000L;
+            time.getRefTime().setTime(time.getRefTime().getTime() - shift);
+            TimeRange period = time.getValidPeriod();
+            time.setValidPeriod(new TimeRange(period.getStart().getTime()
+                    - shift, period.getEnd().getTime() - shift));
+            corpus[i] = (i % URI_TIMES.length) >= URI_TIMES.length - 2 ? time
+                    .getDisplayString() : time.getURIString();
+        }
+        return corpus;
+    }
+
+    private static int verify(String[] corpus) {
+        int differences = 0;
+        for (String string : corpus) {
+            DataTime time = new DataTime(string);
+            DataTime legacy = new DataTime();
+            legacy.parseWithPatterns(string);
+            if (!time.equals(legacy)
+                    || !time.getUtilityFlags().equals(
+                            legacy.getUtilityFlags())
+                    || !time.getURIString().equals(legacyURIString(legacy))
+                    || time.compareTo(legacy) != 0) {
+                System.out.println("Difference for " + string);
+                differences += 1;
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * The Calendar and SimpleDateFormat based formatting that was used before
+     * {@link DataTimeFormat}.
+     */
+    private static String legacyURIString(DataTime time) {
+        StringBuilder builder = new StringBuilder();
+        Calendar cal = Calendar.getInstance(TimeUtil.GMT_TIME_ZONE);
+        cal.setTime(time.getRefTime());
+        builder.append(TimeUtil.formatCalendar(cal));
+        int fcstTime = time.getFcstTime();
+        if (time.getUtilityFlags().contains(FLAG.FCST_USED)) {
+            int hrs = fcstTime / 3600;
+            int mins = (fcstTime - (hrs * 3600)) / 60;
+            if ((fcstTime % 3600) == 0) {
+                builder.append("_(" + hrs + ")");
+            } else if (mins < 10) {
+                builder.append("_(" + hrs + ":0" + mins + ")");
+            } else {
+                builder.append("_(" + hrs + ":" + mins + ")");
+            }
+        }
+        if (time.getUtilityFlags().contains(FLAG.PERIOD_USED)) {
+            builder.append("["
+                    + TimeUtil.formatDate(time.getValidPeriod().getStart())
+                    + "--"
+                    + TimeUtil.formatDate(time.getValidPeriod().getEnd())
+                    + "]");
+        }
+        return builder.toString();
+    }
+
+}
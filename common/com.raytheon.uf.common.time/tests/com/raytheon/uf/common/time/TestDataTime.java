@@ -0,0 +1,219 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.raytheon.uf.common.time.DataTime.FLAG;
+import com.raytheon.uf.common.time.util.TimeUtil;
+
+/**
+ * Tests that parsing, formatting and comparing {@link DataTime}s gives the
+ * same results as the regular expression parsing, Calendar formatting and
+ * {@link DataTimeComparator} they replaced.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           agent      Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class TestDataTime {
+
+    /** Data times taken from data URIs of common plugins. */
+    private static final String[] URI_TIMES = {
+            /* obs, metar, sfcobs */
+            "2016-08-15_12:00:00.0", "2016-08-15_12:53:00.0",
+            /* radar */
+            "2016-08-15_12:04:31.0", "2016-08-15_12:09:07.123",
+            /* satellite */
+            "2016-08-15_12:15:19.0",
+            /* grid */
+            "2016-08-15_12:00:00.0_(0)", "2016-08-15_06:00:00.0_(6)",
+            "2016-08-15_00:00:00.0_(84)", "2016-08-15_12:00:00.0_(0:15)",
+            "2016-08-15_12:00:00.0_(1:30)",
+            /* grid accumulations */
+            "2016-08-15_00:00:00.0_(6)[2016-08-15_00:00:00.0--2016-08-15_06:00:00.0]",
+            "2016-08-15_00:00:00.0_(240)[2016-08-24_12:00:00.0--2016-08-25_00:00:00.0]",
+            /* ffmp, qpf */
+            "2016-08-15_12:00:00.0[2016-08-15_12:00:00.0--2016-08-15_18:00:00.0]",
+            /* display strings */
+            "2016-08-15 06:00:00.0 (6)",
+            "2016-08-15 00:00:00.0 (6)[2016-08-15 00:00:00.0--2016-08-15 06:00:00.0]" };
+
+    private static final int CORPUS_SIZE = 10_000;
+
+    private static String[] corpus;
+
+    /**
+     * Build a corpus by shifting the reference times of the URI times over a
+     * year so that every field of the date is exercised.
+     */
+    @BeforeClass
+    public static void createCorpus() {
+        Random random = new Random(0);
+        corpus = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i += 1) {
+            DataTime time = new DataTime(URI_TIMES[i % URI_TIMES.length]);
+            long shift = random.nextInt(365 * 24 * 60) * 60_000L;
+            time.getRefTime().setTime(time.getRefTime().getTime() - shift);
+            TimeRange period = time.getValidPeriod();
+            time.setValidPeriod(new TimeRange(period.getStart().getTime()
+                    - shift, period.getEnd().getTime() - shift));
+            corpus[i] = (i % URI_TIMES.length) >= URI_TIMES.length - 2 ? time
+                    .getDisplayString() : time.getURIString();
+        }
+    }
+
+    private static DataTime parseWithPatterns(String string) {
+        DataTime time = new DataTime();
+        time.parseWithPatterns(string);
+        return time;
+    }
+
+    @Test
+    public void testParseMatchesPatterns() {
+        for (String string : corpus) {
+            DataTime time = new DataTime(string);
+            DataTime legacy = parseWithPatterns(string);
+            assertEquals(string, legacy, time);
+            assertEquals(string, legacy.getRefTime(), time.getRefTime());
+            assertEquals(string, legacy.getFcstTime(), time.getFcstTime());
+            assertEquals(string, legacy.getValidPeriod(),
+                    time.getValidPeriod());
+            assertEquals(string, legacy.getUtilityFlags(),
+                    time.getUtilityFlags());
+        }
+    }
+
+    @Test
+    public void testFormatMatchesCalendar() {
+        for (String string : corpus) {
+            DataTime time = new DataTime(string);
+            String expected = legacyURIString(parseWithPatterns(string));
+            assertEquals(string, expected, time.getURIString());
+            /* A second call uses the cached string. */
+            assertEquals(string, expected, time.getURIString());
+            assertEquals(string, expected, time.clone().getURIString());
+        }
+    }
+
+    @Test
+    public void testURIStringRoundTrip() {
+        for (String string : corpus) {
+            DataTime time = new DataTime(string);
+            DataTime parsed = new DataTime(time.getURIString());
+            assertEquals(string, time, parsed);
+            assertEquals(string, 0, time.compareTo(parsed));
+        }
+    }
+
+    @Test
+    public void testCompareToMatchesComparator() {
+        DataTimeComparator comparator = new DataTimeComparator();
+        List<DataTime> times = new ArrayList<>(corpus.length);
+        for (String string : corpus) {
+            times.add(new DataTime(string));
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < CORPUS_SIZE; i += 1) {
+            DataTime t1 = times.get(random.nextInt(times.size()));
+            DataTime t2 = times.get(random.nextInt(times.size()));
+            assertEquals(t1 + " " + t2,
+                    Integer.signum(comparator.compare(t1, t2)),
+                    Integer.signum(t1.compareTo(t2)));
+        }
+
+        List<DataTime> sorted = new ArrayList<>(times);
+        Collections.shuffle(sorted, random);
+        Collections.sort(sorted);
+        List<DataTime> expected = new ArrayList<>(times);
+        Collections.shuffle(expected, random);
+        Collections.sort(expected, comparator);
+        for (int i = 0; i < sorted.size(); i += 1) {
+            assertEquals(0, comparator.compare(expected.get(i), sorted.get(i)));
+        }
+    }
+
+    @Test
+    public void testCompareToIsConsistent() {
+        DataTime[] times = new DataTime[corpus.length];
+        for (int i = 0; i < corpus.length; i += 1) {
+            times[i] = new DataTime(corpus[i]);
+        }
+        Arrays.sort(times);
+        for (int i = 1; i < times.length; i += 1) {
+            DataTime t1 = times[i - 1];
+            DataTime t2 = times[i];
+            assertTrue(t1 + " " + t2, t1.compareTo(t2) <= 0);
+            assertEquals(t1 + " " + t2, -Integer.signum(t1.compareTo(t2)),
+                    Integer.signum(t2.compareTo(t1)));
+        }
+    }
+
+    /**
+     * The Calendar and SimpleDateFormat based formatting that was used before
+     * {@link DataTimeFormat}.
+     */
+    private static String legacyURIString(DataTime time) {
+        StringBuilder builder = new StringBuilder();
+        Calendar cal = Calendar.getInstance(TimeUtil.GMT_TIME_ZONE);
+        cal.setTime(time.getRefTime());
+        builder.append(TimeUtil.formatCalendar(cal));
+        int fcstTime = time.getFcstTime();
+        if (time.getUtilityFlags().contains(FLAG.FCST_USED)) {
+            int hrs = fcstTime / 3600;
+            int mins = (fcstTime - (hrs * 3600)) / 60;
+            if ((fcstTime % 3600) == 0) {
+                builder.append("_(" + hrs + ")");
+            } else if (mins < 10) {
+                builder.append("_(" + hrs + ":0" + mins + ")");
+            } else {
+                builder.append("_(" + hrs + ":" + mins + ")");
+            }
+        }
+        if (time.getUtilityFlags().contains(FLAG.PERIOD_USED)) {
+            builder.append("["
+                    + TimeUtil.formatDate(time.getValidPeriod().getStart())
+                    + "--"
+                    + TimeUtil.formatDate(time.getValidPeriod().getEnd())
+                    + "]");
+        }
+        return builder.toString();
+    }
+
+}
@@ -50,6 +50,7 @@ import com.raytheon.uf.common.numeric.source.DataSource;
  * Aug 06, 2013  2235     bsteffen    Added Caching version of TopoQuery.
  * Mar 07, 2014  2791     bsteffen    Move Data Source/Destination to numeric
  *                                    plugin.
+ * Oct 19, 2026           agent       Replace missing values in getBlock
  * 
  * </pre>
  * 
@@ -94,6 +95,28 @@ public class TiledTopoSource extends AbstractTiledDataSource {
 
     }
 
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            double[] out) {
+        super.getBlock(x0, y0, width, height, out);
+        for (int i = 0; i < width * height; i += 1) {
+            if (out[i] <= -9999) {
+                out[i] = 0;
+            }
+        }
+    }
+
+    @Override
+    public void getBlock(int x0, int y0, int width, int height,
+            float[] out) {
+        super.getBlock(x0, y0, width, height, out);
+        for (int i = 0; i < width * height; i += 1) {
+            if (out[i] <= -9999) {
+                out[i] = 0;
+            }
+        }
+    }
+
     @Override
     protected DataSource getTile(int startX, int startY, int width, int height) {
         Point key = new Point(startX, startY);
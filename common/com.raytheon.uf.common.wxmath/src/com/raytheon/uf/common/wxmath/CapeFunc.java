@@ -57,6 +57,8 @@ import static java.lang.Math.sqrt;
  * Jun 03, 2013 2043       bsteffen    Ported from meteolib C
  * Aug 13, 2013 2262       njensen     Moved from deriv params
  * Aug 22, 2013 2289       bsteffen    Performance improvements.
+ * Oct 19, 2026            agent       Calculate columns in parallel, use
+ *                                     TempOfTeTable.
  * 
  * </pre>
  * 
@@ -83,15 +85,48 @@ public class CapeFunc {
     public static float[][] capeFunc(float usetv, float[] p_dat,
             float[] tve_dat, float[] p0, float[] th0, float[] sh0, int nx,
             int ny, int nz) {
-        int n2 = nx * ny;
+        return capeFunc(usetv, p_dat, tve_dat, p0, th0, sh0, nx, ny, nz,
+                true, TempOfTeTable.ENABLED);
+    }
+
+    /**
+     * Cape function with control over how the columns are calculated.
+     * 
+     * @param parallel
+     *            if true large grids are split across threads
+     * @param table
+     *            if true use {@link TempOfTeTable} instead of {@link TempOfTe}
+     * @return two float arrays, i.e. { cap, cin }
+     */
+    static float[][] capeFunc(final float usetv, final float[] p_dat,
+            final float[] tve_dat, final float[] p0, final float[] th0,
+            final float[] sh0, int nx, int ny, final int nz,
+            boolean parallel, final boolean table) {
+        final int n2 = nx * ny;
+
+        final float[] cin = new float[n2];
+        final float[] cap = new float[n2];
+
+        ColumnTask.calculate(n2, parallel, new ColumnTask.Columns() {
 
-        float[] cin = new float[n2];
-        float[] cap = new float[n2];
+            @Override
+            public void calculate(int start, int end) {
+                capeColumns(usetv, p_dat, tve_dat, p0, th0, sh0, n2, nz,
+                        table, cap, cin, start, end);
+            }
+
+        });
+        return new float[][] { cap, cin };
+    }
 
+    private static void capeColumns(float usetv, float[] p_dat,
+            float[] tve_dat, float[] p0, float[] th0, float[] sh0, int n2,
+            int nz, boolean table, float[] cap, float[] cin, int start,
+            int end) {
         // Calculate the parcel equivalent temp, virtual temp, and press at LCL.
         // Make working copy of sfc press, use as press below current 3d
         // pressure.
-        for (int i = 0; i < n2; i += 1) {
+        for (int i = start; i < end; i += 1) {
             double tec = 0;
             double tvc = 0;
             double pc = 0;
@@ -140,7 +175,12 @@ public class CapeFunc {
                         tvp[k] = t0;
                     } else {
                         double td = tec * pr;
-                        tvp[k] = td = temp_of_te(td, pp);
+                        if (table) {
+                            td = TempOfTeTable.temp_of_te(td, pp);
+                        } else {
+                            td = temp_of_te(td, pp);
+                        }
+                        tvp[k] = td;
                         if (usetv > 0) {
                             tvp[k] *= pp
                                     / (pp - exp(25.687958917 - c1 * td - c2
@@ -332,7 +372,6 @@ public class CapeFunc {
                 pp1 = pp;
             }
         }
-        return new float[][] { cap, cin };
     }
 
     /**
@@ -354,15 +393,48 @@ public class CapeFunc {
     public static float[][] capeFuncTop(float usetv, float[] p_dat,
             float[] tve_dat, float[] p0, float[] th0, float[] sh0,
             float[] ptop, int nx, int ny, int nz) {
-        int n2 = nx * ny;
+        return capeFuncTop(usetv, p_dat, tve_dat, p0, th0, sh0, ptop, nx, ny,
+                nz, true, TempOfTeTable.ENABLED);
+    }
 
-        float[] cin = new float[n2];
-        float[] cap = new float[n2];
+    /**
+     * capeFuncTop with control over how the columns are calculated.
+     * 
+     * @param parallel
+     *            if true large grids are split across threads
+     * @param table
+     *            if true use {@link TempOfTeTable} instead of {@link TempOfTe}
+     * @return two float arrays, i.e. { cap, cin }
+     */
+    static float[][] capeFuncTop(final float usetv, final float[] p_dat,
+            final float[] tve_dat, final float[] p0, final float[] th0,
+            final float[] sh0, final float[] ptop, int nx, int ny,
+            final int nz, boolean parallel, final boolean table) {
+        final int n2 = nx * ny;
+
+        final float[] cin = new float[n2];
+        final float[] cap = new float[n2];
+
+        ColumnTask.calculate(n2, parallel, new ColumnTask.Columns() {
+
+            @Override
+            public void calculate(int start, int end) {
+                capeTopColumns(usetv, p_dat, tve_dat, p0, th0, sh0, ptop, n2,
+                        nz, table, cap, cin, start, end);
+            }
 
+        });
+        return new float[][] { cap, cin };
+    }
+
+    private static void capeTopColumns(float usetv, float[] p_dat,
+            float[] tve_dat, float[] p0, float[] th0, float[] sh0,
+            float[] ptop, int n2, int nz, boolean table, float[] cap,
+            float[] cin, int start, int end) {
         // Calculate the parcel equivalent temp, virtual temp, and press at LCL.
         // Make working copy of sfc press, use as press below current 3d
         // pressure.
-        for (int i = 0; i < n2; i += 1) {
+        for (int i = start; i < end; i += 1) {
             double tec = 0;
             double tvc = 0;
             double pc = 0;
@@ -414,7 +486,12 @@ public class CapeFunc {
                         tvp[k] = t0;
                     } else {
                         double td = tec * pr;
-                        tvp[k] = td = temp_of_te(td, pp);
+                        if (table) {
+                            td = TempOfTeTable.temp_of_te(td, pp);
+                        } else {
+                            td = temp_of_te(td, pp);
+                        }
+                        tvp[k] = td;
                         if (usetv > 0) {
                             tvp[k] *= pp
                                     / (pp - exp(25.687958917 - c1 * td - c2
@@ -619,7 +696,6 @@ public class CapeFunc {
                 pp1 = pp;
             }
         }
-        return new float[][] { cap, cin };
     }
 
 }
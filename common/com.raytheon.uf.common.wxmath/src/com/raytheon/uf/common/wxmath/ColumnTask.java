@@ -0,0 +1,106 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.wxmath;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the columns of a grid in half until the pieces are small enough to
+ * calculate directly. Functions which calculate every column of a grid
+ * independently, such as {@link CapeFunc}, can use this to spread large grids
+ * across a shared {@link ForkJoinPool}. Each column is always calculated by
+ * the same code so the results are identical to a single threaded
+ * calculation.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+class ColumnTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_THREADS = Integer.getInteger(
+            "com.raytheon.uf.common.wxmath.threads", Runtime.getRuntime()
+                    .availableProcessors());
+
+    /** Grids with fewer columns than this are calculated on a single thread */
+    private static final int PARALLEL_THRESHOLD = Integer.getInteger(
+            "com.raytheon.uf.common.wxmath.parallelThreshold", 1024);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(MAX_THREADS);
+
+    /**
+     * Calculation for a contiguous range of grid columns.
+     */
+    interface Columns {
+
+        /**
+         * Calculate every column from start(inclusive) to end(exclusive).
+         */
+        void calculate(int start, int end);
+
+    }
+
+    private final Columns columns;
+
+    private final int start;
+
+    private final int end;
+
+    private ColumnTask(Columns columns, int start, int end) {
+        this.columns = columns;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start < PARALLEL_THRESHOLD * 2) {
+            columns.calculate(start, end);
+        } else {
+            int mid = (start + end) >>> 1;
+            invokeAll(new ColumnTask(columns, start, mid), new ColumnTask(
+                    columns, mid, end));
+        }
+    }
+
+    /**
+     * Calculate all n2 columns, using the shared pool when parallel is true
+     * and the grid is large enough to be worth splitting.
+     */
+    static void calculate(int n2, boolean parallel, Columns columns) {
+        if (!parallel || MAX_THREADS < 2 || n2 < PARALLEL_THRESHOLD * 2) {
+            columns.calculate(0, n2);
+        } else {
+            POOL.invoke(new ColumnTask(columns, 0, n2));
+        }
+    }
+
+}
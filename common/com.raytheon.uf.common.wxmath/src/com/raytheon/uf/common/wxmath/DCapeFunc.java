@@ -65,6 +65,8 @@ import static java.lang.Math.sqrt;
  * ------------ ---------- ----------- --------------------------
  * Jun 05, 2013 2043       bsteffen    Ported from meteolib C
  * Aug 13, 2013 2262       njensen     Moved from deriv params
+ * Oct 19, 2026            agent       Calculate columns in parallel, use
+ *                                     TempOfTeTable.
  * 
  * </pre>
  * 
@@ -77,12 +79,46 @@ public class DCapeFunc {
     public static float[] dcapeFunc(float usetv, float[] p_dat, float[] t_dat,
             float[] td_dat, float[] p0, float[] th0, float[] sh0, int nx,
             int ny, int nz, float max_evap, float max_rh) {
-        int n2 = nx * ny;
-        int nzm = nz - 1;
+        return dcapeFunc(usetv, p_dat, t_dat, td_dat, p0, th0, sh0, nx, ny,
+                nz, max_evap, max_rh, true, TempOfTeTable.ENABLED);
+    }
+
+    /**
+     * dcapeFunc with control over how the columns are calculated.
+     * 
+     * @param parallel
+     *            if true large grids are split across threads
+     * @param table
+     *            if true use {@link TempOfTeTable} instead of {@link TempOfTe}
+     */
+    static float[] dcapeFunc(final float usetv, final float[] p_dat,
+            final float[] t_dat, final float[] td_dat, final float[] p0,
+            final float[] th0, final float[] sh0, int nx, int ny,
+            final int nz, final float max_evap, final float max_rh,
+            boolean parallel, final boolean table) {
+        final int n2 = nx * ny;
+
+        final float[] dcape = new float[n2];
+
+        ColumnTask.calculate(n2, parallel, new ColumnTask.Columns() {
+
+            @Override
+            public void calculate(int start, int end) {
+                dcapeColumns(usetv, p_dat, t_dat, td_dat, p0, th0, sh0, n2,
+                        nz, max_evap, max_rh, table, dcape, start, end);
+            }
 
-        float[] dcape = new float[n2];
+        });
+        return dcape;
+    }
+
+    private static void dcapeColumns(float usetv, float[] p_dat,
+            float[] t_dat, float[] td_dat, float[] p0, float[] th0,
+            float[] sh0, int n2, int nz, float max_evap, float max_rh,
+            boolean table, float[] dcape, int start, int end) {
+        int nzm = nz - 1;
 
-        for (int i = 0; i < n2; i += 1) {
+        for (int i = start; i < end; i += 1) {
 
             // Calculate the ascending parcel start equivalent temp, virtual
             // temp, and press at LCL, and the initial virtual temperature.
@@ -121,7 +157,11 @@ public class DCapeFunc {
                     tvp[k] = tvc * pow(pp / pc, kapa);
                 } else {
                     double t0 = tec * pow(pp / pc, kapa);
-                    t0 = temp_of_te(t0, pp);
+                    if (table) {
+                        t0 = TempOfTeTable.temp_of_te(t0, pp);
+                    } else {
+                        t0 = temp_of_te(t0, pp);
+                    }
                     tvp[k] = t0
                             * pp
                             / (pp - usetv
@@ -326,7 +366,6 @@ public class DCapeFunc {
                 pp1 = pp;
             }
         }
-        return dcape;
     }
 
 }
@@ -0,0 +1,152 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.wxmath;
+
+/**
+ * A bilinear lookup table for {@link TempOfTe#temp_of_te(double, double)}.
+ * The iterative solution in TempOfTe needs several calls to
+ * {@link AdiabeticTemperature#adiabatic_te(double, double)}, each of which
+ * needs two calls to exp, and it is called for every level of every column
+ * when calculating cape. This table is calculated once from TempOfTe over a
+ * fixed grid of equivalent temperature and pressure so that most calls are
+ * reduced to a bilinear interpolation.
+ * 
+ * When the table is built the interpolated value is compared to TempOfTe at
+ * every quarter of each cell in both directions. Cells which differ by more
+ * than half of {@link #MAX_ERROR} at any of those points, as happens near the
+ * limits of the TempOfTe table where it returns the input or NaN, fall back
+ * to TempOfTe, as does anything outside of the table. The margin covers the
+ * error between the checked points.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+class TempOfTeTable {
+
+    /**
+     * Set the system property to false to always use the iterative TempOfTe.
+     */
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(
+            "com.raytheon.uf.common.wxmath.tempOfTeTable", "true"));
+
+    /** Maximum difference from TempOfTe, in K. */
+    static final double MAX_ERROR = 0.05;
+
+    /** Number of checks in each direction within each cell. */
+    private static final int CHECKS = 4;
+
+    private static final double temin = 193;
+
+    private static final double temax = 473;
+
+    private static final double tespace = 1;
+
+    private static final double pmin = 100;
+
+    private static final double pmax = 1100;
+
+    private static final double pspace = 10;
+
+    private static final int nte = 1 + (int) ((temax - temin) / tespace);
+
+    private static final int np = 1 + (int) ((pmax - pmin) / pspace);
+
+    private static final float[] table = new float[np * nte];
+
+    /** Cells, indexed by the lower left corner, that must use TempOfTe. */
+    private static final boolean[] exact = new boolean[np * nte];
+
+    static {
+        for (int j = 0; j < np; j += 1) {
+            double p = pmin + j * pspace;
+            for (int i = 0; i < nte; i += 1) {
+                table[j * nte + i] = (float) TempOfTe.temp_of_te(temin + i
+                        * tespace, p);
+            }
+        }
+        for (int j = 0; j < np - 1; j += 1) {
+            for (int i = 0; i < nte - 1; i += 1) {
+                exact[j * nte + i] = !checkCell(i, j);
+            }
+        }
+    }
+
+    private TempOfTeTable() {
+
+    }
+
+    /**
+     * @return true if interpolation within a cell is within half of
+     *         MAX_ERROR at every checked point.
+     */
+    private static boolean checkCell(int i, int j) {
+        for (int yc = 0; yc <= CHECKS; yc += 1) {
+            double yw = (double) yc / CHECKS;
+            for (int xc = 0; xc <= CHECKS; xc += 1) {
+                double xw = (double) xc / CHECKS;
+                double te = temin + (i + xw) * tespace;
+                double p = pmin + (j + yw) * pspace;
+                double error = interpolate(j * nte + i, xw, yw)
+                        - TempOfTe.temp_of_te(te, p);
+                if (!(Math.abs(error) <= MAX_ERROR / 2)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static double interpolate(int index, double xw, double yw) {
+        double low = table[index] * (1 - xw) + table[index + 1] * xw;
+        double high = table[index + nte] * (1 - xw) + table[index + nte + 1]
+                * xw;
+        return low * (1 - yw) + high * yw;
+    }
+
+    /**
+     * Same as {@link TempOfTe#temp_of_te(double, double)}, within
+     * {@link #MAX_ERROR}.
+     */
+    static double temp_of_te(double te, double press) {
+        double x = (te - temin) / tespace;
+        double y = (press - pmin) / pspace;
+        /* Negated so that NaN also falls back. */
+        if (!(x >= 0 && x < nte - 1 && y >= 0 && y < np - 1)) {
+            return TempOfTe.temp_of_te(te, press);
+        }
+        int i = (int) x;
+        int j = (int) y;
+        int index = j * nte + i;
+        if (exact[index]) {
+            return TempOfTe.temp_of_te(te, press);
+        }
+        return interpolate(index, x - i, y - j);
+    }
+
+}
@@ -0,0 +1,217 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.wxmath;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures {@link CapeFunc} and {@link DCapeFunc} on a grid of synthetic
+ * soundings with and without {@link ColumnTask} and {@link TempOfTeTable}. The
+ * original single threaded calculation using {@link TempOfTe} is the
+ * reference; the parallel calculation must match it exactly and the absolute
+ * deviation of cape, cin and dcape when using the table is reported along
+ * with the throughput of each variation in columns per second.
+ * 
+ * Usage: CapeFuncBenchmark [nx] [ny] [nz] [iterations]
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class CapeFuncBenchmark {
+
+    private static final String[] NAMES = { "serial exact", "parallel exact",
+            "serial table", "parallel table" };
+
+    private static final boolean[] PARALLEL = { false, true, false, true };
+
+    private static final boolean[] TABLE = { false, false, true, true };
+
+    public static void main(String[] args) {
+        int nx = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int ny = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int nz = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        Soundings s = new Soundings(nx, ny, nz, new Random(0));
+
+        float[][] reference = run(s, false, false);
+        for (int v = 1; v < NAMES.length; v += 1) {
+            float[][] result = run(s, PARALLEL[v], TABLE[v]);
+            System.out.println(NAMES[v] + " deviation, cape "
+                    + deviation(reference[0], result[0]) + ", cin "
+                    + deviation(reference[1], result[1]) + ", capeTop "
+                    + deviation(reference[2], result[2]) + ", dcape "
+                    + deviation(reference[3], result[3]));
+        }
+        System.out.println("temp_of_te max deviation: "
+                + tempOfTeDeviation(new Random(1), 1000000));
+
+        int columns = nx * ny;
+        for (int v = 0; v < NAMES.length; v += 1) {
+            /* Warm up before timing. */
+            run(s, PARALLEL[v], TABLE[v]);
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i += 1) {
+                run(s, PARALLEL[v], TABLE[v]);
+            }
+            double seconds = (System.nanoTime() - start) / 1.0e9;
+            System.out.printf("%-15s %12.0f columns/s%n", NAMES[v], columns
+                    * iterations / seconds);
+        }
+    }
+
+    private static float[][] run(Soundings s, boolean parallel, boolean table) {
+        float[][] cape = CapeFunc.capeFunc(1, s.p, s.tve, s.p0, s.th0, s.sh0,
+                s.nx, s.ny, s.nz, parallel, table);
+        float[][] capeTop = CapeFunc.capeFuncTop(1, s.p, s.tve, s.p0, s.th0,
+                s.sh0, s.ptop, s.nx, s.ny, s.nz, parallel, table);
+        float[] dcape = DCapeFunc.dcapeFunc(1, s.p, s.t, s.td, s.p0, s.th0,
+                s.sh0, s.nx, s.ny, s.nz, 0.002f, 1.0f, parallel, table);
+        return new float[][] { cape[0], cape[1], capeTop[0], dcape };
+    }
+
+    /**
+     * Describe the largest and 99th percentile absolute difference, a few
+     * columns can differ much more than the rest when a small change moves a
+     * parcel across one of the thresholds in the calculation. Returns
+     * "mismatch" if the arrays do not agree on which values are NaN.
+     */
+    private static String deviation(float[] expected, float[] actual) {
+        double[] deviations = new double[expected.length];
+        int count = 0;
+        for (int i = 0; i < expected.length; i += 1) {
+            if (Float.isNaN(expected[i]) != Float.isNaN(actual[i])) {
+                return "mismatch";
+            } else if (!Float.isNaN(expected[i])) {
+                deviations[count] = Math.abs(expected[i] - actual[i]);
+                count += 1;
+            }
+        }
+        if (count == 0) {
+            return "none";
+        }
+        Arrays.sort(deviations, 0, count);
+        return String.format("max %.3f p99 %.3f", deviations[count - 1],
+                deviations[(int) (count * 0.99)]);
+    }
+
+    /**
+     * Compare the table to TempOfTe for saturated parcels at random
+     * temperatures and pressures.
+     */
+    private static double tempOfTeDeviation(Random random, int samples) {
+        double max = 0;
+        for (int i = 0; i < samples; i += 1) {
+            double p = 100 + random.nextDouble() * 950;
+            double te = AdiabeticTemperature.adiabatic_te(
+                    200 + random.nextDouble() * 110, p);
+            double expected = TempOfTe.temp_of_te(te, p);
+            double actual = TempOfTeTable.temp_of_te(te, p);
+            if (Double.isNaN(expected) != Double.isNaN(actual)) {
+                return Double.POSITIVE_INFINITY;
+            } else if (!Double.isNaN(expected)) {
+                max = Math.max(max, Math.abs(expected - actual));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Soundings with a standard lapse rate up to a tropopause and a random
+     * surface temperature, pressure and dewpoint depression in each column.
+     */
+    private static class Soundings {
+
+        final int nx;
+
+        final int ny;
+
+        final int nz;
+
+        final float[] p;
+
+        final float[] t;
+
+        final float[] td;
+
+        final float[] tve;
+
+        final float[] p0;
+
+        final float[] th0;
+
+        final float[] sh0;
+
+        final float[] ptop;
+
+        Soundings(int nx, int ny, int nz, Random random) {
+            this.nx = nx;
+            this.ny = ny;
+            this.nz = nz;
+            int n2 = nx * ny;
+            p = new float[n2 * nz];
+            t = new float[n2 * nz];
+            td = new float[n2 * nz];
+            tve = new float[n2 * nz];
+            p0 = new float[n2];
+            th0 = new float[n2];
+            sh0 = new float[n2];
+            ptop = new float[n2];
+            for (int i = 0; i < n2; i += 1) {
+                double sfcP = 1000 - random.nextDouble() * 50;
+                double sfcT = 280 + random.nextDouble() * 30;
+                double depression = 1 + random.nextDouble() * 15;
+                p0[i] = (float) sfcP;
+                th0[i] = (float) (sfcT * Math.pow(1000 / sfcP, 0.286));
+                sh0[i] = (float) specificHumidity(sfcT - depression, sfcP);
+                ptop[i] = (float) (300 + random.nextDouble() * 200);
+                for (int k = 0; k < nz; k += 1) {
+                    int index = k * n2 + i;
+                    double pp = 1000 - k * 900.0 / (nz - 1);
+                    double tt = Math.max(sfcT * Math.pow(pp / sfcP, 0.1903),
+                            215);
+                    double dd = tt - depression * (1 + 2 * (1000 - pp) / 900);
+                    double q = specificHumidity(dd, pp);
+                    p[index] = (float) pp;
+                    t[index] = (float) tt;
+                    td[index] = (float) dd;
+                    tve[index] = (float) (tt * (1 + 0.000608 * q));
+                }
+            }
+        }
+
+        /** Specific humidity in g/kg from dewpoint in K and pressure in mb. */
+        private static double specificHumidity(double dewpoint, double p) {
+            double e = 6.112 * Math.exp(17.67 * (dewpoint - 273.15)
+                    / (dewpoint - 29.65));
+            return 622 * e / (p - 0.378 * e);
+        }
+    }
+
+}
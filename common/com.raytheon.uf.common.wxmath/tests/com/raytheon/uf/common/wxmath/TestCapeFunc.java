@@ -0,0 +1,189 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.wxmath;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test that {@link CapeFunc} and {@link DCapeFunc} produce the same results
+ * when columns are calculated in parallel with {@link ColumnTask}, and nearly
+ * the same results with {@link TempOfTeTable}.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestCapeFunc {
+
+    /** Large enough to be split across threads. */
+    private static final int NX = 80;
+
+    private static final int NY = 60;
+
+    private static final int NZ = 30;
+
+    /** Allowed difference when using the table, in J/kg. */
+    private static final float TOLERANCE = 5;
+
+    private static final Soundings soundings = new Soundings(NX, NY, NZ,
+            new Random(0));
+
+    private static float[][] run(boolean parallel, boolean table) {
+        Soundings s = soundings;
+        float[][] cape = CapeFunc.capeFunc(1, s.p, s.tve, s.p0, s.th0, s.sh0,
+                s.nx, s.ny, s.nz, parallel, table);
+        float[][] capeTop = CapeFunc.capeFuncTop(1, s.p, s.tve, s.p0, s.th0,
+                s.sh0, s.ptop, s.nx, s.ny, s.nz, parallel, table);
+        float[] dcape = DCapeFunc.dcapeFunc(1, s.p, s.t, s.td, s.p0, s.th0,
+                s.sh0, s.nx, s.ny, s.nz, 0.002f, 1.0f, parallel, table);
+        return new float[][] { cape[0], cape[1], capeTop[0], capeTop[1],
+                dcape };
+    }
+
+    @Test
+    public void testParallelMatchesSerial() {
+        float[][] serial = run(false, false);
+        float[][] parallel = run(true, false);
+        for (int i = 0; i < serial.length; i += 1) {
+            assertArrayEquals(serial[i], parallel[i], 0);
+        }
+        serial = run(false, true);
+        parallel = run(true, true);
+        for (int i = 0; i < serial.length; i += 1) {
+            assertArrayEquals(serial[i], parallel[i], 0);
+        }
+    }
+
+    /**
+     * A few columns can differ much more than the rest when a small change
+     * moves a parcel across one of the thresholds in the calculation so only
+     * the 99th percentile difference is checked.
+     */
+    @Test
+    public void testTableMatchesExact() {
+        float[][] exact = run(false, false);
+        float[][] table = run(false, true);
+        for (int i = 0; i < exact.length; i += 1) {
+            float[] deviations = new float[exact[i].length];
+            int count = 0;
+            for (int j = 0; j < exact[i].length; j += 1) {
+                assertEquals(Float.isNaN(exact[i][j]),
+                        Float.isNaN(table[i][j]));
+                if (!Float.isNaN(exact[i][j])) {
+                    deviations[count] = Math.abs(exact[i][j] - table[i][j]);
+                    count += 1;
+                }
+            }
+            assertTrue(count > 0);
+            Arrays.sort(deviations, 0, count);
+            float p99 = deviations[(int) (count * 0.99)];
+            assertTrue("p99 deviation of result " + i + " is " + p99,
+                    p99 <= TOLERANCE);
+        }
+    }
+
+    /**
+     * Soundings with a standard lapse rate up to a tropopause and a random
+     * surface temperature, pressure and dewpoint depression in each column.
+     */
+    private static class Soundings {
+
+        final int nx;
+
+        final int ny;
+
+        final int nz;
+
+        final float[] p;
+
+        final float[] t;
+
+        final float[] td;
+
+        final float[] tve;
+
+        final float[] p0;
+
+        final float[] th0;
+
+        final float[] sh0;
+
+        final float[] ptop;
+
+        Soundings(int nx, int ny, int nz, Random random) {
+            this.nx = nx;
+            this.ny = ny;
+            this.nz = nz;
+            int n2 = nx * ny;
+            p = new float[n2 * nz];
+            t = new float[n2 * nz];
+            td = new float[n2 * nz];
+            tve = new float[n2 * nz];
+            p0 = new float[n2];
+            th0 = new float[n2];
+            sh0 = new float[n2];
+            ptop = new float[n2];
+            for (int i = 0; i < n2; i += 1) {
+                double sfcP = 1000 - random.nextDouble() * 50;
+                double sfcT = 280 + random.nextDouble() * 30;
+                double depression = 1 + random.nextDouble() * 15;
+                p0[i] = (float) sfcP;
+                th0[i] = (float) (sfcT * Math.pow(1000 / sfcP, 0.286));
+                sh0[i] = (float) specificHumidity(sfcT - depression, sfcP);
+                ptop[i] = (float) (300 + random.nextDouble() * 200);
+                for (int k = 0; k < nz; k += 1) {
+                    int index = k * n2 + i;
+                    double pp = 1000 - k * 900.0 / (nz - 1);
+                    double tt = Math.max(sfcT * Math.pow(pp / sfcP, 0.1903),
+                            215);
+                    double dd = tt - depression * (1 + 2 * (1000 - pp) / 900);
+                    double q = specificHumidity(dd, pp);
+                    p[index] = (float) pp;
+                    t[index] = (float) tt;
+                    td[index] = (float) dd;
+                    tve[index] = (float) (tt * (1 + 0.000608 * q));
+                }
+            }
+        }
+
+        /** Specific humidity in g/kg from dewpoint in K and pressure in mb. */
+        private static double specificHumidity(double dewpoint, double p) {
+            double e = 6.112 * Math.exp(17.67 * (dewpoint - 273.15)
+                    / (dewpoint - 29.65));
+            return 622 * e / (p - 0.378 * e);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.wxmath;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test that {@link TempOfTeTable} stays within {@link TempOfTeTable#MAX_ERROR}
+ * of {@link TempOfTe}.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestTempOfTeTable {
+
+    private static void assertWithinError(double te, double p) {
+        double expected = TempOfTe.temp_of_te(te, p);
+        double actual = TempOfTeTable.temp_of_te(te, p);
+        String message = "te=" + te + " p=" + p;
+        if (Double.isNaN(expected)) {
+            assertEquals(message, expected, actual, 0);
+        } else {
+            assertEquals(message, expected, actual, TempOfTeTable.MAX_ERROR);
+        }
+    }
+
+    @Test
+    public void testWholeTable() {
+        Random random = new Random(0);
+        for (int i = 0; i < 1000000; i += 1) {
+            assertWithinError(183 + random.nextDouble() * 300,
+                    90 + random.nextDouble() * 1020);
+        }
+    }
+
+    @Test
+    public void testSaturatedParcels() {
+        Random random = new Random(1);
+        for (int i = 0; i < 200000; i += 1) {
+            double p = 100 + random.nextDouble() * 950;
+            double te = AdiabeticTemperature.adiabatic_te(
+                    200 + random.nextDouble() * 110, p);
+            assertWithinError(te, p);
+        }
+    }
+
+    @Test
+    public void testOutsideTable() {
+        assertWithinError(150, 500);
+        assertWithinError(300, 50);
+        assertWithinError(500, 1200);
+        assertWithinError(300, Double.NaN);
+    }
+
+}
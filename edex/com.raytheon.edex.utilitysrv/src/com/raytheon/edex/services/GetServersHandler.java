@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import com.raytheon.uf.common.localization.msgs.GetServersRequest;
 import com.raytheon.uf.common.localization.msgs.GetServersResponse;
+import com.raytheon.uf.common.serialization.comm.CacheableResponse;
 import com.raytheon.uf.common.serialization.comm.IRequestHandler;
 import com.raytheon.uf.common.util.registry.GenericRegistry;
 import com.raytheon.uf.common.util.registry.RegistryException;
@@ -49,11 +50,13 @@ import com.raytheon.uf.common.util.registry.RegistryException;
  * Dec 17, 2015 5166      kbisanz      Update logging to use SLF4J
  * Feb 02, 2017 6085      bsteffen     Enable ssl in the JMS connection.
  * Feb 09, 2017 6111      njensen      Overrode register to not return this
+ * Oct 19, 2026           agent        Cache responses.
  * 
  * </pre>
  * 
  * @author mschenke
  */
+@CacheableResponse(timeToLive = 10 * 60 * 1000L, maxEntries = 1)
 public class GetServersHandler extends GenericRegistry<String, String>
         implements IRequestHandler<GetServersRequest> {
 
@@ -26,6 +26,7 @@ import java.util.Set;
 import com.raytheon.uf.common.dataplugin.PluginDataObject;
 import com.raytheon.uf.common.dataplugin.PluginProperties;
 import com.raytheon.uf.common.dataplugin.request.GetPluginRecordMapRequest;
+import com.raytheon.uf.common.serialization.comm.CacheableResponse;
 import com.raytheon.uf.common.serialization.comm.IRequestHandler;
 
 /**
@@ -38,6 +39,7 @@ import com.raytheon.uf.common.serialization.comm.IRequestHandler;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jun 16, 2011            rjpeter     Initial creation
+ * Oct 19, 2026            agent       Cache responses.
  * 
  * </pre>
  * 
@@ -45,6 +47,7 @@ import com.raytheon.uf.common.serialization.comm.IRequestHandler;
  * @version 1.0
  */
 
+@CacheableResponse(timeToLive = 10 * 60 * 1000L, maxEntries = 1)
 public class GetPluginRecordMapHandler implements
         IRequestHandler<GetPluginRecordMapRequest> {
 
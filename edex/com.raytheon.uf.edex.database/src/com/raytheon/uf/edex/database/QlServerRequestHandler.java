@@ -23,7 +23,8 @@ import com.raytheon.uf.common.dataquery.requests.QlServerRequest;
 import com.raytheon.uf.common.dataquery.requests.QlServerRequest.QueryLanguage;
 import com.raytheon.uf.common.dataquery.requests.QlServerRequest.QueryType;
 import com.raytheon.uf.common.message.response.ResponseMessageGeneric;
-import com.raytheon.uf.common.serialization.comm.IRequestHandler;
+import com.raytheon.uf.common.serialization.comm.CacheableResponse;
+import com.raytheon.uf.common.serialization.comm.ICacheableRequestHandler;
 import com.raytheon.uf.edex.database.dao.CoreDao;
 import com.raytheon.uf.edex.database.dao.DaoConfig;
 
@@ -39,13 +40,19 @@ import com.raytheon.uf.edex.database.dao.DaoConfig;
  * Nov 08, 2013  2361      njensen     Removed saveOrUpdate mode
  * Jul 13, 2015  4500      rjpeter     Fix SQL Injection concerns.
  * Jan 31, 2018  6945      tgurney     Add maxResults
+ * Oct 19, 2026            agent       Cache responses of maps queries
  * </pre>
  *
  * @author ekladstrup
  * @version 1.0
  */
+@CacheableResponse(timeToLive = 10 * 60 * 1000L, maxEntries = 500,
+        maxResponseBytes = 8 * 1024 * 1024)
 public class QlServerRequestHandler
-        implements IRequestHandler<QlServerRequest> {
+        implements ICacheableRequestHandler<QlServerRequest> {
+
+    /** Database containing static map data, safe to cache queries against */
+    private static final String MAPS_DB_NAME = "maps";
     /**
      *
      */
@@ -90,4 +97,14 @@ public class QlServerRequestHandler
         return rval;
     }
 
+    /**
+     * Only queries against the maps database are cached, everything else may
+     * change at any time.
+     */
+    @Override
+    public boolean isCacheable(QlServerRequest request) {
+        return MAPS_DB_NAME.equals(request.getDatabase())
+                && !QueryType.STATEMENT.equals(request.getType());
+    }
+
 }
@@ -23,6 +23,9 @@ package com.raytheon.uf.edex.database.plugin;
 import java.io.File;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -37,23 +40,41 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.beanutils.PropertyUtils;
 import org.hibernate.Criteria;
 import org.hibernate.QueryException;
+import org.hibernate.SQLQuery;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 import org.hibernate.exception.ConstraintViolationException;
-
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import com.raytheon.uf.common.convert.ConvertUtil;
 import com.raytheon.uf.common.dataplugin.HDF5Util;
 import com.raytheon.uf.common.dataplugin.PluginDataObject;
 import com.raytheon.uf.common.dataplugin.PluginException;
 import com.raytheon.uf.common.dataplugin.annotations.DataURIUtil;
+import com.raytheon.uf.common.dataplugin.persist.DefaultPathProvider;
 import com.raytheon.uf.common.dataplugin.persist.IHDFFilePathProvider;
 import com.raytheon.uf.common.dataplugin.persist.IPersistable;
 import com.raytheon.uf.common.dataplugin.persist.PersistableDataObject;
@@ -69,6 +90,7 @@ import com.raytheon.uf.common.localization.ILocalizationFile;
 import com.raytheon.uf.common.localization.IPathManager;
 import com.raytheon.uf.common.localization.PathManagerFactory;
 import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.common.time.util.ITimer;
 import com.raytheon.uf.common.time.util.TimeUtil;
 import com.raytheon.uf.edex.core.EdexException;
 import com.raytheon.uf.edex.database.DataAccessLayerException;
@@ -129,6 +151,10 @@ import com.raytheon.uf.edex.database.query.DatabaseQuery;
  * Apr 14, 2017  6003     tgurney     Fix modTimeToWait behavior for rules that
  *                                    match multiple keys
  * Feb 20, 2018  7123     bsteffen    Add postPurge() method
+ * Oct 19, 2026           agent       Optionally purge product keys
+ *                                    concurrently in groups.
+ * Oct 19, 2026           agent       Purge with single SQL deletes and drop
+ *                                    expired refTime partitions.
  * 
  * </pre>
  *
@@ -149,6 +175,44 @@ public abstract class PluginDao extends CoreDao {
     public static final int PURGE_ORPHAN_BUFFER_DAYS = Integer
             .getInteger("purge.orphan.buffer", 7);
 
+    /**
+     * The number of threads a single plugin may use to purge its product keys
+     * concurrently. A value of 1 purges every key on the purge job thread.
+     */
+    public static final int PURGE_KEY_THREADS = Integer
+            .getInteger("purge.key.threads", 1);
+
+    /**
+     * The number of product keys a purge thread handles as a single unit when
+     * purging concurrently. HDF5 deletes are batched across all the keys in a
+     * group.
+     */
+    public static final int PURGE_KEY_GROUP_SIZE = Integer
+            .getInteger("purge.key.group.size", 25);
+
+    /**
+     * Allows purging records with a single SQL delete per time and key instead
+     * of loading and deleting each record through hibernate. Disabled unless
+     * the purge.sql.enabled property is true.
+     */
+    public static final boolean PURGE_SQL_ENABLED = Boolean
+            .getBoolean("purge.sql.enabled");
+
+    private static final String PARTITION_KEY_SQL = "SELECT pg_get_partkeydef(partrelid) "
+            + "FROM pg_partitioned_table WHERE partrelid = CAST(:table AS regclass)";
+
+    private static final String PARTITION_BOUNDS_SQL = "SELECT CAST(CAST(c.oid AS regclass) AS text), "
+            + "pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = CAST(:table AS regclass)";
+
+    private static final Pattern PARTITION_KEY_PATTERN = Pattern
+            .compile("RANGE \\(\"?(\\w+)\"?\\)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern PARTITION_BOUNDS_PATTERN = Pattern.compile(
+            "FOR VALUES FROM \\('([^']+)'\\) TO \\('([^']+)'\\)",
+            Pattern.CASE_INSENSITIVE);
+
     // should match batch size in hibernate config
     protected static final int COMMIT_INTERVAL = 100;
 
@@ -157,6 +221,12 @@ public abstract class PluginDao extends CoreDao {
     // Map for tracking which PDOs store dataURI as a column in the DB.
     protected static final ConcurrentMap<Class<?>, Boolean> pluginDataURIColumn = new ConcurrentHashMap<>();
 
+    // Map for tracking which PDOs can be purged with a single SQL delete.
+    protected static final ConcurrentMap<Class<?>, Boolean> pluginSqlPurge = new ConcurrentHashMap<>();
+
+    // Map for tracking which PDO tables are range partitioned on refTime.
+    protected static final ConcurrentMap<Class<?>, Boolean> pluginTimePartitioned = new ConcurrentHashMap<>();
+
     /**
      * The base path of the folder containing HDF5 data for the owning plugin
      */
@@ -168,6 +238,15 @@ public abstract class PluginDao extends CoreDao {
     /** The owning plugin name */
     protected String pluginName;
 
+    /**
+     * HDF5 files and groups collected while {@link #purgeExpiredKeyGroup} is
+     * purging on the current thread, null when not purging a group.
+     */
+    private final ThreadLocal<Map<String, List<String>>> deferredHdf5Files = new ThreadLocal<>();
+
+    /** The key used in purge results when there are no rule keys */
+    private static final String DEFAULT_KEY = "default";
+
     protected static final String PURGE_VERSION_FIELD = "dataTime.refTime";
 
     /**
@@ -772,6 +851,37 @@ public abstract class PluginDao extends CoreDao {
 
     }
 
+    /**
+     * The times to keep and purge for a single set of product keys as
+     * determined by the purge rules.
+     */
+    protected static class PurgePlan {
+        public final Map<String, String> productKeys;
+
+        public final String productKeyString;
+
+        /** All times for the keys, null if they were not queried */
+        public final List<Date> refTimes;
+
+        public final Set<Date> timesKept;
+
+        public final Set<Date> timesPurged;
+
+        public boolean purgeHdf5Data;
+
+        public boolean trackToUri;
+
+        public PurgePlan(Map<String, String> productKeys,
+                String productKeyString, List<Date> refTimes,
+                Set<Date> timesKept, Set<Date> timesPurged) {
+            this.productKeys = productKeys;
+            this.productKeyString = productKeyString;
+            this.refTimes = refTimes;
+            this.timesKept = timesKept;
+            this.timesPurged = timesPurged;
+        }
+    }
+
     /**
      * Purges data according to purge criteria specified by the owning plugin
      *
@@ -804,21 +914,51 @@ public abstract class PluginDao extends CoreDao {
             List<String> ruleKeys = ruleSet.getKeys();
             int totalItems = 0;
 
+            // Drop whole time slices first, keys are purged from what remains
+            List<TimePartition> partitions = getTimePartitions();
+            if (!partitions.isEmpty()) {
+                totalItems += purgeExpiredPartitions(ruleSet, partitions,
+                        timesPurged);
+            }
+
             if (ruleKeys != null && !ruleKeys.isEmpty()) {
-                // Iterate through keys, fully purge each key set
                 String[][] distinctKeys = getDistinctProductKeyValues(
                         ruleSet.getKeys());
-                for (String[] key : distinctKeys) {
-                    RuleResult res = purgeExpiredKey(ruleSet, key);
-                    timesKept.put(Arrays.toString(key), res.timesKept);
-                    timesPurged.put(Arrays.toString(key), res.timesPurged);
-                    totalItems += res.itemsDeletedForKey;
+                int groupSize = Math.max(1, getPurgeKeyGroupSize());
+                int threads = Math.min(getPurgeKeyThreads(),
+                        (distinctKeys.length + groupSize - 1) / groupSize);
+                if (threads > 1) {
+                    Map<String, RuleResult> results = purgeExpiredKeysConcurrently(
+                            ruleSet, distinctKeys, groupSize, threads);
+                    for (Entry<String, RuleResult> entry : results
+                            .entrySet()) {
+                        RuleResult res = entry.getValue();
+                        timesKept.put(entry.getKey(), res.timesKept);
+                        addTimes(timesPurged, entry.getKey(),
+                                res.timesPurged);
+                        totalItems += res.itemsDeletedForKey;
+                    }
+                } else {
+                    // Iterate through keys, fully purge each key set
+                    for (String[] key : distinctKeys) {
+                        String keyString = Arrays.toString(key);
+                        ITimer timer = TimeUtil.getTimer();
+                        timer.start();
+                        RuleResult res = purgeExpiredKey(ruleSet, key);
+                        timer.stop();
+                        PurgeLogger.logKeyDuration(keyString,
+                                res.itemsDeletedForKey, timer.getElapsedTime(),
+                                pluginName);
+                        timesKept.put(keyString, res.timesKept);
+                        addTimes(timesPurged, keyString, res.timesPurged);
+                        totalItems += res.itemsDeletedForKey;
+                    }
                 }
             } else {
                 // no rule keys defined, can only apply default rule
                 RuleResult res = purgeExpiredKey(ruleSet, null);
-                timesKept.put("default", res.timesKept);
-                timesPurged.put("default", res.timesPurged);
+                timesKept.put(DEFAULT_KEY, res.timesKept);
+                addTimes(timesPurged, DEFAULT_KEY, res.timesPurged);
                 totalItems += res.itemsDeletedForKey;
             }
 
@@ -837,24 +977,198 @@ public abstract class PluginDao extends CoreDao {
         }
     }
 
+    /**
+     * Add times to the set for a key, times may already be present for a key
+     * when a partition containing them was dropped.
+     */
+    private static void addTimes(Map<String, Set<Date>> timesByKey,
+            String key, Set<Date> times) {
+        Set<Date> existing = timesByKey.get(key);
+        if (existing == null) {
+            timesByKey.put(key, times);
+        } else {
+            existing.addAll(times);
+        }
+    }
+
+    /**
+     * @return the maximum number of threads used to purge the product keys of
+     *         this plugin concurrently, defaults to {@link #PURGE_KEY_THREADS}
+     */
+    protected int getPurgeKeyThreads() {
+        return PURGE_KEY_THREADS;
+    }
+
+    /**
+     * @return the number of product keys purged as a single unit when purging
+     *         concurrently, defaults to {@link #PURGE_KEY_GROUP_SIZE}
+     */
+    protected int getPurgeKeyGroupSize() {
+        return PURGE_KEY_GROUP_SIZE;
+    }
+
+    /**
+     * Purges the distinct product keys in groups on a bounded pool of threads.
+     * The pool only lives for the duration of this call so the purge job that
+     * holds the plugin's purge lock does not complete until every key has been
+     * purged.
+     *
+     * @param ruleSet
+     * @param distinctKeys
+     *            The product keys to purge
+     * @param groupSize
+     *            The number of keys purged by a thread as a single unit
+     * @param threads
+     *            The number of threads to purge with
+     * @return Summary of purge for each key, keyed by the string form of the
+     *         key
+     * @throws DataAccessLayerException
+     */
+    protected Map<String, RuleResult> purgeExpiredKeysConcurrently(
+            final PurgeRuleSet ruleSet, String[][] distinctKeys,
+            int groupSize, int threads) throws DataAccessLayerException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new PurgeThreadFactory(pluginName));
+        try {
+            List<String[]> keys = Arrays.asList(distinctKeys);
+            List<Future<Map<String, RuleResult>>> futures = new ArrayList<>(
+                    (keys.size() + groupSize - 1) / groupSize);
+            for (int i = 0; i < keys.size(); i += groupSize) {
+                final List<String[]> group = keys.subList(i,
+                        Math.min(i + groupSize, keys.size()));
+                futures.add(executor
+                        .submit(new Callable<Map<String, RuleResult>>() {
+                            @Override
+                            public Map<String, RuleResult> call()
+                                    throws DataAccessLayerException {
+                                return purgeExpiredKeyGroup(ruleSet, group);
+                            }
+                        }));
+            }
+
+            Map<String, RuleResult> results = new LinkedHashMap<>(
+                    keys.size(), 1.0f);
+            for (Future<Map<String, RuleResult>> future : futures) {
+                try {
+                    results.putAll(future.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof DataAccessLayerException) {
+                        throw (DataAccessLayerException) cause;
+                    }
+                    throw new DataAccessLayerException(
+                            "Error purging product keys for " + pluginName,
+                            cause);
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessLayerException(
+                    "Interrupted while purging product keys for "
+                            + pluginName,
+                    e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Purges a group of product keys. Each key is purged through
+     * {@link #purgeExpiredKey(PurgeRuleSet, String[])} so subclasses which
+     * override it are still used. HDF5 files and groups that need to be
+     * removed are collected for the whole group and deleted once all the keys
+     * have been purged from the database.
+     *
+     * @param ruleSet
+     * @param keyGroup
+     *            The product keys to purge
+     * @return Summary of purge for each key, keyed by the string form of the
+     *         key
+     * @throws DataAccessLayerException
+     */
+    protected Map<String, RuleResult> purgeExpiredKeyGroup(
+            PurgeRuleSet ruleSet, List<String[]> keyGroup)
+            throws DataAccessLayerException {
+        Map<String, RuleResult> results = new LinkedHashMap<>(
+                keyGroup.size(), 1.0f);
+        Map<String, List<String>> hdf5FileToUriMap = new HashMap<>();
+        deferredHdf5Files.set(hdf5FileToUriMap);
+        try {
+            for (String[] key : keyGroup) {
+                String keyString = Arrays.toString(key);
+                ITimer timer = TimeUtil.getTimer();
+                timer.start();
+                RuleResult res = purgeExpiredKey(ruleSet, key);
+                timer.stop();
+                PurgeLogger.logKeyDuration(keyString, res.itemsDeletedForKey,
+                        timer.getElapsedTime(), pluginName);
+                results.put(keyString, res);
+            }
+        } finally {
+            deferredHdf5Files.remove();
+            // anything in the map is already gone from the database
+            purgeHdf5Files(hdf5FileToUriMap);
+        }
+        return results;
+    }
+
+    /**
+     * Takes the purgeKeys, looks up the associated purge rule, and applies it
+     * to the data matched by purgeKeys. When called while purging a group of
+     * keys concurrently the HDF5 deletes are deferred until the whole group is
+     * purged.
+     *
+     * @param ruleSet
+     * @param purgeKeys
+     * @return Summary of purge for keys
+     * @throws DataAccessLayerException
+     */
+    protected RuleResult purgeExpiredKey(PurgeRuleSet ruleSet,
+            String[] purgeKeys) throws DataAccessLayerException {
+        return purgeExpiredKey(ruleSet, purgeKeys, deferredHdf5Files.get());
+    }
+
     /**
      * Takes the purgeKeys, looks up the associated purge rule, and applies it
      * to the data matched by purgeKeys.
      *
      * @param ruleSet
      * @param purgeKeys
+     * @param deferredHdf5Files
+     *            If not null the HDF5 files and groups of the purged records
+     *            are added to this map for the caller to delete, otherwise
+     *            they are deleted by this method.
      * @return Summary of purge for keys
      * @throws DataAccessLayerException
      */
     protected RuleResult purgeExpiredKey(PurgeRuleSet ruleSet,
+            String[] purgeKeys, Map<String, List<String>> deferredHdf5Files)
+            throws DataAccessLayerException {
+        return executePurgePlan(planExpiredKey(ruleSet, purgeKeys),
+                deferredHdf5Files);
+    }
+
+    /**
+     * Takes the purgeKeys, looks up the associated purge rule, and determines
+     * which times should be kept and purged for the data matched by purgeKeys.
+     * Nothing is purged by this method.
+     *
+     * @param ruleSet
+     * @param purgeKeys
+     * @return The times to keep and purge for the keys
+     * @throws DataAccessLayerException
+     */
+    protected PurgePlan planExpiredKey(PurgeRuleSet ruleSet,
             String[] purgeKeys) throws DataAccessLayerException {
         List<PurgeRule> rules = ruleSet.getRuleForKeys(purgeKeys);
 
         if (rules == null) {
             PurgeLogger.logWarn("No rules found for purgeKeys: "
                     + Arrays.toString(purgeKeys), pluginName);
-            return new RuleResult(Collections.<Date> emptySet(),
-                    Collections.<Date> emptySet(), 0);
+            return new PurgePlan(null, null, null,
+                    Collections.<Date> emptySet(),
+                    Collections.<Date> emptySet());
         }
         /*
          * This section applies the purge rule
@@ -883,6 +1197,13 @@ public abstract class PluginDao extends CoreDao {
         Set<Date> timesPurged = new HashSet<>();
 
         for (PurgeRule rule : rules) {
+            if (rule.isModTimeToWaitSpecified()) {
+                /*
+                 * The applied flag is specific to this key, don't share it
+                 * with keys being purged on other threads.
+                 */
+                rule = new PurgeRule(rule);
+            }
             rule.setModTimeToWaitApplied(false);
             // Holds the times kept by this rule
             List<Date> timesKeptByRule = new ArrayList<>();
@@ -919,8 +1240,9 @@ public abstract class PluginDao extends CoreDao {
                     if (maxRefTime == null) {
                         PurgeLogger.logInfo("No data available to purge",
                                 pluginName);
-                        return new RuleResult(Collections.<Date> emptySet(),
-                                Collections.<Date> emptySet(), 0);
+                        return new PurgePlan(productKeys, productKeyString,
+                                refTimesForKey, Collections.<Date> emptySet(),
+                                Collections.<Date> emptySet());
                     } else {
                         periodCutoffTime = new Date(maxRefTime.getTime()
                                 - rule.getPeriodInMillis());
@@ -1061,6 +1383,9 @@ public abstract class PluginDao extends CoreDao {
         // then it will be retained
         timesPurged.removeAll(timesKept);
 
+        PurgePlan plan = new PurgePlan(productKeys, productKeyString,
+                refTimesForKey, timesKept, timesPurged);
+
         // flags to control how hdf5 is purged and what needs to be returned
         // from the database purge to properly purge hdf5. If purging and
         // trackToUri is false, hdf5PurgeDates is used to determine if the
@@ -1141,6 +1466,33 @@ public abstract class PluginDao extends CoreDao {
                     "Unabled to determine if plugin has HDF5 data to purge",
                     this.pluginName, e);
         }
+        plan.purgeHdf5Data = purgeHdf5Data;
+        plan.trackToUri = trackToUri;
+        return plan;
+    }
+
+    /**
+     * Purges the times in a plan created by
+     * {@link #planExpiredKey(PurgeRuleSet, String[])}.
+     *
+     * @param plan
+     *            The times to keep and purge
+     * @param deferredHdf5Files
+     *            If not null the HDF5 files and groups of the purged records
+     *            are added to this map for the caller to delete, otherwise
+     *            they are deleted by this method.
+     * @return Summary of purge for keys
+     * @throws DataAccessLayerException
+     */
+    protected RuleResult executePurgePlan(PurgePlan plan,
+            Map<String, List<String>> deferredHdf5Files)
+            throws DataAccessLayerException {
+        Map<String, String> productKeys = plan.productKeys;
+        String productKeyString = plan.productKeyString;
+        Set<Date> timesKept = plan.timesKept;
+        Set<Date> timesPurged = plan.timesPurged;
+        boolean purgeHdf5Data = plan.purgeHdf5Data;
+        boolean trackToUri = plan.trackToUri;
 
         int itemsDeletedForKey = 0;
         List<Date> orderedTimesPurged = new ArrayList<>(timesPurged);
@@ -1158,49 +1510,36 @@ public abstract class PluginDao extends CoreDao {
             itemsDeletedForKey += itemsDeletedForTime;
 
             // check if any hdf5 data up to this point can be deleted
-            if (purgeHdf5Data && (trackToUri || previousRoundedDate != null
-                    && roundedDate.after(previousRoundedDate))) {
+            if (purgeHdf5Data && deferredHdf5Files == null
+                    && (trackToUri || previousRoundedDate != null
+                            && roundedDate.after(previousRoundedDate))) {
                 // delete these entries now
-                for (Map.Entry<String, List<String>> hdf5Entry : hdf5FileToUriMap
-                        .entrySet()) {
-                    try {
-                        IDataStore ds = DataStoreFactory
-                                .getDataStore(new File(hdf5Entry.getKey()));
-                        List<String> uris = hdf5Entry.getValue();
-                        if (uris == null) {
-                            ds.deleteFiles(null);
-                        } else {
-                            ds.deleteGroups(
-                                    uris.toArray(new String[uris.size()]));
-                        }
-                    } catch (Exception e) {
-                        PurgeLogger.logError(
-                                "Error occurred purging file: "
-                                        + hdf5Entry.getKey(),
-                                this.pluginName, e);
-                    }
-                }
-                hdf5FileToUriMap.clear();
+                purgeHdf5Files(hdf5FileToUriMap);
                 previousRoundedDate = roundedDate;
             }
         }
 
         if (purgeHdf5Data) {
-            // delete any remaining data
-            for (Map.Entry<String, List<String>> hdf5Entry : hdf5FileToUriMap
-                    .entrySet()) {
-                try {
-                    IDataStore ds = DataStoreFactory
-                            .getDataStore(new File(hdf5Entry.getKey()));
+            if (deferredHdf5Files == null) {
+                // delete any remaining data
+                purgeHdf5Files(hdf5FileToUriMap);
+            } else {
+                for (Map.Entry<String, List<String>> hdf5Entry : hdf5FileToUriMap
+                        .entrySet()) {
+                    String file = hdf5Entry.getKey();
                     List<String> uris = hdf5Entry.getValue();
-                    if (uris == null) {
-                        ds.deleteFiles(null);
+                    if (!deferredHdf5Files.containsKey(file)) {
+                        deferredHdf5Files.put(file, uris);
+                    } else if (uris == null) {
+                        // whole file is being removed
+                        deferredHdf5Files.put(file, null);
                     } else {
-                        ds.deleteGroups(uris.toArray(new String[uris.size()]));
+                        List<String> deferredUris = deferredHdf5Files
+                                .get(file);
+                        if (deferredUris != null) {
+                            deferredUris.addAll(uris);
+                        }
                     }
-                } catch (Exception e) {
-                    PurgeLogger.logError("Error occurred purging file: "
-                            + hdf5Entry.getKey(), this.pluginName, e);
                 }
             }
         }
@@ -1238,6 +1577,34 @@ public abstract class PluginDao extends CoreDao {
         return new RuleResult(timesKept, timesPurged, itemsDeletedForKey);
     }
 
+    /**
+     * Deletes HDF5 data for purged records and clears the map.
+     *
+     * @param hdf5FileToUriMap
+     *            Map of hdf5 file to the data URIs to delete from the file, a
+     *            null list deletes the entire file.
+     */
+    protected void purgeHdf5Files(Map<String, List<String>> hdf5FileToUriMap) {
+        for (Map.Entry<String, List<String>> hdf5Entry : hdf5FileToUriMap
+                .entrySet()) {
+            try {
+                IDataStore ds = DataStoreFactory
+                        .getDataStore(new File(hdf5Entry.getKey()));
+                List<String> uris = hdf5Entry.getValue();
+                if (uris == null) {
+                    ds.deleteFiles(null);
+                } else {
+                    ds.deleteGroups(uris.toArray(new String[uris.size()]));
+                }
+            } catch (Exception e) {
+                PurgeLogger.logError(
+                        "Error occurred purging file: " + hdf5Entry.getKey(),
+                        this.pluginName, e);
+            }
+        }
+        hdf5FileToUriMap.clear();
+    }
+
     /**
      * Purges orphaned datastore data that does not have associated database
      * records.
@@ -1535,6 +1902,27 @@ public abstract class PluginDao extends CoreDao {
             Map<String, String> productKeys, boolean trackHdf5,
             boolean trackToUri, Map<String, List<String>> hdf5FileToUriPurged)
             throws DataAccessLayerException {
+        AbstractEntityPersister persister = refTime == null ? null
+                : getSqlPurgePersister();
+        if (persister != null) {
+            try {
+                return purgeDataByRefTimeWithSql(persister, refTime,
+                        productKeys, trackHdf5, trackToUri,
+                        hdf5FileToUriPurged);
+            } catch (Exception e) {
+                if (isSqlPurgeUnsupported(e)) {
+                    pluginSqlPurge.put(this.daoClass, Boolean.FALSE);
+                    PurgeLogger.logWarn(
+                            "Unable to purge with a single delete statement, records will be purged individually: "
+                                    + e.getMessage(),
+                            pluginName);
+                } else {
+                    PurgeLogger.logWarn("Single delete statement failed for "
+                            + refTime + ", purging records individually: "
+                            + e.getMessage(), pluginName);
+                }
+            }
+        }
 
         int results = 0;
 
@@ -1571,6 +1959,415 @@ public abstract class PluginDao extends CoreDao {
         return results;
     }
 
+    /**
+     * Gets the persister used to build SQL purge statements for the records of
+     * this plugin. Records can only be deleted with SQL if they are stored in a
+     * single table that is not shared with other classes and that has no
+     * collections stored in other tables.
+     *
+     * @return the persister, or null if records must be purged through
+     *         hibernate
+     */
+    protected AbstractEntityPersister getSqlPurgePersister() {
+        if (!PURGE_SQL_ENABLED || this.daoClass == null) {
+            return null;
+        }
+        Boolean supported = pluginSqlPurge.get(this.daoClass);
+        if (Boolean.FALSE.equals(supported)) {
+            return null;
+        }
+        ClassMetadata metadata = getDaoClassMetadata();
+        if (!(metadata instanceof SingleTableEntityPersister)) {
+            pluginSqlPurge.put(this.daoClass, Boolean.FALSE);
+            return null;
+        }
+        AbstractEntityPersister persister = (AbstractEntityPersister) metadata;
+        if (supported == null) {
+            supported = !persister.isInherited() && !persister.hasSubclasses();
+            for (Type type : persister.getPropertyTypes()) {
+                if (type.isCollectionType()) {
+                    supported = Boolean.FALSE;
+                }
+            }
+            pluginSqlPurge.put(this.daoClass, supported);
+        }
+        return supported ? persister : null;
+    }
+
+    /**
+     * Determine if a failed SQL purge can never succeed for this plugin, as
+     * opposed to errors such as lock timeouts or lost connections which may
+     * not happen again.
+     *
+     * @param e
+     *            the error thrown by the SQL purge
+     * @return true if the records of this plugin cannot be purged with SQL
+     */
+    protected static boolean isSqlPurgeUnsupported(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof QueryException
+                    || t instanceof SQLFeatureNotSupportedException) {
+                return true;
+            } else if (t instanceof SQLException) {
+                /*
+                 * Class 0A is feature not supported, class 42 is a syntax
+                 * error or access rule violation.
+                 */
+                String state = ((SQLException) t).getSQLState();
+                if (state != null
+                        && (state.startsWith("0A") || state.startsWith("42"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Purges the records for a time and set of product keys with a single SQL
+     * delete. When HDF5 needs to be tracked the deleted rows are returned by
+     * the same statement so the HDF5 paths can be determined without a
+     * separate query.
+     *
+     * @param persister
+     *            The persister of the record class
+     * @param refTime
+     *            The time to delete
+     * @param productKeys
+     *            The product key/values to use as a constraint for deletions.
+     *            Should be in key value pairs.
+     * @param trackHdf5
+     *            If true will use trackToUri to populate hdf5FileToUriPurged
+     *            map.
+     * @param trackToUri
+     *            If true will track each URI that needs to be deleted from
+     *            HDF5, if false will only track the hdf5 files that need to be
+     *            deleted.
+     * @param hdf5FileToUriPurged
+     *            Map to be populated with the hdf5 files that need to be
+     *            updated.
+     * @return Number of rows deleted from database.
+     */
+    protected int purgeDataByRefTimeWithSql(
+            AbstractEntityPersister persister, Date refTime,
+            Map<String, String> productKeys, boolean trackHdf5,
+            final boolean trackToUri,
+            final Map<String, List<String>> hdf5FileToUriPurged) {
+        final StringBuilder sql = new StringBuilder(128);
+        final Map<String, Object> paramMap = new LinkedHashMap<>();
+        final Map<String, Type> typeMap = new HashMap<>();
+        sql.append("DELETE FROM ").append(persister.getTableName())
+                .append(" WHERE ")
+                .append(getColumnName(persister, PURGE_VERSION_FIELD))
+                .append(" = :refTime");
+        paramMap.put("refTime", refTime);
+        typeMap.put("refTime", persister.getPropertyType(PURGE_VERSION_FIELD));
+
+        if (productKeys != null) {
+            int keyIndex = 0;
+            for (Map.Entry<String, String> pair : productKeys.entrySet()) {
+                String column = getColumnName(persister, pair.getKey());
+                sql.append(" AND ").append(column);
+                if (pair.getValue() == null) {
+                    sql.append(" IS NULL");
+                } else {
+                    String param = "key" + keyIndex++;
+                    Type type = persister.getPropertyType(pair.getKey());
+                    sql.append(" = :").append(param);
+                    paramMap.put(param, ConvertUtil.convertObject(
+                            pair.getValue(), type.getReturnedClass()));
+                    typeMap.put(param, type);
+                }
+            }
+        }
+
+        final boolean returnRecords = trackHdf5 && hdf5FileToUriPurged != null;
+        if (returnRecords) {
+            sql.append(" RETURNING *");
+        }
+
+        return txTemplate.execute(new TransactionCallback<Integer>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public Integer doInTransaction(TransactionStatus status) {
+                SQLQuery query = getCurrentSession()
+                        .createSQLQuery(sql.toString());
+                for (Map.Entry<String, Object> param : paramMap.entrySet()) {
+                    query.setParameter(param.getKey(), param.getValue(),
+                            typeMap.get(param.getKey()));
+                }
+                if (!returnRecords) {
+                    return query.executeUpdate();
+                }
+                /*
+                 * The returned records no longer exist, they must not be dirty
+                 * checked when the transaction is committed.
+                 */
+                query.addEntity(daoClass);
+                query.setReadOnly(true);
+                List<PluginDataObject> pdos = query.list();
+                if (!pdos.isEmpty()) {
+                    purgeHdf5ForPdos(trackToUri, hdf5FileToUriPurged, pdos);
+                }
+                return pdos.size();
+            }
+        });
+    }
+
+    /**
+     * Gets the single column a property is mapped to.
+     *
+     * @param persister
+     * @param propertyPath
+     *            the property, may be a path through embedded components
+     * @return the column name
+     * @throws QueryException
+     *             if the property is not mapped to a single column in the
+     *             table of the persister
+     */
+    private static String getColumnName(AbstractEntityPersister persister,
+            String propertyPath) {
+        String[] columns = persister.getPropertyColumnNames(propertyPath);
+        if (columns == null || columns.length != 1) {
+            throw new QueryException(propertyPath
+                    + " is not mapped to a single column of "
+                    + persister.getTableName());
+        }
+        return columns[0];
+    }
+
+    /**
+     * Gets the partitions of the record table for a table that is range
+     * partitioned on the refTime column. Partitions without a bounded time
+     * range are not returned.
+     *
+     * @return the partitions ordered by start time, empty if the table is not
+     *         partitioned on refTime
+     */
+    protected List<TimePartition> getTimePartitions() {
+        if (this.daoClass == null
+                || Boolean.FALSE.equals(pluginTimePartitioned.get(daoClass))) {
+            return Collections.emptyList();
+        }
+        List<TimePartition> partitions = new ArrayList<>();
+        try {
+            ClassMetadata metadata = getDaoClassMetadata();
+            if (!(metadata instanceof AbstractEntityPersister)) {
+                pluginTimePartitioned.put(daoClass, Boolean.FALSE);
+                return partitions;
+            }
+            AbstractEntityPersister persister = (AbstractEntityPersister) metadata;
+            String table = persister.getTableName();
+            Object[] keyDef = executeSQLQuery(PARTITION_KEY_SQL, "table",
+                    table);
+            Matcher keyMatcher = keyDef.length == 1 && keyDef[0] != null
+                    ? PARTITION_KEY_PATTERN.matcher(keyDef[0].toString())
+                    : null;
+            if (keyMatcher == null || !keyMatcher.matches()
+                    || !keyMatcher.group(1).equalsIgnoreCase(
+                            getColumnName(persister, PURGE_VERSION_FIELD))) {
+                pluginTimePartitioned.put(daoClass, Boolean.FALSE);
+                return partitions;
+            }
+            pluginTimePartitioned.put(daoClass, Boolean.TRUE);
+
+            SimpleDateFormat format = new SimpleDateFormat(
+                    "yyyy-MM-dd HH:mm:ss");
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+            for (Object row : executeSQLQuery(PARTITION_BOUNDS_SQL, "table",
+                    table)) {
+                Object[] cols = (Object[]) row;
+                Matcher boundsMatcher = PARTITION_BOUNDS_PATTERN
+                        .matcher(String.valueOf(cols[1]));
+                if (boundsMatcher.matches()) {
+                    partitions.add(new TimePartition(cols[0].toString(),
+                            format.parse(boundsMatcher.group(1)),
+                            format.parse(boundsMatcher.group(2))));
+                }
+            }
+        } catch (ParseException | RuntimeException e) {
+            /* Databases before postgres 10 cannot partition tables. */
+            pluginTimePartitioned.put(daoClass, Boolean.FALSE);
+            PurgeLogger.logDebug(
+                    "Unable to determine table partitions: " + e.getMessage(),
+                    pluginName);
+            partitions.clear();
+        }
+        Collections.sort(partitions);
+        return partitions;
+    }
+
+    /**
+     * Drops any partitions of the record table where the purge rules for every
+     * product key purge all of the times in the partition. The times in a
+     * dropped partition no longer exist so they will not be seen when the
+     * individual keys are purged.
+     *
+     * @param ruleSet
+     * @param partitions
+     *            the time partitions of the table
+     * @param timesPurged
+     *            the times of the records in dropped partitions are added to
+     *            this map for each key
+     * @return the number of records removed
+     * @throws DataAccessLayerException
+     */
+    protected int purgeExpiredPartitions(PurgeRuleSet ruleSet,
+            List<TimePartition> partitions, Map<String, Set<Date>> timesPurged)
+            throws DataAccessLayerException {
+        List<String> ruleKeys = ruleSet.getKeys();
+        String[][] distinctKeys;
+        if (ruleKeys != null && !ruleKeys.isEmpty()) {
+            distinctKeys = getDistinctProductKeyValues(ruleKeys);
+        } else {
+            distinctKeys = new String[][] { null };
+        }
+
+        // partitions newer than anything kept are never dropped
+        long cutoffTime = System.currentTimeMillis();
+        boolean purgeHdf5Data = false;
+        List<PurgePlan> plans = new ArrayList<>(distinctKeys.length);
+        for (String[] key : distinctKeys) {
+            PurgePlan plan = planExpiredKey(ruleSet, key);
+            if (plan.refTimes == null) {
+                // Unknown times for this key, cannot safely drop anything
+                return 0;
+            }
+            for (Date keptTime : plan.timesKept) {
+                cutoffTime = Math.min(cutoffTime, keptTime.getTime());
+            }
+            purgeHdf5Data |= plan.purgeHdf5Data;
+            plans.add(plan);
+        }
+
+        int itemsDeleted = 0;
+        for (TimePartition partition : partitions) {
+            if (partition.end.getTime() > cutoffTime) {
+                break;
+            }
+            if (isPartitionPurged(partition, plans)) {
+                itemsDeleted += dropPartition(partition, purgeHdf5Data);
+                for (PurgePlan plan : plans) {
+                    Set<Date> dropped = new HashSet<>();
+                    for (Date refTime : plan.refTimes) {
+                        if (partition.contains(refTime)) {
+                            dropped.add(refTime);
+                        }
+                    }
+                    String keyString = plan.productKeys == null ? DEFAULT_KEY
+                            : Arrays.toString(plan.productKeys.values()
+                                    .toArray());
+                    addTimes(timesPurged, keyString, dropped);
+                }
+            }
+        }
+        return itemsDeleted;
+    }
+
+    /**
+     * @return true if every time within the partition is purged for every key.
+     */
+    private static boolean isPartitionPurged(TimePartition partition,
+            List<PurgePlan> plans) {
+        for (PurgePlan plan : plans) {
+            for (Date refTime : plan.refTimes) {
+                if (partition.contains(refTime)
+                        && !plan.timesPurged.contains(refTime)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops a partition of the record table, removing the HDF5 data for the
+     * records in the partition.
+     *
+     * @param partition
+     *            the partition to drop
+     * @param purgeHdf5Data
+     *            true if the records have HDF5 data to purge
+     * @return the number of records removed
+     * @throws DataAccessLayerException
+     */
+    protected int dropPartition(TimePartition partition, boolean purgeHdf5Data)
+            throws DataAccessLayerException {
+        int itemsDeleted;
+        final Map<String, List<String>> hdf5FileToUriMap = new HashMap<>();
+        if (purgeHdf5Data) {
+            /*
+             * If HDF5 is stored in hourly files and the partition is made of
+             * whole hours the files can be removed instead of the individual
+             * groups.
+             */
+            final boolean trackToUri = !(partition.isHourAligned()
+                    && isHdf5StoredHourly());
+            DatabaseQuery query = new DatabaseQuery(this.daoClass);
+            query.addQueryParam(PURGE_VERSION_FIELD, partition.start,
+                    QueryOperand.GREATERTHANEQUALS);
+            query.addQueryParam(PURGE_VERSION_FIELD, partition.end,
+                    QueryOperand.LESSTHAN);
+            itemsDeleted = processByCriteria(query,
+                    new IDatabaseProcessor<PluginDataObject>() {
+
+                        private int batchSize = 500;
+
+                        private final List<PluginDataObject> pdos = new ArrayList<>(
+                                batchSize);
+
+                        @Override
+                        public boolean process(PluginDataObject row) {
+                            pdos.add(row);
+                            if (pdos.size() >= batchSize) {
+                                finish();
+                            }
+                            return true;
+                        }
+
+                        @Override
+                        public void finish() {
+                            purgeHdf5ForPdos(trackToUri, hdf5FileToUriMap,
+                                    pdos);
+                            pdos.clear();
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batchSize;
+                        }
+
+                        @Override
+                        public void setBatchSize(int batchSize) {
+                            this.batchSize = batchSize;
+                        }
+                    });
+        } else {
+            Object[] count = executeSQLQuery(
+                    "SELECT count(*) FROM " + partition.name);
+            itemsDeleted = ((Number) count[0]).intValue();
+        }
+
+        executeSQLUpdate("DROP TABLE " + partition.name);
+        purgeHdf5Files(hdf5FileToUriMap);
+        PurgeLogger.logInfo("Dropped partition " + partition.name
+                + " containing " + itemsDeleted + " items", pluginName);
+        return itemsDeleted;
+    }
+
+    /**
+     * Determine if every record in an HDF5 file of this plugin has a refTime
+     * within the same hour, which is true for the file names created by
+     * {@link DefaultPathProvider}. Plugins with a different path provider that
+     * also stores hourly files may override this.
+     *
+     * @return true if HDF5 files hold the records of a single refTime hour
+     */
+    protected boolean isHdf5StoredHourly() {
+        return pathProvider != null
+                && pathProvider.getClass() == DefaultPathProvider.class;
+    }
+
     /**
      * Purge HDF5 data for a list of PDOs. Extracted as is from
      * {@link #purgeDataByRefTime} so it can be reused.
@@ -2013,6 +2810,62 @@ public abstract class PluginDao extends CoreDao {
         return this.processByCriteria(dbQuery, processor);
     }
 
+    /**
+     * A partition of a record table holding all the records with a refTime
+     * from start (inclusive) to end (exclusive).
+     */
+    protected static class TimePartition implements Comparable<TimePartition> {
+
+        public final String name;
+
+        public final Date start;
+
+        public final Date end;
+
+        public TimePartition(String name, Date start, Date end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+
+        public boolean contains(Date refTime) {
+            return !refTime.before(start) && refTime.before(end);
+        }
+
+        public boolean isHourAligned() {
+            return start.getTime() % TimeUtil.MILLIS_PER_HOUR == 0
+                    && end.getTime() % TimeUtil.MILLIS_PER_HOUR == 0;
+        }
+
+        @Override
+        public int compareTo(TimePartition o) {
+            return start.compareTo(o.start);
+        }
+    }
+
+    /**
+     * Names the threads used to purge product keys concurrently after the
+     * plugin being purged.
+     */
+    private static class PurgeThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private final String namePrefix;
+
+        public PurgeThreadFactory(String pluginName) {
+            this.namePrefix = "Purge-" + pluginName.toUpperCase() + "-Worker-";
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r,
+                    namePrefix + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
     protected static class DuplicateCheckStat {
 
         // percentage of commits that need to succeed without duplicate checking
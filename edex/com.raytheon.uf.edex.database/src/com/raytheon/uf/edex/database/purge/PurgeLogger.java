@@ -20,7 +20,9 @@
 
 package com.raytheon.uf.edex.database.purge;
 
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
 import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
 import com.raytheon.uf.common.status.UFStatus;
 import com.raytheon.uf.common.status.UFStatus.Priority;
 import com.raytheon.uf.edex.database.status.StatusConstants;
@@ -33,6 +35,7 @@ import com.raytheon.uf.edex.database.status.StatusConstants;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * 2/15/11      #2469       bphillip    Initial creation
+ * Oct 19, 2026             agent       Added logKeyDuration.
  * </pre>
  * 
  * @author bphillip
@@ -42,6 +45,9 @@ public class PurgeLogger {
     private static final transient IUFStatusHandler statusHandler = UFStatus
             .getHandler(PurgeLogger.class);
 
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("Purge:");
+
     /**
      * Logs an info message for the given plugin
      * 
@@ -132,6 +138,28 @@ public class PurgeLogger {
         }
     }
 
+    /**
+     * Logs the time taken to purge a single product key of a plugin to the
+     * performance log.
+     * 
+     * @param productKey
+     *            The product key that was purged
+     * @param itemsPurged
+     *            The number of items purged for the key
+     * @param timeMs
+     *            The time taken in milliseconds
+     * @param plugin
+     *            The plugin the product key belongs to
+     */
+    public static void logKeyDuration(String productKey, int itemsPurged,
+            long timeMs, String plugin) {
+        if (plugin == null) {
+            plugin = StatusConstants.CATEGORY_PURGE;
+        }
+        perfLog.logDuration(plugin.toUpperCase() + "::Purging " + itemsPurged
+                + " items for key " + productKey, timeMs);
+    }
+
     /**
      * Checks if debug logging is enabled
      * 
@@ -56,6 +56,8 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  * 01/28/2016   #5262       bkowal      Handle empty key/value pairs in rules non-default
  *                                      rules.
  * Apr 14, 2017 6003        tgurney     Add modTimeToWaitApplied flag
+ * Oct 19, 2026             agent       Add copy constructor for concurrent
+ *                                      key purging.
  *
  * </pre>
  *
@@ -170,6 +172,26 @@ public class PurgeRule {
 
     }
 
+    /**
+     * Creates a copy of the given purge rule. The copy does not share the
+     * {@link #isModTimeToWaitApplied()} state with the original so that a rule
+     * may be applied to several product keys at the same time.
+     *
+     * @param other
+     *            The rule to copy
+     */
+    public PurgeRule(PurgeRule other) {
+        this.regex = other.regex;
+        this.keyValues = other.keyValues;
+        this.versionsToKeep = other.versionsToKeep;
+        this.period = other.period;
+        this.delta = other.delta;
+        this.round = other.round;
+        this.logOnly = other.logOnly;
+        this.modTimeToWait = other.modTimeToWait;
+        this.ruleDescription = other.ruleDescription;
+    }
+
     /**
      * @return the regex
      */
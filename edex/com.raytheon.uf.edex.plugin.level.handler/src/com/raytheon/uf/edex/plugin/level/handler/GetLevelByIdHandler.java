@@ -21,6 +21,7 @@ package com.raytheon.uf.edex.plugin.level.handler;
 
 import com.raytheon.uf.common.dataplugin.level.Level;
 import com.raytheon.uf.common.dataplugin.level.request.GetLevelByIdRequest;
+import com.raytheon.uf.common.serialization.comm.CacheableResponse;
 import com.raytheon.uf.common.serialization.comm.IRequestHandler;
 import com.raytheon.uf.edex.plugin.level.dao.LevelDao;
 
@@ -34,6 +35,7 @@ import com.raytheon.uf.edex.plugin.level.dao.LevelDao;
  * ------------ ---------- ----------- --------------------------
  * Aug 24, 2009 2924       rjpeter     Initial creation
  * Sep 09, 2014 3356       njensen     Reimplemented handleRequest
+ * Oct 19, 2026            agent       Cache responses.
  * 
  * </pre>
  * 
@@ -41,6 +43,7 @@ import com.raytheon.uf.edex.plugin.level.dao.LevelDao;
  * @version 1.0
  */
 
+@CacheableResponse(timeToLive = 10 * 60 * 1000L, maxEntries = 1000)
 public class GetLevelByIdHandler implements
         IRequestHandler<GetLevelByIdRequest> {
 
@@ -21,6 +21,7 @@ package com.raytheon.uf.edex.plugin.level.handler;
 
 import com.raytheon.uf.common.dataplugin.level.MasterLevel;
 import com.raytheon.uf.common.dataplugin.level.request.GetMasterLevelRequest;
+import com.raytheon.uf.common.serialization.comm.CacheableResponse;
 import com.raytheon.uf.common.serialization.comm.IRequestHandler;
 import com.raytheon.uf.edex.plugin.level.dao.LevelDao;
 
@@ -35,6 +36,7 @@ import com.raytheon.uf.edex.plugin.level.dao.LevelDao;
  * Aug 24, 2009 2924       rjpeter     Initial creation
  * Sep 09, 2014 3356       njensen     Reimplemented handleRequest
  * Sep 16, 2014 3356       njensen     Removed dependency on LevelFactory
+ * Oct 19, 2026            agent       Cache responses.
  * 
  * </pre>
  * 
@@ -42,6 +44,7 @@ import com.raytheon.uf.edex.plugin.level.dao.LevelDao;
  * @version 1.0
  */
 
+@CacheableResponse(timeToLive = 10 * 60 * 1000L, maxEntries = 500)
 public class GetMasterLevelHandler implements
         IRequestHandler<GetMasterLevelRequest> {
 
@@ -34,6 +34,9 @@ import com.raytheon.uf.common.dataplugin.level.Level;
 import com.raytheon.uf.common.dataplugin.level.LevelContainer;
 import com.raytheon.uf.common.dataplugin.level.MasterLevel;
 import com.raytheon.uf.common.dataplugin.level.MasterLevelContainer;
+import com.raytheon.uf.common.serialization.SerializationException;
+import com.raytheon.uf.edex.core.EDEXUtil;
+import com.raytheon.uf.edex.core.EdexException;
 
 /**
  * The DAO implementation of the Level component
@@ -47,6 +50,7 @@ import com.raytheon.uf.common.dataplugin.level.MasterLevelContainer;
  * Sep 10, 2009             rjpeter     Initial creation
  * Sep 09, 2014 3356        njensen     Removed redundant logger
  * Jul 30, 2015 1574        nabowle     Override purgeOrphanedData to noop
+ * Oct 19, 2026             agent       Notify when a level is created
  *
  * </pre>
  *
@@ -56,6 +60,9 @@ import com.raytheon.uf.common.dataplugin.level.MasterLevelContainer;
 
 public class LevelDao extends DefaultPluginDao {
 
+    /** Topic notified with the master level name when a level is created */
+    private static final String LEVEL_CREATED_URI = "jms-generic:topic:edex.alerts.level?timeToLive=60000";
+
     public LevelDao() throws PluginException {
         this("level");
     }
@@ -131,6 +138,7 @@ public class LevelDao extends DefaultPluginDao {
         Level rval = null;
         Session sess = null;
         Transaction trans = null;
+        boolean created = false;
 
         for (int tries = 0; tries < 2 && rval == null; tries++) {
             try {
@@ -154,10 +162,12 @@ public class LevelDao extends DefaultPluginDao {
                 } else {
                     sess.saveOrUpdate(level);
                     rval = level;
+                    created = true;
                 }
                 trans.commit();
             } catch (Exception e) {
                 rval = null;
+                created = false;
                 if (tries > 0) {
                     logger.error("Error occurred looking up level [" + level
                             + "]", e);
@@ -182,9 +192,30 @@ public class LevelDao extends DefaultPluginDao {
             }
         }
 
+        if (created) {
+            sendLevelCreatedNotification(rval);
+        }
+
         return rval;
     }
 
+    /**
+     * Notify caches of level lookups, such as the request service response
+     * cache, that a new level exists.
+     * 
+     * @param level
+     *            the created level
+     */
+    private void sendLevelCreatedNotification(Level level) {
+        try {
+            EDEXUtil.getMessageProducer().sendAsyncThriftUri(
+                    LEVEL_CREATED_URI, level.getMasterLevel().getName());
+        } catch (EdexException | SerializationException e) {
+            logger.error("Error sending level created notification for ["
+                    + level + "]", e);
+        }
+    }
+
     public Level lookupLevel(long id) {
         Level rval = null;
 
@@ -80,6 +80,9 @@ import net.sf.cglib.beans.BeanMap;
  * Jan 09, 2014  1998     bclement    fixed NPE in persistToHDF5 when store failed
  * Nov 20, 2014  3853     njensen     Improved javadoc of getPointDataDescription()
  * Nov 16, 2017  6367     tgurney     Send timing information to log file
+ * Oct 19, 2026           agent       Read only the matching level of
+ *                                    multi-level parameters for specific level
+ *                                    requests, see SpecificLevelRetriever
  *
  * </pre>
  *
@@ -298,6 +301,35 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
     public PointDataContainer getPointData(File file, int[] indexes, int[] ids,
             String[] attributes, LevelRequest request)
             throws StorageException, FileNotFoundException {
+        return getPointData(file, indexes, ids, attributes, request, null);
+    }
+
+    /**
+     * Retrieve point data from a single file.
+     *
+     * @param file
+     *            the hdf5 file
+     * @param indexes
+     *            the point data indexes to read, sorted in place
+     * @param ids
+     *            the record ids for the indexes, sorted in place
+     * @param attributes
+     *            the parameters to read
+     * @param request
+     *            which levels of multi-level parameters to read
+     * @param description
+     *            the description of the parameters in the file, used to only
+     *            read the requested levels of a {@link LevelRequest#SPECIFIC}
+     *            request. May be null in which case all levels are read and
+     *            reduced after retrieval.
+     * @return the point data
+     * @throws StorageException
+     * @throws FileNotFoundException
+     */
+    public PointDataContainer getPointData(File file, int[] indexes, int[] ids,
+            String[] attributes, LevelRequest request,
+            PointDataDescription description)
+            throws StorageException, FileNotFoundException {
 
         IndexIdPair[] iip = new IndexIdPair[ids.length];
         for (int i = 0; i < iip.length; i++) {
@@ -313,9 +345,6 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
             ids[i] = iip[i].id;
         }
 
-        // For now, because the levels could be at different indices throughout,
-        // for now we will retrieve all levels and then post-process the result
-
         IDataStore ds = DataStoreFactory.getDataStore(file);
         Point[] pts = new Point[indexes.length];
 
@@ -336,97 +365,18 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
         }
 
         long t0 = System.currentTimeMillis();
-        IDataRecord[] recs = ds.retrieveDatasets(attributes, dsRequest);
-        long t1 = System.currentTimeMillis();
-        statusHandler.info("Time spent on pointdata hdf5 retrieval from file "
-                + file.getPath() + ": " + (t1 - t0));
-
         List<IDataRecord> recList = new ArrayList<>();
         if (request != LevelRequest.SPECIFIC) {
+            IDataRecord[] recs = ds.retrieveDatasets(attributes, dsRequest);
             recList.addAll(Arrays.asList(recs));
         } else {
-            // Post process specific level request
-            String parameter = request.getParameter();
-            if (parameter == null) {
-                throw new IllegalArgumentException(
-                        "Specific level requested without parameter specified");
-            }
-
-            double[] vals = request.getValues();
-            if ((vals == null) || (vals.length == 0)) {
-                throw new IllegalArgumentException(
-                        "Specific level requested without values specified");
-            }
-
-            IDataRecord rec = null;
-            for (IDataRecord dr : recs) {
-                if (dr.getName().equals(parameter)) {
-                    rec = dr;
-                    break;
-                }
-            }
-
-            if (rec == null) {
-                throw new IllegalArgumentException(
-                        "Specific level parameter not present in return data");
-            }
-
-            // Build up a list of 1D indices we want to save
-            Object dataObj = rec.getDataObject();
-            int[] indices = new int[(int) rec.getSizes()[1]];
-            Arrays.fill(indices, -1);
-
-            if (dataObj instanceof int[]) {
-                int[] intData = (int[]) dataObj;
-                int dimX = (int) rec.getSizes()[0];
-                int dimY = (int) rec.getSizes()[1];
-
-                int idx = 0;
-                double v = 0;
-                for (int i = 0; i < dimY; i++) {
-                    nextData: for (int j = 0; j < dimX; j++) {
-                        idx = dimX * dimY + j;
-                        v = intData[idx];
-                        for (int k = 0; k < vals.length; k++) {
-                            if (v == vals[k]) {
-                                indices[i] = idx;
-                                break nextData;
-                            }
-                        }
-                    }
-
-                }
-            } else if (dataObj instanceof float[]) {
-                float[] floatData = (float[]) dataObj;
-                int dimX = (int) rec.getSizes()[0];
-                int dimY = (int) rec.getSizes()[1];
-
-                int idx = 0;
-                double v = 0;
-                for (int i = 0; i < dimY; i++) {
-                    nextData: for (int j = 0; j < dimX; j++) {
-                        idx = dimX * dimY + j;
-                        v = floatData[idx];
-                        for (int k = 0; k < vals.length; k++) {
-                            if (v == vals[k]) {
-                                indices[i] = idx;
-                                break nextData;
-                            }
-                        }
-                    }
-
-                }
-            } else {
-                throw new IllegalArgumentException(
-                        "Unhandled level data type: " + dataObj);
-            }
-
-            for (IDataRecord dr : recs) {
-                dr.reduce(indices);
-                recList.add(dr);
-            }
-
+            recList.addAll(SpecificLevelRetriever.retrieve(ds, attributes,
+                    request.getParameter(), request.getValues(), dsRequest,
+                    description));
         }
+        long t1 = System.currentTimeMillis();
+        statusHandler.info("Time spent on pointdata hdf5 retrieval from file "
+                + file.getPath() + ": " + (t1 - t0));
 
         // Correlate the ids from the indexes that were actually retrieved
         // these can actually be different than what was requested
@@ -26,9 +26,19 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.measure.converter.UnitConverter;
 
@@ -64,6 +74,10 @@ import com.raytheon.uf.edex.pointdata.PointDataPluginDao.LevelRequest;
  * May 09, 2013 1869       bsteffen    Modified D2D time series of point data to
  *                                     work without dataURI.
  * Nov 16, 2017 6367       tgurney     Send timing information to log file
+ * Oct 19, 2026            agent       Group by file with a hash map, retrieve
+ *                                     files concurrently and merge once
+ * Oct 19, 2026            agent       Pass the file description so specific
+ *                                     level requests read only needed levels
  *
  * </pre>
  *
@@ -83,6 +97,13 @@ public class PointDataQuery {
     private static final IUFStatusHandler statusHandler = UFStatus
             .getHandler(PointDataQuery.class);
 
+    /** Maximum number of hdf5 files read at once for a single query */
+    private static final int RETRIEVAL_THREADS = Integer
+            .getInteger("pointdata.retrieval.threads", 4);
+
+    /** Shared by all queries to bound the total number of concurrent reads */
+    private static final ExecutorService retrievalExecutor = createExecutor();
+
     public PointDataQuery(final String plugin)
             throws DataAccessLayerException, PluginException {
         try {
@@ -252,9 +273,7 @@ public class PointDataQuery {
                     new IntegerDataRecord("id", "", idArr) });
             masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
         } else {
-            List<String> files = new ArrayList<>();
-            List<List<Integer>> ids = new ArrayList<>();
-            List<List<Integer>> indexes = new ArrayList<>();
+            Map<String, FileIndexes> files = new LinkedHashMap<>();
 
             for (Map<String, Object> workingMap : dbResults) {
                 int id = (Integer) workingMap.get("id");
@@ -263,39 +282,23 @@ public class PointDataQuery {
                 // Clone is needed because getPointDataFileName alters the map
                 workingMap = new HashMap<>(workingMap);
                 String fileName = dao.getPointDataFileName(workingMap);
-                int listIndex = files.indexOf(fileName);
-                if (listIndex == -1) {
-                    listIndex = files.size();
-                    files.add(fileName);
-                    ids.add(new ArrayList<Integer>());
-                    indexes.add(new ArrayList<Integer>());
-                    hdf5attribList.retainAll(Arrays
-                            .asList(dao.getPointDataDescription(workingMap)
-                                    .getParameterNames()));
+                FileIndexes fileIndexes = files.get(fileName);
+                if (fileIndexes == null) {
+                    PointDataDescription fileDesc = dao
+                            .getPointDataDescription(workingMap);
+                    fileIndexes = new FileIndexes(fileDesc);
+                    files.put(fileName, fileIndexes);
+                    hdf5attribList.retainAll(
+                            Arrays.asList(fileDesc.getParameterNames()));
                 }
-                ids.get(listIndex).add(id);
-                indexes.get(listIndex).add(idx);
+                fileIndexes.add(id, idx);
             }
             long t0 = System.currentTimeMillis();
-            for (int i = 0; i < files.size(); i++) {
-                File file = new File(files.get(i));
-                List<String> attribSet = new ArrayList<>(hdf5attribList);
-                int[] idxArr = new int[indexes.get(i).size()];
-                int[] idArr = new int[ids.get(i).size()];
-                for (int j = 0; j < idArr.length; j++) {
-                    idxArr[j] = indexes.get(i).get(j);
-                    idArr[j] = ids.get(i).get(j);
-                }
-                PointDataContainer pdc = dao.getPointData(file, idxArr, idArr,
-                        attribSet.toArray(new String[0]), this.requestStyle);
-                if (masterPDC == null) {
-                    masterPDC = pdc;
-                    masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
-                } else {
-                    masterPDC.combine(pdc);
-                    masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
-                }
-            }
+            List<PointDataContainer> containers = retrievePointData(files,
+                    hdf5attribList.toArray(new String[0]));
+            masterPDC = containers.get(0);
+            masterPDC.combine(containers.subList(1, containers.size()));
+            masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
             long t1 = System.currentTimeMillis();
             statusHandler
                     .info("Total time spent on pointdata hdf5 retrieval (all files): "
@@ -379,4 +382,127 @@ public class PointDataQuery {
 
         return masterPDC;
     }
+
+    /**
+     * Retrieve the point data from each file, reading multiple files
+     * concurrently.
+     * 
+     * @param files
+     *            the indexes and ids to read, keyed by file name
+     * @param attributes
+     *            the parameters to read
+     * @return the data from each file, in the same order as the files
+     * @throws Exception
+     */
+    private List<PointDataContainer> retrievePointData(
+            Map<String, FileIndexes> files, final String[] attributes)
+            throws Exception {
+        List<PointDataContainer> containers = new ArrayList<>(files.size());
+        if (files.size() == 1) {
+            Map.Entry<String, FileIndexes> entry = files.entrySet().iterator()
+                    .next();
+            FileIndexes fileIndexes = entry.getValue();
+            containers.add(dao.getPointData(new File(entry.getKey()),
+                    fileIndexes.getIndexes(), fileIndexes.getIds(),
+                    attributes, this.requestStyle,
+                    fileIndexes.getDescription()));
+            return containers;
+        }
+
+        List<Future<PointDataContainer>> futures = new ArrayList<>(
+                files.size());
+        try {
+            for (Map.Entry<String, FileIndexes> entry : files.entrySet()) {
+                final File file = new File(entry.getKey());
+                final FileIndexes fileIndexes = entry.getValue();
+                futures.add(retrievalExecutor
+                        .submit(new Callable<PointDataContainer>() {
+                            @Override
+                            public PointDataContainer call() throws Exception {
+                                return dao.getPointData(file,
+                                        fileIndexes.getIndexes(),
+                                        fileIndexes.getIds(), attributes,
+                                        requestStyle,
+                                        fileIndexes.getDescription());
+                            }
+                        }));
+            }
+            for (Future<PointDataContainer> future : futures) {
+                containers.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        } finally {
+            for (Future<PointDataContainer> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return containers;
+    }
+
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                RETRIEVAL_THREADS, RETRIEVAL_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+                    private final AtomicInteger threadNumber = new AtomicInteger(
+                            1);
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "PointDataRetrieval-"
+                                + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * The point data indexes and record ids to read from a single file, stored
+     * in primitive arrays that grow as needed, along with the description of
+     * the parameters in the file.
+     */
+    private static class FileIndexes {
+
+        private final PointDataDescription description;
+
+        private int[] indexes = new int[16];
+
+        private int[] ids = new int[16];
+
+        private int size = 0;
+
+        public FileIndexes(PointDataDescription description) {
+            this.description = description;
+        }
+
+        public void add(int id, int index) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+            ids[size] = id;
+            indexes[size] = index;
+            size += 1;
+        }
+
+        public int[] getIndexes() {
+            return Arrays.copyOf(indexes, size);
+        }
+
+        public int[] getIds() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        public PointDataDescription getDescription() {
+            return description;
+        }
+    }
 }
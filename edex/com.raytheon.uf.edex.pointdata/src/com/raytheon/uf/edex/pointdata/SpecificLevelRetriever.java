@@ -0,0 +1,231 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.pointdata;
+
+import java.awt.Point;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.StorageException;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.pointdata.ParameterDescription;
+import com.raytheon.uf.common.pointdata.PointDataDescription;
+
+/**
+ * Reads a single level of each requested parameter for a
+ * {@link PointDataPluginDao.LevelRequest#SPECIFIC} request. Only the level
+ * parameter is read for every level, it is used to find the matching level of
+ * each station and then only those values are read for the other multi-level
+ * parameters. Stations with no matching level are filled with -9999.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           agent       Initial creation, split out of
+ *                                    PointDataPluginDao
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+final class SpecificLevelRetriever {
+
+    private SpecificLevelRetriever() {
+    }
+
+    /**
+     * Retrieve a single level of each requested parameter.
+     *
+     * @param ds
+     *            the data store to read from
+     * @param attributes
+     *            the parameters to read
+     * @param parameter
+     *            the parameter used to find the level of each station, must be
+     *            one of the attributes
+     * @param vals
+     *            the level values to match
+     * @param stationRequest
+     *            request for the rows of the stations being read
+     * @param description
+     *            description of the parameters, if null all parameters are
+     *            read at every level and reduced afterwards
+     * @return the records, one value per station
+     * @throws StorageException
+     * @throws FileNotFoundException
+     */
+    static List<IDataRecord> retrieve(IDataStore ds, String[] attributes,
+            String parameter, double[] vals, Request stationRequest,
+            PointDataDescription description)
+            throws StorageException, FileNotFoundException {
+        if (parameter == null) {
+            throw new IllegalArgumentException(
+                    "Specific level requested without parameter specified");
+        }
+
+        if ((vals == null) || (vals.length == 0)) {
+            throw new IllegalArgumentException(
+                    "Specific level requested without values specified");
+        }
+
+        if (!Arrays.asList(attributes).contains(parameter)) {
+            throw new IllegalArgumentException(
+                    "Specific level parameter not present in return data");
+        }
+
+        IDataRecord levelRec = ds.retrieveDatasets(new String[] { parameter },
+                stationRequest)[0];
+        int dimX = (int) levelRec.getSizes()[0];
+        int dimY = (int) levelRec.getSizes()[1];
+        int[] levels = findLevels(levelRec.getDataObject(), dimX, dimY, vals);
+
+        /*
+         * Sort the remaining parameters by whether they have levels, single
+         * level parameters are small enough to read whole.
+         */
+        List<String> multiLevel = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        for (String attribute : attributes) {
+            if (attribute.equals(parameter)) {
+                continue;
+            }
+            ParameterDescription desc = null;
+            if (description != null) {
+                for (ParameterDescription pd : description.parameters) {
+                    if (pd.getParameterName().equals(attribute)) {
+                        desc = pd;
+                        break;
+                    }
+                }
+            }
+            if (desc != null && desc.getNumDims() > 1) {
+                multiLevel.add(attribute);
+            } else {
+                unknown.add(attribute);
+            }
+        }
+
+        int[] flatIndices = new int[dimY];
+        List<Point> points = new ArrayList<>(dimY);
+        int[] pointIndices = new int[dimY];
+        int[] stationIndexes = stationRequest.getIndices();
+        for (int i = 0; i < dimY; i++) {
+            if (levels[i] < 0) {
+                flatIndices[i] = -1;
+                pointIndices[i] = -1;
+            } else {
+                flatIndices[i] = dimX * i + levels[i];
+                pointIndices[i] = points.size();
+                // x is the level and y the station, as for the sizes
+                points.add(new Point(levels[i], stationIndexes[i]));
+            }
+        }
+
+        if (points.isEmpty()) {
+            // nothing to slab out, every value will be fill
+            unknown.addAll(multiLevel);
+            multiLevel.clear();
+        }
+
+        List<IDataRecord> recList = new ArrayList<>(attributes.length);
+        levelRec.reduce(flatIndices);
+        recList.add(levelRec);
+
+        if (!multiLevel.isEmpty()) {
+            Request pointRequest = Request.buildXsectPointRequest(
+                    points.toArray(new Point[points.size()]));
+            for (IDataRecord rec : ds.retrieveDatasets(
+                    multiLevel.toArray(new String[multiLevel.size()]),
+                    pointRequest)) {
+                rec.reduce(pointIndices);
+                recList.add(rec);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            for (IDataRecord rec : ds.retrieveDatasets(
+                    unknown.toArray(new String[unknown.size()]),
+                    stationRequest)) {
+                if (rec.getDimension() > 1) {
+                    rec.reduce(flatIndices);
+                }
+                recList.add(rec);
+            }
+        }
+        return recList;
+    }
+
+    /**
+     * Find the first level of each station whose value matches one of the
+     * requested values.
+     *
+     * @param dataObj
+     *            the level data, dimX levels for each of dimY stations
+     * @param dimX
+     * @param dimY
+     * @param vals
+     *            the requested level values
+     * @return the matching level index of each station or -1 if no level
+     *         matched
+     */
+    private static int[] findLevels(Object dataObj, int dimX, int dimY,
+            double[] vals) {
+        int[] levels = new int[dimY];
+        Arrays.fill(levels, -1);
+        if (dataObj instanceof int[]) {
+            int[] intData = (int[]) dataObj;
+            for (int i = 0; i < dimY; i++) {
+                nextData: for (int j = 0; j < dimX; j++) {
+                    double v = intData[dimX * i + j];
+                    for (int k = 0; k < vals.length; k++) {
+                        if (v == vals[k]) {
+                            levels[i] = j;
+                            break nextData;
+                        }
+                    }
+                }
+            }
+        } else if (dataObj instanceof float[]) {
+            float[] floatData = (float[]) dataObj;
+            for (int i = 0; i < dimY; i++) {
+                nextData: for (int j = 0; j < dimX; j++) {
+                    double v = floatData[dimX * i + j];
+                    for (int k = 0; k < vals.length; k++) {
+                        if (v == vals[k]) {
+                            levels[i] = j;
+                            break nextData;
+                        }
+                    }
+                }
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    "Unhandled level data type: " + dataObj);
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.pointdata;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.IDataStore.StoreOp;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.StorageStatus;
+import com.raytheon.uf.common.datastorage.local.LocalDataStore;
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.pointdata.ParameterDescription;
+import com.raytheon.uf.common.pointdata.PointDataDescription;
+import com.raytheon.uf.common.pointdata.PointDataDescription.Type;
+
+/**
+ * Test {@link SpecificLevelRetriever} against reading every level of every
+ * parameter and reducing to the matching level afterwards.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestSpecificLevelRetriever {
+
+    private static final int LEVELS = 4;
+
+    private static final int STATIONS = 6;
+
+    private static final String[] ATTRIBUTES = { "temperature", "pressure",
+            "elevation", "dewpoint" };
+
+    private File directory;
+
+    private IDataStore store;
+
+    @Before
+    public void createStore() throws Exception {
+        directory = Files.createTempDirectory("specificLevel").toFile();
+        store = new LocalDataStore(new File(directory, "test.h5"), false);
+
+        float[] pressure = new float[LEVELS * STATIONS];
+        float[] temperature = new float[LEVELS * STATIONS];
+        float[] dewpoint = new float[LEVELS * STATIONS];
+        float[] elevation = new float[STATIONS];
+        for (int station = 0; station < STATIONS; station += 1) {
+            for (int level = 0; level < LEVELS; level += 1) {
+                int index = station * LEVELS + level;
+                /*
+                 * Each station has the pressures at a different level and
+                 * station 2 has none of them.
+                 */
+                if (station == 2) {
+                    pressure[index] = 950 - level;
+                } else {
+                    pressure[index] = 1000
+                            - ((level + station) % LEVELS) * 100;
+                }
+                temperature[index] = station * 100 + level;
+                dewpoint[index] = -(station * 100 + level);
+            }
+            elevation[station] = station * 10;
+        }
+        store.addDataRecord(record("pressure", pressure, LEVELS, STATIONS));
+        store.addDataRecord(
+                record("temperature", temperature, LEVELS, STATIONS));
+        store.addDataRecord(record("dewpoint", dewpoint, LEVELS, STATIONS));
+        store.addDataRecord(record("elevation", elevation, STATIONS));
+        StorageStatus status = store.store(StoreOp.STORE_ONLY);
+        if (status.hasExceptions()) {
+            throw status.getExceptions()[0];
+        }
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File f : directory.listFiles()) {
+            f.delete();
+        }
+        directory.delete();
+    }
+
+    private static FloatDataRecord record(String name, float[] data,
+            long... sizes) {
+        return new FloatDataRecord(name, "/", data, sizes.length, sizes);
+    }
+
+    private static PointDataDescription description() {
+        PointDataDescription description = new PointDataDescription();
+        description.parameters = new ParameterDescription[ATTRIBUTES.length];
+        for (int i = 0; i < ATTRIBUTES.length; i += 1) {
+            ParameterDescription param = new ParameterDescription(
+                    ATTRIBUTES[i], Type.FLOAT);
+            param.setNumDims("elevation".equals(ATTRIBUTES[i]) ? 1 : 2);
+            description.parameters[i] = param;
+        }
+        return description;
+    }
+
+    /**
+     * Read every level of every attribute and reduce to the first level whose
+     * pressure matches one of the values.
+     */
+    private List<IDataRecord> readAllLevels(int[] stations, double[] vals)
+            throws Exception {
+        IDataRecord[] recs = store.retrieveDatasets(ATTRIBUTES,
+                Request.buildYLineRequest(stations.clone()));
+        float[] pressure = null;
+        for (IDataRecord rec : recs) {
+            if ("pressure".equals(rec.getName())) {
+                pressure = ((FloatDataRecord) rec).getFloatData();
+            }
+        }
+        int[] indices = new int[stations.length];
+        for (int i = 0; i < stations.length; i += 1) {
+            indices[i] = -1;
+            search: for (int level = 0; level < LEVELS; level += 1) {
+                for (double val : vals) {
+                    if (pressure[i * LEVELS + level] == val) {
+                        indices[i] = i * LEVELS + level;
+                        break search;
+                    }
+                }
+            }
+        }
+        for (IDataRecord rec : recs) {
+            if (rec.getDimension() > 1) {
+                rec.reduce(indices);
+            }
+        }
+        return Arrays.asList(recs);
+    }
+
+    private static float[] data(List<IDataRecord> recs, String name) {
+        for (IDataRecord rec : recs) {
+            if (name.equals(rec.getName())) {
+                return ((FloatDataRecord) rec).getFloatData();
+            }
+        }
+        throw new AssertionError("No record for " + name);
+    }
+
+    private void assertMatchesAllLevels(int[] stations, double[] vals,
+            PointDataDescription description) throws Exception {
+        List<IDataRecord> expected = readAllLevels(stations, vals);
+        List<IDataRecord> actual = SpecificLevelRetriever.retrieve(store,
+                ATTRIBUTES, "pressure", vals,
+                Request.buildYLineRequest(stations.clone()), description);
+        assertEquals(ATTRIBUTES.length, actual.size());
+        for (String attribute : ATTRIBUTES) {
+            assertArrayEquals(attribute, data(expected, attribute),
+                    data(actual, attribute), 0f);
+        }
+    }
+
+    @Test
+    public void testMatchesAllLevels() throws Exception {
+        int[] stations = { 4, 0, 2, 5, 1 };
+        double[] vals = { 700 };
+        assertMatchesAllLevels(stations, vals, description());
+        assertMatchesAllLevels(stations, vals, null);
+    }
+
+    @Test
+    public void testMultipleValues() throws Exception {
+        int[] stations = { 0, 1, 2, 3, 4, 5 };
+        double[] vals = { 500, 900 };
+        assertMatchesAllLevels(stations, vals, description());
+    }
+
+    @Test
+    public void testValues() throws Exception {
+        List<IDataRecord> recs = SpecificLevelRetriever.retrieve(store,
+                ATTRIBUTES, "pressure", new double[] { 700 },
+                Request.buildYLineRequest(new int[] { 1, 2, 3 }),
+                description());
+        assertArrayEquals(new float[] { 700, -9999, 700 },
+                data(recs, "pressure"), 0f);
+        assertArrayEquals(new float[] { 102, -9999, 300 },
+                data(recs, "temperature"), 0f);
+        assertArrayEquals(new float[] { -102, -9999, -300 },
+                data(recs, "dewpoint"), 0f);
+        assertArrayEquals(new float[] { 10, 20, 30 },
+                data(recs, "elevation"), 0f);
+    }
+
+    @Test
+    public void testNoMatchingLevel() throws Exception {
+        int[] stations = { 3, 2 };
+        double[] vals = { 123 };
+        assertMatchesAllLevels(stations, vals, description());
+    }
+}
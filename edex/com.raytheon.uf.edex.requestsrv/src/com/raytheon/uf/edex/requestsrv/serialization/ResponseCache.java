@@ -0,0 +1,447 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.requestsrv.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import com.raytheon.uf.common.auth.req.AbstractPrivilegedRequest;
+import com.raytheon.uf.common.serialization.SerializationException;
+import com.raytheon.uf.common.serialization.comm.CacheableResponse;
+import com.raytheon.uf.common.serialization.comm.ICacheableRequestHandler;
+import com.raytheon.uf.common.serialization.comm.IRequestHandler;
+import com.raytheon.uf.common.serialization.comm.IServerRequest;
+import com.raytheon.uf.common.serialization.comm.RequestWrapper;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.edex.requestsrv.HandlerRegistry;
+
+/**
+ * Cache of serialized responses for requests whose handler is annotated with
+ * {@link CacheableResponse}. Responses are keyed by the serialized bytes of the
+ * request and the output format so identical requests from any client share a
+ * single entry, and are stored already serialized so a cache hit skips both
+ * the handler and serialization of the response.
+ * 
+ * Requests wrapped in a {@link RequestWrapper} are keyed by the wrapped
+ * request so the workstation id does not prevent sharing. Privileged requests
+ * are never cached.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+
+public class ResponseCache {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(ResponseCache.class);
+
+    /** Placeholder for handlers that are not cacheable */
+    private static final HandlerCache NOT_CACHEABLE = new HandlerCache(null);
+
+    private final HandlerRegistry registry;
+
+    private final ConcurrentMap<Class<?>, HandlerCache> handlerCaches = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Set<HandlerCache>> groups = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = true;
+
+    public ResponseCache() {
+        this(HandlerRegistry.getInstance());
+    }
+
+    public ResponseCache(HandlerRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Get the key to cache the response of a request under.
+     * 
+     * @param request
+     *            the deserialized request
+     * @param requestBytes
+     *            the serialized bytes the request was read from, used as the
+     *            key when the request is not wrapped. May be null.
+     * @param serializer
+     *            the serializer used to generate the key bytes when the
+     *            request bytes cannot be used
+     * @param outputFormat
+     *            the format the response will be serialized in
+     * @return the key, or null if the response of the request should not be
+     *         cached
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public Key getKey(IServerRequest request, byte[] requestBytes,
+            StreamSerializer serializer, String outputFormat) {
+        if (!enabled || request == null) {
+            return null;
+        }
+        if (request instanceof RequestWrapper) {
+            /*
+             * The bytes of a wrapped request contain the workstation id, the
+             * wrapped request must be serialized on its own to share entries.
+             */
+            requestBytes = null;
+            request = ((RequestWrapper) request).getRequest();
+            if (request == null) {
+                return null;
+            }
+        }
+        if (request instanceof AbstractPrivilegedRequest) {
+            return null;
+        }
+
+        IRequestHandler handler = registry
+                .getRequestHandler(request.getClass().getCanonicalName());
+        if (handler == null) {
+            return null;
+        }
+        HandlerCache cache = getHandlerCache(handler);
+        if (cache == NOT_CACHEABLE) {
+            return null;
+        }
+        if (handler instanceof ICacheableRequestHandler
+                && !((ICacheableRequestHandler) handler).isCacheable(request)) {
+            return null;
+        }
+
+        /*
+         * Generation must be read before the handler runs so a response
+         * generated concurrently with an invalidation is not cached.
+         */
+        long generation = cache.getGeneration();
+        if (requestBytes == null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try {
+                serializer.serialize(request, bytes);
+            } catch (SerializationException e) {
+                statusHandler.handle(Priority.DEBUG,
+                        "Unable to generate cache key for " + request, e);
+                return null;
+            }
+            requestBytes = bytes.toByteArray();
+        }
+        return new Key(cache, generation, outputFormat, requestBytes);
+    }
+
+    /**
+     * @param key
+     *            key from {@link #getKey}
+     * @return the cached serialized response, or null if there is none
+     */
+    public byte[] get(Key key) {
+        return key.cache.get(key);
+    }
+
+    /**
+     * Cache a serialized response. The response is discarded if it is larger
+     * than the handler allows or the handler's cache was invalidated since the
+     * key was created.
+     * 
+     * @param key
+     *            key from {@link #getKey}
+     * @param response
+     *            the serialized response
+     */
+    public void put(Key key, byte[] response) {
+        key.cache.put(key, response);
+    }
+
+    /**
+     * Discard all cached responses of handlers in an invalidation group.
+     * 
+     * @param group
+     *            the group name
+     */
+    public void invalidate(String group) {
+        Set<HandlerCache> caches = groups.get(group);
+        if (caches != null) {
+            for (HandlerCache cache : caches) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Discard all cached responses.
+     */
+    public void invalidateAll() {
+        for (HandlerCache cache : handlerCaches.values()) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Invalidate the {@link CacheableResponse#LOCALIZATION} group, called when
+     * a localization file update notification is received.
+     */
+    public void localizationUpdated() {
+        invalidate(CacheableResponse.LOCALIZATION);
+    }
+
+    /**
+     * Invalidate the {@link CacheableResponse#LEVEL} group, called when a
+     * level is created.
+     */
+    public void levelsUpdated() {
+        invalidate(CacheableResponse.LEVEL);
+    }
+
+    /**
+     * Get every invalidation group used by a registered handler. Only
+     * notifications for these groups need to be received.
+     * 
+     * @return the invalidation groups, empty if caching is disabled
+     */
+    public Set<String> getInvalidationGroups() {
+        Set<String> result = new HashSet<>();
+        if (enabled) {
+            for (IRequestHandler<?> handler : registry
+                    .getRegisteredValues()) {
+                if (getHandlerCache(handler) != NOT_CACHEABLE) {
+                    CacheableResponse config = handler.getClass()
+                            .getAnnotation(CacheableResponse.class);
+                    result.addAll(Arrays.asList(config.invalidatedBy()));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Invalidate the groups of the plugins new data was ingested for, called
+     * with the data URIs of each ingest notification.
+     * 
+     * @param dataURIs
+     *            the data URIs that were ingested
+     */
+    public void dataURIsReceived(String[] dataURIs) {
+        if (dataURIs == null || groups.isEmpty()) {
+            return;
+        }
+        Set<String> plugins = new HashSet<>();
+        for (String dataURI : dataURIs) {
+            String plugin = getPluginName(dataURI);
+            if (plugin != null && groups.containsKey(plugin)) {
+                plugins.add(plugin);
+            }
+        }
+        for (String plugin : plugins) {
+            invalidate(plugin);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    private HandlerCache getHandlerCache(IRequestHandler<?> handler) {
+        Class<?> handlerClass = handler.getClass();
+        HandlerCache cache = handlerCaches.get(handlerClass);
+        if (cache == null) {
+            CacheableResponse config = handlerClass
+                    .getAnnotation(CacheableResponse.class);
+            if (config == null) {
+                cache = NOT_CACHEABLE;
+            } else {
+                cache = new HandlerCache(config);
+            }
+            HandlerCache existing = handlerCaches.putIfAbsent(handlerClass,
+                    cache);
+            if (existing != null) {
+                cache = existing;
+            } else if (config != null) {
+                for (String group : config.invalidatedBy()) {
+                    Set<HandlerCache> caches = groups.get(group);
+                    if (caches == null) {
+                        caches = new CopyOnWriteArraySet<>();
+                        Set<HandlerCache> prev = groups.putIfAbsent(group,
+                                caches);
+                        if (prev != null) {
+                            caches = prev;
+                        }
+                    }
+                    caches.add(cache);
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static String getPluginName(String dataURI) {
+        int start = dataURI.startsWith("/") ? 1 : 0;
+        int end = dataURI.indexOf('/', start);
+        if (end < 0) {
+            end = dataURI.length();
+        }
+        return end > start ? dataURI.substring(start, end) : null;
+    }
+
+    /**
+     * Key for a cached response, the serialized request bytes and the format
+     * of the response.
+     */
+    public static class Key {
+
+        private final HandlerCache cache;
+
+        private final long generation;
+
+        private final String format;
+
+        private final byte[] request;
+
+        private final int hashCode;
+
+        private Key(HandlerCache cache, long generation, String format,
+                byte[] request) {
+            this.cache = cache;
+            this.generation = generation;
+            this.format = format;
+            this.request = request;
+            this.hashCode = 31 * String.valueOf(format).hashCode()
+                    + Arrays.hashCode(request);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode
+                    && (format == null ? other.format == null
+                            : format.equals(other.format))
+                    && Arrays.equals(request, other.request);
+        }
+    }
+
+    /**
+     * Bounded, expiring cache of the responses for a single handler.
+     */
+    private static class HandlerCache {
+
+        private final long timeToLive;
+
+        private final int maxResponseBytes;
+
+        private final Map<Key, CachedResponse> responses;
+
+        private volatile long generation = 0;
+
+        public HandlerCache(CacheableResponse config) {
+            if (config == null) {
+                timeToLive = 0;
+                maxResponseBytes = 0;
+                responses = Collections.emptyMap();
+            } else {
+                timeToLive = config.timeToLive();
+                maxResponseBytes = config.maxResponseBytes();
+                final int maxEntries = config.maxEntries();
+                responses = new LinkedHashMap<Key, CachedResponse>(16, 0.75f,
+                        true) {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<Key, CachedResponse> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+            }
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public synchronized byte[] get(Key key) {
+            CachedResponse response = responses.get(key);
+            if (response == null) {
+                return null;
+            }
+            if (response.expireTime < System.currentTimeMillis()) {
+                responses.remove(key);
+                return null;
+            }
+            return response.bytes;
+        }
+
+        public synchronized void put(Key key, byte[] bytes) {
+            if (bytes.length > maxResponseBytes || key.generation != generation) {
+                return;
+            }
+            responses.put(key, new CachedResponse(bytes,
+                    System.currentTimeMillis() + timeToLive));
+        }
+
+        public synchronized void clear() {
+            generation += 1;
+            responses.clear();
+        }
+    }
+
+    private static class CachedResponse {
+
+        private final byte[] bytes;
+
+        private final long expireTime;
+
+        public CachedResponse(byte[] bytes, long expireTime) {
+            this.bytes = bytes;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.requestsrv.serialization;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.CamelContext;
+
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.edex.core.IContextStateProcessor;
+
+/**
+ * Removes the routes that receive {@link ResponseCache} invalidation
+ * notifications once the context is started if no registered handler uses the
+ * invalidation group of the route, or if the cache is disabled. This avoids
+ * subscribing to and deserializing notifications nothing needs.
+ * 
+ * Each route id is mapped to the invalidation group it serves. A route mapped
+ * to {@link #PLUGIN_GROUPS} serves every group that is not mapped to another
+ * route, which are the plugin groups of ingested data.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class ResponseCacheInvalidator implements IContextStateProcessor {
+
+    /** Group of a route that serves the plugin groups of ingested data */
+    public static final String PLUGIN_GROUPS = "*";
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(ResponseCacheInvalidator.class);
+
+    private final CamelContext context;
+
+    private final ResponseCache cache;
+
+    private final Map<String, String> routeGroups;
+
+    /**
+     * Constructor.
+     * 
+     * @param context
+     *            the context containing the invalidation routes
+     * @param cache
+     *            the response cache the routes invalidate
+     * @param routeGroups
+     *            the invalidation group of each route id
+     */
+    public ResponseCacheInvalidator(CamelContext context, ResponseCache cache,
+            Map<String, String> routeGroups) {
+        this.context = context;
+        this.cache = cache;
+        this.routeGroups = routeGroups;
+    }
+
+    @Override
+    public void preStart() {
+        // no op
+    }
+
+    @Override
+    public void postStart() {
+        Set<String> groups = cache.getInvalidationGroups();
+        Set<String> pluginGroups = new HashSet<>(groups);
+        pluginGroups.removeAll(routeGroups.values());
+
+        for (Map.Entry<String, String> entry : routeGroups.entrySet()) {
+            String group = entry.getValue();
+            boolean needed = PLUGIN_GROUPS.equals(group) ? !pluginGroups
+                    .isEmpty() : groups.contains(group);
+            if (!needed) {
+                removeRoute(entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void preStop() {
+        // no op
+    }
+
+    @Override
+    public void postStop() {
+        // no op
+    }
+
+    private void removeRoute(String routeId) {
+        try {
+            context.stopRoute(routeId);
+            context.removeRoute(routeId);
+            statusHandler.info("Removed unused response cache route "
+                    + routeId);
+        } catch (Exception e) {
+            statusHandler.handle(Priority.WARN,
+                    "Unable to remove response cache route " + routeId, e);
+        }
+    }
+}
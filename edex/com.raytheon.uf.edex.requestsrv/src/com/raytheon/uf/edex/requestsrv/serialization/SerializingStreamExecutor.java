@@ -19,6 +19,9 @@
  **/
 package com.raytheon.uf.edex.requestsrv.serialization;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -53,6 +56,7 @@ import com.raytheon.uf.edex.requestsrv.RequestServiceExecutor;
  * Jan 06, 2015 3789       bclement    added getContentType(), execute throws UnsupportedFormatException
  * Jun 17, 2015 4561       njensen     Log serialization exception to two logs
  * Oct 24, 2016 5951       dgilling    Log all incoming requests.
+ * Oct 19, 2026            agent       Added optional response cache.
  * 
  * </pre>
  * 
@@ -67,6 +71,12 @@ public class SerializingStreamExecutor
     private static final IUFStatusHandler requestLog = UFStatus
             .getNamedHandler("ThriftSrvRequestLogger");
 
+    /**
+     * Largest request whose bytes are kept for use as a response cache key,
+     * cacheable requests are expected to be much smaller.
+     */
+    private static final int MAX_CAPTURED_REQUEST_BYTES = 64 * 1024;
+
     /** Default instance for convenient sharing of registry. */
     private static final SerializingStreamExecutor instance = new SerializingStreamExecutor(
             RequestServiceExecutor.getInstance());
@@ -77,10 +87,25 @@ public class SerializingStreamExecutor
 
     private final RequestServiceExecutor executor;
 
+    private ResponseCache responseCache;
+
     public SerializingStreamExecutor(RequestServiceExecutor executor) {
         this.executor = executor;
     }
 
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * @param responseCache
+     *            cache for responses of cacheable requests, may be null to
+     *            disable caching
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -95,7 +120,9 @@ public class SerializingStreamExecutor
         long startTime = System.currentTimeMillis();
         boolean success = false;
         IServerRequest request = null;
-        Object response;
+        Object response = null;
+        ResponseCache.Key cacheKey = null;
+        byte[] cachedResponse = null;
         try {
             StreamSerializer inputSerializer = getRegisteredObject(inputFormat);
             if (inputSerializer == null) {
@@ -103,8 +130,24 @@ public class SerializingStreamExecutor
                         "No serializer registered for format: " + inputFormat);
             }
 
+            ResponseCache cache = responseCache;
+            CapturingInputStream captured = null;
+            if (cache != null && cache.isEnabled()) {
+                captured = new CapturingInputStream(in,
+                        MAX_CAPTURED_REQUEST_BYTES);
+                in = captured;
+            }
             request = (IServerRequest) inputSerializer.deserialize(in);
-            response = executor.execute(request);
+            if (captured != null) {
+                cacheKey = cache.getKey(request, captured.getBytes(),
+                        inputSerializer, outputFormat);
+                if (cacheKey != null) {
+                    cachedResponse = cache.get(cacheKey);
+                }
+            }
+            if (cachedResponse == null) {
+                response = executor.execute(request);
+            }
             success = true;
         } catch (AuthException e) {
             AuthServerErrorResponse resp = new AuthServerErrorResponse();
@@ -148,8 +191,19 @@ public class SerializingStreamExecutor
                 cout = new CountingOutputStream(out);
             }
 
-            // Perform serialization to stream
-            outputSerializer.serialize(response, cout);
+            if (cachedResponse != null) {
+                cout.write(cachedResponse);
+            } else if (success && cacheKey != null && response != null) {
+                // Serialize to memory so the bytes can be cached
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                outputSerializer.serialize(response, bytes);
+                byte[] serialized = bytes.toByteArray();
+                responseCache.put(cacheKey, serialized);
+                cout.write(serialized);
+            } else {
+                // Perform serialization to stream
+                outputSerializer.serialize(response, cout);
+            }
 
             if (success) {
                 // Log response size if request was successful
@@ -159,6 +213,9 @@ public class SerializingStreamExecutor
                         .append((endTime - startTime)).append("ms");
                 sb.append(", response was size ").append(
                         SizeUtil.prettyByteSize(cout.getBytesWritten()));
+                if (cachedResponse != null) {
+                    sb.append(" (cached)");
+                }
                 requestLog.info(sb.toString());
             }
         } catch (Throwable t) {
@@ -175,6 +232,78 @@ public class SerializingStreamExecutor
         }
     }
 
+    /**
+     * Keeps a copy of the bytes read from a stream, up to a limit, so that the
+     * bytes of a request can be used as its cache key without serializing the
+     * request again.
+     */
+    private static class CapturingInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                256);
+
+        private final int limit;
+
+        private boolean overflow = false;
+
+        public CapturingInputStream(InputStream in, int limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                capture(new byte[] { (byte) b }, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                capture(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            /* Skipped bytes are not captured so the copy is incomplete. */
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                overflow = true;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            if (overflow) {
+                return;
+            } else if (bytes.size() + len > limit) {
+                overflow = true;
+                bytes.reset();
+            } else {
+                bytes.write(b, off, len);
+            }
+        }
+
+        /**
+         * @return every byte read from the stream, or null if more than the
+         *         limit was read
+         */
+        public byte[] getBytes() {
+            return overflow ? null : bytes.toByteArray();
+        }
+    }
+
     public Object registerMultiple(StreamSerializer serializer, String... keys)
             throws RegistryException {
         for (String key : keys) {
@@ -0,0 +1,61 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.stats.handler;
+
+import java.util.List;
+
+import com.raytheon.uf.common.serialization.comm.IRequestHandler;
+import com.raytheon.uf.common.stats.LatencyStatsRequest;
+import com.raytheon.uf.common.stats.LatencyStatsResponse;
+import com.raytheon.uf.common.stats.data.LatencyStatsData;
+import com.raytheon.uf.common.status.metrics.LatencyRegistry;
+import com.raytheon.uf.common.status.metrics.LatencySnapshot;
+
+/**
+ * Handles a {@link LatencyStatsRequest} by returning a snapshot of the
+ * {@link LatencyRegistry} of this JVM.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class LatencyStatsHandler implements
+        IRequestHandler<LatencyStatsRequest> {
+
+    @Override
+    public LatencyStatsResponse handleRequest(LatencyStatsRequest request)
+            throws Exception {
+        List<LatencySnapshot> snapshots = LatencyRegistry.getInstance()
+                .snapshot(request.getPrefix(), request.isReset());
+        LatencyStatsData[] stats = new LatencyStatsData[snapshots.size()];
+        for (int i = 0; i < stats.length; i += 1) {
+            stats[i] = new LatencyStatsData(snapshots.get(i));
+        }
+        return new LatencyStatsResponse(stats);
+    }
+}
@@ -97,6 +97,7 @@ import com.raytheon.uf.viz.core.rsc.LoadProperties;
 import com.raytheon.uf.viz.core.rsc.RenderingOrderFactory;
 import com.raytheon.uf.viz.core.rsc.RenderingOrderFactory.ResourceOrder;
 import com.raytheon.uf.viz.core.rsc.capabilities.AbstractCapability;
+import com.raytheon.uf.viz.core.rsc.IPrefetchableResource;
 import com.raytheon.uf.viz.core.rsc.capabilities.ColorMapCapability;
 import com.raytheon.uf.viz.core.rsc.capabilities.ColorableCapability;
 import com.raytheon.uf.viz.core.rsc.capabilities.DensityCapability;
@@ -151,6 +152,7 @@ import com.vividsolutions.jts.geom.Coordinate;
  * Apr 26, 2017  6247     bsteffen  Provide getter/setter for style preferences.
  * Nov 28, 2017  5863     bsteffen  Change dataTimes to a NavigableSet
  * Feb 15, 2018  6902     njensen   Added interrogate support for Direction To
+ * Oct 19, 2026           agent     Implement IPrefetchableResource
  *
  * </pre>
  *
@@ -159,7 +161,7 @@ import com.vividsolutions.jts.geom.Coordinate;
  */
 public abstract class AbstractGridResource<T extends AbstractResourceData>
         extends AbstractVizResource<T, IMapDescriptor>
-        implements ImageProvider, Interrogatable {
+        implements ImageProvider, Interrogatable, IPrefetchableResource {
 
     private static final IUFStatusHandler statusHandler = UFStatus
             .getHandler(AbstractGridResource.class);
@@ -737,6 +739,30 @@ public abstract class AbstractGridResource<T extends AbstractResourceData>
         }
     }
 
+    @Override
+    public boolean isLoaded(DataTime time) {
+        return dataMap.containsKey(time);
+    }
+
+    @Override
+    public long prefetch(DataTime time) {
+        requestData(time);
+        /*
+         * Assume the new frame is the same size as any frame that is already
+         * loaded.
+         */
+        long bytes = 0;
+        for (List<GeneralGridData> dataList : dataMap.values()) {
+            for (GeneralGridData data : dataList) {
+                GridEnvelope2D range = data.getGridGeometry().getGridRange2D();
+                bytes += (long) range.width * range.height * 4
+                        * (data.isVector() ? 2 : 1);
+            }
+            break;
+        }
+        return bytes;
+    }
+
     /**
      * Combine data records that are in the same grid space to avoid areas of
      * overlapping data.
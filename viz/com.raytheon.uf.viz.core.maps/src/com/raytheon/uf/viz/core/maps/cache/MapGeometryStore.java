@@ -0,0 +1,292 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.maps.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.viz.core.maps.Activator;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+
+/**
+ * Stores the geometries of one geometry column of a maps table on the local
+ * disk so they only need to be retrieved from the server once. Each simplified
+ * level of a table has its own column and therefore its own store.
+ * 
+ * Geometries are appended to a file as WKB. When a store is opened the
+ * existing file is memory mapped and indexed by gid, geometries are decoded
+ * from the mapped file the first time they are used. The geometries retrieved
+ * for one query are appended together while holding a lock on the file, since
+ * other CAVE processes may be appending to it, and the file is then mapped
+ * again so geometries appended by any process can be read. Stores created
+ * more than viz.maps.tileStore.maxAgeDays ago are discarded so changes to the
+ * maps database are picked up eventually. Appending updates the modification
+ * time of the file so the creation time is kept by the modification time of
+ * an empty marker file next to it.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ * @version 1.0
+ */
+public class MapGeometryStore {
+    private static final transient IUFStatusHandler statusHandler = UFStatus
+            .getHandler(MapGeometryStore.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System
+            .getProperty("viz.maps.tileStore.enabled", "true"));
+
+    static final long MAX_AGE = TimeUnit.DAYS.toMillis(Integer.getInteger(
+            "viz.maps.tileStore.maxAgeDays", 30));
+
+    private static final String DIRECTORY = "mapTiles";
+
+    private static final String CREATED_SUFFIX = ".created";
+
+    private static final Map<String, MapGeometryStore> stores = new HashMap<>();
+
+    private final File file;
+
+    /** Offset of the WKB for each gid in the mapped file */
+    private final Map<Integer, Integer> offsets = new HashMap<>();
+
+    private MappedByteBuffer mapped;
+
+    /** Length of the complete records at the start of the file */
+    private int indexedLength = 0;
+
+    private final WKBReader wkbReader = new WKBReader();
+
+    private boolean marked = false;
+
+    /**
+     * Get the store for a geometry column.
+     * 
+     * @param table
+     *            the schema qualified table name
+     * @param geomField
+     *            the geometry column
+     * @return the store or null if local storage is disabled or unavailable
+     */
+    public static synchronized MapGeometryStore getStore(String table,
+            String geomField) {
+        File file = getFile(table + "." + geomField + ".wkb");
+        if (file == null) {
+            return null;
+        }
+        MapGeometryStore store = stores.get(file.getName());
+        if (store == null) {
+            store = new MapGeometryStore(file);
+            stores.put(file.getName(), store);
+        }
+        return store;
+    }
+
+    /**
+     * @return the file with the given name in the store directory, or null if
+     *         local storage is disabled or unavailable.
+     */
+    static File getFile(String name) {
+        Activator activator = Activator.getDefault();
+        if (!ENABLED || activator == null) {
+            return null;
+        }
+        File dir = new File(activator.getStateLocation().toFile(), DIRECTORY);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            return null;
+        }
+        return new File(dir, name.replaceAll("[^\\w.-]", "_"));
+    }
+
+    /**
+     * Delete a store file and its creation marker if the file is older than
+     * the maximum age. A file without a marker is always deleted since its
+     * age is unknown.
+     */
+    static void deleteIfExpired(File file) {
+        File marker = new File(file.getPath() + CREATED_SUFFIX);
+        if (!file.exists()) {
+            marker.delete();
+        } else if (!marker.exists()
+                || System.currentTimeMillis() - marker.lastModified() > MAX_AGE) {
+            file.delete();
+            marker.delete();
+        }
+    }
+
+    /**
+     * Record the creation time of a store file if it has not been recorded.
+     * Must be called before the file is first written.
+     */
+    static void markCreated(File file) {
+        File marker = new File(file.getPath() + CREATED_SUFFIX);
+        try {
+            marker.createNewFile();
+        } catch (IOException e) {
+            statusHandler.handle(Priority.DEBUG,
+                    "Unable to create map store marker " + marker, e);
+        }
+    }
+
+    private MapGeometryStore(File file) {
+        this.file = file;
+        deleteIfExpired(file);
+        if (file.exists()) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                map(raf.getChannel());
+            } catch (IOException e) {
+                statusHandler.handle(Priority.WARN,
+                        "Unable to read map geometries from " + file, e);
+                mapped = null;
+                offsets.clear();
+                indexedLength = 0;
+            }
+        }
+    }
+
+    /**
+     * Map the whole file and read the gid and length of every geometry that
+     * has not already been indexed. An incomplete record at the end of the
+     * file is ignored.
+     */
+    private void map(FileChannel channel) throws IOException {
+        if (channel.size() < indexedLength) {
+            /* Replaced by another process, start over. */
+            offsets.clear();
+            indexedLength = 0;
+        }
+        mapped = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(indexedLength);
+        while (buffer.remaining() >= 8) {
+            int gid = buffer.getInt();
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+            offsets.put(gid, buffer.position() - 4);
+            buffer.position(buffer.position() + length);
+            indexedLength = buffer.position();
+        }
+    }
+
+    /**
+     * @param gid
+     * @return the geometry or null if it is not stored
+     */
+    public synchronized Geometry getGeometry(int gid) {
+        if (mapped == null) {
+            return null;
+        }
+        Integer offset = offsets.get(gid);
+        if (offset == null) {
+            return null;
+        }
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(offset);
+        byte[] wkb = new byte[buffer.getInt()];
+        buffer.get(wkb);
+        try {
+            return wkbReader.read(wkb);
+        } catch (ParseException e) {
+            statusHandler.handle(Priority.WARN,
+                    "Invalid geometry for gid " + gid + " in " + file, e);
+            offsets.remove(gid);
+            return null;
+        }
+    }
+
+    /**
+     * Add the geometries retrieved from the server for one query.
+     * 
+     * @param wkbs
+     *            the WKB returned by the server for each gid
+     */
+    public synchronized void putGeometries(Map<Integer, byte[]> wkbs) {
+        if (wkbs.isEmpty()) {
+            return;
+        }
+        if (!marked) {
+            markCreated(file);
+            marked = true;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            /* Other CAVE processes may be appending to the same file. */
+            try (FileLock lock = channel.lock()) {
+                map(channel);
+                int size = 0;
+                for (Map.Entry<Integer, byte[]> entry : wkbs.entrySet()) {
+                    if (!offsets.containsKey(entry.getKey())) {
+                        size += 8 + entry.getValue().length;
+                    }
+                }
+                if (size == 0) {
+                    return;
+                }
+                ByteBuffer records = ByteBuffer.allocate(size);
+                for (Map.Entry<Integer, byte[]> entry : wkbs.entrySet()) {
+                    if (!offsets.containsKey(entry.getKey())) {
+                        byte[] wkb = entry.getValue();
+                        records.putInt(entry.getKey()).putInt(wkb.length)
+                                .put(wkb);
+                    }
+                }
+                records.flip();
+                /*
+                 * Anything after the indexed records was left by a writer
+                 * that failed part way, nobody else can be writing now.
+                 */
+                if (channel.size() > indexedLength) {
+                    channel.truncate(indexedLength);
+                }
+                channel.position(indexedLength);
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+                map(channel);
+            }
+        } catch (IOException e) {
+            statusHandler.handle(Priority.WARN,
+                    "Unable to store map geometries in " + file, e);
+        }
+    }
+}
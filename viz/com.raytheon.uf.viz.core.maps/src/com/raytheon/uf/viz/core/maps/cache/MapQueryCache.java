@@ -0,0 +1,399 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.maps.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.raytheon.uf.common.dataquery.db.QueryResult;
+import com.raytheon.uf.common.dataquery.db.QueryResultRow;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.index.strtree.STRtree;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKBWriter;
+
+/**
+ * Local copy of the results of the spatial queries for one map layer. The
+ * rows returned by the server are kept in an STR-tree by the envelope of their
+ * geometry along with the area that has already been queried. A query for an
+ * area that is completely within the queried area is answered from the tree
+ * without going to the server. The rows and area are stored on disk so later
+ * CAVE sessions start with them.
+ * 
+ * The file is a header chunk followed by one chunk for each query added, each
+ * chunk holds only the queried area and the rows that were new. Chunks are
+ * appended so adding a query does not rewrite the file, it is compacted when
+ * it is loaded with many chunks. Other CAVE processes may use the same file
+ * so it is locked while it is read or written, the same as the files of
+ * {@link MapGeometryStore}.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ * @version 1.0
+ */
+public class MapQueryCache {
+    private static final transient IUFStatusHandler statusHandler = UFStatus
+            .getHandler(MapQueryCache.class);
+
+    private static final Map<String, MapQueryCache> caches = new HashMap<>();
+
+    /** Number of query chunks a file may have before it is compacted */
+    private static final int MAX_CHUNKS = 64;
+
+    private final String signature;
+
+    private final File file;
+
+    private Map<String, Integer> columnNames;
+
+    private final Map<Integer, CachedRow> rows = new LinkedHashMap<>();
+
+    private Geometry queriedArea;
+
+    private STRtree index;
+
+    /** Whether the file has a header matching the current columns */
+    private boolean headerWritten = false;
+
+    /**
+     * Get the cache for a query.
+     * 
+     * @param table
+     *            the schema qualified table name
+     * @param geomField
+     *            the geometry column used for the spatial query
+     * @param columns
+     *            the columns returned by the query
+     * @param constraints
+     *            any additional constraints on the query
+     * @return the cache or null if local storage is disabled or unavailable
+     */
+    public static synchronized MapQueryCache getCache(String table,
+            String geomField, List<String> columns, List<String> constraints) {
+        String signature = table + "|" + geomField + "|" + columns + "|"
+                + constraints;
+        MapQueryCache cache = caches.get(signature);
+        if (cache == null) {
+            File file = MapGeometryStore.getFile(table + "."
+                    + Integer.toHexString(signature.hashCode()) + ".rows");
+            if (file == null) {
+                return null;
+            }
+            cache = new MapQueryCache(signature, file);
+            caches.put(signature, cache);
+        }
+        return cache;
+    }
+
+    private MapQueryCache(String signature, File file) {
+        this.signature = signature;
+        this.file = file;
+        MapGeometryStore.deleteIfExpired(file);
+        if (file.exists()) {
+            load();
+        }
+    }
+
+    /**
+     * Find the rows within an area.
+     * 
+     * @param boundingGeom
+     *            the area to query
+     * @return the rows with a geometry that may intersect the area or null if
+     *         the area has not been queried from the server.
+     */
+    public synchronized QueryResult query(Geometry boundingGeom) {
+        if (queriedArea == null || !queriedArea.covers(boundingGeom)) {
+            return null;
+        }
+        if (index == null) {
+            index = new STRtree();
+            for (CachedRow row : rows.values()) {
+                index.insert(row.envelope, row);
+            }
+            index.build();
+        }
+        GeometryFactory factory = boundingGeom.getFactory();
+        List<QueryResultRow> result = new ArrayList<>();
+        for (Object obj : index.query(boundingGeom.getEnvelopeInternal())) {
+            CachedRow row = (CachedRow) obj;
+            if (boundingGeom.intersects(factory.toGeometry(row.envelope))) {
+                result.add(new QueryResultRow(row.values));
+            }
+        }
+        return new QueryResult(columnNames,
+                result.toArray(new QueryResultRow[0]));
+    }
+
+    /**
+     * Add the result of a query to the server.
+     * 
+     * @param boundingGeom
+     *            the queried area
+     * @param result
+     *            the result of the query
+     * @param gidColumn
+     *            the name of the gid column in the result
+     * @param geometries
+     *            the geometries for each gid, used for the spatial index
+     */
+    public synchronized void add(Geometry boundingGeom, QueryResult result,
+            String gidColumn, Map<Integer, Geometry> geometries) {
+        if (columnNames == null) {
+            columnNames = new HashMap<>(result.getColumnNames());
+        } else if (!columnNames.equals(result.getColumnNames())) {
+            clear();
+            columnNames = new HashMap<>(result.getColumnNames());
+            headerWritten = false;
+        }
+        try {
+            queriedArea = queriedArea == null ? boundingGeom : queriedArea
+                    .union(boundingGeom);
+        } catch (RuntimeException e) {
+            /* Topology problems, only keep the latest area. */
+            queriedArea = boundingGeom;
+        }
+        Map<Integer, CachedRow> newRows = new LinkedHashMap<>();
+        for (int i = 0; i < result.getResultCount(); i++) {
+            int gid = ((Number) result.getRowColumnValue(i, gidColumn))
+                    .intValue();
+            Geometry geom = geometries.get(gid);
+            if (geom != null && !rows.containsKey(gid)) {
+                CachedRow row = new CachedRow(geom.getEnvelopeInternal(),
+                        result.getRows()[i].getColumnValues());
+                rows.put(gid, row);
+                newRows.put(gid, row);
+            }
+        }
+        index = null;
+        if (headerWritten) {
+            append(boundingGeom, newRows);
+        } else {
+            save();
+        }
+    }
+
+    private void clear() {
+        rows.clear();
+        queriedArea = null;
+        index = null;
+    }
+
+    private void load() {
+        int chunks = 0;
+        long length;
+        long position = 0;
+        try (FileInputStream fis = new FileInputStream(file);
+                FileLock lock = fis.getChannel().lock(0, Long.MAX_VALUE,
+                        true)) {
+            length = fis.getChannel().size();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    fis));
+            byte[] bytes = readChunk(in);
+            if (bytes == null) {
+                return;
+            }
+            position += 4 + bytes.length;
+            ObjectInputStream header = new ObjectInputStream(
+                    new ByteArrayInputStream(bytes));
+            if (!signature.equals(header.readUTF())) {
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Integer> columnNames = (Map<String, Integer>) header
+                    .readObject();
+            Geometry queriedArea = null;
+            bytes = readChunk(in);
+            while (bytes != null) {
+                position += 4 + bytes.length;
+                ObjectInputStream chunk = new ObjectInputStream(
+                        new ByteArrayInputStream(bytes));
+                Geometry area = new WKBReader().read((byte[]) chunk
+                        .readObject());
+                try {
+                    queriedArea = queriedArea == null ? area : queriedArea
+                            .union(area);
+                } catch (RuntimeException e) {
+                    /* Topology problems, only keep the latest area. */
+                    queriedArea = area;
+                }
+                int numRows = chunk.readInt();
+                for (int i = 0; i < numRows; i++) {
+                    int gid = chunk.readInt();
+                    Envelope envelope = new Envelope(chunk.readDouble(),
+                            chunk.readDouble(), chunk.readDouble(),
+                            chunk.readDouble());
+                    rows.put(gid, new CachedRow(envelope, (Object[]) chunk
+                            .readObject()));
+                }
+                chunks += 1;
+                bytes = readChunk(in);
+            }
+            this.columnNames = columnNames;
+            this.queriedArea = queriedArea;
+        } catch (IOException | ClassNotFoundException | ParseException
+                | ClassCastException e) {
+            statusHandler.handle(Priority.WARN,
+                    "Unable to read map query cache " + file, e);
+            clear();
+            return;
+        }
+        if (queriedArea == null) {
+            clear();
+        } else if (chunks > MAX_CHUNKS || position != length) {
+            /* Compact, or drop a partially written chunk before appending. */
+            save();
+        } else {
+            headerWritten = true;
+        }
+    }
+
+    /**
+     * Read the next length prefixed chunk.
+     * 
+     * @return the chunk contents, or null at the end of the file or if the
+     *         last chunk was not completely written.
+     */
+    private static byte[] readChunk(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Invalid chunk length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rewrite the whole file with the current contents as a single chunk.
+     */
+    private void save() {
+        MapGeometryStore.markCreated(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                FileLock lock = raf.getChannel().lock()) {
+            raf.getChannel().truncate(0);
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(raf
+                            .getChannel())));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream header = new ObjectOutputStream(bytes)) {
+                header.writeUTF(signature);
+                header.writeObject(columnNames);
+            }
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            writeChunk(out, queriedArea, rows);
+            out.flush();
+            headerWritten = true;
+        } catch (IOException e) {
+            statusHandler.handle(Priority.WARN,
+                    "Unable to store map query cache " + file, e);
+            file.delete();
+            headerWritten = false;
+        }
+    }
+
+    /**
+     * Append a chunk for one query to the file.
+     */
+    private void append(Geometry area, Map<Integer, CachedRow> newRows) {
+        try (FileOutputStream fos = new FileOutputStream(file, true);
+                FileLock lock = fos.getChannel().lock()) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(fos));
+            writeChunk(out, area, newRows);
+            out.flush();
+        } catch (IOException e) {
+            statusHandler.handle(Priority.WARN,
+                    "Unable to store map query cache " + file, e);
+            file.delete();
+            headerWritten = false;
+        }
+    }
+
+    private static void writeChunk(DataOutputStream out, Geometry area,
+            Map<Integer, CachedRow> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream chunk = new ObjectOutputStream(bytes)) {
+            chunk.writeObject(new WKBWriter().write(area));
+            chunk.writeInt(rows.size());
+            for (Map.Entry<Integer, CachedRow> entry : rows.entrySet()) {
+                CachedRow row = entry.getValue();
+                chunk.writeInt(entry.getKey());
+                chunk.writeDouble(row.envelope.getMinX());
+                chunk.writeDouble(row.envelope.getMaxX());
+                chunk.writeDouble(row.envelope.getMinY());
+                chunk.writeDouble(row.envelope.getMaxY());
+                chunk.writeObject(row.values);
+            }
+        }
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    private static class CachedRow {
+
+        private final Envelope envelope;
+
+        private final Object[] values;
+
+        public CachedRow(Envelope envelope, Object[] values) {
+            this.envelope = envelope;
+            this.values = values;
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.opengis.referencing.operation.TransformException;
 
 import com.raytheon.uf.common.dataquery.db.QueryResult;
 import com.raytheon.uf.common.geospatial.ReferencedCoordinate;
+import com.raytheon.uf.common.geospatial.ReferencedGeometry;
 import com.raytheon.uf.common.status.UFStatus.Priority;
 import com.raytheon.uf.common.time.DataTime;
 import com.raytheon.uf.viz.core.DrawableString;
@@ -61,6 +62,8 @@ import com.raytheon.uf.viz.core.drawables.PaintProperties;
 import com.raytheon.uf.viz.core.exception.VizException;
 import com.raytheon.uf.viz.core.map.IMapDescriptor;
 import com.raytheon.uf.viz.core.map.MapDescriptor;
+import com.raytheon.uf.viz.core.maps.cache.MapGeometryStore;
+import com.raytheon.uf.viz.core.maps.cache.MapQueryCache;
 import com.raytheon.uf.viz.core.maps.jobs.AbstractMapQueryJob;
 import com.raytheon.uf.viz.core.maps.jobs.AbstractMapRequest;
 import com.raytheon.uf.viz.core.maps.jobs.AbstractMapResult;
@@ -108,6 +111,9 @@ import com.vividsolutions.jts.io.WKBReader;
  * Oct 23, 2014 3685       randerso    Fix nullPointer if shadingField contains a null
  * Nov 04, 2015 5070       randerso    Change map resources to use a preference based font
  *                                     Move management of font magnification into AbstractMapResource
+ * Oct 19, 2026            agent       Use local map query and geometry stores
+ *                                     to avoid server round trips
+ * Oct 19, 2026            agent       Compile geometries in one parallel call
  * 
  * </pre>
  * 
@@ -291,10 +297,21 @@ public class DbMapResource extends
                 }
             }
             double[] lev = getLevels();
-            QueryResult mappedResult = DbMapQueryFactory.getMapQuery(
-                    resourceData.getTable(), getGeomField(lev[lev.length - 1]))
-                    .queryWithinGeometry(req.getBoundingGeom(), fields,
-                            constraints);
+            String queryGeomField = getGeomField(lev[lev.length - 1]);
+            MapQueryCache queryCache = MapQueryCache.getCache(table,
+                    queryGeomField, fields, constraints);
+            QueryResult mappedResult = null;
+            if (queryCache != null) {
+                mappedResult = queryCache.query(req.getBoundingGeom());
+            }
+            boolean queriedServer = mappedResult == null;
+            if (queriedServer) {
+                mappedResult = DbMapQueryFactory.getMapQuery(table,
+                        queryGeomField).queryWithinGeometry(
+                        req.getBoundingGeom(), fields, constraints);
+            }
+            MapGeometryStore geometryStore = MapGeometryStore.getStore(table,
+                    req.geomField);
             Map<Integer, Geometry> gidMap = new HashMap<Integer, Geometry>(
                     mappedResult.getResultCount() * 2);
             List<Integer> toRequest = new ArrayList<Integer>(
@@ -308,6 +325,13 @@ public class DbMapResource extends
                         .intValue();
                 Geometry geom = GeometryCache.getGeometry(table, "" + gid,
                         req.geomField);
+                if (geom == null && geometryStore != null) {
+                    geom = geometryStore.getGeometry(gid);
+                    if (geom != null) {
+                        GeometryCache.putGeometry(table, "" + gid,
+                                req.geomField, geom);
+                    }
+                }
                 if (geom != null) {
                     gidMap.put(gid, geom);
                 } else {
@@ -335,6 +359,8 @@ public class DbMapResource extends
                 }
                 QueryResult geomResults = DirectDbQuery.executeMappedQuery(
                         geomQuery.toString(), "maps", QueryLanguage.SQL);
+                Map<Integer, byte[]> wkbs = new HashMap<Integer, byte[]>(
+                        geomResults.getResultCount() * 2);
                 for (int i = 0; i < geomResults.getResultCount(); ++i) {
                     if (checkCanceled(result)) {
                         return;
@@ -347,6 +373,7 @@ public class DbMapResource extends
                     if (obj instanceof byte[]) {
                         byte[] wkb = (byte[]) obj;
                         g = wkbReader.read(wkb);
+                        wkbs.put(gid, wkb);
                     } else {
                         statusHandler.handle(
                                 Priority.ERROR,
@@ -359,6 +386,14 @@ public class DbMapResource extends
                     GeometryCache
                             .putGeometry(table, "" + gid, req.geomField, g);
                 }
+                if (geometryStore != null) {
+                    geometryStore.putGeometries(wkbs);
+                }
+            }
+
+            if (queriedServer && queryCache != null) {
+                queryCache.add(req.getBoundingGeom(), mappedResult, GID,
+                        gidMap);
             }
 
             IWireframeShape newOutlineShape = req.getTarget()
@@ -374,9 +409,6 @@ public class DbMapResource extends
 
             JTSCompiler jtsCompiler = new JTSCompiler(newShadedShape,
                     newOutlineShape, req.descriptor);
-            JTSGeometryData geomData = jtsCompiler.createGeometryData();
-            geomData.setWorldWrapCorrect(true);
-            geomData.setPointStyle(PointStyle.CROSS);
 
             List<Geometry> resultingGeoms = new ArrayList<Geometry>(
                     mappedResult.getResultCount());
@@ -458,18 +490,24 @@ public class DbMapResource extends
 
             newOutlineShape.allocate(numPoints);
 
+            List<ReferencedGeometry> referencedGeoms = new ArrayList<>(
+                    resultingGeoms.size());
+            List<JTSGeometryData> geomData = new ArrayList<>(
+                    resultingGeoms.size());
             for (Geometry g : resultingGeoms) {
-                RGB color = null;
-                Object shadedField = g.getUserData();
-                color = req.getColor(shadedField);
-                geomData.setGeometryColor(color);
-
-                try {
-                    jtsCompiler.handle(g, geomData);
-                } catch (VizException e) {
-                    statusHandler.handle(Priority.PROBLEM,
-                            "Error reprojecting map outline", e);
-                }
+                JTSGeometryData data = jtsCompiler.createGeometryData();
+                data.setWorldWrapCorrect(true);
+                data.setPointStyle(PointStyle.CROSS);
+                data.setGeometryColor(req.getColor(g.getUserData()));
+                referencedGeoms.add(new ReferencedGeometry(g));
+                geomData.add(data);
+            }
+
+            try {
+                jtsCompiler.handle(referencedGeoms, geomData);
+            } catch (VizException e) {
+                statusHandler.handle(Priority.PROBLEM,
+                        "Error reprojecting map outline", e);
             }
 
             newOutlineShape.compile();
@@ -0,0 +1,223 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.cache;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.StorageException;
+import com.raytheon.uf.common.datastorage.StorageProperties;
+import com.raytheon.uf.common.datastorage.StorageProperties.Compression;
+import com.raytheon.uf.common.datastorage.StorageStatus;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+
+/**
+ * {@link IDataStore} that checks the {@link DataRecordDiskCache} before
+ * retrieving individual datasets from another data store. Retrievals of whole
+ * groups and all write operations go directly to the wrapped data store,
+ * deleting groups or datasets also removes them from the cache.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class CachingDataStore implements IDataStore {
+
+    private final String file;
+
+    private final IDataStore delegate;
+
+    private final DataRecordDiskCache cache;
+
+    public CachingDataStore(File file, IDataStore delegate,
+            DataRecordDiskCache cache) {
+        this.file = file.getPath();
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public IDataRecord retrieve(String group, String dataset, Request request)
+            throws StorageException, FileNotFoundException {
+        IDataRecord record = cache.get(file, group, dataset, request);
+        if (record == null) {
+            record = delegate.retrieve(group, dataset, request);
+            cache.put(file, group, dataset, request, record);
+        }
+        return record;
+    }
+
+    @Override
+    public IDataRecord[] retrieveDatasets(String[] datasetGroupPath,
+            Request request) throws StorageException, FileNotFoundException {
+        IDataRecord[] records = new IDataRecord[datasetGroupPath.length];
+        List<String> missingPaths = new ArrayList<>(datasetGroupPath.length);
+        List<Integer> missingIndices = new ArrayList<>(
+                datasetGroupPath.length);
+        for (int i = 0; i < datasetGroupPath.length; i += 1) {
+            String path = datasetGroupPath[i];
+            int separator = path.lastIndexOf('/');
+            records[i] = cache.get(file, getGroup(path),
+                    path.substring(separator + 1), request);
+            if (records[i] == null) {
+                missingPaths.add(path);
+                missingIndices.add(i);
+            }
+        }
+        if (missingPaths.isEmpty()) {
+            return records;
+        }
+        IDataRecord[] retrieved = delegate.retrieveDatasets(
+                missingPaths.toArray(new String[0]), request);
+        if (retrieved == null || retrieved.length != missingPaths.size()) {
+            /*
+             * Cannot tell which dataset each record belongs to, so return
+             * exactly what the data store returned for all of them.
+             */
+            return delegate.retrieveDatasets(datasetGroupPath, request);
+        }
+        for (int i = 0; i < retrieved.length; i += 1) {
+            String path = missingPaths.get(i);
+            int separator = path.lastIndexOf('/');
+            cache.put(file, getGroup(path), path.substring(separator + 1),
+                    request, retrieved[i]);
+            records[missingIndices.get(i)] = retrieved[i];
+        }
+        return records;
+    }
+
+    @Override
+    public IDataRecord[] retrieve(String group) throws StorageException,
+            FileNotFoundException {
+        return delegate.retrieve(group);
+    }
+
+    @Override
+    public IDataRecord[] retrieveGroups(String[] groups, Request request)
+            throws StorageException, FileNotFoundException {
+        return delegate.retrieveGroups(groups, request);
+    }
+
+    @Override
+    public String[] getDatasets(String group) throws StorageException,
+            FileNotFoundException {
+        return delegate.getDatasets(group);
+    }
+
+    @Override
+    public void addDataRecord(IDataRecord dataset,
+            StorageProperties properties) throws StorageException {
+        delegate.addDataRecord(dataset, properties);
+    }
+
+    @Override
+    public void addDataRecord(IDataRecord dataset) throws StorageException {
+        delegate.addDataRecord(dataset);
+    }
+
+    @Override
+    public StorageStatus store() throws StorageException {
+        return delegate.store();
+    }
+
+    @Override
+    public StorageStatus store(StoreOp storeOp) throws StorageException {
+        return delegate.store(storeOp);
+    }
+
+    @Override
+    public void deleteDatasets(String... datasets) throws StorageException,
+            FileNotFoundException {
+        for (String dataset : datasets) {
+            cache.invalidate(getGroup(dataset));
+        }
+        delegate.deleteDatasets(datasets);
+    }
+
+    @Override
+    public void deleteGroups(String... groups) throws StorageException,
+            FileNotFoundException {
+        for (String group : groups) {
+            cache.invalidate(group);
+        }
+        delegate.deleteGroups(groups);
+    }
+
+    @Override
+    public void createLinks(Map<String, LinkLocation> links)
+            throws StorageException, FileNotFoundException {
+        delegate.createLinks(links);
+    }
+
+    @Override
+    public void deleteFiles(String[] datesToDelete) throws StorageException,
+            FileNotFoundException {
+        cache.invalidateAll();
+        delegate.deleteFiles(datesToDelete);
+    }
+
+    @Override
+    public void createDataset(IDataRecord rec) throws StorageException,
+            FileNotFoundException {
+        delegate.createDataset(rec);
+    }
+
+    @Override
+    public void repack(Compression compression) throws StorageException {
+        delegate.repack(compression);
+    }
+
+    @Override
+    public void copy(String outputDir, Compression compression,
+            int minMillisSinceLastChange, int maxMillisSinceLastChange)
+            throws StorageException {
+        delegate.copy(outputDir, compression, minMillisSinceLastChange,
+                maxMillisSinceLastChange);
+    }
+
+    @Override
+    public void deleteOrphanData(Map<String, Date> dateMap)
+            throws StorageException {
+        delegate.deleteOrphanData(dateMap);
+    }
+
+    /**
+     * @return the group portion of a full dataset path.
+     */
+    private static String getGroup(String datasetGroupPath) {
+        int separator = datasetGroupPath.lastIndexOf('/');
+        return separator < 0 ? "" : datasetGroupPath.substring(0, separator);
+    }
+
+}
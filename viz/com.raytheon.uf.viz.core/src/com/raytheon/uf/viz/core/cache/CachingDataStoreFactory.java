@@ -0,0 +1,62 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.cache;
+
+import java.io.File;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.IDataStoreFactory;
+
+/**
+ * {@link IDataStoreFactory} that wraps the data stores of another factory in
+ * a {@link CachingDataStore} when the {@link DataRecordDiskCache} is
+ * available.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class CachingDataStoreFactory implements IDataStoreFactory {
+
+    private final IDataStoreFactory delegate;
+
+    public CachingDataStoreFactory(IDataStoreFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public IDataStore getDataStore(File file, boolean useLocking) {
+        IDataStore dataStore = delegate.getDataStore(file, useLocking);
+        DataRecordDiskCache cache = DataRecordDiskCache.getInstance();
+        if (cache == null) {
+            return dataStore;
+        }
+        return new CachingDataStore(file, dataStore, cache);
+    }
+
+}
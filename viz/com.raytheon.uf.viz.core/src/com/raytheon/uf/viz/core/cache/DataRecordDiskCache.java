@@ -0,0 +1,672 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.raytheon.uf.common.datastorage.DataStoreFactory;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.records.ByteDataRecord;
+import com.raytheon.uf.common.datastorage.records.DoubleDataRecord;
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.datastorage.records.IntegerDataRecord;
+import com.raytheon.uf.common.datastorage.records.LongDataRecord;
+import com.raytheon.uf.common.datastorage.records.ShortDataRecord;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.viz.core.Activator;
+
+/**
+ * Size bounded cache of retrieved {@link IDataRecord}s on the local disk. This
+ * avoids repeated requests to pypies for data that is viewed more than once,
+ * for example static data such as topo or the same field displayed in several
+ * panes or reloaded in a later session.
+ * 
+ * Each entry is stored in its own file named by a hash of the hdf5 file,
+ * group, dataset and {@link Request}, so identical retrievals always map to
+ * the same file. Files hold a small header followed by the raw data in a form
+ * that is read back by memory mapping the file. The least recently used
+ * entries are removed when the total size exceeds the limit and entries older
+ * than the maximum age are removed when the cache is opened, which covers data
+ * that has been purged. Entries for a group are removed when that data is
+ * replaced, see {@link #invalidate(String)}.
+ * 
+ * Only numeric records without data attributes are cached.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class DataRecordDiskCache {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(DataRecordDiskCache.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System
+            .getProperty("viz.datastore.diskCache.enabled", "true"));
+
+    private static final long MAX_BYTES = Long.getLong(
+            "viz.datastore.diskCache.maxBytes", 1024L * 1024 * 1024);
+
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(Integer
+            .getInteger("viz.datastore.diskCache.maxAgeDays", 7));
+
+    private static final String DIRECTORY = "dataRecords";
+
+    private static final String SUFFIX = ".rec";
+
+    private static final int MAGIC = 0x41445243;
+
+    private static final int VERSION = 1;
+
+    private static final byte BYTE = 1;
+
+    private static final byte SHORT = 2;
+
+    private static final byte INT = 3;
+
+    private static final byte LONG = 4;
+
+    private static final byte FLOAT = 5;
+
+    private static final byte DOUBLE = 6;
+
+    private static DataRecordDiskCache instance;
+
+    private final File directory;
+
+    private final long maxBytes;
+
+    /** Entries by hash in least recently used order */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    /** Hashes of the entries for each group */
+    private final TreeMap<String, Set<String>> groups = new TreeMap<>();
+
+    private long bytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @return the cache or null if disk caching is disabled or the cache
+     *         directory is unavailable.
+     */
+    public static synchronized DataRecordDiskCache getInstance() {
+        if (instance == null && ENABLED) {
+            Activator activator = Activator.getDefault();
+            if (activator == null) {
+                return null;
+            }
+            File dir = new File(activator.getStateLocation().toFile(),
+                    DIRECTORY);
+            if (dir.isDirectory() || dir.mkdirs()) {
+                instance = new DataRecordDiskCache(dir, MAX_BYTES);
+            }
+        }
+        return instance;
+    }
+
+    protected DataRecordDiskCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    /**
+     * Index the files already in the cache directory, oldest first so the
+     * least recently used order survives a restart.
+     */
+    private void load() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+
+            @Override
+            public int compare(File f1, File f2) {
+                return Long.compare(f1.lastModified(), f2.lastModified());
+            }
+        });
+        long now = System.currentTimeMillis();
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.endsWith(SUFFIX)
+                    || now - file.lastModified() > MAX_AGE) {
+                file.delete();
+                continue;
+            }
+            String group = readGroup(file);
+            if (group == null) {
+                file.delete();
+                continue;
+            }
+            String hash = name.substring(0, name.length() - SUFFIX.length());
+            add(new Entry(hash, group, file.length()));
+        }
+        evict();
+    }
+
+    /**
+     * Get a cached record.
+     * 
+     * @return the record or null if it is not cached.
+     */
+    public IDataRecord get(String file, String group, String dataset,
+            Request request) {
+        if (group == null) {
+            group = "";
+        }
+        String hash = hash(file, group, dataset, request);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(hash);
+        }
+        IDataRecord record = null;
+        if (entry != null) {
+            File cacheFile = getFile(hash);
+            try {
+                record = read(cacheFile);
+                cacheFile.setLastModified(System.currentTimeMillis());
+            } catch (IOException | RuntimeException e) {
+                statusHandler.handle(Priority.DEBUG,
+                        "Removing unreadable cache file " + cacheFile, e);
+                synchronized (this) {
+                    remove(hash);
+                }
+            }
+        }
+        if (record == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return record;
+    }
+
+    /**
+     * Store a record that was retrieved from the data store. Records that
+     * cannot be cached are ignored.
+     */
+    public void put(String file, String group, String dataset,
+            Request request, IDataRecord record) {
+        if (record == null || (record.getDataAttributes() != null
+                && !record.getDataAttributes().isEmpty())) {
+            return;
+        }
+        byte type = getType(record);
+        if (type == 0 || record.getSizeInBytes() > maxBytes) {
+            return;
+        }
+        if (group == null) {
+            group = "";
+        }
+        String hash = hash(file, group, dataset, request);
+        File cacheFile = getFile(hash);
+        File tmpFile = new File(directory, hash + ".tmp"
+                + Thread.currentThread().getId());
+        try {
+            write(tmpFile, type, group, record);
+        } catch (IOException e) {
+            statusHandler.handle(Priority.DEBUG,
+                    "Unable to cache data record in " + cacheFile, e);
+            tmpFile.delete();
+            return;
+        }
+        /*
+         * Rename while holding the lock so a concurrent put, invalidate or
+         * eviction of the same hash cannot delete the new file. The file of
+         * any existing entry is replaced by the rename so only its index entry
+         * is dropped.
+         */
+        synchronized (this) {
+            removeEntry(hash);
+            if (!tmpFile.renameTo(cacheFile)) {
+                tmpFile.delete();
+                cacheFile.delete();
+                return;
+            }
+            add(new Entry(hash, group, cacheFile.length()));
+            evict();
+        }
+    }
+
+    /**
+     * Remove all cached records in a group or any group that starts with the
+     * group. This should be called when the data for a data uri is replaced so
+     * the cache does not return the old data. Because interpolated levels are
+     * stored in groups that start with the data uri, passing the data uri will
+     * remove those as well.
+     * 
+     * @param group
+     */
+    public synchronized void invalidate(String group) {
+        Map<String, Set<String>> matching = groups.subMap(group, true,
+                group + Character.MAX_VALUE, true);
+        Set<String> hashes = new HashSet<>();
+        for (Set<String> groupHashes : matching.values()) {
+            hashes.addAll(groupHashes);
+        }
+        for (String hash : hashes) {
+            remove(hash);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        for (String hash : entries.keySet().toArray(new String[0])) {
+            remove(hash);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the fraction of requests that were found in the cache.
+     */
+    public double getHitRate() {
+        long hits = this.hits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "DataRecordDiskCache [entries=" + entries.size() + ", bytes="
+                + bytes + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + "]";
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.hash, entry);
+        Set<String> hashes = groups.get(entry.group);
+        if (hashes == null) {
+            hashes = new HashSet<>();
+            groups.put(entry.group, hashes);
+        }
+        hashes.add(entry.hash);
+        bytes += entry.size;
+    }
+
+    private void remove(String hash) {
+        if (removeEntry(hash)) {
+            getFile(hash).delete();
+        }
+    }
+
+    /**
+     * Remove an entry from the index without deleting its file.
+     * 
+     * @return true if there was an entry for the hash.
+     */
+    private boolean removeEntry(String hash) {
+        Entry entry = entries.remove(hash);
+        if (entry == null) {
+            return false;
+        }
+        Set<String> hashes = groups.get(entry.group);
+        if (hashes != null) {
+            hashes.remove(hash);
+            if (hashes.isEmpty()) {
+                groups.remove(entry.group);
+            }
+        }
+        bytes -= entry.size;
+        return true;
+    }
+
+    private void evict() {
+        while (bytes > maxBytes && !entries.isEmpty()) {
+            remove(entries.keySet().iterator().next());
+            evictions.incrementAndGet();
+        }
+    }
+
+    private File getFile(String hash) {
+        return new File(directory, hash + SUFFIX);
+    }
+
+    private static String hash(String file, String group, String dataset,
+            Request request) {
+        StringBuilder key = new StringBuilder();
+        key.append(file).append('\n').append(group).append('\n')
+                .append(dataset).append('\n');
+        if (request == null) {
+            request = Request.ALL;
+        }
+        key.append(request.getType());
+        if (request.getPoints() != null) {
+            for (java.awt.Point point : request.getPoints()) {
+                key.append(';').append(point.x).append(',').append(point.y);
+            }
+        }
+        key.append('\n').append(Arrays.toString(request.getIndices()));
+        key.append('\n')
+                .append(Arrays.toString(request.getMinIndexForSlab()));
+        key.append('\n')
+                .append(Arrays.toString(request.getMaxIndexForSlab()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] bytes = digest.digest(key.toString().getBytes(
+                    StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private static byte getType(IDataRecord record) {
+        if (record instanceof ByteDataRecord) {
+            return BYTE;
+        } else if (record instanceof ShortDataRecord) {
+            return SHORT;
+        } else if (record instanceof IntegerDataRecord) {
+            return INT;
+        } else if (record instanceof LongDataRecord) {
+            return LONG;
+        } else if (record instanceof FloatDataRecord) {
+            return FLOAT;
+        } else if (record instanceof DoubleDataRecord) {
+            return DOUBLE;
+        }
+        return 0;
+    }
+
+    private static void writeString(DataOutputStream out, String value)
+            throws IOException {
+        byte[] bytes = value == null ? new byte[0]
+                : value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values)
+            throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] readLongs(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        long[] values = new long[length];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + length * 8);
+        return values;
+    }
+
+    /**
+     * Write a record. The header is written with a data stream and the data is
+     * written with a single buffer of the matching primitive type.
+     */
+    private static void write(File file, byte type, String group,
+            IDataRecord record) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(headerBytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, group);
+            writeString(out, record.getGroup());
+            writeString(out, record.getName());
+            out.writeByte(type);
+            out.writeInt(record.getDimension());
+            writeLongs(out, record.getSizes());
+            writeLongs(out, record.getMinIndex());
+            Number fill = record.getFillValue();
+            out.writeBoolean(fill != null);
+            out.writeDouble(fill == null ? 0 : fill.doubleValue());
+        }
+
+        Object data = record.getDataObject();
+        ByteBuffer dataBuffer;
+        switch (type) {
+        case BYTE: {
+            dataBuffer = ByteBuffer.wrap((byte[]) data);
+            break;
+        }
+        case SHORT: {
+            short[] array = (short[]) data;
+            dataBuffer = ByteBuffer.allocate(array.length * 2);
+            dataBuffer.asShortBuffer().put(array);
+            break;
+        }
+        case INT: {
+            int[] array = (int[]) data;
+            dataBuffer = ByteBuffer.allocate(array.length * 4);
+            dataBuffer.asIntBuffer().put(array);
+            break;
+        }
+        case LONG: {
+            long[] array = (long[]) data;
+            dataBuffer = ByteBuffer.allocate(array.length * 8);
+            dataBuffer.asLongBuffer().put(array);
+            break;
+        }
+        case FLOAT: {
+            float[] array = (float[]) data;
+            dataBuffer = ByteBuffer.allocate(array.length * 4);
+            dataBuffer.asFloatBuffer().put(array);
+            break;
+        }
+        default: {
+            double[] array = (double[]) data;
+            dataBuffer = ByteBuffer.allocate(array.length * 8);
+            dataBuffer.asDoubleBuffer().put(array);
+            break;
+        }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerBytes.size() + 4);
+        header.put(headerBytes.toByteArray());
+        header.putInt(dataBuffer.capacity());
+        header.flip();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (dataBuffer.hasRemaining()) {
+                channel.write(dataBuffer);
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * @return the group a cached record was requested from or null if it is
+     *         not a valid cache file.
+     */
+    private static String readGroup(File file) {
+        try {
+            ByteBuffer buffer = map(file);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            return readString(buffer);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static IDataRecord read(File file) throws IOException {
+        ByteBuffer buffer = map(file);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Invalid data record cache file " + file);
+        }
+        // Skip the group the record was requested from
+        readString(buffer);
+        String group = readString(buffer);
+        String name = readString(buffer);
+        byte type = buffer.get();
+        int dimension = buffer.getInt();
+        long[] sizes = readLongs(buffer);
+        long[] minIndex = readLongs(buffer);
+        boolean hasFill = buffer.get() != 0;
+        double fill = buffer.getDouble();
+        int length = buffer.getInt();
+        if (length != buffer.remaining()) {
+            throw new IOException("Incomplete data record cache file " + file);
+        }
+
+        Object data;
+        Number fillValue = null;
+        switch (type) {
+        case BYTE: {
+            byte[] array = new byte[length];
+            buffer.get(array);
+            data = array;
+            fillValue = (byte) fill;
+            break;
+        }
+        case SHORT: {
+            short[] array = new short[length / 2];
+            buffer.asShortBuffer().get(array);
+            data = array;
+            fillValue = (short) fill;
+            break;
+        }
+        case INT: {
+            int[] array = new int[length / 4];
+            buffer.asIntBuffer().get(array);
+            data = array;
+            fillValue = (int) fill;
+            break;
+        }
+        case LONG: {
+            long[] array = new long[length / 8];
+            buffer.asLongBuffer().get(array);
+            data = array;
+            fillValue = (long) fill;
+            break;
+        }
+        case FLOAT: {
+            float[] array = new float[length / 4];
+            buffer.asFloatBuffer().get(array);
+            data = array;
+            fillValue = (float) fill;
+            break;
+        }
+        case DOUBLE: {
+            double[] array = new double[length / 8];
+            buffer.asDoubleBuffer().get(array);
+            data = array;
+            fillValue = fill;
+            break;
+        }
+        default:
+            throw new IOException("Unknown data type " + type + " in "
+                    + file);
+        }
+        IDataRecord record = DataStoreFactory.createStorageRecord(name, group,
+                data, dimension, sizes);
+        if (minIndex != null) {
+            record.setMinIndex(minIndex);
+        }
+        if (hasFill) {
+            record.setFillValue(fillValue);
+        }
+        return record;
+    }
+
+    private static final class Entry {
+
+        private final String hash;
+
+        private final String group;
+
+        private final long size;
+
+        public Entry(String hash, String group, long size) {
+            this.hash = hash;
+            this.group = group;
+            this.size = size;
+        }
+    }
+}
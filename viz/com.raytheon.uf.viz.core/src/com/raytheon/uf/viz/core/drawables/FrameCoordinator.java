@@ -47,6 +47,8 @@ import com.raytheon.uf.viz.core.rsc.IResourceGroup;
  * Aug 07, 2015  4700     bsteffen  Add support for SPACE_AND_TIME
  * Oct 09, 2015  4863     bsteffen  Maintain same valid time when frame
  *                                  times change.
+ * Oct 19, 2026           agent     Prefetch upcoming frames while looping
+ *                                  and stepping.
  * 
  * </pre>
  * 
@@ -95,6 +97,9 @@ public class FrameCoordinator implements IFrameCoordinator {
     /** Lock object for locking on the descriptor */
     protected Object lock;
 
+    /** Loads the data for frames that will be displayed soon */
+    protected FramePrefetcher prefetcher;
+
     /**
      * FrameCoordinator constructor
      * 
@@ -108,6 +113,7 @@ public class FrameCoordinator implements IFrameCoordinator {
         if (descriptor instanceof AbstractDescriptor) {
             lock = ((AbstractDescriptor) descriptor).getLockObject();
         }
+        prefetcher = new FramePrefetcher(descriptor);
     }
 
     /*
@@ -160,32 +166,19 @@ public class FrameCoordinator implements IFrameCoordinator {
             if (frames == null || frames.length == 0) {
                 newIndex = 0;
             } else {
+                newIndex = getNextIndex(frames, frameIndex, operation, mode,
+                        validator);
                 switch (mode) {
                 case TIME_ONLY: {
                     currentAnimationMode = AnimationMode.Temporal;
-                    newIndex = getNextTimeIndex(frames, frameIndex, operation,
-                            validator);
                     break;
                 }
                 case SPACE_ONLY: {
                     currentAnimationMode = AnimationMode.Vertical;
-                    newIndex = getNextVerticalIndex(frames, frameIndex,
-                            operation, validator);
-                    break;
-                }
-                case TIME_AND_SPACE: {
-                    newIndex = getNextDataTimeIndex(frames, frameIndex,
-                            operation, validator);
-                    if (operation == FrameChangeOperation.LAST) {
-                        currentAnimationMode = AnimationMode.Latest;
-                    } else {
-                        currentAnimationMode = AnimationMode.Temporal;
-                    }
                     break;
                 }
+                case TIME_AND_SPACE:
                 case SPACE_AND_TIME: {
-                    newIndex = getNextSpaceTimeIndex(frames, frameIndex,
-                            operation, validator);
                     if (operation == FrameChangeOperation.LAST) {
                         currentAnimationMode = AnimationMode.Latest;
                     } else {
@@ -198,11 +191,64 @@ public class FrameCoordinator implements IFrameCoordinator {
         }
 
         descriptor.setFramesInfo(new FramesInfo(newIndex));
+
+        if (frames != null && frames.length > 0
+                && (operation == FrameChangeOperation.NEXT
+                        || operation == FrameChangeOperation.PREVIOUS)) {
+            /*
+             * Assume the user will keep stepping in the same direction.
+             */
+            int[] upcoming = new int[FramePrefetcher.STEP_FRAMES];
+            int count = 0;
+            int index = newIndex;
+            while (count < upcoming.length) {
+                index = getNextIndex(frames, index, operation, mode,
+                        validator);
+                if (index == newIndex || contains(upcoming, count, index)) {
+                    break;
+                }
+                upcoming[count++] = index;
+            }
+            prefetcher.prefetch(descriptor.getFramesInfo(),
+                    Arrays.copyOf(upcoming, count));
+        }
+    }
+
+    /**
+     * Determine the index of the frame that a {@link FrameChangeOperation}
+     * would move to without changing any state of this coordinator.
+     */
+    private int getNextIndex(DataTime[] frames, int frameIndex,
+            FrameChangeOperation operation, FrameChangeMode mode,
+            IFrameValidator validator) {
+        switch (mode) {
+        case TIME_ONLY:
+            return getNextTimeIndex(frames, frameIndex, operation, validator);
+        case SPACE_ONLY:
+            return getNextVerticalIndex(frames, frameIndex, operation,
+                    validator);
+        case TIME_AND_SPACE:
+            return getNextDataTimeIndex(frames, frameIndex, operation,
+                    validator);
+        case SPACE_AND_TIME:
+            return getNextSpaceTimeIndex(frames, frameIndex, operation,
+                    validator);
+        default:
+            return frameIndex;
+        }
+    }
+
+    private static boolean contains(int[] indices, int count, int index) {
+        for (int i = 0; i < count; i += 1) {
+            if (indices[i] == index) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public void changeFrame(LoopProperties loopProperties) {
-        long waitTime = Long.MAX_VALUE;
         synchronized (lock) {
             FramesInfo currInfo = descriptor.getFramesInfo();
 
@@ -214,63 +260,129 @@ public class FrameCoordinator implements IFrameCoordinator {
             int frameIndex = currInfo.getFrameIndex();
             if (loopProperties == null || !loopProperties.isLooping()) {
                 return;
-            } else if ((currentAnimationMode == AnimationMode.Vertical)
-                    && frames != null && frames.length != 0) {
-                waitTime = loopDirection > 0 ? loopProperties.getFwdFrameTime()
-                        : loopProperties.getRevFrameTime();
-                if (frameIndex == getLastVerticalIndex(frames, frameIndex,
-                        validator)) {
-                    waitTime = loopProperties.getLastFrameDwell();
-                } else if (frameIndex == getFirstVerticalIndex(frames,
-                        frameIndex, validator)) {
-                    waitTime = loopProperties.getFirstFrameDwell();
-                }
+            }
 
-            } else if ((currentAnimationMode == AnimationMode.Temporal)
-                    && frames != null && frames.length != 0) {
-                waitTime = loopDirection > 0 ? loopProperties.getFwdFrameTime()
-                        : loopProperties.getRevFrameTime();
-
-                if (frameIndex == getLastTimeIndex(frames, frameIndex,
-                        validator)) {
-                    waitTime = loopProperties.getLastFrameDwell();
-                } else if (frameIndex == getFirstTimeIndex(frames, frameIndex,
-                        validator)) {
-                    waitTime = loopProperties.getFirstFrameDwell();
-                }
+            long waitTime = getWaitTime(frames, frameIndex, loopProperties,
+                    validator);
 
-            } else if ((currentAnimationMode == AnimationMode.Latest)
-                    && frames != null && frames.length != 0) {
-                waitTime = loopDirection > 0 ? loopProperties.getFwdFrameTime()
-                        : loopProperties.getRevFrameTime();
-
-                if (frameIndex == getNextDataTimeIndex(frames, frameIndex,
-                        FrameChangeOperation.LAST, validator)) {
-                    waitTime = loopProperties.getLastFrameDwell();
-                } else if (frameIndex == getNextDataTimeIndex(frames,
-                        frameIndex, FrameChangeOperation.FIRST, validator)) {
-                    waitTime = loopProperties.getFirstFrameDwell();
+            loopProperties.drawAfterWait(waitTime);
+
+            if (loopProperties.isShouldDraw() && frames != null) {
+                int newIndex = getNextLoopIndex(frames, frameIndex,
+                        loopProperties, validator);
+                if (newIndex != -1) {
+                    descriptor.setFramesInfo(new FramesInfo(newIndex));
+                    prefetcher.prefetch(descriptor.getFramesInfo(),
+                            getUpcomingLoopIndices(frames, newIndex,
+                                    loopProperties, validator));
                 }
             }
+        }
+    }
 
-            loopProperties.drawAfterWait(waitTime);
+    /**
+     * Determine how long a frame should be displayed while looping.
+     * 
+     * @return the wait time in milliseconds
+     */
+    private long getWaitTime(DataTime[] frames, int frameIndex,
+            LoopProperties loopProperties, IFrameValidator validator) {
+        long waitTime = Long.MAX_VALUE;
+        if ((currentAnimationMode == AnimationMode.Vertical) && frames != null
+                && frames.length != 0) {
+            waitTime = loopDirection > 0 ? loopProperties.getFwdFrameTime()
+                    : loopProperties.getRevFrameTime();
+            if (frameIndex == getLastVerticalIndex(frames, frameIndex,
+                    validator)) {
+                waitTime = loopProperties.getLastFrameDwell();
+            } else if (frameIndex == getFirstVerticalIndex(frames, frameIndex,
+                    validator)) {
+                waitTime = loopProperties.getFirstFrameDwell();
+            }
 
-            if (loopProperties.isShouldDraw() && frames != null) {
-                if (currentAnimationMode == AnimationMode.Latest) {
-                    descriptor.setFramesInfo(new FramesInfo(
-                            getNextDataTimeIndex(frames, frameIndex,
-                                    loopProperties.getMode(), validator)));
-                } else if (currentAnimationMode == AnimationMode.Temporal) {
-                    descriptor.setFramesInfo(new FramesInfo(getNextTimeIndex(
-                            frames, frameIndex, loopProperties.getMode(),
-                            validator)));
-                } else if (currentAnimationMode == AnimationMode.Vertical) {
-                    descriptor.setFramesInfo(new FramesInfo(
-                            getNextVerticalIndex(frames, frameIndex,
-                                    loopProperties.getMode(), validator)));
+        } else if ((currentAnimationMode == AnimationMode.Temporal)
+                && frames != null && frames.length != 0) {
+            waitTime = loopDirection > 0 ? loopProperties.getFwdFrameTime()
+                    : loopProperties.getRevFrameTime();
+
+            if (frameIndex == getLastTimeIndex(frames, frameIndex,
+                    validator)) {
+                waitTime = loopProperties.getLastFrameDwell();
+            } else if (frameIndex == getFirstTimeIndex(frames, frameIndex,
+                    validator)) {
+                waitTime = loopProperties.getFirstFrameDwell();
+            }
+
+        } else if ((currentAnimationMode == AnimationMode.Latest)
+                && frames != null && frames.length != 0) {
+            waitTime = loopDirection > 0 ? loopProperties.getFwdFrameTime()
+                    : loopProperties.getRevFrameTime();
+
+            if (frameIndex == getNextDataTimeIndex(frames, frameIndex,
+                    FrameChangeOperation.LAST, validator)) {
+                waitTime = loopProperties.getLastFrameDwell();
+            } else if (frameIndex == getNextDataTimeIndex(frames, frameIndex,
+                    FrameChangeOperation.FIRST, validator)) {
+                waitTime = loopProperties.getFirstFrameDwell();
+            }
+        }
+        return waitTime;
+    }
+
+    /**
+     * Determine the next frame to display while looping, this may change the
+     * loop direction.
+     * 
+     * @return the next index or -1 if the animation mode does not loop.
+     */
+    private int getNextLoopIndex(DataTime[] frames, int frameIndex,
+            LoopProperties loopProperties, IFrameValidator validator) {
+        if (currentAnimationMode == AnimationMode.Latest) {
+            return getNextDataTimeIndex(frames, frameIndex,
+                    loopProperties.getMode(), validator);
+        } else if (currentAnimationMode == AnimationMode.Temporal) {
+            return getNextTimeIndex(frames, frameIndex,
+                    loopProperties.getMode(), validator);
+        } else if (currentAnimationMode == AnimationMode.Vertical) {
+            return getNextVerticalIndex(frames, frameIndex,
+                    loopProperties.getMode(), validator);
+        }
+        return -1;
+    }
+
+    /**
+     * Determine which frames will be displayed after the current frame within
+     * the prefetch look ahead time, taking into account the loop direction,
+     * the frame rate and the dwell on the first and last frames.
+     * 
+     * @return the indices of the upcoming frames, in display order.
+     */
+    private int[] getUpcomingLoopIndices(DataTime[] frames, int frameIndex,
+            LoopProperties loopProperties, IFrameValidator validator) {
+        int[] upcoming = new int[FramePrefetcher.MAX_FRAMES];
+        int count = 0;
+        // Predicting the loop must not change the real loop direction.
+        int direction = loopDirection;
+        try {
+            long elapsed = getWaitTime(frames, frameIndex, loopProperties,
+                    validator);
+            int index = frameIndex;
+            while (count < upcoming.length
+                    && elapsed < FramePrefetcher.LOOKAHEAD) {
+                index = getNextLoopIndex(frames, index, loopProperties,
+                        validator);
+                if (index == -1 || index == frameIndex
+                        || contains(upcoming, count, index)) {
+                    break;
                 }
+                upcoming[count++] = index;
+                elapsed += getWaitTime(frames, index, loopProperties,
+                        validator);
             }
+        } finally {
+            loopDirection = direction;
         }
+        return Arrays.copyOf(upcoming, count);
     }
 
     @Override
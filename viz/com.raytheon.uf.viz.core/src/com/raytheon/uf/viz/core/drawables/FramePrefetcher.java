@@ -0,0 +1,232 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.drawables;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.time.DataTime;
+import com.raytheon.uf.viz.core.drawables.IDescriptor.FramesInfo;
+import com.raytheon.uf.viz.core.rsc.AbstractVizResource;
+import com.raytheon.uf.viz.core.rsc.IPrefetchableResource;
+import com.raytheon.uf.viz.core.rsc.IResourceGroup;
+import com.raytheon.uf.viz.core.rsc.ResourceList;
+
+/**
+ * Loads the data for frames that will be displayed soon. The
+ * {@link FrameCoordinator} determines which frames are coming from the loop
+ * direction, speed and dwell times, or from the direction the user is stepping,
+ * and this job asks every visible {@link IPrefetchableResource} on the
+ * descriptor to begin loading its data for those frames. Frames are requested
+ * nearest first until the estimated size of the prefetched data reaches the
+ * memory budget.
+ * 
+ * Whether the resources were loaded when each frame was displayed is written
+ * to the performance log so the effectiveness of prefetching can be measured.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class FramePrefetcher extends Job {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System
+            .getProperty("viz.frame.prefetch.enabled", "true"));
+
+    /** Maximum estimated bytes requested ahead of the displayed frame */
+    public static final long MAX_BYTES = Long.getLong(
+            "viz.frame.prefetch.maxBytes", 256L * 1024 * 1024);
+
+    /** How far ahead, in milliseconds of loop time, to prefetch */
+    public static final long LOOKAHEAD = Long.getLong(
+            "viz.frame.prefetch.lookahead", 3000);
+
+    /** Maximum number of frames to prefetch while looping */
+    public static final int MAX_FRAMES = Integer.getInteger(
+            "viz.frame.prefetch.maxFrames", 8);
+
+    /** Number of frames to prefetch when stepping */
+    public static final int STEP_FRAMES = Integer.getInteger(
+            "viz.frame.prefetch.stepFrames", 2);
+
+    private final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("FramePrefetcher:");
+
+    private final IDescriptor descriptor;
+
+    private FramesInfo framesInfo;
+
+    private int[] upcoming;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    public FramePrefetcher(IDescriptor descriptor) {
+        super("Prefetching Frames");
+        this.descriptor = descriptor;
+        setSystem(true);
+    }
+
+    /**
+     * Prefetch the data for the upcoming frames. If a previous request has not
+     * been processed yet it is replaced by this one.
+     * 
+     * @param framesInfo
+     *            the frames info, the frame index should be the frame that is
+     *            now displayed
+     * @param upcoming
+     *            the indices of the frames that will be displayed next, in
+     *            display order
+     */
+    public void prefetch(FramesInfo framesInfo, int[] upcoming) {
+        if (!ENABLED || framesInfo == null
+                || framesInfo.getFrameTimes() == null) {
+            return;
+        }
+        synchronized (this) {
+            this.framesInfo = framesInfo;
+            this.upcoming = upcoming;
+        }
+        schedule();
+    }
+
+    /**
+     * @return the number of times a resource was already loaded when the frame
+     *         it is in was displayed.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of times a resource was not loaded when the frame it
+     *         is in was displayed.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        FramesInfo info;
+        int[] indices;
+        synchronized (this) {
+            info = framesInfo;
+            indices = upcoming;
+            framesInfo = null;
+            upcoming = null;
+        }
+        if (info == null) {
+            return Status.OK_STATUS;
+        }
+        List<AbstractVizResource<?, ?>> resources = new ArrayList<>();
+        collectResources(descriptor.getResourceList(), resources);
+        if (resources.isEmpty()) {
+            return Status.OK_STATUS;
+        }
+        DataTime[] frames = info.getFrameTimes();
+
+        int current = info.getFrameIndex();
+        if (current >= 0 && current < frames.length) {
+            int loaded = 0;
+            int total = 0;
+            for (AbstractVizResource<?, ?> rsc : resources) {
+                DataTime time = info.getTimeForResource(rsc, current);
+                if (time != null) {
+                    total += 1;
+                    if (((IPrefetchableResource) rsc).isLoaded(time)) {
+                        loaded += 1;
+                    }
+                }
+            }
+            if (total > 0) {
+                synchronized (this) {
+                    hits += loaded;
+                    misses += total - loaded;
+                }
+                perfLog.log("Displayed frame " + frames[current] + ": "
+                        + loaded + " hits, " + (total - loaded) + " misses");
+            }
+        }
+
+        long bytes = 0;
+        for (int index : indices) {
+            if (monitor.isCanceled() || bytes >= MAX_BYTES) {
+                break;
+            }
+            if (index < 0 || index >= frames.length) {
+                continue;
+            }
+            int loaded = 0;
+            int requested = 0;
+            for (AbstractVizResource<?, ?> rsc : resources) {
+                DataTime time = info.getTimeForResource(rsc, index);
+                if (time == null) {
+                    continue;
+                }
+                IPrefetchableResource prefetch = (IPrefetchableResource) rsc;
+                if (prefetch.isLoaded(time)) {
+                    loaded += 1;
+                } else {
+                    bytes += prefetch.prefetch(time);
+                    requested += 1;
+                }
+            }
+            if (requested > 0) {
+                perfLog.log("Prefetching frame " + frames[index] + ": "
+                        + loaded + " loaded, " + requested + " requested");
+            }
+        }
+        return Status.OK_STATUS;
+    }
+
+    private static void collectResources(ResourceList list,
+            List<AbstractVizResource<?, ?>> resources) {
+        for (ResourcePair rp : list) {
+            AbstractVizResource<?, ?> rsc = rp.getResource();
+            if (rsc == null || !rp.getProperties().isVisible()) {
+                continue;
+            }
+            if (rsc instanceof IPrefetchableResource) {
+                resources.add(rsc);
+            }
+            if (rsc.getResourceData() instanceof IResourceGroup) {
+                collectResources(((IResourceGroup) rsc.getResourceData())
+                        .getResourceList(), resources);
+            }
+        }
+    }
+}
@@ -19,6 +19,14 @@
  **/
 package com.raytheon.uf.viz.core.drawables;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 import org.eclipse.swt.graphics.RGB;
 import org.geotools.referencing.operation.projection.ProjectionException;
 import org.opengis.referencing.FactoryException;
@@ -59,6 +67,7 @@ import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
  * Jan 29, 2015  4062     randerso  Don't throw errors for ProjectionExceptions
  * Sep 13, 2016  3241     bsteffen  Move to uf.viz.core plugin, remove
  *                                  deprecated methods.
+ * Oct 19, 2026           agent     Compile large geometry lists in parallel.
  * 
  * </pre>
  * 
@@ -151,6 +160,14 @@ public class JTSCompiler {
     // rather than arbitrary pixel units
     private static final double POINT_SIZE = 2.0;
 
+    /**
+     * Minimum number of geometries in a single call to
+     * {@link #handle(List, JTSGeometryData)} before the geometries are
+     * compiled in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = Integer.getInteger(
+            "viz.jts.compiler.parallelThreshold", 64);
+
     protected IShadedShape theShadedShape;
 
     protected IWireframeShape theWireframeShape;
@@ -161,6 +178,8 @@ public class JTSCompiler {
 
     private JTSGeometryData defaultData;
 
+    private final GeometrySink shapeSink = new ShapeSink();
+
     /**
      * Constructor
      * 
@@ -232,7 +251,8 @@ public class JTSCompiler {
         }
     }
 
-    private void handlePolygon(Polygon poly, JTSGeometryData data) {
+    private void handlePolygon(Polygon poly, JTSGeometryData data,
+            GeometrySink sink) {
         int numInteriorRings = poly.getNumInteriorRing();
         LineString[] rings = new LineString[numInteriorRings + 1];
         rings[0] = poly.getExteriorRing();
@@ -242,23 +262,24 @@ public class JTSCompiler {
 
         if (theWireframeShape != null) {
             for (LineString ls : rings) {
-                handleLineString(ls, data);
+                handleLineString(ls, data, sink);
             }
         }
 
         if (theShadedShape != null) {
-            theShadedShape.addPolygonPixelSpace(rings, data.getGeometryColor());
+            sink.addPolygon(rings, data.getGeometryColor());
         }
     }
 
-    private void handleLineString(LineString line, JTSGeometryData data) {
+    private void handleLineString(LineString line, JTSGeometryData data,
+            GeometrySink sink) {
         if (theWireframeShape != null) {
-            theWireframeShape.addLineSegment(coordToDouble(line
-                    .getCoordinates()));
+            sink.addLineSegment(coordToDouble(line.getCoordinates()));
         }
     }
 
-    private void handlePoint(Point point, JTSGeometryData data) {
+    private void handlePoint(Point point, JTSGeometryData data,
+            GeometrySink sink) {
         Coordinate coord = point.getCoordinate();
         double[][] ll;
 
@@ -272,7 +293,7 @@ public class JTSCompiler {
             ll[1][1] = coord.y;
 
             if (theWireframeShape != null) {
-                theWireframeShape.addLineSegment(ll);
+                sink.addLineSegment(ll);
             }
 
             /*
@@ -287,7 +308,7 @@ public class JTSCompiler {
             ll[1][1] = coord.y + POINT_SIZE;
 
             if (theWireframeShape != null) {
-                theWireframeShape.addLineSegment(ll);
+                sink.addLineSegment(ll);
             }
 
             break;
@@ -314,7 +335,7 @@ public class JTSCompiler {
             ll[4] = ll[0];
 
             if (theWireframeShape != null) {
-                theWireframeShape.addLineSegment(ll);
+                sink.addLineSegment(ll);
             }
             break;
         }
@@ -322,31 +343,33 @@ public class JTSCompiler {
     }
 
     private void handleGeometryCollection(GeometryCollection coll,
-            JTSGeometryData data, boolean clipped) throws VizException {
+            JTSGeometryData data, boolean clipped, GeometrySink sink)
+            throws VizException {
         int geoms = coll.getNumGeometries();
         for (int i = 0; i < geoms; i++) {
             Geometry g = coll.getGeometryN(i);
-            disposition(g, data, clipped);
+            disposition(g, data, clipped, sink);
         }
     }
 
     private void disposition(Geometry geom, JTSGeometryData data,
-            boolean clipped) throws VizException {
+            boolean clipped, GeometrySink sink) throws VizException {
         if (geom instanceof GeometryCollection) {
-            handleGeometryCollection((GeometryCollection) geom, data, clipped);
+            handleGeometryCollection((GeometryCollection) geom, data, clipped,
+                    sink);
         } else if ((clipped == false) && data.isClipping()) {
             geom = complexClip(geom, data.getClippingArea());
             if (geom.isEmpty() == false) {
-                disposition(geom, data, true);
+                disposition(geom, data, true, sink);
             }
         } else if (geom instanceof Point) {
-            handlePoint((Point) geom, data);
+            handlePoint((Point) geom, data, sink);
         } else if (geom instanceof LineString) {
-            handleLineString((LineString) geom, data);
+            handleLineString((LineString) geom, data, sink);
         } else if (geom instanceof Polygon) {
             // Polygon is the only type doing complex clipping so it needs to
             // know if the Polygon has been clipped already or not
-            handlePolygon((Polygon) geom, data);
+            handlePolygon((Polygon) geom, data, sink);
         } else {
             throw new VizException("Unknown geometry type: "
                     + geom.getClass().getName());
@@ -393,6 +416,82 @@ public class JTSCompiler {
      */
     public void handle(ReferencedGeometry geom, JTSGeometryData data)
             throws VizException {
+        compile(geom, data, shapeSink);
+    }
+
+    /**
+     * Handles a list of referenced geometries, each with its own geometry
+     * data. When the list is large the geometries are world wrap corrected,
+     * projected and clipped in parallel into pixel space buffers which are
+     * then added to the shapes on the calling thread in list order, so the
+     * resulting shapes are identical to calling
+     * {@link #handle(ReferencedGeometry, JTSGeometryData)} for each geometry.
+     * The wireframe shape is not allocated, callers that know the number of
+     * points should allocate it first.
+     * 
+     * Every geometry is handled even if some of them fail, the first failure
+     * is thrown after all other geometries have been added.
+     * 
+     * @param geoms
+     * @param data
+     *            the geometry data for each geometry, must be the same size as
+     *            geoms
+     * @throws VizException
+     */
+    public void handle(List<ReferencedGeometry> geoms,
+            List<JTSGeometryData> data) throws VizException {
+        int size = geoms.size();
+        if (data.size() != size) {
+            throw new IllegalArgumentException("Received " + size
+                    + " geometries but " + data.size() + " geometry data");
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (size < PARALLEL_THRESHOLD || pool.getParallelism() < 2) {
+            VizException error = null;
+            for (int i = 0; i < size; i += 1) {
+                try {
+                    compile(geoms.get(i), data.get(i), shapeSink);
+                } catch (VizException e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+            return;
+        }
+        /*
+         * Use a few partitions per thread so that a handful of very complex
+         * geometries does not leave the other threads idle.
+         */
+        int partitions = Math.min(size, pool.getParallelism() * 4);
+        List<ForkJoinTask<CompiledGeometries>> tasks = new ArrayList<>(
+                partitions);
+        for (int i = 0; i < partitions; i += 1) {
+            int from = size * i / partitions;
+            int to = size * (i + 1) / partitions;
+            tasks.add(ForkJoinTask.adapt(new CompileTask(geoms.subList(from,
+                    to), data.subList(from, to))));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        VizException error = null;
+        for (ForkJoinTask<CompiledGeometries> task : tasks) {
+            CompiledGeometries compiled = task.join();
+            compiled.addTo(shapeSink);
+            if (error == null) {
+                error = compiled.error;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void compile(ReferencedGeometry geom, JTSGeometryData data,
+            GeometrySink sink) throws VizException {
         if ((corrector != null) && corrector.needsCorrecting()
                 && data.isWorldWrapCorrect()) {
             try {
@@ -409,7 +508,8 @@ public class JTSCompiler {
         }
 
         try {
-            disposition(geom.asPixel(descriptor.getGridGeometry()), data, false);
+            disposition(geom.asPixel(descriptor.getGridGeometry()), data,
+                    false, sink);
         } catch (FactoryException e) {
             throw new VizException(
                     "Error creating transform to descriptor pixel space", e);
@@ -421,4 +521,118 @@ public class JTSCompiler {
                     e);
         }
     }
+
+    /**
+     * Destination for the pixel space primitives produced by the compiler.
+     */
+    private static interface GeometrySink {
+
+        public void addLineSegment(double[][] screenCoordinates);
+
+        public void addPolygon(LineString[] contours, RGB color);
+
+    }
+
+    /**
+     * Sink which adds primitives directly to the shapes of this compiler.
+     */
+    private class ShapeSink implements GeometrySink {
+
+        @Override
+        public void addLineSegment(double[][] screenCoordinates) {
+            theWireframeShape.addLineSegment(screenCoordinates);
+        }
+
+        @Override
+        public void addPolygon(LineString[] contours, RGB color) {
+            theShadedShape.addPolygonPixelSpace(contours, color);
+        }
+
+    }
+
+    /**
+     * Sink which holds the primitives for one partition of a parallel compile
+     * until they can be added to the shapes. If compiling a geometry fails the
+     * first error is held and the remaining geometries are still compiled.
+     */
+    private static class CompiledGeometries implements GeometrySink {
+
+        private final List<double[][]> lineSegments = new ArrayList<>();
+
+        private final List<LineString[]> polygons = new ArrayList<>();
+
+        private final List<RGB> colors = new ArrayList<>();
+
+        private VizException error;
+
+        @Override
+        public void addLineSegment(double[][] screenCoordinates) {
+            lineSegments.add(screenCoordinates);
+        }
+
+        @Override
+        public void addPolygon(LineString[] contours, RGB color) {
+            polygons.add(contours);
+            colors.add(color);
+        }
+
+        public void addTo(GeometrySink sink) {
+            for (double[][] lineSegment : lineSegments) {
+                sink.addLineSegment(lineSegment);
+            }
+            for (int i = 0; i < polygons.size(); i += 1) {
+                sink.addPolygon(polygons.get(i), colors.get(i));
+            }
+        }
+
+    }
+
+    private class CompileTask implements Callable<CompiledGeometries> {
+
+        private final List<ReferencedGeometry> geoms;
+
+        private final List<JTSGeometryData> data;
+
+        public CompileTask(List<ReferencedGeometry> geoms,
+                List<JTSGeometryData> data) {
+            this.geoms = geoms;
+            /*
+             * Prepared geometries build their indexes lazily and are not safe
+             * to share between threads so each partition prepares its own
+             * copy of every clipping area.
+             */
+            Map<PreparedGeometry, PreparedGeometry> prepared = new IdentityHashMap<>();
+            this.data = new ArrayList<>(data.size());
+            for (JTSGeometryData original : data) {
+                JTSGeometryData copy = new JTSGeometryData(original);
+                if (original.isClipping()) {
+                    PreparedGeometry area = prepared.get(original
+                            .getClippingArea());
+                    if (area == null) {
+                        area = PreparedGeometryFactory.prepare(original
+                                .getClippingArea().getGeometry());
+                        prepared.put(original.getClippingArea(), area);
+                    }
+                    copy.setClippingArea(area);
+                }
+                this.data.add(copy);
+            }
+        }
+
+        @Override
+        public CompiledGeometries call() {
+            CompiledGeometries compiled = new CompiledGeometries();
+            for (int i = 0; i < geoms.size(); i += 1) {
+                try {
+                    compile(geoms.get(i), data.get(i), compiled);
+                } catch (VizException e) {
+                    if (compiled.error == null) {
+                        compiled.error = e;
+                    }
+                }
+            }
+            return compiled;
+        }
+
+    }
 }
@@ -4,6 +4,9 @@ import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.jws.WebService;
 
@@ -15,6 +18,7 @@ import com.raytheon.uf.common.auth.resp.UserNotAuthenticated;
 import com.raytheon.uf.common.auth.resp.UserNotAuthorized;
 import com.raytheon.uf.common.comm.CommunicationException;
 import com.raytheon.uf.common.comm.HttpClient;
+import com.raytheon.uf.common.comm.NetworkStatistics;
 import com.raytheon.uf.common.serialization.ExceptionWrapper;
 import com.raytheon.uf.common.serialization.comm.IServerRequest;
 import com.raytheon.uf.common.serialization.comm.RemoteServiceRequest;
@@ -63,6 +67,8 @@ import com.raytheon.uf.viz.core.localization.LocalizationManager;
  * Jan 24, 2013  1526      njensen     Switch from using postBinary() to postDynamicSerialize()
  * Jan 27, 2016  5170      tjensen     Added logging of stats to sendRequest
  * Oct 19, 2017  6316      njensen     Get uniqueId from RequestWrapper
+ * Oct 19, 2026            agent       Added sendRequestAsync, track request
+ *                                     time and concurrency
  * 
  * </pre>
  * 
@@ -182,6 +188,25 @@ public class ThriftClient {
         return sendRequest(request, VizApp.getHttpServer());
     }
 
+    /**
+     * Send a request to the http server without waiting for the response.
+     * Requests sent this way are executed concurrently, limited by the
+     * {@link HttpClient} asynchronous request threads.
+     * 
+     * @param request
+     * @return a future for the response, {@link Future#get()} throws an
+     *         {@link ExecutionException} wrapping any {@link VizException}
+     */
+    public static Future<Object> sendRequestAsync(
+            final IServerRequest request) {
+        return HttpClient.getInstance().executeAsync(new Callable<Object>() {
+            @Override
+            public Object call() throws VizException {
+                return sendRequest(request);
+            }
+        });
+    }
+
     /**
      * Send the privileged request to the http server using the controller's
      * handler
@@ -288,8 +313,12 @@ public class ThriftClient {
         RequestWrapper wrapper = new RequestWrapper(request, VizApp.getWsId());
 
         Object rval = null;
+        NetworkStatistics stats = HttpClient.getInstance().getStats();
+        String statsId = request.getClass().getSimpleName();
+        long t0 = System.currentTimeMillis();
+        stats.requestStarted(statsId);
+        long sent = 0;
         try {
-            long t0 = System.currentTimeMillis();
             rval = HttpClient.getInstance().postDynamicSerialize(httpAddress,
                     wrapper, true);
             long time = System.currentTimeMillis() - t0;
@@ -302,8 +331,7 @@ public class ThriftClient {
              * Log that we have a message. Size information in NOT logged here.
              * Sending a '1' for sent to trigger request increment.
              */
-            HttpClient.getInstance().getStats()
-                    .log(request.getClass().getSimpleName(), 1, 0);
+            sent = 1;
 
             if (time >= BAD_LOG_TIME) {
                 new Exception() {
@@ -321,6 +349,9 @@ public class ThriftClient {
                     "unable to post request to server", e);
         } catch (Exception e) {
             throw new VizException("unable to post request to server", e);
+        } finally {
+            stats.requestFinished(statsId, sent, 0,
+                    System.currentTimeMillis() - t0);
         }
 
         if (rval instanceof ServerErrorResponse) {
@@ -0,0 +1,67 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.rsc;
+
+import com.raytheon.uf.common.time.DataTime;
+import com.raytheon.uf.viz.core.drawables.FramePrefetcher;
+
+/**
+ * Interface for resources that can load the data for a frame before the frame
+ * is displayed. The {@link FramePrefetcher} uses this to request the frames
+ * that will be displayed next while looping or stepping so they do not display
+ * blank while the data is retrieved.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public interface IPrefetchableResource {
+
+    /**
+     * Determine whether everything needed to display a time is already
+     * loaded.
+     * 
+     * @param time
+     *            the time of the resource in the frame
+     * @return true if the frame can be displayed without retrieving data
+     */
+    public boolean isLoaded(DataTime time);
+
+    /**
+     * Begin loading the data for a time through the normal retrieval path of
+     * the resource. This should not block, the retrieval should happen in the
+     * background the same way it does when the frame is displayed.
+     * 
+     * @param time
+     *            the time of the resource in the frame
+     * @return an estimate of the number of bytes that will be held once the
+     *         data is loaded, used to keep prefetching within a memory budget.
+     */
+    public long prefetch(DataTime time);
+
+}
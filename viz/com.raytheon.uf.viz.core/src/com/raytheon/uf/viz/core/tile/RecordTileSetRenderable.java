@@ -21,11 +21,14 @@ package com.raytheon.uf.viz.core.tile;
 
 import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.measure.unit.Unit;
 
@@ -42,7 +45,9 @@ import com.raytheon.uf.common.datastorage.DataStoreFactory;
 import com.raytheon.uf.common.geospatial.ISpatialObject;
 import com.raytheon.uf.common.geospatial.MapUtil;
 import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.common.time.DataTime;
 import com.raytheon.uf.viz.core.DrawableImage;
+import com.raytheon.uf.viz.core.IExtent;
 import com.raytheon.uf.viz.core.IGraphicsTarget;
 import com.raytheon.uf.viz.core.IGraphicsTarget.RasterMode;
 import com.raytheon.uf.viz.core.IMesh;
@@ -50,10 +55,14 @@ import com.raytheon.uf.viz.core.PixelCoverage;
 import com.raytheon.uf.viz.core.data.BufferSlicer;
 import com.raytheon.uf.viz.core.data.IColorMapDataRetrievalCallback;
 import com.raytheon.uf.viz.core.data.prep.HDF5DataRetriever;
+import com.raytheon.uf.viz.core.datastructure.LoopProperties;
 import com.raytheon.uf.viz.core.drawables.IColormappedImage;
+import com.raytheon.uf.viz.core.drawables.IDescriptor.FramesInfo;
 import com.raytheon.uf.viz.core.drawables.IImage.Status;
+import com.raytheon.uf.viz.core.drawables.PaintProperties;
 import com.raytheon.uf.viz.core.drawables.ext.colormap.IColormappedImageExtension;
 import com.raytheon.uf.viz.core.exception.VizException;
+import com.raytheon.uf.viz.core.jobs.JobPool;
 import com.raytheon.uf.viz.core.map.IMapMeshExtension;
 import com.raytheon.uf.viz.core.rsc.AbstractVizResource;
 import com.raytheon.uf.viz.core.rsc.capabilities.ColorMapCapability;
@@ -66,6 +75,11 @@ import com.vividsolutions.jts.geom.Coordinate;
  * {@link HDF5DataRetriever}. If other mechanism desired, extend class and
  * override {@link #retrieveRecordData(Tile)}
  * 
+ * The tile data of the default data set is cached in the {@link TileDataCache}.
+ * Subclasses only cache tile data if they override {@link #getCacheKey()}.
+ * While looping, painting a renderable with caching enabled prefetches the
+ * tiles of the renderables of the same resource for the next few frames.
+ * 
  * <pre>
  * 
  * SOFTWARE HISTORY
@@ -79,6 +93,8 @@ import com.vividsolutions.jts.geom.Coordinate;
  *                                    TileSetRenderable.
  * Aug 26, 2015  4633     bsteffen    Preserve CRS when requesting multiple
  *                                    tiles.
+ * Oct 19, 2026           agent       Cache tile data in TileDataCache and
+ *                                    add prefetching.
  * 
  * </pre>
  * 
@@ -110,7 +126,7 @@ public class RecordTileSetRenderable extends TileSetRenderable {
                 // Once retrieved, null out
                 data = null;
             } else {
-                rval = data = retrieveRecordData(tile);
+                rval = data = getRecordData(tile);
             }
             return rval;
         }
@@ -195,32 +211,52 @@ public class RecordTileSetRenderable extends TileSetRenderable {
             }
 
             if (numNeedStaging == numTiles) {
-                // All the images need staging, do bulk request
-                ColorMapData data = retrieveRecordData(bigTile);
+                /*
+                 * All the images need staging, use cached data for tiles that
+                 * have it and do a bulk request if any are missing.
+                 */
+                String cacheKey = getCacheKey();
+                ColorMapData[] tileData = new ColorMapData[numTiles];
+                boolean missing = false;
+                for (int i = 0; i < numTiles; i += 1) {
+                    if (cacheKey != null) {
+                        tileData[i] = TileDataCache.getInstance().get(
+                                cacheKey, subTiles.get(i));
+                    }
+                    missing |= tileData[i] == null;
+                }
+                ColorMapData data = null;
+                if (missing) {
+                    data = retrieveRecordData(bigTile);
+                }
 
-                if (data != null) {
-                    Rectangle bigTileRect = bigTile.getRectangle();
-                    for (int i = 0; i < numTiles; i += 1) {
-                        Tile tile = subTiles.get(i);
-                        DrawableImage image = images.get(i);
-                        if (image != null) {
-                            if (image.getImage().getStatus() == Status.UNLOADED) {
-                                Rectangle tileRect = tile.getRectangle();
-                                ColorMapData subData = new ColorMapData(
-                                        BufferSlicer.slice(data.getBuffer(),
-                                                tileRect, bigTileRect),
-                                        new int[] { tileRect.width,
-                                                tileRect.height },
-                                        data.getDataType(), data.getDataUnit());
-
-                                callbacks.get(i).setRetrievedData(subData);
-                                try {
-                                    image.getImage().stage();
-                                } catch (VizException e) {
-                                    statusHandler.handle(Priority.PROBLEM,
-                                            e.getLocalizedMessage(), e);
-                                }
-                            }
+                Rectangle bigTileRect = bigTile.getRectangle();
+                for (int i = 0; i < numTiles; i += 1) {
+                    Tile tile = subTiles.get(i);
+                    DrawableImage image = images.get(i);
+                    if (image == null || image.getImage()
+                            .getStatus() != Status.UNLOADED) {
+                        continue;
+                    }
+                    ColorMapData subData = tileData[i];
+                    if (subData == null && data != null) {
+                        Rectangle tileRect = tile.getRectangle();
+                        subData = new ColorMapData(BufferSlicer.slice(
+                                data.getBuffer(), tileRect, bigTileRect),
+                                new int[] { tileRect.width, tileRect.height },
+                                data.getDataType(), data.getDataUnit());
+                        if (cacheKey != null) {
+                            TileDataCache.getInstance().put(cacheKey, tile,
+                                    subData);
+                        }
+                    }
+                    if (subData != null) {
+                        callbacks.get(i).setRetrievedData(subData);
+                        try {
+                            image.getImage().stage();
+                        } catch (VizException e) {
+                            statusHandler.handle(Priority.PROBLEM,
+                                    e.getLocalizedMessage(), e);
                         }
                     }
                 }
@@ -248,10 +284,37 @@ public class RecordTileSetRenderable extends TileSetRenderable {
 
     }
 
+    /** Job pool for prefetching tile data */
+    protected static final JobPool prefetchPool = new JobPool(
+            "Prefetching Image Tiles", 2, true);
+
+    /** Number of frames after the displayed frame to prefetch when looping */
+    private static final int PREFETCH_FRAMES = Integer.getInteger(
+            "viz.tile.cache.prefetchFrames", 2);
+
+    /**
+     * Renderables with caching enabled for each resource by the data time of
+     * their record, used to find the renderables of the next frames. The
+     * renderables are weakly referenced because they reference the resource.
+     */
+    private static final Map<AbstractVizResource<?, ?>, Map<DataTime, Reference<RecordTileSetRenderable>>> frameRenderables = new WeakHashMap<>();
+
     protected final ColorMapCapability colormapping;
 
     protected final PluginDataObject record;
 
+    private final AbstractVizResource<?, ?> resource;
+
+    /** True when this is in frameRenderables, guarded by frameRenderables */
+    private boolean frameRegistered = false;
+
+    /** The tile set, level and extent of the last prefetch */
+    private TileSet prefetchedTileSet;
+
+    private int prefetchedLevel;
+
+    private IExtent prefetchedExtent;
+
     public RecordTileSetRenderable(AbstractVizResource<?, ?> resource,
             PluginDataObject record, ISpatialObject spatialObject,
             int tileLevels) {
@@ -271,9 +334,116 @@ public class RecordTileSetRenderable extends TileSetRenderable {
         super(resource.getCapability(ImagingCapability.class), tileSetGeometry,
                 null, tileLevels, tileSize);
         this.record = record;
+        this.resource = resource;
         this.colormapping = resource.getCapability(ColorMapCapability.class);
     }
 
+    /**
+     * Register this renderable as the frame for the data time of its record so
+     * that painting the previous frames prefetches its tiles.
+     */
+    private void registerFrame() {
+        if (record == null || record.getDataTime() == null) {
+            return;
+        }
+        synchronized (frameRenderables) {
+            if (frameRegistered) {
+                return;
+            }
+            Map<DataTime, Reference<RecordTileSetRenderable>> renderables = frameRenderables
+                    .get(resource);
+            if (renderables == null) {
+                renderables = new HashMap<>();
+                frameRenderables.put(resource, renderables);
+            }
+            renderables.put(record.getDataTime(),
+                    new WeakReference<RecordTileSetRenderable>(this));
+            frameRegistered = true;
+        }
+    }
+
+    private void unregisterFrame() {
+        synchronized (frameRenderables) {
+            if (!frameRegistered) {
+                return;
+            }
+            frameRegistered = false;
+            Map<DataTime, Reference<RecordTileSetRenderable>> renderables = frameRenderables
+                    .get(resource);
+            if (renderables == null) {
+                return;
+            }
+            Reference<RecordTileSetRenderable> ref = renderables.get(record
+                    .getDataTime());
+            if (ref != null && ref.get() == this) {
+                renderables.remove(record.getDataTime());
+            }
+            if (renderables.isEmpty()) {
+                frameRenderables.remove(resource);
+            }
+        }
+    }
+
+    @Override
+    public Collection<DrawableImage> getImagesToRender(IGraphicsTarget target,
+            PaintProperties paintProps) throws VizException {
+        Collection<DrawableImage> images = super.getImagesToRender(target,
+                paintProps);
+        /* Not synchronized so the lock on this is not held during prefetch. */
+        if (getCacheKey() != null) {
+            registerFrame();
+            prefetchNextFrames(paintProps);
+        }
+        return images;
+    }
+
+    @Override
+    public void dispose() {
+        unregisterFrame();
+        super.dispose();
+    }
+
+    /**
+     * Prefetch tiles for the renderables of the frames after the frame being
+     * painted if the display is looping.
+     */
+    private void prefetchNextFrames(PaintProperties paintProps) {
+        LoopProperties loopProps = paintProps.getLoopProperties();
+        FramesInfo framesInfo = paintProps.getFramesInfo();
+        if (PREFETCH_FRAMES <= 0 || loopProps == null
+                || !loopProps.isLooping() || framesInfo == null
+                || framesInfo.getTimeMap() == null) {
+            return;
+        }
+        DataTime[] times = framesInfo.getTimeMap().get(resource);
+        int index = framesInfo.getFrameIndex();
+        if (times == null || index < 0) {
+            return;
+        }
+        List<RecordTileSetRenderable> next = new ArrayList<>(PREFETCH_FRAMES);
+        synchronized (frameRenderables) {
+            Map<DataTime, Reference<RecordTileSetRenderable>> renderables = frameRenderables
+                    .get(resource);
+            if (renderables == null) {
+                return;
+            }
+            for (int i = 1; i <= PREFETCH_FRAMES && i < times.length; i += 1) {
+                DataTime time = times[(index + i) % times.length];
+                Reference<RecordTileSetRenderable> ref = time == null ? null
+                        : renderables.get(time);
+                RecordTileSetRenderable renderable = ref == null ? null : ref
+                        .get();
+                if (renderable != null && renderable != this) {
+                    next.add(renderable);
+                }
+            }
+        }
+        IExtent extent = paintProps.getView().getExtent();
+        for (RecordTileSetRenderable renderable : next) {
+            renderable.prefetch(extent, paintProps.getCanvasBounds());
+        }
+    }
+
     @Override
     protected void createTileImages(IGraphicsTarget target,
             Collection<Tile> tilesToCreate) {
@@ -355,6 +525,119 @@ public class RecordTileSetRenderable extends TileSetRenderable {
         }
     }
 
+    /**
+     * Schedule retrieval of the data for all tiles needed to render within the
+     * extent into the {@link TileDataCache} without creating any images. This
+     * is intended for frames that will be displayed soon, such as the next
+     * frames in a loop, so that creating their images does not need to wait on
+     * the data store. Nothing is done if caching is disabled or if the same
+     * extent was already prefetched, so tiles evicted from the cache are not
+     * retrieved over and over.
+     * 
+     * @param extent
+     *            the area over which to prefetch tiles
+     * @param canvasBounds
+     *            the size of the area of the physical screen that is used to
+     *            display the extent, used for determining the tile level.
+     */
+    public synchronized void prefetch(IExtent extent,
+            org.eclipse.swt.graphics.Rectangle canvasBounds) {
+        final String cacheKey = getCacheKey();
+        if (tileSet == null || cacheKey == null) {
+            return;
+        }
+        int level = getTileLevel(extent, canvasBounds);
+        if (tileSet == prefetchedTileSet && level == prefetchedLevel
+                && extent.equals(prefetchedExtent)) {
+            return;
+        }
+        prefetchedTileSet = tileSet;
+        prefetchedLevel = level;
+        prefetchedExtent = extent.clone();
+        TileDataCache cache = TileDataCache.getInstance();
+        final List<Tile> tiles = new ArrayList<>();
+        GridEnvelope2D range = null;
+        Envelope2D envelope = null;
+        for (Tile tile : tileSet.getIntersectingTiles(level, extent)) {
+            if (imageMap.get(tile) != null || jobMap.get(tile) != null
+                    || cache.contains(cacheKey, tile)) {
+                continue;
+            }
+            tiles.add(tile);
+            GridEnvelope2D tileRange = tile.tileGeometry.getGridRange2D();
+            Envelope2D tileEnvelope = tile.tileGeometry.getEnvelope2D();
+            if (range == null) {
+                range = new GridEnvelope2D(tileRange);
+                envelope = new Envelope2D(tileEnvelope);
+            } else {
+                Rectangle2D.union(range, tileRange, range);
+                Rectangle2D.union(envelope, tileEnvelope, envelope);
+            }
+        }
+        if (tiles.isEmpty()) {
+            return;
+        }
+        final Tile bigTile = new Tile(level, new GridGeometry2D(
+                (GridEnvelope) range, envelope));
+        prefetchPool.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                ColorMapData data = retrieveRecordData(bigTile);
+                if (data == null) {
+                    return;
+                }
+                Rectangle bigTileRect = bigTile.getRectangle();
+                for (Tile tile : tiles) {
+                    Rectangle tileRect = tile.getRectangle();
+                    ColorMapData subData = new ColorMapData(
+                            BufferSlicer.slice(data.getBuffer(), tileRect,
+                                    bigTileRect),
+                            new int[] { tileRect.width, tileRect.height },
+                            data.getDataType(), data.getDataUnit());
+                    TileDataCache.getInstance().put(cacheKey, tile, subData);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the key used to store the data for this renderable in the
+     * {@link TileDataCache}. Caching is disabled for subclasses, which may
+     * override {@link #retrieveRecordData(Tile)}, unless they override this to
+     * return a key that is unique to the data they retrieve. Tiles are
+     * invalidated when data arrives with a data URI equal to the key.
+     * 
+     * @return the cache key or null if tile data should not be cached.
+     */
+    protected String getCacheKey() {
+        if (getClass() != RecordTileSetRenderable.class || record == null) {
+            return null;
+        }
+        return record.getDataURI();
+    }
+
+    /**
+     * Get the data for a tile from the {@link TileDataCache}, retrieving it
+     * with {@link #retrieveRecordData(Tile)} if it is not cached.
+     * 
+     * @param tile
+     * @return
+     */
+    protected ColorMapData getRecordData(Tile tile) {
+        String cacheKey = getCacheKey();
+        if (cacheKey == null) {
+            return retrieveRecordData(tile);
+        }
+        TileDataCache cache = TileDataCache.getInstance();
+        ColorMapData data = cache.get(cacheKey, tile);
+        if (data == null) {
+            data = retrieveRecordData(tile);
+            cache.put(cacheKey, tile, data);
+        }
+        return data;
+    }
+
     /**
      * @param tile
      * @return
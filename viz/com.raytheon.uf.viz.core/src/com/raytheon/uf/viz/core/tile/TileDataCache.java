@@ -0,0 +1,323 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.tile;
+
+import java.awt.Rectangle;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.raytheon.uf.common.colormap.image.ColorMapData;
+import com.raytheon.uf.common.util.BufferUtil;
+
+/**
+ * Cache of the {@link ColorMapData} retrieved for individual tiles so that
+ * tile images which are disposed, either because the tiles went off screen or
+ * because the frame was unloaded, can be recreated without going back to the
+ * data store. This is most important when looping large imagery where every
+ * frame would otherwise reread every tile each time it is displayed.
+ * 
+ * The data is copied into direct buffers so it is held outside of the java
+ * heap and can be handed to the graphics card without another copy. The cache
+ * is bounded by the total size of the buffers, the least recently used tiles
+ * are removed first.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class TileDataCache {
+
+    private static final long MAX_BYTES = Long.getLong(
+            "viz.tile.cache.maxBytes", 256L * 1024 * 1024);
+
+    private static final TileDataCache instance = new TileDataCache(
+            MAX_BYTES);
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<Key, ColorMapData> entries;
+
+    private long bytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public static TileDataCache getInstance() {
+        return instance;
+    }
+
+    protected TileDataCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get the data for a tile.
+     * 
+     * @param source
+     *            identifies the data the tile is part of, usually the data
+     *            uri of a record.
+     * @param tile
+     * @return the cached data, which must not be modified, or null if the tile
+     *         is not cached.
+     */
+    public ColorMapData get(String source, Tile tile) {
+        ColorMapData data;
+        synchronized (entries) {
+            data = entries.get(new Key(source, tile));
+        }
+        if (data == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        Buffer buffer = BufferUtil.asReadOnly(data.getBuffer());
+        return new ColorMapData(buffer, data.getDimensions(),
+                data.getDataType(), data.getDataUnit());
+    }
+
+    /**
+     * @param source
+     * @param tile
+     * @return true if the data for the tile is in the cache.
+     */
+    public boolean contains(String source, Tile tile) {
+        synchronized (entries) {
+            return entries.containsKey(new Key(source, tile));
+        }
+    }
+
+    /**
+     * Add the data for a tile to the cache. The data is copied so the caller
+     * is free to modify it after this returns.
+     * 
+     * @param source
+     *            identifies the data the tile is part of, usually the data
+     *            uri of a record.
+     * @param tile
+     * @param data
+     */
+    public void put(String source, Tile tile, ColorMapData data) {
+        if (data == null || data.getBuffer() == null) {
+            return;
+        }
+        Buffer buffer = copyToDirect(data.getBuffer());
+        if (buffer == null) {
+            return;
+        }
+        long size = sizeOf(buffer);
+        if (size > maxBytes) {
+            return;
+        }
+        ColorMapData copy = new ColorMapData(buffer, data.getDimensions(),
+                data.getDataType(), data.getDataUnit());
+        synchronized (entries) {
+            ColorMapData old = entries.put(new Key(source, tile), copy);
+            if (old != null) {
+                bytes -= sizeOf(old.getBuffer());
+            }
+            bytes += size;
+            Iterator<ColorMapData> it = entries.values().iterator();
+            while (bytes > maxBytes && it.hasNext()) {
+                bytes -= sizeOf(it.next().getBuffer());
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove all tiles for a source, this should be called when the data for
+     * the source is replaced or purged.
+     * 
+     * @param source
+     */
+    public void invalidate(String source) {
+        invalidate(Collections.singleton(source));
+    }
+
+    /**
+     * Remove all tiles for any of the sources, called with the data URIs of
+     * new data so tiles of data that is stored again are not reused.
+     * 
+     * @param sources
+     */
+    public void invalidate(Collection<String> sources) {
+        if (sources.isEmpty()) {
+            return;
+        }
+        if (sources.size() > 1 && !(sources instanceof HashSet)) {
+            sources = new HashSet<>(sources);
+        }
+        synchronized (entries) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            Iterator<Map.Entry<Key, ColorMapData>> it = entries.entrySet()
+                    .iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, ColorMapData> entry = it.next();
+                if (sources.contains(entry.getKey().source)) {
+                    bytes -= sizeOf(entry.getValue().getBuffer());
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getBytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (entries) {
+            return "TileDataCache [tiles=" + entries.size() + ", bytes="
+                    + bytes + ", hits=" + hits + ", misses=" + misses
+                    + ", evictions=" + evictions + "]";
+        }
+    }
+
+    private static long sizeOf(Buffer buffer) {
+        if (buffer instanceof ByteBuffer) {
+            return buffer.capacity();
+        } else if (buffer instanceof ShortBuffer) {
+            return buffer.capacity() * 2L;
+        } else if (buffer instanceof DoubleBuffer) {
+            return buffer.capacity() * 8L;
+        } else {
+            return buffer.capacity() * 4L;
+        }
+    }
+
+    /**
+     * Copy the contents of a buffer into a new direct buffer in native byte
+     * order.
+     * 
+     * @param buffer
+     * @return the copy, or null if the buffer type is not supported.
+     */
+    private static Buffer copyToDirect(Buffer buffer) {
+        Buffer source = BufferUtil.duplicate(buffer);
+        source.rewind();
+        ByteBuffer direct = ByteBuffer.allocateDirect((int) sizeOf(source));
+        direct.order(ByteOrder.nativeOrder());
+        Buffer result;
+        if (source instanceof ByteBuffer) {
+            result = direct.put((ByteBuffer) source);
+        } else if (source instanceof ShortBuffer) {
+            result = direct.asShortBuffer().put((ShortBuffer) source);
+        } else if (source instanceof IntBuffer) {
+            result = direct.asIntBuffer().put((IntBuffer) source);
+        } else if (source instanceof FloatBuffer) {
+            result = direct.asFloatBuffer().put((FloatBuffer) source);
+        } else if (source instanceof DoubleBuffer) {
+            result = direct.asDoubleBuffer().put((DoubleBuffer) source);
+        } else {
+            return null;
+        }
+        result.rewind();
+        return result;
+    }
+
+    private static final class Key {
+
+        private final String source;
+
+        private final int level;
+
+        private final Rectangle rectangle;
+
+        private final int hashCode;
+
+        public Key(String source, Tile tile) {
+            this.source = source;
+            this.level = tile.tileLevel;
+            this.rectangle = tile.getRectangle();
+            final int prime = 31;
+            int hash = source.hashCode();
+            hash = prime * hash + level;
+            hash = prime * hash + rectangle.hashCode();
+            this.hashCode = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return level == other.level && source.equals(other.source)
+                    && rectangle.equals(other.rectangle);
+        }
+    }
+}
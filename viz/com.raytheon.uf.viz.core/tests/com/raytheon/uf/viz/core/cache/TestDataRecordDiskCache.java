@@ -0,0 +1,128 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.records.FloatDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+
+/**
+ * Tests that records stored in the {@link DataRecordDiskCache} are returned
+ * intact, including when the same record is stored more than once.
+ * 
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class TestDataRecordDiskCache {
+
+    private static final String FILE = "/grid/test.h5";
+
+    private static final String GROUP = "/grid/2026-10-19/test";
+
+    private File directory;
+
+    private DataRecordDiskCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("dataRecordCache").toFile();
+        cache = new DataRecordDiskCache(directory, 1024 * 1024);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private static FloatDataRecord createRecord(float value) {
+        float[] data = new float[16];
+        for (int i = 0; i < data.length; i += 1) {
+            data[i] = value + i;
+        }
+        return new FloatDataRecord("Data", GROUP, data, 2,
+                new long[] { 4, 4 });
+    }
+
+    @Test
+    public void testPutAndGet() {
+        FloatDataRecord record = createRecord(1);
+        cache.put(FILE, GROUP, "Data", Request.ALL, record);
+        IDataRecord cached = cache.get(FILE, GROUP, "Data", Request.ALL);
+        assertNotNull(cached);
+        assertArrayEquals(record.getFloatData(),
+                ((FloatDataRecord) cached).getFloatData(), 0.0f);
+        assertArrayEquals(record.getSizes(), cached.getSizes());
+    }
+
+    @Test
+    public void testPutSameKeyTwice() {
+        cache.put(FILE, GROUP, "Data", Request.ALL, createRecord(1));
+        FloatDataRecord record = createRecord(2);
+        cache.put(FILE, GROUP, "Data", Request.ALL, record);
+
+        File[] files = directory.listFiles();
+        assertEquals(1, files.length);
+        assertTrue(files[0].length() > 0);
+
+        IDataRecord cached = cache.get(FILE, GROUP, "Data", Request.ALL);
+        assertNotNull(cached);
+        assertArrayEquals(record.getFloatData(),
+                ((FloatDataRecord) cached).getFloatData(), 0.0f);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put(FILE, GROUP, "Data", Request.ALL, createRecord(1));
+        cache.invalidate(GROUP);
+        assertNull(cache.get(FILE, GROUP, "Data", Request.ALL));
+        assertEquals(0, directory.listFiles().length);
+    }
+
+}
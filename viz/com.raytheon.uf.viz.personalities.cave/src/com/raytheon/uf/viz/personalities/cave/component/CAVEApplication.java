@@ -60,6 +60,7 @@ import com.raytheon.uf.viz.application.component.IStandaloneComponent;
 import com.raytheon.uf.viz.core.ProgramArguments;
 import com.raytheon.uf.viz.core.RecordFactory;
 import com.raytheon.uf.viz.core.VizApp;
+import com.raytheon.uf.viz.core.cache.CachingDataStoreFactory;
 import com.raytheon.uf.viz.core.localization.CAVELocalizationAdapter;
 import com.raytheon.uf.viz.core.localization.CAVELocalizationNotificationObserver;
 import com.raytheon.uf.viz.core.localization.LocalizationInitializer;
@@ -68,7 +69,10 @@ import com.raytheon.uf.viz.core.procedures.ProcedureXmlManager;
 import com.raytheon.uf.viz.core.status.VizStatusHandlerFactory;
 import com.raytheon.uf.viz.personalities.cave.workbench.VizWorkbenchAdvisor;
 import com.raytheon.viz.alerts.jobs.AutoUpdater;
+import com.raytheon.viz.alerts.jobs.DataRecordCacheUpdater;
+import com.raytheon.viz.alerts.jobs.DerivedDataUpdater;
 import com.raytheon.viz.alerts.jobs.MenuUpdater;
+import com.raytheon.viz.alerts.jobs.TileDataCacheUpdater;
 import com.raytheon.viz.alerts.observers.ProductAlertObserver;
 import com.raytheon.viz.core.CorePlugin;
 import com.raytheon.viz.core.mode.CAVEMode;
@@ -90,6 +94,9 @@ import com.raytheon.viz.core.units.UnitRegistrar;
  * Jan 11, 2016 5232       njensen     Apply css style at startup
  * May 31, 2016            mjames@ucar Mute CAVEMode.performStartupDuties()
  * Jun 27, 2017 6316       njensen     Pass along start time
+ * Oct 19, 2026            agent       Clear cached derived parameters when
+ *                                     new data arrives
+ * Oct 19, 2026            agent       Cache retrieved data records on disk
  * 
  * </pre>
  * 
@@ -313,7 +320,8 @@ public class CAVEApplication implements IStandaloneComponent {
         PypiesProperties pypiesProps = new PypiesProperties();
         pypiesProps.setAddress(VizApp.getPypiesServer());
         DataStoreFactory.getInstance().setUnderlyingFactory(
-                new PyPiesDataStoreFactory(pypiesProps));
+                new CachingDataStoreFactory(
+                        new PyPiesDataStoreFactory(pypiesProps)));
     }
 
     /**
@@ -328,6 +336,9 @@ public class CAVEApplication implements IStandaloneComponent {
     protected void registerProductAlerts() {
         // Register product observers
         ProductAlertObserver.addObserver(null, new MenuUpdater());
+        ProductAlertObserver.addCacheObserver(new DerivedDataUpdater());
+        ProductAlertObserver.addCacheObserver(new TileDataCacheUpdater());
+        ProductAlertObserver.addCacheObserver(new DataRecordCacheUpdater());
         for (String plugin : RecordFactory.getInstance().getSupportedPlugins()) {
             // Create separate AutoUpdater per plugin
             ProductAlertObserver.addObserver(plugin, new AutoUpdater());
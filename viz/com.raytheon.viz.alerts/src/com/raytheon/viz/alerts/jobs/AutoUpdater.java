@@ -21,11 +21,19 @@ package com.raytheon.viz.alerts.jobs;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import com.raytheon.uf.common.status.IUFStatusHandler;
 import com.raytheon.uf.common.status.UFStatus;
@@ -46,7 +54,9 @@ import com.raytheon.viz.alerts.IAlertObserver;
  * Updates the resources as data comes in. RedoTimeMatching is performed to
  * guarantee the screen is fully up-to-date.
  * 
- * 
+ * Alerts are collected for a short window before they are applied so that a
+ * burst of alerts results in a single update per resource and a single time
+ * match per descriptor.
  * 
  * <pre>
  * 
@@ -57,6 +67,7 @@ import com.raytheon.viz.alerts.IAlertObserver;
  *    Jul 31, 2007             chammack    Initial Creation.
  *    Feb 8, 2008  966         chammack    Converted to use IAlertObserver
  *    Mar 19, 2009             chammack    Modified to better fit new resource architecture, converted to batch-send model instead of one-at-a-time
+ *    Oct 19, 2026             agent       Coalesce alerts over an update window.
  * </pre>
  * 
  * @author chammack
@@ -68,55 +79,95 @@ public class AutoUpdater implements IAlertObserver {
 
     private static final int MAX_ERRORS = 10;
 
+    /** Time in milliseconds that alerts are collected before updating */
+    private static final long UPDATE_WINDOW = Long
+            .getLong("viz.alerts.update.window", 100);
+
+    private final ConcurrentLinkedQueue<AlertMessage> pendingAlerts = new ConcurrentLinkedQueue<AlertMessage>();
+
+    private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+
+    private final Job updateJob = new Job("Updating resources from alerts") {
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            updateScheduled.set(false);
+            List<AlertMessage> alerts = new ArrayList<AlertMessage>(
+                    pendingAlerts.size());
+            AlertMessage alert = pendingAlerts.poll();
+            while (alert != null) {
+                alerts.add(alert);
+                alert = pendingAlerts.poll();
+            }
+            if (!alerts.isEmpty()) {
+                processAlerts(alerts);
+            }
+            return Status.OK_STATUS;
+        }
+    };
+
     public AutoUpdater() {
+        updateJob.setSystem(true);
     }
 
     @Override
     public void alertArrived(Collection<AlertMessage> alertMessages) {
-        Set<IDescriptor> displayList = new HashSet<IDescriptor>();
-        Map<AbstractResourceData, List<AlertMessage>> alertSendMap = new IdentityHashMap<AbstractResourceData, List<AlertMessage>>();
+        pendingAlerts.addAll(alertMessages);
+        if (updateScheduled.compareAndSet(false, true)) {
+            updateJob.schedule(UPDATE_WINDOW);
+        }
+    }
+
+    /**
+     * Sends the alerts to the interested resources, time matching each
+     * resource once and each descriptor once regardless of how many alerts
+     * match.
+     * 
+     * @param alertMessages
+     */
+    protected void processAlerts(Collection<AlertMessage> alertMessages) {
+        Map<AbstractVizResource<?, ?>, List<AlertMessage>> alertSendMap = new IdentityHashMap<AbstractVizResource<?, ?>, List<AlertMessage>>();
         int errors = 0;
 
         for (AlertMessage message : alertMessages) {
             Map<String, Object> attribs = message.decodedAlert;
             try {
-                // System.out.println("extract took: " + (tZ1 - tZ0));
-                java.util.List<AbstractVizResource<?, ?>> rscList = DataUpdateTree
+                List<AbstractVizResource<?, ?>> rscList = DataUpdateTree
                         .getInstance().searchTree(attribs);
-                // System.out.println("AutoUpdater found: " + rscList);
-
-                if (rscList != null && rscList.size() > 0) {
-
-                    for (AbstractVizResource<?, ?> r1 : rscList) {
-                        IDescriptor md = r1.getDescriptor();
-                        AbstractResourceData resourceData = r1
-                                .getResourceData();
-                        if (resourceData.isFrozen())
-                            continue;
-
-                        if (md.getTimeMatcher() != null) {
-                            md.getTimeMatcher().redoTimeMatching(r1);
-                        }
-                        displayList.add(md);
-
-                        List<AlertMessage> list = alertSendMap.get(resourceData);
-                        if (list == null) {
-                            list = new ArrayList<AlertMessage>();
-                            alertSendMap.put(resourceData, list);
-                        }
-                        list.add(message);
-
-                        if (list.size() > 100) {
-                            // update with objects
-                            resourceData.update(list
-                                    .toArray(new AlertMessage[list.size()]));
-                            list.clear();
-                        }
-
+                if (rscList == null) {
+                    continue;
+                }
+                for (AbstractVizResource<?, ?> r1 : rscList) {
+                    if (r1.getResourceData().isFrozen()) {
+                        continue;
                     }
-
+                    List<AlertMessage> list = alertSendMap.get(r1);
+                    if (list == null) {
+                        list = new ArrayList<AlertMessage>();
+                        alertSendMap.put(r1, list);
+                    }
+                    list.add(message);
+                }
+            } catch (final Throwable e) {
+                if (errors < MAX_ERRORS) {
+                    statusHandler.handle(Priority.PROBLEM,
+                            "Error performing autoupdate", e);
                 }
+                errors++;
+            }
+        }
 
+        Set<IDescriptor> displayList = Collections
+                .newSetFromMap(new IdentityHashMap<IDescriptor, Boolean>());
+        Map<AbstractResourceData, Set<AlertMessage>> resourceDataMap = new IdentityHashMap<AbstractResourceData, Set<AlertMessage>>();
+        for (Map.Entry<AbstractVizResource<?, ?>, List<AlertMessage>> entry : alertSendMap
+                .entrySet()) {
+            AbstractVizResource<?, ?> r1 = entry.getKey();
+            try {
+                IDescriptor md = r1.getDescriptor();
+                if (md.getTimeMatcher() != null) {
+                    md.getTimeMatcher().redoTimeMatching(r1);
+                }
+                displayList.add(md);
             } catch (final Throwable e) {
                 if (errors < MAX_ERRORS) {
                     statusHandler.handle(Priority.PROBLEM,
@@ -124,18 +175,38 @@ public class AutoUpdater implements IAlertObserver {
                 }
                 errors++;
             }
+            /*
+             * Several resources may share resource data, each alert should
+             * only be sent to the resource data once.
+             */
+            AbstractResourceData resourceData = r1.getResourceData();
+            Set<AlertMessage> alerts = resourceDataMap.get(resourceData);
+            if (alerts == null) {
+                alerts = new LinkedHashSet<AlertMessage>(entry.getValue());
+                resourceDataMap.put(resourceData, alerts);
+            } else {
+                alerts.addAll(entry.getValue());
+            }
         }
 
-        for (AbstractResourceData resourceData : alertSendMap.keySet()) {
-            List<AlertMessage> alerts = alertSendMap.get(resourceData);
-            if (alerts == null || alerts.isEmpty()) {
-                continue;
+        for (Map.Entry<AbstractResourceData, Set<AlertMessage>> entry : resourceDataMap
+                .entrySet()) {
+            Set<AlertMessage> alerts = entry.getValue();
+            try {
+                entry.getKey().update(
+                        alerts.toArray(new AlertMessage[alerts.size()]));
+            } catch (final Throwable e) {
+                if (errors < MAX_ERRORS) {
+                    statusHandler.handle(Priority.PROBLEM,
+                            "Error performing autoupdate", e);
+                }
+                errors++;
             }
-            resourceData.update(alerts.toArray(new AlertMessage[alerts.size()]));
         }
 
-        List<IDescriptor> refreshedDescriptors = new ArrayList<IDescriptor>();
-        // Now do redo time matching, and refresh displays
+        // Now do redo time matching once for each descriptor
+        Set<IDescriptor> refreshedDescriptors = Collections
+                .newSetFromMap(new IdentityHashMap<IDescriptor, Boolean>());
         for (IDescriptor disp : displayList) {
             if (disp != null && disp.getRenderableDisplay() != null) {
                 IDisplayPaneContainer container = disp.getRenderableDisplay()
@@ -145,11 +216,9 @@ public class AutoUpdater implements IAlertObserver {
                 }
                 for (IDisplayPane pane : container.getDisplayPanes()) {
                     IDescriptor desc = pane.getDescriptor();
-
-                    if (refreshedDescriptors.contains(desc)) {
-                        continue;
+                    if (refreshedDescriptors.add(desc)) {
+                        TimeMatchingJob.scheduleTimeMatch(desc);
                     }
-                    TimeMatchingJob.scheduleTimeMatch(desc);
                 }
             }
         }
@@ -0,0 +1,61 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.viz.alerts.jobs;
+
+import java.util.Collection;
+
+import com.raytheon.uf.viz.core.alerts.AlertMessage;
+import com.raytheon.uf.viz.core.cache.DataRecordDiskCache;
+import com.raytheon.viz.alerts.IAlertObserver;
+
+/**
+ * Removes data records from the {@link DataRecordDiskCache} when new data
+ * arrives for the same data uri, this happens when data is replaced and the
+ * cached records would no longer match the data store. Must be registered with
+ * {@link com.raytheon.viz.alerts.observers.ProductAlertObserver#addCacheObserver(IAlertObserver)}
+ * so records are removed before other observers reload the data.
+ * 
+ * <pre>
+ * SOFTWARE HISTORY
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ * @version 1.0
+ */
+public class DataRecordCacheUpdater implements IAlertObserver {
+
+    @Override
+    public void alertArrived(Collection<AlertMessage> alertMessages) {
+        DataRecordDiskCache cache = DataRecordDiskCache.getInstance();
+        if (cache == null) {
+            return;
+        }
+        for (AlertMessage message : alertMessages) {
+            if (message.dataURI != null) {
+                cache.invalidate(message.dataURI);
+            }
+        }
+    }
+
+}
@@ -19,15 +19,20 @@
  **/
 package com.raytheon.viz.alerts.observers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -71,6 +76,9 @@ import com.raytheon.viz.core.mode.CAVEMode;
  * 01/14/2013   1442        rferrel     Filter out simulated time "future" alerts.
  * Feb 15, 2013 1638        mschenke    Moved DataURINotificationMessage to uf.common.dataplugin
  * Jun 19, 2015 4495        njensen     Updated verbose logging
+ * Oct 19, 2026             agent       Process alerts without locking, parse
+ *                                      duplicate URIs once.
+ * Oct 19, 2026             agent       Added cache observers.
  * 
  * </pre>
  * 
@@ -101,14 +109,19 @@ public class ProductAlertObserver implements INotificationObserver {
     /** The observer map of pluginName to interested parties */
     protected Map<String, List<IAlertObserver>> observers;
 
+    /** Observers called before any other observer is scheduled */
+    protected final List<IAlertObserver> cacheObservers = new CopyOnWriteArrayList<>();
+
     /** The map of job threads from observers */
-    protected Map<IAlertObserver, JobWrapper> jobWrappers;
+    protected ConcurrentMap<IAlertObserver, JobWrapper> jobWrappers;
 
-    protected int alertsProcessed = 0;
+    protected final AtomicInteger alertsProcessed = new AtomicInteger(0);
 
-    protected long lastLogTime = System.currentTimeMillis();
+    protected final AtomicLong lastLogTime = new AtomicLong(
+            System.currentTimeMillis());
 
-    private static ProductAlertObserver getInstance(String specificTopic) {
+    private static synchronized ProductAlertObserver getInstance(
+            String specificTopic) {
         if (instance == null) {
             instance = new ProductAlertObserver();
             NotificationManagerJob.addObserver(ALERT_TOPIC, instance);
@@ -128,19 +141,19 @@ public class ProductAlertObserver implements INotificationObserver {
      * @param name
      */
     private ProductAlertObserver() {
-        this.observers = new HashMap<String, List<IAlertObserver>>();
-        this.jobWrappers = new HashMap<IAlertObserver, JobWrapper>();
+        this.observers = new ConcurrentHashMap<String, List<IAlertObserver>>();
+        this.jobWrappers = new ConcurrentHashMap<IAlertObserver, JobWrapper>();
     }
 
     protected void sendToObserver(IAlertObserver observer, AlertMessage msg) {
         // Get the corresponding job, creating the
         // wrapper if necessary
-        JobWrapper wrapper = null;
-        synchronized (this) {
-            wrapper = jobWrappers.get(observer);
-            if (wrapper == null) {
-                wrapper = new JobWrapper(observer);
-                jobWrappers.put(observer, wrapper);
+        JobWrapper wrapper = jobWrappers.get(observer);
+        if (wrapper == null) {
+            wrapper = new JobWrapper(observer);
+            JobWrapper existing = jobWrappers.putIfAbsent(observer, wrapper);
+            if (existing != null) {
+                wrapper = existing;
             }
         }
         wrapper.put(msg);
@@ -187,6 +200,31 @@ public class ProductAlertObserver implements INotificationObserver {
 
     }
 
+    /**
+     * Register a cache observer which is called with every alert on the
+     * notification thread before the alerts are given to any other observer.
+     * Cache observers must be fast, they are meant for invalidating cached
+     * data so that other observers reacting to the same alerts do not see
+     * stale results.
+     * 
+     * @param obs
+     *            the alert observer callback
+     */
+    public static synchronized void addCacheObserver(IAlertObserver obs) {
+        getInstance().cacheObservers.add(obs);
+    }
+
+    /**
+     * Removes an alert message observer that was registered using the
+     * addCacheObserver method.
+     * 
+     * @param obs
+     *            the observer to remove
+     */
+    public static synchronized void removeCacheObserver(IAlertObserver obs) {
+        getInstance().cacheObservers.remove(obs);
+    }
+
     /**
      * Removes an alert message observer that was registered using the
      * addObserver method. This must be called in exactly the same
@@ -216,7 +254,7 @@ public class ProductAlertObserver implements INotificationObserver {
      */
     private class JobWrapper extends Job {
 
-        protected ConcurrentLinkedQueue<AlertMessage> messages;
+        protected final ConcurrentLinkedQueue<AlertMessage> messages;
 
         protected IAlertObserver observer;
 
@@ -236,21 +274,25 @@ public class ProductAlertObserver implements INotificationObserver {
         @Override
         protected IStatus run(IProgressMonitor monitor) {
             if (!this.messages.isEmpty()) {
-                // grab the current messages for processing and create a new
-                // collection for future messages
-                Collection<AlertMessage> messagesToProc = messages;
-                messages = new ConcurrentLinkedQueue<AlertMessage>();
+                /*
+                 * grab the current messages for processing, messages added
+                 * while draining are picked up now or on the next run
+                 */
+                Collection<AlertMessage> messagesToProc = new ArrayList<AlertMessage>(
+                        messages.size());
+                AlertMessage message = messages.poll();
+                while (message != null) {
+                    messagesToProc.add(message);
+                    message = messages.poll();
+                }
                 SimulatedTime time = SimulatedTime.getSystemTime();
                 if (!time.isRealTime()) {
                     // Filter out any "future" alerts.
                     long simTime = time.getTime().getTime();
                     Iterator<AlertMessage> iter = messagesToProc.iterator();
                     while (iter.hasNext()) {
-                        AlertMessage message = iter.next();
-                        Map<String, Object> attribs = new HashMap<String, Object>(
-                                message.decodedAlert);
-                        DataTime messageTime = (DataTime) attribs
-                                .get("dataTime");
+                        DataTime messageTime = (DataTime) iter
+                                .next().decodedAlert.get("dataTime");
                         if (messageTime != null
                                 && (simTime < messageTime.getRefTime()
                                         .getTime())) {
@@ -348,57 +390,67 @@ public class ProductAlertObserver implements INotificationObserver {
         getInstance().processDataURIs(datauris);
     }
 
-    private synchronized void processDataURIs(Collection<String> dataURIs) {
-        for (String str : dataURIs) {
-            processDataURI(str);
+    private void processDataURIs(Collection<String> dataURIs) {
+        if (dataURIs == null || dataURIs.isEmpty()) {
+            return;
+        }
+        /*
+         * The same URI is frequently sent more than once in a batch, each
+         * unique URI is only parsed once and the result shared by all
+         * observers.
+         */
+        List<AlertMessage> messages = new ArrayList<>(dataURIs.size());
+        for (String str : new LinkedHashSet<String>(dataURIs)) {
+            AlertMessage message = parseDataURI(str);
+            if (message != null) {
+                messages.add(message);
+            }
         }
 
-        startWrappers();
+        /*
+         * Caches are invalidated before the alerts are queued so no observer
+         * can reload data from a stale cache.
+         */
+        for (IAlertObserver obs : cacheObservers) {
+            try {
+                obs.alertArrived(messages);
+            } catch (Throwable e) {
+                statusHandler.handle(Priority.PROBLEM,
+                        "Error occurred while processing alerts", e);
+            }
+        }
 
-        if (dataURIs != null && dataURIs.size() > 0) {
-            alertsProcessed += dataURIs.size();
+        for (AlertMessage message : messages) {
+            processAlert(message);
         }
 
+        startWrappers();
+
+        alertsProcessed.addAndGet(dataURIs.size());
+
         long curTime = System.currentTimeMillis();
-        if (curTime - ALERT_LOG_INTERVAL > lastLogTime) {
-            if (alertsProcessed > 0) {
+        long lastTime = lastLogTime.get();
+        if (curTime - ALERT_LOG_INTERVAL > lastTime
+                && lastLogTime.compareAndSet(lastTime, curTime)) {
+            int processed = alertsProcessed.getAndSet(0);
+            if (processed > 0) {
                 statusHandler.handle(Priority.VERBOSE, "Processed "
-                        + alertsProcessed
-                        + " new data notifications in the last "
-                        + ((curTime - lastLogTime) / 60000) + " minutes");
-                alertsProcessed = 0;
+                        + processed + " new data notifications in the last "
+                        + ((curTime - lastTime) / 60000) + " minutes");
             }
-            lastLogTime = curTime;
         }
     }
 
-    private void processDataURI(String datauri) {
+    private AlertMessage parseDataURI(String datauri) {
         if (datauri == null)
-            return;
+            return null;
         try {
             Map<String, Object> attribs = RecordFactory.getInstance()
                     .loadMapFromUri(datauri);
             AlertMessage am = new AlertMessage();
             am.dataURI = datauri;
             am.decodedAlert = Collections.unmodifiableMap(attribs);
-            List<IAlertObserver> obsList = observers.get(NO_FILTER_CONSTANT);
-
-            if (obsList != null) {
-                for (IAlertObserver obs : obsList)
-                    sendToObserver(obs, am);
-            }
-
-            String pluginName = (String) am.decodedAlert.get("pluginName");
-
-            // Then to the listeners listening for this
-            // specific type
-            if (pluginName != null) {
-                obsList = observers.get(pluginName);
-                if (obsList != null) {
-                    for (IAlertObserver obs : obsList)
-                        sendToObserver(obs, am);
-                }
-            }
+            return am;
         } catch (NoPluginException e) {
             // ignore, if we hit this it means we received an alert from
             // edex about ingested data, but viz doesn't have the necessary
@@ -406,12 +458,32 @@ public class ProductAlertObserver implements INotificationObserver {
         } catch (Exception e1) {
             statusHandler.handle(Priority.WARN, e1.getLocalizedMessage(), e1);
         }
+        return null;
+    }
+
+    private void processAlert(AlertMessage am) {
+        List<IAlertObserver> obsList = observers.get(NO_FILTER_CONSTANT);
+
+        if (obsList != null) {
+            for (IAlertObserver obs : obsList)
+                sendToObserver(obs, am);
+        }
+
+        String pluginName = (String) am.decodedAlert.get("pluginName");
+
+        // Then to the listeners listening for this
+        // specific type
+        if (pluginName != null) {
+            obsList = observers.get(pluginName);
+            if (obsList != null) {
+                for (IAlertObserver obs : obsList)
+                    sendToObserver(obs, am);
+            }
+        }
     }
 
     private void startWrappers() {
-        Iterator<JobWrapper> iterator = jobWrappers.values().iterator();
-        while (iterator.hasNext()) {
-            JobWrapper wrapper = iterator.next();
+        for (JobWrapper wrapper : jobWrappers.values()) {
             if (!wrapper.isEmpty())
                 wrapper.schedule();
         }
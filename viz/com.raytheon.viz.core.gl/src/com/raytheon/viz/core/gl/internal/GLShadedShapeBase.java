@@ -25,6 +25,9 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 import javax.media.opengl.GL;
 import javax.media.opengl.glu.GLU;
@@ -61,6 +64,7 @@ import com.vividsolutions.jts.geom.LineString;
  *                                     GLColormapShadedShapes.
  * Apr 15, 2014 2956       njensen     Safety check of buffers before glMultiDrawArray
  * May 01, 2014 2956       njensen     Removed unsafe glMultiDrawArrays()
+ * Oct 19, 2026            agent       Tessellate large shapes in parallel.
  * 
  * 
  * </pre>
@@ -70,6 +74,13 @@ import com.vividsolutions.jts.geom.LineString;
  */
 public class GLShadedShapeBase implements IShape {
 
+    /**
+     * Minimum number of polygons in a single compile before tessellation is
+     * split across the common fork/join pool.
+     */
+    private static final int PARALLEL_THRESHOLD = Integer.getInteger(
+            "viz.gl.shadedShape.parallelThreshold", 256);
+
     public boolean tessellate;
 
     private MathTransform worldToPixel = null;
@@ -159,42 +170,35 @@ public class GLShadedShapeBase implements IShape {
         allocateBuffers();
         if (tessellate) {
 
-            GLU glu = new GLU();
-            Tessellator callback = new Tessellator();
-            GLUtessellator tessellator = glu.gluNewTess();
-
-            glu.gluTessCallback(tessellator, GLU.GLU_TESS_VERTEX, callback);
-            glu.gluTessCallback(tessellator, GLU.GLU_TESS_BEGIN, callback);
-            glu.gluTessCallback(tessellator, GLU.GLU_TESS_END, callback);
-            glu.gluTessCallback(tessellator, GLU.GLU_TESS_ERROR, callback);
-            glu.gluTessCallback(tessellator, GLU.GLU_TESS_COMBINE, callback);
-            glu.gluTessCallback(tessellator, GLU.GLU_TESS_EDGE_FLAG, callback);
-            glu.gluTessNormal(tessellator, 0.0, 0.0, -1.0);
-
-            for (FloatBuffer[] contours : polygons) {
-                glu.gluTessProperty(tessellator, GLU.GLU_TESS_WINDING_RULE,
-                        GLU.GLU_TESS_WINDING_ODD);
-                glu.gluTessBeginPolygon(tessellator, (double[]) null);
-                int polygonStart = vertexBuffer.position() / 2;
-                for (FloatBuffer contour : contours) {
-                    contour.rewind();
-                    glu.gluTessBeginContour(tessellator);
-                    while (contour.hasRemaining()) {
-                        double[] coord = new double[3];
-                        coord[0] = contour.get();
-                        coord[1] = contour.get();
-                        glu.gluTessVertex(tessellator, coord, 0, coord);
-                    }
-                    glu.gluTessEndContour(tessellator);
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            if (polygons.size() < PARALLEL_THRESHOLD
+                    || pool.getParallelism() < 2) {
+                Tessellator callback = new Tessellator(vertexBuffer);
+                int[] polygonLengths = callback.tessellate(polygons);
+                vertexBuffer = callback.vertexBuffer;
+                polygonLengthBuffer.put(polygonLengths);
+            } else {
+                TessellateTask task = new TessellateTask(polygons, 0,
+                        polygons.size());
+                TessellateTask[] partitions = pool.invoke(task);
+                int length = 0;
+                for (TessellateTask partition : partitions) {
+                    length += partition.vertexBuffer.position();
+                }
+                if (vertexBuffer.remaining() < length) {
+                    FloatBuffer oldVertexBuffer = vertexBuffer;
+                    vertexBuffer = FloatBuffer.allocate(oldVertexBuffer
+                            .position() + length);
+                    oldVertexBuffer.flip();
+                    vertexBuffer.put(oldVertexBuffer);
+                }
+                for (TessellateTask partition : partitions) {
+                    partition.vertexBuffer.flip();
+                    vertexBuffer.put(partition.vertexBuffer);
+                    polygonLengthBuffer.put(partition.polygonLengths);
                 }
-                glu.gluTessEndPolygon(tessellator);
-                int polygonEnd = vertexBuffer.position() / 2;
-                polygonLengthBuffer.put(polygonEnd - polygonStart);
-
             }
 
-            glu.gluDeleteTess(tessellator);
-
             // Copy the data into a compact direct buffer.
             int length = vertexBuffer.position();
             ByteBuffer vertexByteBuffer = ByteBuffer.allocateDirect(4 * length);
@@ -381,7 +385,126 @@ public class GLShadedShapeBase implements IShape {
         this.fillPattern = fillPattern;
     }
 
-    private class Tessellator implements GLUtessellatorCallback {
+    /**
+     * Tessellates a contiguous range of polygons into its own vertex buffer.
+     * Ranges that are too large are split in half so the results can be
+     * concatenated in order.
+     */
+    private static class TessellateTask extends
+            RecursiveTask<TessellateTask[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<FloatBuffer[]> polygons;
+
+        private final int start;
+
+        private final int end;
+
+        private FloatBuffer vertexBuffer;
+
+        private int[] polygonLengths;
+
+        public TessellateTask(List<FloatBuffer[]> polygons, int start,
+                int end) {
+            this.polygons = polygons;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected TessellateTask[] compute() {
+            if (end - start > PARALLEL_THRESHOLD) {
+                int middle = (start + end) / 2;
+                TessellateTask left = new TessellateTask(polygons, start,
+                        middle);
+                TessellateTask right = new TessellateTask(polygons, middle,
+                        end);
+                ForkJoinTask.invokeAll(left, right);
+                TessellateTask[] leftResult = left.join();
+                TessellateTask[] rightResult = right.join();
+                TessellateTask[] result = new TessellateTask[leftResult.length
+                        + rightResult.length];
+                System.arraycopy(leftResult, 0, result, 0, leftResult.length);
+                System.arraycopy(rightResult, 0, result, leftResult.length,
+                        rightResult.length);
+                return result;
+            }
+            List<FloatBuffer[]> range = polygons.subList(start, end);
+            int numVertices = 0;
+            for (FloatBuffer[] contours : range) {
+                for (FloatBuffer contour : contours) {
+                    numVertices += contour.capacity() / 2;
+                }
+            }
+            // Same over allocation as allocateBuffers()
+            Tessellator callback = new Tessellator(
+                    FloatBuffer.allocate(numVertices * 2 * 3));
+            polygonLengths = callback.tessellate(range);
+            vertexBuffer = callback.vertexBuffer;
+            return new TessellateTask[] { this };
+        }
+    }
+
+    private static class Tessellator implements GLUtessellatorCallback {
+
+        private FloatBuffer vertexBuffer;
+
+        public Tessellator(FloatBuffer vertexBuffer) {
+            this.vertexBuffer = vertexBuffer;
+        }
+
+        /**
+         * Tessellate the polygons into triangles, appending the vertices to
+         * the vertex buffer.
+         * 
+         * @param polygons
+         * @return the number of vertices added for each polygon
+         */
+        public int[] tessellate(List<FloatBuffer[]> polygons) {
+            int[] polygonLengths = new int[polygons.size()];
+            int index = 0;
+
+            GLU glu = new GLU();
+            GLUtessellator tessellator = glu.gluNewTess();
+
+            glu.gluTessCallback(tessellator, GLU.GLU_TESS_VERTEX, this);
+            glu.gluTessCallback(tessellator, GLU.GLU_TESS_BEGIN, this);
+            glu.gluTessCallback(tessellator, GLU.GLU_TESS_END, this);
+            glu.gluTessCallback(tessellator, GLU.GLU_TESS_ERROR, this);
+            glu.gluTessCallback(tessellator, GLU.GLU_TESS_COMBINE, this);
+            glu.gluTessCallback(tessellator, GLU.GLU_TESS_EDGE_FLAG, this);
+            glu.gluTessNormal(tessellator, 0.0, 0.0, -1.0);
+
+            for (FloatBuffer[] contours : polygons) {
+                glu.gluTessProperty(tessellator, GLU.GLU_TESS_WINDING_RULE,
+                        GLU.GLU_TESS_WINDING_ODD);
+                glu.gluTessBeginPolygon(tessellator, (double[]) null);
+                int polygonStart = vertexBuffer.position() / 2;
+                for (FloatBuffer contour : contours) {
+                    /*
+                     * Use a duplicate so the contour position is not shared
+                     * between threads.
+                     */
+                    contour = contour.duplicate();
+                    contour.rewind();
+                    glu.gluTessBeginContour(tessellator);
+                    while (contour.hasRemaining()) {
+                        double[] coord = new double[3];
+                        coord[0] = contour.get();
+                        coord[1] = contour.get();
+                        glu.gluTessVertex(tessellator, coord, 0, coord);
+                    }
+                    glu.gluTessEndContour(tessellator);
+                }
+                glu.gluTessEndPolygon(tessellator);
+                int polygonEnd = vertexBuffer.position() / 2;
+                polygonLengths[index++] = polygonEnd - polygonStart;
+            }
+
+            glu.gluDeleteTess(tessellator);
+            return polygonLengths;
+        }
 
         @Override
         public void begin(int arg0) {